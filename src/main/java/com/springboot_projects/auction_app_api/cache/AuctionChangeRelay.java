@@ -0,0 +1,45 @@
+package com.springboot_projects.auction_app_api.cache;
+
+import com.springboot_projects.auction_app_api.event.AuctionItemChangedEvent;
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+import com.springboot_projects.auction_app_api.repository.AuctionItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+// Brings auction writes made on other instances to this instance's in-process views (search indexes,
+// rankings, suggester). AuctionItemCache sends the id of every written auction over the InvalidationBus;
+// each id received here is read again and published as a remote AuctionItemChangedEvent, so the views
+// apply it like a local write. Missed messages are covered by InvalidationsMissedEvent instead.
+@Component
+public class AuctionChangeRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionChangeRelay.class);
+
+    @Autowired
+    private AuctionItemRepository auctionItemRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public void connect(InvalidationBus invalidationBus) {
+        invalidationBus.subscribe(AuctionItemCache.CACHE_NAME, this::reload, () -> {
+        });
+    }
+
+    // Runs on the bus thread: one read per auction written elsewhere, gone means deleted
+    void reload(String auctionId) {
+        AuctionItem item;
+        try {
+            item = auctionItemRepository.findById(auctionId).orElse(null);
+        } catch (RuntimeException e) {
+            logger.warn("Auction {} changed on another instance but could not be read: {}", auctionId,
+                    e.getMessage());
+            return;
+        }
+        eventPublisher.publishEvent(AuctionItemChangedEvent.remote(auctionId, item));
+    }
+}
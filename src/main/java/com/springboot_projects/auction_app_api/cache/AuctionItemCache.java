@@ -0,0 +1,158 @@
+package com.springboot_projects.auction_app_api.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.springboot_projects.auction_app_api.config.AuctionCacheConfig;
+import com.springboot_projects.auction_app_api.event.AuctionItemChangedEvent;
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+// Read-through cache of auction items by id for the detail page, bid placement and ownership checks.
+// Caffeine bounds it by size with W-TinyLFU admission, so a burst of one-off lookups does not push out
+// the auctions everyone is looking at, and by time, which bounds staleness should an eviction sent by
+// another instance be lost. Local writes reach it through AuctionItemChangedEvent before the write
+// call returns and are passed on over the InvalidationBus, so the other instances evict the auction
+// and AuctionChangeRelay updates their views.
+// Cached items are shared: callers must not modify them, read-modify-write paths load their own copy.
+@Component
+public class AuctionItemCache {
+
+    static final String CACHE_NAME = "auctionItems";
+
+    private static final int GENERATION_STRIPES = 64;
+
+    private final AuctionCacheConfig config;
+    private final Cache<String, AuctionItem> cache;
+    // Bumped by every write to an id hashing to the stripe; a load started before one is not stored
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private volatile InvalidationBus invalidationBus;
+
+    @Autowired
+    public AuctionItemCache(AuctionCacheConfig config) {
+        this(config, ForkJoinPool.commonPool());
+    }
+
+    // Eviction and expiry run on the executor, tests pass a direct one
+    AuctionItemCache(AuctionCacheConfig config, Executor executor) {
+        this.config = config;
+        this.cache = Caffeine.newBuilder()
+                .executor(executor)
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(Duration.ofMillis(config.getTtl()))
+                .recordStats()
+                .build();
+    }
+
+    @Autowired
+    public void registerMetrics(MeterRegistry meterRegistry) {
+        // cache.gets{result=hit|miss}, cache.evictions and cache.size
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Share of auction lookups served from memory")
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    @Autowired
+    public void connect(InvalidationBus invalidationBus) {
+        this.invalidationBus = invalidationBus;
+        invalidationBus.subscribe(CACHE_NAME, this::invalidate, this::invalidateAll);
+    }
+
+    // Cached item, or the loader's result which is cached when present. Concurrent misses are not
+    // merged here, callers wanting that pass a loader going through a SingleFlight. Missing auctions
+    // are not cached, so one created elsewhere shows up at once.
+    public Optional<AuctionItem> get(String auctionId, Function<String, Optional<AuctionItem>> loader) {
+        if (!config.isEnabled()) {
+            return loader.apply(auctionId);
+        }
+        AuctionItem cached = cache.getIfPresent(auctionId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long startGeneration = generations.get(stripe(auctionId));
+        Optional<AuctionItem> loaded = loader.apply(auctionId);
+        // A write or delete applied while loading may be newer than what the load read, keep it
+        if (loaded.isPresent() && generations.get(stripe(auctionId)) == startGeneration) {
+            cache.asMap().putIfAbsent(auctionId, loaded.get());
+        }
+        return loaded;
+    }
+
+    @EventListener
+    public void onAuctionItemChanged(AuctionItemChangedEvent event) {
+        if (event.getChangeType() == AuctionItemChangedEvent.ChangeType.DELETED || event.getAuctionItem() == null) {
+            invalidate(event.getAuctionId());
+        } else {
+            put(event.getAuctionItem());
+        }
+        // Sent even with the cache off, the other instances' views follow the same message
+        InvalidationBus bus = invalidationBus;
+        if (bus != null && !event.isRemote()) {
+            bus.publish(CACHE_NAME, event.getAuctionId());
+        }
+    }
+
+    // Cached item without loading it or counting the lookup as a hit or miss
+    public Optional<AuctionItem> peek(String auctionId) {
+        if (!config.isEnabled()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.policy().getIfPresentQuietly(auctionId));
+    }
+
+    // Store the saved state unless the cache already holds a newer one
+    public void put(AuctionItem item) {
+        if (!config.isEnabled() || item == null || item.getId() == null) {
+            return;
+        }
+        generations.incrementAndGet(stripe(item.getId()));
+        cache.asMap().compute(item.getId(), (id, cached) -> isNewer(cached, item) ? cached : item);
+    }
+
+    public void invalidate(String auctionId) {
+        if (auctionId != null) {
+            generations.incrementAndGet(stripe(auctionId));
+            cache.invalidate(auctionId);
+        }
+    }
+
+    // Every load in progress is treated as stale as well
+    public void invalidateAll() {
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private static int stripe(String auctionId) {
+        int hash = auctionId.hashCode();
+        return (hash ^ (hash >>> 16)) & (GENERATION_STRIPES - 1);
+    }
+
+    private static boolean isNewer(AuctionItem cached, AuctionItem item) {
+        return cached != null && cached.getUpdatedAt() != null && item.getUpdatedAt() != null
+                && cached.getUpdatedAt().isAfter(item.getUpdatedAt());
+    }
+}
@@ -0,0 +1,279 @@
+package com.springboot_projects.auction_app_api.cache;
+
+import com.mongodb.CursorType;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.springboot_projects.auction_app_api.config.CacheBusConfig;
+import com.springboot_projects.auction_app_api.event.InvalidationsMissedEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Carries cache evictions between instances so a write on one evicts the key from the in-heap caches
+// of all of them, instead of the others serving the old copy until it expires. A write inserts
+// {cache, key, node, ts} into a capped collection that every instance follows with a tailable await
+// cursor; the server answers the waiting cursor as soon as a document is appended, so other instances
+// evict within milliseconds. Unlike change streams this needs no replica set, a single local mongod
+// will do. Evictions are idempotent: reading some twice is harmless, missing some is not, so when the
+// tail has to resume after a gap the capped collection no longer covers, subscribers drop everything
+// and InvalidationsMissedEvent tells the in-process views to load themselves again.
+@Component
+public class InvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvalidationBus.class);
+
+    // Room per message when sizing the capped collection, a message takes about 120 bytes
+    private static final long MESSAGE_BYTES = 256;
+    private static final long MAX_AWAIT_MILLIS = 1000;
+    private static final long MIN_BACKOFF_MILLIS = 500;
+    private static final long MAX_BACKOFF_MILLIS = 30 * 1000;
+
+    private record Subscription(Consumer<String> evict, Runnable reset) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final CacheBusConfig config;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, List<Subscription>> subscriptions = new ConcurrentHashMap<>();
+
+    @Autowired(required = false)
+    private ApplicationEventPublisher eventPublisher;
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong publishFailures = new AtomicLong();
+    private volatile Timer lag;
+
+    private volatile boolean collectionReady;
+    private volatile boolean running;
+    private volatile boolean connected;
+    private volatile Thread tailer;
+    // Timestamp of the newest message read, where a reconnect resumes from
+    private volatile Date lastSeen;
+
+    @Autowired
+    public InvalidationBus(MongoTemplate mongoTemplate, CacheBusConfig config) {
+        this.mongoTemplate = mongoTemplate;
+        this.config = config;
+    }
+
+    @Autowired
+    public void registerMetrics(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("cache.invalidation.published", published, AtomicLong::get)
+                .description("Cache evictions sent to other instances")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.invalidation.received", received, AtomicLong::get)
+                .description("Cache evictions received from other instances")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.invalidation.publish.failures", publishFailures, AtomicLong::get)
+                .description("Evictions other instances never heard of, they expire the key instead")
+                .register(meterRegistry);
+        Gauge.builder("cache.invalidation.connected", this, bus -> bus.isConnected() ? 1 : 0)
+                .description("Whether evictions from other instances are being received")
+                .register(meterRegistry);
+        // Includes the clock difference between the two instances
+        lag = Timer.builder("cache.invalidation.lag")
+                .description("Time from an eviction being sent to it being applied here")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    // Evictions of the named cache sent by other instances go to evict; reset runs when some may have
+    // been missed and the cache can no longer tell which of its entries are stale
+    public void subscribe(String cache, Consumer<String> evict, Runnable reset) {
+        subscriptions.computeIfAbsent(cache, key -> new CopyOnWriteArrayList<>()).add(new Subscription(evict, reset));
+    }
+
+    // Tell the other instances to evict key. Called after the write; a failure is logged and left to
+    // the cache expiry, it never fails the write.
+    public void publish(String cache, String key) {
+        if (!config.isEnabled() || key == null) {
+            return;
+        }
+        try {
+            ensureCollection();
+            mongoTemplate.getCollection(config.getCollection()).insertOne(message(cache, key));
+            published.incrementAndGet();
+        } catch (RuntimeException e) {
+            publishFailures.incrementAndGet();
+            logger.warn("Eviction of {} {} not sent, other instances keep it until it expires: {}", cache, key,
+                    e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!config.isEnabled() || running) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::tail, "cache-invalidation-tail");
+        thread.setDaemon(true);
+        tailer = thread;
+        thread.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        Thread thread = tailer;
+        if (thread != null) {
+            thread.interrupt();
+            tailer = null;
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    public long getPublishedCount() {
+        return published.get();
+    }
+
+    public long getReceivedCount() {
+        return received.get();
+    }
+
+    // Follow the collection until stopped, reconnecting with backoff whenever the cursor fails
+    private void tail() {
+        long backoff = MIN_BACKOFF_MILLIS;
+        while (running) {
+            try {
+                ensureCollection();
+                MongoCollection<Document> collection = mongoTemplate.getCollection(config.getCollection());
+                Date from = resumeFrom(collection);
+                // A tailable cursor over an empty capped collection or without a match dies at once
+                collection.insertOne(message(null, null));
+                try (MongoCursor<Document> cursor = collection
+                        .find(new Document("ts", new Document("$gte", from)))
+                        .cursorType(CursorType.TailableAwait)
+                        .maxAwaitTime(MAX_AWAIT_MILLIS, TimeUnit.MILLISECONDS)
+                        .iterator()) {
+                    connected = true;
+                    backoff = MIN_BACKOFF_MILLIS;
+                    logger.info("Following cache evictions of other instances as node {}", nodeId);
+                    while (running && cursor.getServerCursor() != null) {
+                        Document message = cursor.tryNext();
+                        if (message != null) {
+                            dispatch(message);
+                        }
+                    }
+                }
+            } catch (RuntimeException e) {
+                if (!running) {
+                    break;
+                }
+                logger.warn("Cache eviction tail failed, retrying in {} ms: {}", backoff, e.getMessage());
+                connected = false;
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            } finally {
+                connected = false;
+            }
+        }
+    }
+
+    // Resume a little before the newest message seen, the replay window covering clock differences
+    // between writers. Without one, or when the oldest message kept is already past that point, the
+    // evictions in between are unknown and every subscriber starts over.
+    private Date resumeFrom(MongoCollection<Document> collection) {
+        Date seen = lastSeen;
+        if (seen != null) {
+            Date from = new Date(seen.getTime() - config.getReplayWindow());
+            Document oldest = collection.find().sort(new Document("$natural", 1)).limit(1).first();
+            if (oldest != null && !oldest.getDate("ts").after(from)) {
+                return from;
+            }
+            logger.warn("Cache evictions since {} are no longer kept, dropping cached entries", seen);
+        }
+        subscriptions.values().forEach(list -> list.forEach(subscription -> subscription.reset().run()));
+        // Views built at startup cover everything before the first connect
+        if (seen != null && eventPublisher != null) {
+            eventPublisher.publishEvent(new InvalidationsMissedEvent());
+        }
+        return new Date(System.currentTimeMillis() - config.getReplayWindow());
+    }
+
+    void dispatch(Document message) {
+        Date ts = message.getDate("ts");
+        if (ts != null && (lastSeen == null || ts.after(lastSeen))) {
+            lastSeen = ts;
+        }
+        String cache = message.getString("cache");
+        String key = message.getString("key");
+        // Markers carry no cache, and this instance already applied its own writes
+        if (cache == null || key == null || nodeId.equals(message.getString("node"))) {
+            return;
+        }
+        received.incrementAndGet();
+        for (Subscription subscription : subscriptions.getOrDefault(cache, List.of())) {
+            try {
+                subscription.evict().accept(key);
+            } catch (RuntimeException e) {
+                logger.warn("Eviction of {} {} failed: {}", cache, key, e.getMessage());
+            }
+        }
+        Timer timer = lag;
+        if (timer != null && ts != null) {
+            timer.record(Math.max(0, System.currentTimeMillis() - ts.getTime()), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private Document message(String cache, String key) {
+        return new Document("cache", cache).append("key", key).append("node", nodeId).append("ts", new Date());
+    }
+
+    private void ensureCollection() {
+        if (collectionReady) {
+            return;
+        }
+        String name = config.getCollection();
+        if (!mongoTemplate.collectionExists(name)) {
+            try {
+                mongoTemplate.createCollection(name, CollectionOptions.empty()
+                        .capped()
+                        .size(config.getMaxDocuments() * MESSAGE_BYTES)
+                        .maxDocuments(config.getMaxDocuments()));
+            } catch (DataAccessException e) {
+                // Created by another instance in the meantime
+                if (!mongoTemplate.collectionExists(name)) {
+                    throw e;
+                }
+            }
+        }
+        collectionReady = true;
+    }
+}
@@ -0,0 +1,47 @@
+package com.springboot_projects.auction_app_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.cache-bus")
+public class CacheBusConfig {
+
+    private boolean enabled = true;
+    private String collection = "cache_invalidations";
+    private long maxDocuments = 100_000; // History kept for instances resuming after a dropped connection
+    private long replayWindow = 5 * 1000; // 5 seconds of messages read again on (re)connect, covers clock skew
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getCollection() {
+        return collection;
+    }
+
+    public void setCollection(String collection) {
+        this.collection = collection;
+    }
+
+    public long getMaxDocuments() {
+        return maxDocuments;
+    }
+
+    public void setMaxDocuments(long maxDocuments) {
+        this.maxDocuments = maxDocuments;
+    }
+
+    public long getReplayWindow() {
+        return replayWindow;
+    }
+
+    public void setReplayWindow(long replayWindow) {
+        this.replayWindow = replayWindow;
+    }
+}
@@ -0,0 +1,72 @@
+package com.springboot_projects.auction_app_api.config;
+
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+import com.springboot_projects.auction_app_api.model.Bid;
+import com.springboot_projects.auction_app_api.model.Notification;
+import com.springboot_projects.auction_app_api.model.Payment;
+import com.springboot_projects.auction_app_api.model.SavedSearch;
+import com.springboot_projects.auction_app_api.model.User;
+import com.springboot_projects.auction_app_api.model.Watchlist;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Creates the indexes declared on entity annotations. Spring Boot leaves automatic index creation
+// off, so queries that depend on an index (e.g. $text) would otherwise fail on a fresh database.
+// Once the indexes exist the query plans are checked, see QueryPlanVerifier.
+@Component
+public class MongoIndexInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    private static final List<Class<?>> INDEXED_ENTITIES = List.of(AuctionItem.class, Bid.class, User.class,
+            Watchlist.class, Notification.class, Payment.class, SavedSearch.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoMappingContext mappingContext;
+
+    @Autowired
+    private QueryPlanVerifier queryPlanVerifier;
+
+    @Value("${app.mongo.verify-query-plans:true}")
+    private boolean verifyQueryPlans;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        for (Class<?> entityClass : INDEXED_ENTITIES) {
+            try {
+                IndexOperations indexOps = mongoTemplate.indexOps(entityClass);
+                for (IndexDefinition index : resolver.resolveIndexFor(entityClass)) {
+                    indexOps.createIndex(index);
+                }
+                logger.info("Ensured indexes for {}", entityClass.getSimpleName());
+            } catch (Exception e) {
+                logger.warn("Could not ensure indexes for {}: {}", entityClass.getSimpleName(), e.getMessage());
+            }
+        }
+        if (verifyQueryPlans) {
+            try {
+                queryPlanVerifier.verify();
+            } catch (Exception e) {
+                logger.warn("Query plan verification failed: {}", e.getMessage());
+            }
+        }
+    }
+}
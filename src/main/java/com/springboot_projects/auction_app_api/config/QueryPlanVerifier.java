@@ -0,0 +1,184 @@
+package com.springboot_projects.auction_app_api.config;
+
+import com.mongodb.DBRef;
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+import com.springboot_projects.auction_app_api.model.Bid;
+import com.springboot_projects.auction_app_api.model.Notification;
+import com.springboot_projects.auction_app_api.model.Payment;
+import com.springboot_projects.auction_app_api.model.SavedSearch;
+import com.springboot_projects.auction_app_api.model.Watchlist;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.geo.Circle;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Asks the live database how it would run each repository query shape and flags plans that scan the
+// whole collection or sort in memory, so a missing or dropped index shows up at startup instead of as
+// slow requests. The values in the shapes are placeholders, only the plan matters.
+@Component
+public class QueryPlanVerifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryPlanVerifier.class);
+
+    public record QueryShape(String name, Class<?> entityClass, Query query) {
+    }
+
+    public record PlanCheck(String shape, Set<String> stages) {
+        public boolean collectionScan() {
+            return stages.contains("COLLSCAN");
+        }
+
+        public boolean inMemorySort() {
+            return stages.contains("SORT");
+        }
+
+        public boolean ok() {
+            return !collectionScan() && !inMemorySort();
+        }
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final AtomicInteger flaggedPlans = new AtomicInteger();
+
+    @Autowired
+    public void registerMetrics(MeterRegistry meterRegistry) {
+        meterRegistry.gauge("mongo.query.plans.flagged", flaggedPlans);
+    }
+
+    public List<PlanCheck> verify() {
+        QueryMapper queryMapper = new QueryMapper(mongoTemplate.getConverter());
+        List<PlanCheck> checks = new ArrayList<>();
+        for (QueryShape shape : queryShapes()) {
+            try {
+                PlanCheck check = explain(queryMapper, shape);
+                checks.add(check);
+                if (!check.ok()) {
+                    logger.warn("Query '{}' is not served by an index, plan stages: {}", shape.name(), check.stages());
+                }
+            } catch (Exception e) {
+                logger.warn("Could not explain query '{}': {}", shape.name(), e.getMessage());
+            }
+        }
+        long flagged = checks.stream().filter(check -> !check.ok()).count();
+        flaggedPlans.set((int) flagged);
+        logger.info("Verified {} query plans, {} flagged", checks.size(), flagged);
+        return checks;
+    }
+
+    private PlanCheck explain(QueryMapper queryMapper, QueryShape shape) {
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(shape.entityClass());
+        Document filter = queryMapper.getMappedObject(shape.query().getQueryObject(), entity);
+        Document sort = queryMapper.getMappedSort(shape.query().getSortObject(), entity);
+
+        Document explain = mongoTemplate.getCollection(entity.getCollection())
+                .find(filter)
+                .sort(sort)
+                .limit(shape.query().getLimit())
+                .explain();
+        Document winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+
+        Set<String> stages = new LinkedHashSet<>();
+        collectStages(winningPlan, stages);
+        return new PlanCheck(shape.name(), stages);
+    }
+
+    // Plans nest their input stages (and, on newer servers, a queryPlan wrapper) at varying depths
+    private static void collectStages(Object node, Set<String> stages) {
+        if (node instanceof Map<?, ?> map) {
+            Object stage = map.get("stage");
+            if (stage instanceof String name) {
+                stages.add(name);
+            }
+            map.values().forEach(value -> collectStages(value, stages));
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collectStages(value, stages));
+        }
+    }
+
+    // One entry per distinct filter/sort combination the repositories send
+    public static List<QueryShape> queryShapes() {
+        LocalDateTime now = LocalDateTime.now();
+        DBRef user = new DBRef("users", new ObjectId());
+        DBRef auction = new DBRef("auction_items", new ObjectId());
+        String id = new ObjectId().toHexString();
+
+        return List.of(
+                // auction_items
+                new QueryShape("activeAuctions", AuctionItem.class, new Query(Criteria.where("status")
+                        .is(AuctionItem.AuctionStatus.ACTIVE).and("startDate").lte(now).and("endDate").gte(now))
+                        .with(Sort.by("endDate")).limit(10)),
+                new QueryShape("auctionsEndingSoon", AuctionItem.class, new Query(Criteria.where("status")
+                        .is(AuctionItem.AuctionStatus.ACTIVE).and("endDate").gte(now).lte(now.plusHours(1)))),
+                new QueryShape("endedAuctionsToClose", AuctionItem.class, new Query(Criteria.where("endDate").lt(now)
+                        .and("status").is(AuctionItem.AuctionStatus.ACTIVE))),
+                new QueryShape("draftAuctionsToStart", AuctionItem.class, new Query(Criteria.where("startDate").lt(now)
+                        .and("status").is(AuctionItem.AuctionStatus.DRAFT))),
+                new QueryShape("auctionsBySeller", AuctionItem.class, new Query(Criteria.where("seller").is(user))
+                        .with(Sort.by(Sort.Direction.DESC, "createdAt")).limit(10)),
+                new QueryShape("auctionsByCategory", AuctionItem.class, new Query(Criteria.where("category").is("Art"))
+                        .with(Sort.by(Sort.Direction.DESC, "createdAt")).limit(10)),
+                new QueryShape("auctionsByPriceRange", AuctionItem.class, new Query(Criteria.where("currentPrice")
+                        .gte(BigDecimal.ONE).lte(BigDecimal.TEN))),
+                new QueryShape("auctionsByStatus", AuctionItem.class, new Query(Criteria.where("status")
+                        .is(AuctionItem.AuctionStatus.ACTIVE))),
+                new QueryShape("recentActiveAuctions", AuctionItem.class, new Query(Criteria.where("status")
+                        .is(AuctionItem.AuctionStatus.ACTIVE)).with(Sort.by(Sort.Direction.DESC, "createdAt", "id"))
+                        .limit(10)),
+                new QueryShape("recentAuctions", AuctionItem.class, new Query()
+                        .with(Sort.by(Sort.Direction.DESC, "createdAt", "id")).limit(10)),
+                new QueryShape("auctionsNearby", AuctionItem.class, new Query(Criteria.where("location")
+                        .withinSphere(new Circle(new Point(13.405, 52.52), new Distance(25, Metrics.KILOMETERS))))
+                        .limit(10)),
+
+                // bids
+                new QueryShape("bidsForAuction", Bid.class, new Query(Criteria.where("auctionItem").is(auction))
+                        .with(Sort.by(Sort.Direction.DESC, "timestamp", "id")).limit(10)),
+                new QueryShape("highestBidForAuction", Bid.class, new Query(Criteria.where("auctionItem").is(auction))
+                        .with(Sort.by(Sort.Direction.DESC, "amount")).limit(1)),
+                new QueryShape("outbidCandidates", Bid.class, new Query(Criteria.where("auctionItem").is(auction)
+                        .and("status").in(Bid.BidStatus.ACTIVE, Bid.BidStatus.WINNING))),
+                new QueryShape("bidsByBidder", Bid.class, new Query(Criteria.where("bidder").is(user))
+                        .with(Sort.by(Sort.Direction.DESC, "timestamp")).limit(10)),
+                new QueryShape("bidsByStatus", Bid.class, new Query(Criteria.where("status").is(Bid.BidStatus.WINNING))),
+                new QueryShape("recentBids", Bid.class, new Query()
+                        .with(Sort.by(Sort.Direction.DESC, "timestamp", "id")).limit(10)),
+
+                // watchlist, notifications, payments, saved searches
+                new QueryShape("watchlistEntry", Watchlist.class, new Query(Criteria.where("user").is(user)
+                        .and("auctionItem").is(auction))),
+                new QueryShape("userWatchlist", Watchlist.class, new Query(Criteria.where("user").is(user))),
+                new QueryShape("notificationsForUser", Notification.class, new Query(Criteria.where("recipientId").is(id))
+                        .with(Sort.by(Sort.Direction.DESC, "createdAt"))),
+                new QueryShape("unreadNotifications", Notification.class, new Query(Criteria.where("recipientId").is(id)
+                        .and("read").is(false)).with(Sort.by(Sort.Direction.DESC, "createdAt"))),
+                new QueryShape("paymentForAuction", Payment.class, new Query(Criteria.where("auctionId").is(id))),
+                new QueryShape("paymentsByPayer", Payment.class, new Query(Criteria.where("payerId").is(id))),
+                new QueryShape("savedSearchesByUser", SavedSearch.class, new Query(Criteria.where("userId").is(id))
+                        .with(Sort.by(Sort.Direction.DESC, "createdAt"))));
+    }
+}
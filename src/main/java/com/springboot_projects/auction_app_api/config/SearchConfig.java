@@ -0,0 +1,20 @@
+package com.springboot_projects.auction_app_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.search")
+public class SearchConfig {
+
+    private boolean loadOnStartup = true; // Off, the in-process views stay on their Mongo fallbacks
+
+    // Getters and Setters
+    public boolean isLoadOnStartup() {
+        return loadOnStartup;
+    }
+
+    public void setLoadOnStartup(boolean loadOnStartup) {
+        this.loadOnStartup = loadOnStartup;
+    }
+}
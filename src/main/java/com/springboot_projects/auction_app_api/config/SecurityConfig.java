@@ -5,6 +5,7 @@ import com.springboot_projects.auction_app_api.security.JwtAuthenticationFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -48,6 +49,8 @@ public class SecurityConfig {
         configuration.addAllowedOriginPattern("*");
         configuration.addAllowedMethod("*");
         configuration.addAllowedHeader("*");
+        // Lets pollers read the tag to send back in If-None-Match
+        configuration.addExposedHeader(HttpHeaders.ETAG);
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -67,7 +70,7 @@ public class SecurityConfig {
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/users/check-username/**").permitAll()
                         .requestMatchers("/api/users/check-email/**").permitAll()
-                        .requestMatchers("/ws/**").permitAll()
+                        .requestMatchers("/ws/**", "/ws-native").permitAll()
                         // Bid viewing - Public access for viewing bids (Explicitly permissive)
                         .requestMatchers(HttpMethod.GET, "/api/bids/auction/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/bids/auction/*/recent").permitAll()
@@ -86,12 +89,14 @@ public class SecurityConfig {
                         .requestMatchers("/api/auctions").permitAll() // View auctions
                         .requestMatchers("/api/auctions/active").permitAll()
                         .requestMatchers("/api/auctions/search").permitAll()
+                        .requestMatchers("/api/auctions/suggest").permitAll()
                         .requestMatchers("/api/auctions/category/**").permitAll()
                         .requestMatchers("/api/auctions/price-range").permitAll()
                         .requestMatchers("/api/auctions/top-by-price").permitAll()
                         .requestMatchers("/api/auctions/recent").permitAll()
                         .requestMatchers("/api/auctions/ending-soon").permitAll()
                         .requestMatchers("/api/auctions/{id}").permitAll() // View specific auction
+                        .requestMatchers(HttpMethod.GET, "/api/auctions/*/stream").permitAll() // Live auction events
 
                         // Auction management - Seller or Bidder (Allowing Bidders to become Sellers)
                         .requestMatchers(HttpMethod.POST, "/api/auctions").hasAnyRole("SELLER", "BIDDER")
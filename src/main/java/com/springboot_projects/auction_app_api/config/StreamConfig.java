@@ -0,0 +1,56 @@
+package com.springboot_projects.auction_app_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.stream")
+public class StreamConfig {
+
+    private long emitterTimeout = 30 * 60 * 1000; // 30 minutes, clients reconnect with Last-Event-ID
+    private long heartbeatInterval = 15 * 1000; // 15 seconds, keeps idle connections through proxies
+    private int maxPendingEvents = 64; // Undelivered events per client before it is disconnected
+    private long sendTimeLimit = 10 * 1000; // 10 seconds a single write may block before the client is dropped
+    private int fanoutPoolSize = Runtime.getRuntime().availableProcessors() * 2;
+
+    // Getters and Setters
+    public long getEmitterTimeout() {
+        return emitterTimeout;
+    }
+
+    public void setEmitterTimeout(long emitterTimeout) {
+        this.emitterTimeout = emitterTimeout;
+    }
+
+    public long getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(long heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    public int getMaxPendingEvents() {
+        return maxPendingEvents;
+    }
+
+    public void setMaxPendingEvents(int maxPendingEvents) {
+        this.maxPendingEvents = maxPendingEvents;
+    }
+
+    public long getSendTimeLimit() {
+        return sendTimeLimit;
+    }
+
+    public void setSendTimeLimit(long sendTimeLimit) {
+        this.sendTimeLimit = sendTimeLimit;
+    }
+
+    public int getFanoutPoolSize() {
+        return fanoutPoolSize;
+    }
+
+    public void setFanoutPoolSize(int fanoutPoolSize) {
+        this.fanoutPoolSize = fanoutPoolSize;
+    }
+}
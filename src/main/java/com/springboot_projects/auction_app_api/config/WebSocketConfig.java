@@ -1,23 +1,37 @@
 package com.springboot_projects.auction_app_api.config;
 
+import com.springboot_projects.auction_app_api.security.StompAuthChannelInterceptor;
+import com.springboot_projects.auction_app_api.websocket.SlowConsumerHandlerDecoratorFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    @Autowired
+    private WebSocketTransportConfig transportConfig;
+
+    @Autowired
+    private SlowConsumerHandlerDecoratorFactory slowConsumerHandlerDecoratorFactory;
+
+    @Autowired
+    private StompAuthChannelInterceptor stompAuthChannelInterceptor;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         // Enable a simple memory-based message broker to carry messages back to the client
         config.enableSimpleBroker("/topic", "/queue");
-        
+
         // Designate the "/app" prefix for messages that are bound for @MessageMapping methods
         config.setApplicationDestinationPrefixes("/app");
-        
+
         // Set user destination prefix for private messages
         config.setUserDestinationPrefix("/user");
     }
@@ -28,5 +42,33 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         registry.addEndpoint("/ws")
                 .setAllowedOriginPatterns("*")
                 .withSockJS();
+
+        // Plain WebSocket endpoint without SockJS framing; Tomcat negotiates permessage-deflate
+        // when the client offers it
+        registry.addEndpoint("/ws-native")
+                .setAllowedOriginPatterns("*");
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // Bound what a single slow client can hold in memory before it is disconnected
+        registration.setSendTimeLimit(transportConfig.getSendTimeLimit())
+                .setSendBufferSizeLimit(transportConfig.getSendBufferSizeLimit())
+                .setMessageSizeLimit(transportConfig.getMessageSizeLimit())
+                .addDecoratorFactory(slowConsumerHandlerDecoratorFactory);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // Authenticate once at CONNECT, the principal is then reused for every frame of the session
+        registration.interceptors(stompAuthChannelInterceptor);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // Socket writes happen on the drain executor, so outbound threads only enqueue frames
+        registration.taskExecutor()
+                .corePoolSize(transportConfig.getOutboundCorePoolSize())
+                .maxPoolSize(transportConfig.getOutboundMaxPoolSize());
     }
-}
\ No newline at end of file
+}
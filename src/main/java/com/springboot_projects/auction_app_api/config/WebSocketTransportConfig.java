@@ -0,0 +1,92 @@
+package com.springboot_projects.auction_app_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.websocket")
+public class WebSocketTransportConfig {
+
+    private int sendTimeLimit = 10 * 1000; // 10 seconds
+    private int sendBufferSizeLimit = 512 * 1024; // 512KB
+    private int messageSizeLimit = 64 * 1024; // 64KB
+    private int slowConsumerQueueDepth = 32; // Pending frames before bid ticks are conflated
+    private int outboundCorePoolSize = Runtime.getRuntime().availableProcessors() * 2;
+    private int outboundMaxPoolSize = Runtime.getRuntime().availableProcessors() * 4;
+    private int drainPoolSize = Runtime.getRuntime().availableProcessors() * 2;
+    private int replayBufferSize = 128; // Recent bid notifications kept per auction
+    private int replayMaxAuctions = 1000; // Hot auctions with a replay buffer
+
+    // Getters and Setters
+    public int getSendTimeLimit() {
+        return sendTimeLimit;
+    }
+
+    public void setSendTimeLimit(int sendTimeLimit) {
+        this.sendTimeLimit = sendTimeLimit;
+    }
+
+    public int getSendBufferSizeLimit() {
+        return sendBufferSizeLimit;
+    }
+
+    public void setSendBufferSizeLimit(int sendBufferSizeLimit) {
+        this.sendBufferSizeLimit = sendBufferSizeLimit;
+    }
+
+    public int getMessageSizeLimit() {
+        return messageSizeLimit;
+    }
+
+    public void setMessageSizeLimit(int messageSizeLimit) {
+        this.messageSizeLimit = messageSizeLimit;
+    }
+
+    public int getSlowConsumerQueueDepth() {
+        return slowConsumerQueueDepth;
+    }
+
+    public void setSlowConsumerQueueDepth(int slowConsumerQueueDepth) {
+        this.slowConsumerQueueDepth = slowConsumerQueueDepth;
+    }
+
+    public int getOutboundCorePoolSize() {
+        return outboundCorePoolSize;
+    }
+
+    public void setOutboundCorePoolSize(int outboundCorePoolSize) {
+        this.outboundCorePoolSize = outboundCorePoolSize;
+    }
+
+    public int getOutboundMaxPoolSize() {
+        return outboundMaxPoolSize;
+    }
+
+    public void setOutboundMaxPoolSize(int outboundMaxPoolSize) {
+        this.outboundMaxPoolSize = outboundMaxPoolSize;
+    }
+
+    public int getDrainPoolSize() {
+        return drainPoolSize;
+    }
+
+    public void setDrainPoolSize(int drainPoolSize) {
+        this.drainPoolSize = drainPoolSize;
+    }
+
+    public int getReplayBufferSize() {
+        return replayBufferSize;
+    }
+
+    public void setReplayBufferSize(int replayBufferSize) {
+        this.replayBufferSize = replayBufferSize;
+    }
+
+    public int getReplayMaxAuctions() {
+        return replayMaxAuctions;
+    }
+
+    public void setReplayMaxAuctions(int replayMaxAuctions) {
+        this.replayMaxAuctions = replayMaxAuctions;
+    }
+}
@@ -5,17 +5,24 @@ import com.springboot_projects.auction_app_api.exception.AuctionNotFoundExceptio
 import com.springboot_projects.auction_app_api.exception.UserNotFoundException;
 import com.springboot_projects.auction_app_api.model.AuctionItem;
 import com.springboot_projects.auction_app_api.model.User;
+import com.springboot_projects.auction_app_api.search.AuctionSuggester;
+import com.springboot_projects.auction_app_api.search.SearchMode;
 import com.springboot_projects.auction_app_api.service.AuctionItemService;
+import com.springboot_projects.auction_app_api.service.AuctionStreamService;
 import com.springboot_projects.auction_app_api.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import jakarta.validation.Valid;
 
@@ -35,6 +42,9 @@ public class AuctionItemController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private AuctionStreamService auctionStreamService;
+
     // Create new auction
     @PostMapping
     public ResponseEntity<ApiResponse<AuctionItemDto>> createAuction(@Valid @RequestBody CreateAuctionRequest request) {
@@ -53,6 +63,9 @@ public class AuctionItemController {
         auctionItem.setStartDate(request.getStartDate());
         auctionItem.setEndDate(request.getEndDate());
         auctionItem.setSeller(seller.get());
+        if (request.getLatitude() != null) {
+            auctionItem.setLocation(new GeoJsonPoint(request.getLongitude(), request.getLatitude()));
+        }
 
         AuctionItem createdAuction = auctionItemService.createAuctionItem(auctionItem);
         AuctionItemDto auctionDto = new AuctionItemDto(createdAuction);
@@ -61,9 +74,13 @@ public class AuctionItemController {
                 .body(ApiResponse.success("Auction created successfully", auctionDto));
     }
 
-    // Get auction by ID
+    // Get auction by ID; 304 when the client's ETag still matches the auction's version
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<AuctionItemDto>> getAuctionById(@PathVariable String id) {
+    public ResponseEntity<ApiResponse<AuctionItemDto>> getAuctionById(@PathVariable String id, WebRequest webRequest) {
+        Optional<AuctionVersion> version = auctionItemService.getAuctionVersion(id);
+        if (version.isPresent() && webRequest.checkNotModified(version.get().toETag("auction"))) {
+            return null;
+        }
         Optional<AuctionItem> auction = auctionItemService.getAuctionItemById(id);
         if (auction.isPresent()) {
             AuctionItemDto auctionDto = new AuctionItemDto(auction.get());
@@ -73,6 +90,17 @@ public class AuctionItemController {
         }
     }
 
+    // Live bid and status events as Server-Sent Events, replaces polling the auction and recent bids
+    @GetMapping(value = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAuction(@PathVariable String id,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        if (!auctionItemService.getAuctionItemById(id).isPresent()) {
+            throw new AuctionNotFoundException("Auction not found with ID: " + id);
+        }
+        return auctionStreamService.subscribe(id, lastEventId,
+                () -> auctionItemService.getAuctionItemById(id).map(AuctionItemDto::new).orElse(null));
+    }
+
     // Update auction
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('SELLER') and @auctionItemService.isAuctionOwner(authentication.name, #id)")
@@ -86,6 +114,9 @@ public class AuctionItemController {
         updateData.setReservePrice(request.getReservePrice());
         updateData.setStartDate(request.getStartDate());
         updateData.setEndDate(request.getEndDate());
+        if (request.getLatitude() != null) {
+            updateData.setLocation(new GeoJsonPoint(request.getLongitude(), request.getLatitude()));
+        }
 
         AuctionItem updatedAuction = auctionItemService.updateAuctionItem(id, updateData);
         AuctionItemDto auctionDto = new AuctionItemDto(updatedAuction);
@@ -93,22 +124,53 @@ public class AuctionItemController {
         return ResponseEntity.ok(ApiResponse.success("Auction updated successfully", auctionDto));
     }
 
-    // Get all auctions with pagination
+    // Get all auctions with pagination; the total is estimated unless exactTotal=true
     @GetMapping
     public ResponseEntity<ApiResponse<Page<AuctionItemDto>>> getAllAuctions(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "false") boolean exactTotal) {
         Sort sort = sortDir.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Page<AuctionItem> auctions = auctionItemService.getAllAuctions(pageable);
+        Page<AuctionItem> auctions = auctionItemService.getAllAuctions(pageable, exactTotal);
         Page<AuctionItemDto> auctionDtos = auctions.map(AuctionItemDto::new);
 
         return ResponseEntity.ok(ApiResponse.success(auctionDtos));
     }
 
+    // Get all auctions as listing cards (view=summary)
+    @GetMapping(params = {"view=summary", "!cursor"})
+    public ResponseEntity<ApiResponse<Page<AuctionSummary>>> getAuctionSummaries(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "false") boolean exactTotal) {
+        Sort sort = sortDir.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+        Pageable pageable = PageRequest.of(page, size, sort);
+
+        return ResponseEntity.ok(ApiResponse.success(auctionItemService.getAuctionSummaries(pageable, exactTotal)));
+    }
+
+    // Get all auctions by keyset cursor (pass cursor= empty for the first page)
+    @GetMapping(params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPage<AuctionItemDto>>> getAllAuctionsByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        Sort.Order order = sortDir.equalsIgnoreCase("desc") ? Sort.Order.desc(sortBy) : Sort.Order.asc(sortBy);
+
+        CursorPage<AuctionItem> auctions = auctionItemService.getAllAuctions(order, cursor, size, includeTotal);
+        CursorPage<AuctionItemDto> auctionDtos = auctions.map(AuctionItemDto::new);
+
+        return ResponseEntity.ok(ApiResponse.success(auctionDtos));
+    }
+
     // Get active auctions
     @GetMapping("/active")
     public ResponseEntity<ApiResponse<Page<AuctionItemDto>>> getActiveAuctions(
@@ -121,6 +183,28 @@ public class AuctionItemController {
         return ResponseEntity.ok(ApiResponse.success(auctionDtos));
     }
 
+    // Get active auctions as listing cards (view=summary)
+    @GetMapping(value = "/active", params = {"view=summary", "!cursor"})
+    public ResponseEntity<ApiResponse<Page<AuctionSummary>>> getActiveAuctionSummaries(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by("endDate").ascending());
+
+        return ResponseEntity.ok(ApiResponse.success(auctionItemService.getActiveAuctionSummaries(pageable)));
+    }
+
+    // Get active auctions by keyset cursor
+    @GetMapping(value = "/active", params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPage<AuctionItemDto>>> getActiveAuctionsByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        CursorPage<AuctionItem> auctions = auctionItemService.getActiveAuctions(cursor, size, includeTotal);
+        CursorPage<AuctionItemDto> auctionDtos = auctions.map(AuctionItemDto::new);
+
+        return ResponseEntity.ok(ApiResponse.success(auctionDtos));
+    }
+
     // Get auctions ending soon
     @GetMapping("/ending-soon")
     public ResponseEntity<ApiResponse<List<AuctionItemDto>>> getAuctionsEndingSoon() {
@@ -163,10 +247,24 @@ public class AuctionItemController {
         return ResponseEntity.ok(ApiResponse.success(auctionDtos));
     }
 
-    // Search auctions
+    // Get auctions by category as listing cards (view=summary)
+    @GetMapping(value = "/category/{category}", params = "view=summary")
+    public ResponseEntity<ApiResponse<Page<AuctionSummary>>> getAuctionSummariesByCategory(
+            @PathVariable String category,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+
+        return ResponseEntity.ok(ApiResponse.success(
+                auctionItemService.getAuctionSummariesByCategory(category, pageable)));
+    }
+
+    // Search auctions; fuzzy=true tolerates typos in title words, closest matches first
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<List<AuctionItemDto>>> searchAuctions(@RequestParam String query) {
-        List<AuctionItem> auctions = auctionItemService.searchAuctions(query);
+    public ResponseEntity<ApiResponse<List<AuctionItemDto>>> searchAuctions(@RequestParam String query,
+            @RequestParam(defaultValue = "false") boolean fuzzy) {
+        List<AuctionItem> auctions = fuzzy ? auctionItemService.fuzzySearchAuctions(query)
+                : auctionItemService.searchAuctions(query);
         List<AuctionItemDto> auctionDtos = auctions.stream()
                 .map(AuctionItemDto::new)
                 .collect(Collectors.toList());
@@ -174,14 +272,37 @@ public class AuctionItemController {
         return ResponseEntity.ok(ApiResponse.success(auctionDtos));
     }
 
+    // Search auctions, returning listing cards (view=summary)
+    @GetMapping(value = "/search", params = "view=summary")
+    public ResponseEntity<ApiResponse<List<AuctionSummary>>> searchAuctionSummaries(@RequestParam String query,
+            @RequestParam(defaultValue = "false") boolean fuzzy) {
+        return ResponseEntity.ok(ApiResponse.success(fuzzy ? auctionItemService.fuzzySearchAuctionSummaries(query)
+                : auctionItemService.searchAuctionSummaries(query)));
+    }
+
+    // Autocomplete for the search box
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<AuctionSuggester.Suggestion>>> suggestAuctions(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(auctionItemService.suggestAuctions(query, limit)));
+    }
+
     // Filter auctions (Combine search, category, status, price)
+    // searchMode: INDEX (default), TEXT for the Mongo text index ranked by score, REGEX for substring matches,
+    // LUCENE for the embedded Lucene index
+    // near ("latitude,longitude") limits results to auctions with a location, within withinKm when given;
+    // sortBy=distance orders them nearest first
     @GetMapping("/filter")
     public ResponseEntity<ApiResponse<Page<AuctionItemDto>>> filterAuctions(
             @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "INDEX") SearchMode searchMode,
             @RequestParam(required = false) String category,
             @RequestParam(required = false) AuctionItem.AuctionStatus status,
             @RequestParam(required = false) BigDecimal minPrice,
             @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String near,
+            @RequestParam(required = false) Double withinKm,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
@@ -190,13 +311,66 @@ public class AuctionItemController {
         Sort sort = sortDir.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Page<AuctionItem> auctions = auctionItemService.filterAuctions(search, category, status, minPrice, maxPrice,
-                pageable);
+        Page<AuctionItem> auctions = auctionItemService.filterAuctions(search, searchMode, category, status, minPrice,
+                maxPrice, near, withinKm, pageable);
         Page<AuctionItemDto> auctionDtos = auctions.map(AuctionItemDto::new);
 
         return ResponseEntity.ok(ApiResponse.success(auctionDtos));
     }
 
+    // Filter auctions with facet counts (facets=true), one round trip for the browse page. The counts
+    // come from one aggregation, so INDEX and LUCENE match the term as a substring like REGEX. near and
+    // withinKm narrow results and counts; sortBy=distance is only available without facets.
+    @GetMapping(value = "/filter", params = {"facets=true", "!cursor"})
+    public ResponseEntity<ApiResponse<FacetedPage<AuctionItemDto>>> filterAuctionsWithFacets(
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "INDEX") SearchMode searchMode,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) AuctionItem.AuctionStatus status,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String near,
+            @RequestParam(required = false) Double withinKm,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir) {
+
+        Sort sort = sortDir.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+        Pageable pageable = PageRequest.of(page, size, sort);
+
+        FacetedPage<AuctionItem> auctions = auctionItemService.filterAuctionsWithFacets(search, searchMode, category,
+                status, minPrice, maxPrice, near, withinKm, pageable);
+        FacetedPage<AuctionItemDto> auctionDtos = auctions.map(AuctionItemDto::new);
+
+        return ResponseEntity.ok(ApiResponse.success(auctionDtos));
+    }
+
+    // Filter auctions by keyset cursor; the search term is matched as a substring. near and withinKm
+    // filter like on the paged variant, sortBy=distance is not available.
+    @GetMapping(value = "/filter", params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPage<AuctionItemDto>>> filterAuctionsByCursor(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) AuctionItem.AuctionStatus status,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String near,
+            @RequestParam(required = false) Double withinKm,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        Sort.Order order = sortDir.equalsIgnoreCase("desc") ? Sort.Order.desc(sortBy) : Sort.Order.asc(sortBy);
+
+        CursorPage<AuctionItem> auctions = auctionItemService.filterAuctions(search, category, status, minPrice,
+                maxPrice, near, withinKm, order, cursor, size, includeTotal);
+        CursorPage<AuctionItemDto> auctionDtos = auctions.map(AuctionItemDto::new);
+
+        return ResponseEntity.ok(ApiResponse.success(auctionDtos));
+    }
+
     // Get auctions by price range
     @GetMapping("/price-range")
     public ResponseEntity<ApiResponse<Page<AuctionItemDto>>> getAuctionsByPriceRange(
@@ -211,7 +385,7 @@ public class AuctionItemController {
         return ResponseEntity.ok(ApiResponse.success(auctionDtos));
     }
 
-    // Get top auctions by price
+    // Get active auctions with the highest current price
     @GetMapping("/top-by-price")
     public ResponseEntity<ApiResponse<List<AuctionItemDto>>> getTopAuctionsByPrice(
             @RequestParam(defaultValue = "10") int limit) {
@@ -223,7 +397,14 @@ public class AuctionItemController {
         return ResponseEntity.ok(ApiResponse.success(auctionDtos));
     }
 
-    // Get recently created auctions
+    // Get active auctions with the highest current price as listing cards (view=summary)
+    @GetMapping(value = "/top-by-price", params = "view=summary")
+    public ResponseEntity<ApiResponse<List<AuctionSummary>>> getTopAuctionSummariesByPrice(
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(auctionItemService.getTopAuctionSummariesByPrice(limit)));
+    }
+
+    // Get recently created active auctions
     @GetMapping("/recent")
     public ResponseEntity<ApiResponse<List<AuctionItemDto>>> getRecentAuctions(
             @RequestParam(defaultValue = "10") int limit) {
@@ -235,6 +416,13 @@ public class AuctionItemController {
         return ResponseEntity.ok(ApiResponse.success(auctionDtos));
     }
 
+    // Get recently created active auctions as listing cards (view=summary)
+    @GetMapping(value = "/recent", params = "view=summary")
+    public ResponseEntity<ApiResponse<List<AuctionSummary>>> getRecentAuctionSummaries(
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(auctionItemService.getRecentAuctionSummaries(limit)));
+    }
+
     // Start auction
     @PatchMapping("/{id}/start")
     @PreAuthorize("hasRole('SELLER') and @auctionItemService.isAuctionOwner(authentication.name, #id)")
@@ -10,6 +10,7 @@ import com.springboot_projects.auction_app_api.model.User;
 import com.springboot_projects.auction_app_api.service.AuctionItemService;
 import com.springboot_projects.auction_app_api.service.BidService;
 import com.springboot_projects.auction_app_api.service.UserService;
+import com.springboot_projects.auction_app_api.websocket.BidStreamBuffer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -18,6 +19,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 import java.math.BigDecimal;
@@ -40,6 +42,9 @@ public class BidController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private BidStreamBuffer bidStreamBuffer;
+
     // Place a bid
     @PostMapping("/auction/{auctionId}")
     public ResponseEntity<ApiResponse<BidDto>> placeBid(@PathVariable String auctionId,
@@ -63,22 +68,39 @@ public class BidController {
         }
     }
 
-    // Get all bids with pagination
+    // Get all bids with pagination; the total is estimated unless exactTotal=true
     @GetMapping
     public ResponseEntity<ApiResponse<Page<BidDto>>> getAllBids(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "timestamp") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "false") boolean exactTotal) {
         Sort sort = sortDir.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Page<Bid> bids = bidService.getAllBids(pageable);
+        Page<Bid> bids = bidService.getAllBids(pageable, exactTotal);
         Page<BidDto> bidDtos = bids.map(BidDto::new);
 
         return ResponseEntity.ok(ApiResponse.success(bidDtos));
     }
 
+    // Get all bids by keyset cursor (pass cursor= empty for the first page)
+    @GetMapping(params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPage<BidDto>>> getAllBidsByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "timestamp") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        Sort.Order order = sortDir.equalsIgnoreCase("desc") ? Sort.Order.desc(sortBy) : Sort.Order.asc(sortBy);
+
+        CursorPage<Bid> bids = bidService.getAllBids(order, cursor, size, includeTotal);
+        CursorPage<BidDto> bidDtos = bids.map(BidDto::new);
+
+        return ResponseEntity.ok(ApiResponse.success(bidDtos));
+    }
+
     // Get bids for auction
     @GetMapping("/auction/{auctionId}")
     public ResponseEntity<ApiResponse<Page<BidDto>>> getBidsForAuction(
@@ -97,11 +119,34 @@ public class BidController {
         return ResponseEntity.ok(ApiResponse.success(bidDtos));
     }
 
+    // Get bids for auction by keyset cursor, newest first
+    @GetMapping(value = "/auction/{auctionId}", params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPage<BidDto>>> getBidsForAuctionByCursor(
+            @PathVariable String auctionId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        Optional<AuctionItem> auction = auctionItemService.getAuctionItemById(auctionId);
+        if (!auction.isPresent()) {
+            throw new AuctionNotFoundException("Auction not found with ID: " + auctionId);
+        }
+
+        CursorPage<Bid> bids = bidService.getBidsForAuction(auction.get(), cursor, size, includeTotal);
+        CursorPage<BidDto> bidDtos = bids.map(BidDto::new);
+
+        return ResponseEntity.ok(ApiResponse.success(bidDtos));
+    }
+
     // Get recent bids for auction
     @GetMapping("/auction/{auctionId}/recent")
     public ResponseEntity<ApiResponse<List<BidDto>>> getRecentBidsForAuction(
             @PathVariable String auctionId,
-            @RequestParam(defaultValue = "5") int limit) {
+            @RequestParam(defaultValue = "5") int limit,
+            WebRequest webRequest) {
+        Optional<AuctionVersion> version = auctionItemService.getAuctionVersion(auctionId);
+        if (version.isPresent() && webRequest.checkNotModified(version.get().toETag("recent" + limit))) {
+            return null;
+        }
         List<Bid> bids = bidService.getRecentBidsForAuction(auctionId, limit);
         List<BidDto> bidDtos = bids.stream()
                 .map(BidDto::new)
@@ -110,9 +155,23 @@ public class BidController {
         return ResponseEntity.ok(ApiResponse.success(bidDtos));
     }
 
+    // Replay bid notifications missed since a sequence number (gap-fill after reconnect)
+    @GetMapping("/auction/{auctionId}/since")
+    public ResponseEntity<ApiResponse<BidReplayResponse>> getBidNotificationsSince(
+            @PathVariable String auctionId,
+            @RequestParam long sequence) {
+        BidReplayResponse replay = bidStreamBuffer.since(auctionId, sequence);
+        return ResponseEntity.ok(ApiResponse.success(replay));
+    }
+
     // Get price trends for auction
     @GetMapping("/auction/{auctionId}/trends")
-    public ResponseEntity<ApiResponse<List<PriceTrendDto>>> getPriceTrends(@PathVariable String auctionId) {
+    public ResponseEntity<ApiResponse<List<PriceTrendDto>>> getPriceTrends(@PathVariable String auctionId,
+            WebRequest webRequest) {
+        Optional<AuctionVersion> version = auctionItemService.getAuctionVersion(auctionId);
+        if (version.isPresent() && webRequest.checkNotModified(version.get().toETag("trends"))) {
+            return null;
+        }
         List<PriceTrendDto> trends = bidService.getPriceTrendsForAuction(auctionId);
         return ResponseEntity.ok(ApiResponse.success(trends));
     }
@@ -3,6 +3,7 @@ package com.springboot_projects.auction_app_api.controller;
 import com.springboot_projects.auction_app_api.dto.BidNotification;
 import com.springboot_projects.auction_app_api.dto.PlaceBidRequest;
 import com.springboot_projects.auction_app_api.model.Bid;
+import com.springboot_projects.auction_app_api.security.CustomUserDetails;
 import com.springboot_projects.auction_app_api.service.BidService;
 import com.springboot_projects.auction_app_api.service.WebSocketNotificationService;
 import org.slf4j.Logger;
@@ -12,6 +13,7 @@ import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 
 import java.security.Principal;
@@ -21,6 +23,8 @@ public class BidWebSocketController {
     
     private static final Logger logger = LoggerFactory.getLogger(BidWebSocketController.class);
     
+    private static final String ANONYMOUS = "anonymous";
+    
     @Autowired
     private BidService bidService;
     
@@ -33,24 +37,34 @@ public class BidWebSocketController {
                         @Payload PlaceBidRequest bidRequest,
                         SimpMessageHeaderAccessor headerAccessor,
                         Principal principal) {
+        // The principal was resolved from the JWT at CONNECT, the bidder is never taken from the payload
+        if (principal == null) {
+            logger.warn("Rejected real-time bid for auction {} from unauthenticated session {}",
+                       auctionId, headerAccessor.getSessionId());
+            return;
+        }
+        
+        CustomUserDetails bidder = resolveBidder(principal);
+        if (bidder == null) {
+            notificationService.notifyBidError(principal.getName(), auctionId, "Only bidders can place bids");
+            return;
+        }
+        
         try {
             logger.info("Received real-time bid for auction {} from user {}", 
                        auctionId, principal.getName());
             
-            // Place the bid
-            Bid bid = bidService.placeBid(auctionId, bidRequest.getBidderId(), bidRequest.getAmount());
-            
-            // Send real-time notification to all auction watchers
-            notificationService.notifyNewBid(auctionId, bid);
+            // Place the bid (BidService broadcasts the sequenced notification to watchers)
+            Bid bid = bidService.placeBid(auctionId, bidder.getUser().getId(), bidRequest.getAmount());
             
             // Send confirmation to the bidder
-            notificationService.notifyBidConfirmation(bidRequest.getBidderId(), bid);
+            notificationService.notifyBidConfirmation(principal.getName(), bid);
             
         } catch (Exception e) {
             logger.error("Error placing real-time bid for auction {}: {}", auctionId, e.getMessage());
             
             // Send error notification to the bidder
-            notificationService.notifyBidError(bidRequest.getBidderId(), auctionId, e.getMessage());
+            notificationService.notifyBidError(principal.getName(), auctionId, e.getMessage());
         }
     }
     
@@ -59,11 +73,12 @@ public class BidWebSocketController {
     public void watchAuction(@DestinationVariable String auctionId,
                            SimpMessageHeaderAccessor headerAccessor,
                            Principal principal) {
-        logger.info("User {} started watching auction {}", principal.getName(), auctionId);
+        String username = principal != null ? principal.getName() : ANONYMOUS;
+        logger.info("User {} started watching auction {}", username, auctionId);
         
         // Add user to auction watchers
         String sessionId = headerAccessor.getSessionId();
-        notificationService.addAuctionWatcher(auctionId, sessionId, principal.getName());
+        notificationService.addAuctionWatcher(auctionId, sessionId, username);
         
         // Send current auction status
         notificationService.sendAuctionStatus(auctionId, sessionId);
@@ -74,10 +89,21 @@ public class BidWebSocketController {
     public void unwatchAuction(@DestinationVariable String auctionId,
                              SimpMessageHeaderAccessor headerAccessor,
                              Principal principal) {
-        logger.info("User {} stopped watching auction {}", principal.getName(), auctionId);
+        logger.info("User {} stopped watching auction {}", principal != null ? principal.getName() : ANONYMOUS, auctionId);
         
         // Remove user from auction watchers
         String sessionId = headerAccessor.getSessionId();
         notificationService.removeAuctionWatcher(auctionId, sessionId);
     }
+    
+    // Bidders only; authorities come from the principal cached at CONNECT
+    private static CustomUserDetails resolveBidder(Principal principal) {
+        if (principal instanceof Authentication authentication
+                && authentication.getPrincipal() instanceof CustomUserDetails userDetails
+                && authentication.getAuthorities().stream()
+                        .anyMatch(authority -> "ROLE_BIDDER".equals(authority.getAuthority()))) {
+            return userDetails;
+        }
+        return null;
+    }
 }
\ No newline at end of file
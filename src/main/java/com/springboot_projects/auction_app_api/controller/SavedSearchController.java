@@ -0,0 +1,57 @@
+package com.springboot_projects.auction_app_api.controller;
+
+import com.springboot_projects.auction_app_api.dto.ApiResponse;
+import com.springboot_projects.auction_app_api.dto.CreateSavedSearchRequest;
+import com.springboot_projects.auction_app_api.model.SavedSearch;
+import com.springboot_projects.auction_app_api.service.SavedSearchService;
+import com.springboot_projects.auction_app_api.service.UserService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// Searches the user is alerted about when a matching auction goes live
+@RestController
+@RequestMapping("/api/saved-searches")
+public class SavedSearchController {
+
+    @Autowired
+    private SavedSearchService savedSearchService;
+
+    @Autowired
+    private UserService userService;
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<SavedSearch>> createSavedSearch(
+            @Valid @RequestBody CreateSavedSearchRequest request, Authentication authentication) {
+        SavedSearch savedSearch = new SavedSearch(null, request.getName(), request.getQuery(), request.getCategory(),
+                request.getMinPrice(), request.getMaxPrice());
+        SavedSearch created = savedSearchService.createSavedSearch(getUserId(authentication), savedSearch);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Saved search created successfully", created));
+    }
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<SavedSearch>>> getSavedSearches(Authentication authentication) {
+        return ResponseEntity.ok(ApiResponse.success(savedSearchService.getSavedSearches(getUserId(authentication))));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse<Void>> deleteSavedSearch(@PathVariable String id,
+            Authentication authentication) {
+        if (!savedSearchService.deleteSavedSearch(getUserId(authentication), id)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error("Saved search not found"));
+        }
+        return ResponseEntity.ok(ApiResponse.success("Saved search deleted successfully", null));
+    }
+
+    private String getUserId(Authentication authentication) {
+        return userService.getUserByUsername(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"))
+                .getId();
+    }
+}
@@ -0,0 +1,36 @@
+package com.springboot_projects.auction_app_api.controller;
+
+import com.springboot_projects.auction_app_api.dto.ApiResponse;
+import com.springboot_projects.auction_app_api.search.LuceneAuctionIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/search-index")
+@CrossOrigin(origins = "*")
+public class SearchIndexController {
+
+    @Autowired
+    private LuceneAuctionIndex luceneAuctionIndex;
+
+    // Document count, size on disk and query latency of the Lucene index
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<LuceneAuctionIndex.IndexStats>> getStats() {
+        return ResponseEntity.ok(ApiResponse.success(luceneAuctionIndex.getStats()));
+    }
+
+    // Re-index every auction from Mongo; searches keep the previous index until it completes
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<LuceneAuctionIndex.IndexStats>> rebuild() {
+        luceneAuctionIndex.rebuild();
+        return ResponseEntity.ok(ApiResponse.success("Search index rebuilt", luceneAuctionIndex.getStats()));
+    }
+}
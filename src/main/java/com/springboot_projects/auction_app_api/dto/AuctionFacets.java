@@ -0,0 +1,84 @@
+package com.springboot_projects.auction_app_api.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+// Filter counts for the browse page. Each facet applies every active filter except its own, so the
+// category counts show what picking another category would return.
+public class AuctionFacets {
+    private Map<String, Long> categories;
+    private Map<String, Long> statuses;
+    private List<PriceRange> priceRanges;
+
+    public static class PriceRange {
+        private BigDecimal min;
+        private BigDecimal max;
+        private long count;
+
+        // max is null for the open-ended top range
+        public PriceRange(BigDecimal min, BigDecimal max, long count) {
+            this.min = min;
+            this.max = max;
+            this.count = count;
+        }
+
+        public BigDecimal getMin() {
+            return min;
+        }
+
+        public void setMin(BigDecimal min) {
+            this.min = min;
+        }
+
+        public BigDecimal getMax() {
+            return max;
+        }
+
+        public void setMax(BigDecimal max) {
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+    }
+
+    // Constructors
+    public AuctionFacets() {}
+
+    public AuctionFacets(Map<String, Long> categories, Map<String, Long> statuses, List<PriceRange> priceRanges) {
+        this.categories = categories;
+        this.statuses = statuses;
+        this.priceRanges = priceRanges;
+    }
+
+    // Getters and Setters
+    public Map<String, Long> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(Map<String, Long> categories) {
+        this.categories = categories;
+    }
+
+    public Map<String, Long> getStatuses() {
+        return statuses;
+    }
+
+    public void setStatuses(Map<String, Long> statuses) {
+        this.statuses = statuses;
+    }
+
+    public List<PriceRange> getPriceRanges() {
+        return priceRanges;
+    }
+
+    public void setPriceRanges(List<PriceRange> priceRanges) {
+        this.priceRanges = priceRanges;
+    }
+}
@@ -23,6 +23,9 @@ public class AuctionItemDto {
     private int totalBids;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Double latitude;
+    private Double longitude;
+    private Double distanceKm;
     
     // Constructors
     public AuctionItemDto() {}
@@ -44,6 +47,11 @@ public class AuctionItemDto {
         this.totalBids = auctionItem.getTotalBids();
         this.createdAt = auctionItem.getCreatedAt();
         this.updatedAt = auctionItem.getUpdatedAt();
+        if (auctionItem.getLocation() != null) {
+            this.latitude = auctionItem.getLocation().getY();
+            this.longitude = auctionItem.getLocation().getX();
+        }
+        this.distanceKm = auctionItem.getDistanceKm();
     }
     
     // Getters and Setters
@@ -94,4 +102,13 @@ public class AuctionItemDto {
     
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+    
+    public Double getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(Double distanceKm) { this.distanceKm = distanceKm; }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.springboot_projects.auction_app_api.dto;
+
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Listing card for browse and search results; read by projection, see AuctionItemRepositoryCustom
+public class AuctionSummary {
+    private String id;
+    private String title;
+    private String thumbnailUrl;
+    private BigDecimal currentPrice;
+    private LocalDateTime endDate;
+    private int totalBids;
+    private String sellerUsername;
+
+    public AuctionSummary() {
+    }
+
+    public AuctionSummary(String id, String title, String thumbnailUrl, BigDecimal currentPrice,
+            LocalDateTime endDate, int totalBids, String sellerUsername) {
+        this.id = id;
+        this.title = title;
+        this.thumbnailUrl = thumbnailUrl;
+        this.currentPrice = currentPrice;
+        this.endDate = endDate;
+        this.totalBids = totalBids;
+        this.sellerUsername = sellerUsername;
+    }
+
+    public AuctionSummary(AuctionItem auctionItem) {
+        this(auctionItem.getId(), auctionItem.getTitle(),
+                auctionItem.getImageUrls() != null && !auctionItem.getImageUrls().isEmpty()
+                        ? auctionItem.getImageUrls().get(0) : null,
+                auctionItem.getCurrentPrice(), auctionItem.getEndDate(), auctionItem.getTotalBids(),
+                auctionItem.getSeller() != null ? auctionItem.getSeller().getUsername() : null);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getThumbnailUrl() {
+        return thumbnailUrl;
+    }
+
+    public void setThumbnailUrl(String thumbnailUrl) {
+        this.thumbnailUrl = thumbnailUrl;
+    }
+
+    public BigDecimal getCurrentPrice() {
+        return currentPrice;
+    }
+
+    public void setCurrentPrice(BigDecimal currentPrice) {
+        this.currentPrice = currentPrice;
+    }
+
+    public LocalDateTime getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDateTime endDate) {
+        this.endDate = endDate;
+    }
+
+    public int getTotalBids() {
+        return totalBids;
+    }
+
+    public void setTotalBids(int totalBids) {
+        this.totalBids = totalBids;
+    }
+
+    public String getSellerUsername() {
+        return sellerUsername;
+    }
+
+    public void setSellerUsername(String sellerUsername) {
+        this.sellerUsername = sellerUsername;
+    }
+}
@@ -0,0 +1,39 @@
+package com.springboot_projects.auction_app_api.dto;
+
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+// Changes whenever an auction or its bids change: every write to the auction sets updatedAt, accepted
+// bids also bump totalBids and bid cancellations touch updatedAt. Read from the auction cache or by
+// projection, see AuctionItemRepositoryCustom, so conditional GETs can be answered without a full load.
+public class AuctionVersion {
+    private final LocalDateTime updatedAt;
+    private final int totalBids;
+
+    public AuctionVersion(LocalDateTime updatedAt, int totalBids) {
+        this.updatedAt = updatedAt;
+        this.totalBids = totalBids;
+    }
+
+    public AuctionVersion(AuctionItem auctionItem) {
+        this(auctionItem.getUpdatedAt(), auctionItem.getTotalBids());
+    }
+
+    // Strong entity tag for one representation of the auction. Mongo keeps milliseconds, so a copy
+    // saved in memory and one read back give the same tag.
+    public String toETag(String representation) {
+        long updatedAtMillis = updatedAt != null ? updatedAt.toInstant(ZoneOffset.UTC).toEpochMilli() : 0;
+        return "\"" + representation + '-' + Long.toString(updatedAtMillis, 36) + '-' + totalBids + "\"";
+    }
+
+    // Getters
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public int getTotalBids() {
+        return totalBids;
+    }
+}
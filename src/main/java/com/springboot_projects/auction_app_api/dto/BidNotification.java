@@ -6,6 +6,7 @@ import java.time.LocalDateTime;
 public class BidNotification {
     
     private String auctionId;
+    private long sequence;
     private String bidId;
     private String bidderUsername;
     private BigDecimal bidAmount;
@@ -36,6 +37,9 @@ public class BidNotification {
     public String getAuctionId() { return auctionId; }
     public void setAuctionId(String auctionId) { this.auctionId = auctionId; }
     
+    public long getSequence() { return sequence; }
+    public void setSequence(long sequence) { this.sequence = sequence; }
+    
     public String getBidId() { return bidId; }
     public void setBidId(String bidId) { this.bidId = bidId; }
     
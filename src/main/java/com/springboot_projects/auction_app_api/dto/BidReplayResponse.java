@@ -0,0 +1,36 @@
+package com.springboot_projects.auction_app_api.dto;
+
+import java.util.List;
+
+public class BidReplayResponse {
+
+    private String auctionId;
+    private long latestSequence;
+    private boolean complete;
+    private List<BidNotification> notifications;
+
+    // Constructors
+    public BidReplayResponse() {}
+
+    public BidReplayResponse(String auctionId, long latestSequence, boolean complete,
+                             List<BidNotification> notifications) {
+        this.auctionId = auctionId;
+        this.latestSequence = latestSequence;
+        this.complete = complete;
+        this.notifications = notifications;
+    }
+
+    // Getters and Setters
+    public String getAuctionId() { return auctionId; }
+    public void setAuctionId(String auctionId) { this.auctionId = auctionId; }
+
+    public long getLatestSequence() { return latestSequence; }
+    public void setLatestSequence(long latestSequence) { this.latestSequence = latestSequence; }
+
+    // False when frames older than the replay buffer were missed and a full refetch is needed
+    public boolean isComplete() { return complete; }
+    public void setComplete(boolean complete) { this.complete = complete; }
+
+    public List<BidNotification> getNotifications() { return notifications; }
+    public void setNotifications(List<BidNotification> notifications) { this.notifications = notifications; }
+}
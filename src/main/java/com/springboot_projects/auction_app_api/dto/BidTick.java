@@ -0,0 +1,54 @@
+package com.springboot_projects.auction_app_api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+
+// Compact bid update for /topic/auction/{id}/ticks - short field names, no human-readable message
+public class BidTick {
+
+    @JsonProperty("s")
+    private long sequence;
+
+    @JsonProperty("p")
+    private BigDecimal amount;
+
+    @JsonProperty("b")
+    private String bidderUsername;
+
+    @JsonProperty("t")
+    private long bidTimeMillis;
+
+    @JsonProperty("n")
+    private int totalBids;
+
+    // Constructors
+    public BidTick() {}
+
+    public BidTick(BidNotification notification) {
+        this.sequence = notification.getSequence();
+        this.amount = notification.getBidAmount();
+        this.bidderUsername = notification.getBidderUsername();
+        this.bidTimeMillis = notification.getBidTime() != null
+                ? notification.getBidTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : 0;
+        this.totalBids = notification.getTotalBids();
+    }
+
+    // Getters and Setters
+    public long getSequence() { return sequence; }
+    public void setSequence(long sequence) { this.sequence = sequence; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public String getBidderUsername() { return bidderUsername; }
+    public void setBidderUsername(String bidderUsername) { this.bidderUsername = bidderUsername; }
+
+    public long getBidTimeMillis() { return bidTimeMillis; }
+    public void setBidTimeMillis(long bidTimeMillis) { this.bidTimeMillis = bidTimeMillis; }
+
+    public int getTotalBids() { return totalBids; }
+    public void setTotalBids(int totalBids) { this.totalBids = totalBids; }
+}
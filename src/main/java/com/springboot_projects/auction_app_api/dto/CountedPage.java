@@ -0,0 +1,28 @@
+package com.springboot_projects.auction_app_api.dto;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+
+// A page whose total may come from the collection's metadata instead of a count of the matches.
+// totalExact is false in that case, so clients can show "about N" rather than a precise figure.
+public class CountedPage<T> extends PageImpl<T> {
+
+    private final boolean totalExact;
+
+    public CountedPage(List<T> content, Pageable pageable, long total, boolean totalExact) {
+        super(content, pageable, total);
+        this.totalExact = totalExact;
+    }
+
+    @Override
+    public <U> CountedPage<U> map(Function<? super T, ? extends U> converter) {
+        return new CountedPage<>(getConvertedContent(converter), getPageable(), getTotalElements(), totalExact);
+    }
+
+    public boolean isTotalExact() {
+        return totalExact;
+    }
+}
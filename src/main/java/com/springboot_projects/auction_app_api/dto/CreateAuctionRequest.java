@@ -43,6 +43,15 @@ public class CreateAuctionRequest {
     @NotBlank(message = "Seller ID is required")
     private String sellerId;
 
+    // Optional pickup location, set together
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+
     // Constructors
     public CreateAuctionRequest() {
     }
@@ -78,6 +87,11 @@ public class CreateAuctionRequest {
         return reservePrice.compareTo(startingPrice) >= 0;
     }
 
+    @AssertTrue(message = "Latitude and longitude must be given together")
+    public boolean isLocationComplete() {
+        return (latitude == null) == (longitude == null);
+    }
+
     // Getters and Setters
     public String getTitle() {
         return title;
@@ -150,4 +164,20 @@ public class CreateAuctionRequest {
     public void setSellerId(String sellerId) {
         this.sellerId = sellerId;
     }
-}
\ No newline at end of file
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+}
@@ -0,0 +1,83 @@
+package com.springboot_projects.auction_app_api.dto;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+public class CreateSavedSearchRequest {
+
+    @Size(max = 100, message = "Name must be at most 100 characters")
+    private String name;
+
+    @Size(max = 200, message = "Query must be at most 200 characters")
+    private String query;
+
+    @Size(max = 50, message = "Category must be at most 50 characters")
+    private String category;
+
+    @DecimalMin(value = "0.0", message = "Minimum price must be non-negative")
+    private BigDecimal minPrice;
+
+    @DecimalMin(value = "0.0", message = "Maximum price must be non-negative")
+    private BigDecimal maxPrice;
+
+    public CreateSavedSearchRequest() {
+    }
+
+    // A price range alone would match nearly every new auction
+    @AssertTrue(message = "A saved search needs a query or a category")
+    public boolean isSelective() {
+        return (query != null && !query.isBlank()) || (category != null && !category.isBlank());
+    }
+
+    @AssertTrue(message = "Maximum price must be greater than or equal to minimum price")
+    public boolean isPriceRangeValid() {
+        if (minPrice == null || maxPrice == null) {
+            return true;
+        }
+        return maxPrice.compareTo(minPrice) >= 0;
+    }
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(BigDecimal minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(BigDecimal maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+}
@@ -0,0 +1,40 @@
+package com.springboot_projects.auction_app_api.dto;
+
+import org.springframework.data.domain.Page;
+
+import java.util.function.Function;
+
+// A page of filter results together with the facet counts computed in the same query
+public class FacetedPage<T> {
+    private Page<T> results;
+    private AuctionFacets facets;
+
+    // Constructors
+    public FacetedPage() {}
+
+    public FacetedPage(Page<T> results, AuctionFacets facets) {
+        this.results = results;
+        this.facets = facets;
+    }
+
+    public <R> FacetedPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new FacetedPage<>(results.map(mapper), facets);
+    }
+
+    // Getters and Setters
+    public Page<T> getResults() {
+        return results;
+    }
+
+    public void setResults(Page<T> results) {
+        this.results = results;
+    }
+
+    public AuctionFacets getFacets() {
+        return facets;
+    }
+
+    public void setFacets(AuctionFacets facets) {
+        this.facets = facets;
+    }
+}
@@ -19,8 +19,12 @@ public class SearchAuctionRequest {
     private BigDecimal maxPrice;
     
     private String sellerId;
+    // "latitude,longitude" of the search point, e.g. "52.52,13.405"
     private String location;
     
+    @DecimalMin(value = "0.0", message = "Radius must be non-negative")
+    private Double withinKm;
+    
     @Min(value = 0, message = "Page number must be non-negative")
     private int page = 0;
     
@@ -63,6 +67,9 @@ public class SearchAuctionRequest {
     public String getLocation() { return location; }
     public void setLocation(String location) { this.location = location; }
     
+    public Double getWithinKm() { return withinKm; }
+    public void setWithinKm(Double withinKm) { this.withinKm = withinKm; }
+    
     public int getPage() { return page; }
     public void setPage(int page) { this.page = page; }
     
@@ -1,5 +1,9 @@
 package com.springboot_projects.auction_app_api.dto;
 
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -13,9 +17,23 @@ public class UpdateAuctionRequest {
     private LocalDateTime startDate;
     private LocalDateTime endDate;
     
+    // Pickup location, set together
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+    
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+    
     // Constructors
     public UpdateAuctionRequest() {}
     
+    @AssertTrue(message = "Latitude and longitude must be given together")
+    public boolean isLocationComplete() {
+        return (latitude == null) == (longitude == null);
+    }
+    
     // Getters and Setters
     public String getTitle() { return title; }
     public void setTitle(String title) { this.title = title; }
@@ -37,4 +55,10 @@ public class UpdateAuctionRequest {
     
     public LocalDateTime getEndDate() { return endDate; }
     public void setEndDate(LocalDateTime endDate) { this.endDate = endDate; }
+    
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
 }
\ No newline at end of file
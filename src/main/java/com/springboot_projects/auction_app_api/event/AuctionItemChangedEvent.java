@@ -0,0 +1,81 @@
+package com.springboot_projects.auction_app_api.event;
+
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+
+import java.util.Set;
+
+// Published after every write to an auction item so in-process views (search index, caches)
+// can follow the collection without polling it
+public class AuctionItemChangedEvent {
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final String auctionId;
+    private final AuctionItem auctionItem;
+    private final ChangeType changeType;
+    private final Set<String> changedFields;
+    private final boolean remote;
+
+    public AuctionItemChangedEvent(String auctionId, AuctionItem auctionItem, ChangeType changeType) {
+        this(auctionId, auctionItem, changeType, Set.of());
+    }
+
+    public AuctionItemChangedEvent(String auctionId, AuctionItem auctionItem, ChangeType changeType,
+            Set<String> changedFields) {
+        this(auctionId, auctionItem, changeType, changedFields, false);
+    }
+
+    private AuctionItemChangedEvent(String auctionId, AuctionItem auctionItem, ChangeType changeType,
+            Set<String> changedFields, boolean remote) {
+        this.auctionId = auctionId;
+        this.auctionItem = auctionItem;
+        this.changeType = changeType;
+        this.changedFields = changedFields;
+        this.remote = remote;
+    }
+
+    public static AuctionItemChangedEvent created(AuctionItem auctionItem) {
+        return new AuctionItemChangedEvent(auctionItem.getId(), auctionItem, ChangeType.CREATED);
+    }
+
+    public static AuctionItemChangedEvent updated(AuctionItem auctionItem, String... changedFields) {
+        return new AuctionItemChangedEvent(auctionItem.getId(), auctionItem, ChangeType.UPDATED,
+                Set.of(changedFields));
+    }
+
+    public static AuctionItemChangedEvent deleted(String auctionId) {
+        return new AuctionItemChangedEvent(auctionId, null, ChangeType.DELETED);
+    }
+
+    // A write made on another instance, as read back from the database: null when the auction is gone
+    public static AuctionItemChangedEvent remote(String auctionId, AuctionItem auctionItem) {
+        return new AuctionItemChangedEvent(auctionId, auctionItem,
+                auctionItem == null ? ChangeType.DELETED : ChangeType.UPDATED, Set.of(), true);
+    }
+
+    // Getters
+    public String getAuctionId() {
+        return auctionId;
+    }
+
+    // The saved state, null for deletions
+    public AuctionItem getAuctionItem() {
+        return auctionItem;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    // Properties an update touched, empty when any of them may have changed
+    public Set<String> getChangedFields() {
+        return changedFields;
+    }
+
+    // Made on another instance; already sent to the others and announced there
+    public boolean isRemote() {
+        return remote;
+    }
+}
@@ -0,0 +1,7 @@
+package com.springboot_projects.auction_app_api.event;
+
+// Published when this instance may have missed changes made on other instances, e.g. after a dropped
+// connection to the InvalidationBus outlasted the history it keeps. In-process views built from the
+// database load themselves again.
+public class InvalidationsMissedEvent {
+}
@@ -0,0 +1,32 @@
+package com.springboot_projects.auction_app_api.event;
+
+// Published when a user's roles or active flag change or the user is deleted, so tokens issued
+// before the change stop being accepted without a user lookup per request
+public class UserAccessChangedEvent {
+
+    private final String userId;
+    private final boolean deleted;
+
+    public UserAccessChangedEvent(String userId) {
+        this(userId, false);
+    }
+
+    private UserAccessChangedEvent(String userId, boolean deleted) {
+        this.userId = userId;
+        this.deleted = deleted;
+    }
+
+    // The user document is gone, so the revocation has to be kept elsewhere to survive a restart
+    public static UserAccessChangedEvent deleted(String userId) {
+        return new UserAccessChangedEvent(userId, true);
+    }
+
+    // Getters
+    public String getUserId() {
+        return userId;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+}
@@ -137,6 +137,51 @@ public class GlobalExceptionHandler {
                                 .body(ApiResponse.error("Invalid file", errorResponse));
         }
 
+        @ExceptionHandler(InvalidCursorException.class)
+        public ResponseEntity<ApiResponse<ErrorResponse>> handleInvalidCursorException(
+                        InvalidCursorException ex, WebRequest request) {
+                logger.warn("Invalid pagination cursor: {}", ex.getMessage());
+
+                ErrorResponse errorResponse = new ErrorResponse(
+                                "INVALID_CURSOR",
+                                ex.getMessage(),
+                                HttpStatus.BAD_REQUEST.value(),
+                                request.getDescription(false).replace("uri=", ""));
+
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                                .body(ApiResponse.error("Invalid cursor", errorResponse));
+        }
+
+        @ExceptionHandler(InvalidLocationException.class)
+        public ResponseEntity<ApiResponse<ErrorResponse>> handleInvalidLocationException(
+                        InvalidLocationException ex, WebRequest request) {
+                logger.warn("Invalid location search: {}", ex.getMessage());
+
+                ErrorResponse errorResponse = new ErrorResponse(
+                                "INVALID_LOCATION",
+                                ex.getMessage(),
+                                HttpStatus.BAD_REQUEST.value(),
+                                request.getDescription(false).replace("uri=", ""));
+
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                                .body(ApiResponse.error("Invalid location", errorResponse));
+        }
+
+        @ExceptionHandler(InvalidSavedSearchException.class)
+        public ResponseEntity<ApiResponse<ErrorResponse>> handleInvalidSavedSearchException(
+                        InvalidSavedSearchException ex, WebRequest request) {
+                logger.warn("Invalid saved search: {}", ex.getMessage());
+
+                ErrorResponse errorResponse = new ErrorResponse(
+                                "INVALID_SAVED_SEARCH",
+                                ex.getMessage(),
+                                HttpStatus.BAD_REQUEST.value(),
+                                request.getDescription(false).replace("uri=", ""));
+
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                                .body(ApiResponse.error("Invalid saved search", errorResponse));
+        }
+
         // Authentication and Authorization Exceptions
         @ExceptionHandler(AuthenticationException.class)
         public ResponseEntity<ApiResponse<ErrorResponse>> handleAuthenticationException(
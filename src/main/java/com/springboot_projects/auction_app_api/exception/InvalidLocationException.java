@@ -0,0 +1,7 @@
+package com.springboot_projects.auction_app_api.exception;
+
+public class InvalidLocationException extends RuntimeException {
+    public InvalidLocationException(String message) {
+        super(message);
+    }
+}
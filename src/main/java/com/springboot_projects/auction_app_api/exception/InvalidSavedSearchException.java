@@ -0,0 +1,7 @@
+package com.springboot_projects.auction_app_api.exception;
+
+public class InvalidSavedSearchException extends RuntimeException {
+    public InvalidSavedSearchException(String message) {
+        super(message);
+    }
+}
@@ -1,25 +1,48 @@
 package com.springboot_projects.auction_app_api.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.ReadOnlyProperty;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexed;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.DBRef;
+import org.springframework.data.mongodb.core.mapping.TextScore;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
+// Keys ordered equality, sort, range to match the repository queries
+@CompoundIndexes({
+        @CompoundIndex(name = "status_endDate", def = "{'status': 1, 'endDate': 1}"),
+        @CompoundIndex(name = "status_startDate", def = "{'status': 1, 'startDate': 1}"),
+        @CompoundIndex(name = "status_createdAt_id", def = "{'status': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "seller_createdAt", def = "{'seller': 1, 'createdAt': -1}"),
+        @CompoundIndex(name = "category_createdAt", def = "{'category': 1, 'createdAt': -1}"),
+        @CompoundIndex(name = "createdAt_id", def = "{'createdAt': -1, '_id': -1}")
+})
 @Document(collection = "auction_items")
 public class AuctionItem {
 
     @Id
     private String id;
 
+    @TextIndexed(weight = 3)
     private String title;
+
+    @TextIndexed
     private String description;
+
     private String category;
     private List<String> imageUrls;
 
     private BigDecimal startingPrice;
+    @Indexed
     private BigDecimal currentPrice;
     private BigDecimal reservePrice;
 
@@ -40,6 +63,18 @@ public class AuctionItem {
 
     private boolean paid;
 
+    // Pickup location, longitude first as in GeoJSON; null for auctions without one
+    @GeoSpatialIndexed(type = GeoSpatialIndexType.GEO_2DSPHERE)
+    private GeoJsonPoint location;
+
+    // Relevance of a $text search match, only populated by text queries
+    @TextScore
+    private Float score;
+
+    // Kilometres from the search point, only populated by searches sorted by distance
+    @ReadOnlyProperty
+    private Double distanceKm;
+
     public enum AuctionStatus {
         DRAFT, ACTIVE, ENDED, CANCELLED
     }
@@ -213,6 +248,30 @@ public class AuctionItem {
         this.paid = paid;
     }
 
+    public GeoJsonPoint getLocation() {
+        return location;
+    }
+
+    public void setLocation(GeoJsonPoint location) {
+        this.location = location;
+    }
+
+    public Float getScore() {
+        return score;
+    }
+
+    public void setScore(Float score) {
+        this.score = score;
+    }
+
+    public Double getDistanceKm() {
+        return distanceKm;
+    }
+
+    public void setDistanceKm(Double distanceKm) {
+        this.distanceKm = distanceKm;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o)
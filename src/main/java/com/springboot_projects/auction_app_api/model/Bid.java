@@ -1,12 +1,22 @@
 package com.springboot_projects.auction_app_api.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+// auctionItem + timestamp also carries _id so cursor pages of an auction's bids are index-ordered
+@CompoundIndexes({
+        @CompoundIndex(name = "auctionItem_timestamp", def = "{'auctionItem': 1, 'timestamp': -1, '_id': -1}"),
+        @CompoundIndex(name = "auctionItem_amount", def = "{'auctionItem': 1, 'amount': -1}"),
+        @CompoundIndex(name = "bidder_timestamp", def = "{'bidder': 1, 'timestamp': -1}"),
+        @CompoundIndex(name = "timestamp_id", def = "{'timestamp': -1, '_id': -1}")
+})
 @Document(collection = "bids")
 public class Bid {
     
@@ -22,6 +32,7 @@ public class Bid {
     @DBRef
     private AuctionItem auctionItem;
     
+    @Indexed
     private BidStatus status;
     private String notes;
     
@@ -1,10 +1,16 @@
 package com.springboot_projects.auction_app_api.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
+@CompoundIndexes({
+        @CompoundIndex(name = "recipient_createdAt", def = "{'recipientId': 1, 'createdAt': -1}"),
+        @CompoundIndex(name = "recipient_read_createdAt", def = "{'recipientId': 1, 'read': 1, 'createdAt': -1}")
+})
 @Document(collection = "notifications")
 public class Notification {
 
@@ -21,7 +27,8 @@ public class Notification {
         AUCTION_WON,
         PAYMENT_RECEIVED,
         OUTBID,
-        AUCTION_ENDED
+        AUCTION_ENDED,
+        SAVED_SEARCH_MATCH
     }
 
     public Notification() {
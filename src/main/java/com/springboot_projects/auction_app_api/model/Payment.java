@@ -1,6 +1,7 @@
 package com.springboot_projects.auction_app_api.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.math.BigDecimal;
@@ -12,7 +13,9 @@ public class Payment {
     @Id
     private String id;
 
+    @Indexed
     private String auctionId;
+    @Indexed
     private String payerId;
     private BigDecimal amount;
     private String paymentMethod; // e.g., "CARD", "PAYPAL"
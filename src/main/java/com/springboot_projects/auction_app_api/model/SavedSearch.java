@@ -0,0 +1,104 @@
+package com.springboot_projects.auction_app_api.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// A query a user wants to be alerted about; matched against auctions as they start, see SavedSearchPercolator
+@CompoundIndex(name = "user_createdAt", def = "{'userId': 1, 'createdAt': -1}")
+@Document(collection = "saved_searches")
+public class SavedSearch {
+
+    @Id
+    private String id;
+    private String userId;
+    private String name;
+    private String query;
+    private String category;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private LocalDateTime createdAt;
+
+    public SavedSearch() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public SavedSearch(String userId, String name, String query, String category, BigDecimal minPrice,
+            BigDecimal maxPrice) {
+        this();
+        this.userId = userId;
+        this.name = name;
+        this.query = query;
+        this.category = category;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(BigDecimal minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(BigDecimal maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
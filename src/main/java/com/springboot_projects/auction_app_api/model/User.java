@@ -27,6 +27,9 @@ public class User {
     private boolean active;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // Last change of roles or active flag; tokens issued before it are no longer accepted
+    @Indexed(sparse = true)
+    private LocalDateTime accessChangedAt;
 
     public enum Role {
         ADMIN, SELLER, BIDDER
@@ -137,6 +140,14 @@ public class User {
         this.updatedAt = updatedAt;
     }
 
+    public LocalDateTime getAccessChangedAt() {
+        return accessChangedAt;
+    }
+
+    public void setAccessChangedAt(LocalDateTime accessChangedAt) {
+        this.accessChangedAt = accessChangedAt;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o)
@@ -1,11 +1,13 @@
 package com.springboot_projects.auction_app_api.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
+@CompoundIndex(name = "user_auctionItem", def = "{'user': 1, 'auctionItem': 1}")
 @Document(collection = "watchlist")
 public class Watchlist {
 
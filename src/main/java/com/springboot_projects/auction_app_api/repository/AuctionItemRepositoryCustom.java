@@ -1,13 +1,100 @@
 package com.springboot_projects.auction_app_api.repository;
 
+import com.springboot_projects.auction_app_api.dto.AuctionSummary;
+import com.springboot_projects.auction_app_api.dto.AuctionVersion;
+import com.springboot_projects.auction_app_api.dto.CursorPage;
+import com.springboot_projects.auction_app_api.dto.FacetedPage;
 import com.springboot_projects.auction_app_api.model.AuctionItem;
+import com.springboot_projects.auction_app_api.model.User;
+import com.springboot_projects.auction_app_api.search.SearchMode;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.geo.Point;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface AuctionItemRepositoryCustom {
+    // Sort property for nearest first in filterAuctionsNear, not a stored field
+    String DISTANCE = "distance";
+
+    // Unfiltered listing; without exactTotal the total is the collection's estimated document count
+    Page<AuctionItem> findAllWithTotal(Pageable pageable, boolean exactTotal);
+
     Page<AuctionItem> filterAuctions(String searchTerm, String category, AuctionItem.AuctionStatus status,
             BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable);
+
+    // TEXT matches the search term against the weighted text index and orders by text score,
+    // REGEX (and INDEX or LUCENE, which have no Mongo equivalent) keeps the substring match
+    Page<AuctionItem> filterAuctions(String searchTerm, SearchMode searchMode, String category,
+            AuctionItem.AuctionStatus status, BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable);
+
+    // Auctions with a location, within withinKm of near when given. Sorting by "distance" runs a $geoNear
+    // and fills distanceKm, other sorts filter with $geoWithin; the search term is matched as a substring.
+    Page<AuctionItem> filterAuctionsNear(String searchTerm, String category, AuctionItem.AuctionStatus status,
+            BigDecimal minPrice, BigDecimal maxPrice, Point near, Double withinKm, Pageable pageable);
+
+    // Keyset pagination: cursor is the nextCursor of the previous page, null or blank for the first page
+    CursorPage<AuctionItem> findAllByCursor(Sort.Order order, String cursor, int size, boolean includeTotal);
+
+    CursorPage<AuctionItem> findActiveAuctionsByCursor(LocalDateTime currentTime, String cursor, int size,
+            boolean includeTotal);
+
+    // Regex search only, text score has no stable keyset to seek on. A non-null near limits results to
+    // auctions with a location, within withinKm when given.
+    CursorPage<AuctionItem> filterAuctionsByCursor(String searchTerm, String category,
+            AuctionItem.AuctionStatus status, BigDecimal minPrice, BigDecimal maxPrice, Point near, Double withinKm,
+            Sort.Order order, String cursor, int size, boolean includeTotal);
+
+    // The page of results plus category, status and price-range counts, all from one $facet aggregation.
+    // near and withinKm narrow the results and every facet like in filterAuctionsByCursor.
+    FacetedPage<AuctionItem> filterAuctionsWithFacets(String searchTerm, SearchMode searchMode, String category,
+            AuctionItem.AuctionStatus status, BigDecimal minPrice, BigDecimal maxPrice, Point near, Double withinKm,
+            Pageable pageable);
+
+    // Full auctions for a page, seller and highest bidder resolved in bulk by DbRefBatchLoader
+    Page<AuctionItem> findActivePage(LocalDateTime currentTime, Pageable pageable);
+
+    Page<AuctionItem> findPageBySeller(User seller, Pageable pageable);
+
+    Page<AuctionItem> findPageByCategory(String category, Pageable pageable);
+
+    // Listing cards: only the card fields are read, seller usernames come from one batched lookup
+    // instead of resolving the seller and highest bidder references per auction
+    Page<AuctionSummary> findAllSummaries(Pageable pageable, boolean exactTotal);
+
+    Page<AuctionSummary> findActiveSummaries(LocalDateTime currentTime, Pageable pageable);
+
+    Page<AuctionSummary> findSummariesByCategory(String category, Pageable pageable);
+
+    // Title or description substring match
+    List<AuctionSummary> searchSummaries(String searchTerm);
+
+    // In the order of the given ids, missing auctions are skipped
+    List<AuctionSummary> findSummariesByIds(List<String> ids);
+
+    // Active auctions by numeric current price (prices are stored as strings), highest first
+    List<AuctionItem> findTopActiveByPrice(int limit);
+
+    // Active auctions, most recently created first
+    List<AuctionItem> findRecentActive(int limit);
+
+    // Listing cards of the two lists above, for when the rankings are not loaded yet
+    List<AuctionSummary> findTopActiveSummariesByPrice(int limit);
+
+    List<AuctionSummary> findRecentActiveSummaries(int limit);
+
+    // Only updatedAt and totalBids, no references resolved
+    Optional<AuctionVersion> findVersion(String id);
+
+    // Set updatedAt in place, without reading and saving the whole auction; returns the updated auction
+    Optional<AuctionItem> touch(String id, LocalDateTime updatedAt);
+
+    // Record a new highest bid only while the auction is active and still at expectedPrice; empty when
+    // another bid got there first
+    Optional<AuctionItem> raisePrice(String id, BigDecimal expectedPrice, BigDecimal newPrice, User highestBidder,
+            LocalDateTime updatedAt);
 }
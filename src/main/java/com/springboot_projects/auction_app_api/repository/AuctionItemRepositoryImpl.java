@@ -1,41 +1,527 @@
 package com.springboot_projects.auction_app_api.repository;
 
+import com.mongodb.DBRef;
+import com.springboot_projects.auction_app_api.dto.AuctionFacets;
+import com.springboot_projects.auction_app_api.dto.AuctionSummary;
+import com.springboot_projects.auction_app_api.dto.AuctionVersion;
+import com.springboot_projects.auction_app_api.dto.CountedPage;
+import com.springboot_projects.auction_app_api.dto.CursorPage;
+import com.springboot_projects.auction_app_api.dto.FacetedPage;
 import com.springboot_projects.auction_app_api.model.AuctionItem;
+import com.springboot_projects.auction_app_api.model.User;
+import com.springboot_projects.auction_app_api.search.SearchMode;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.geo.Circle;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
 import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.NearQuery;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.regex.Pattern;
 
 @Repository
 public class AuctionItemRepositoryImpl implements AuctionItemRepositoryCustom {
 
+    // Lower bounds of the price facet ranges; prices at or above the last one fall in the overflow bucket
+    private static final List<BigDecimal> PRICE_FACET_BOUNDARIES = List.of(new BigDecimal("0"), new BigDecimal("25"),
+            new BigDecimal("50"), new BigDecimal("100"), new BigDecimal("250"), new BigDecimal("500"),
+            new BigDecimal("1000"), new BigDecimal("5000"));
+    private static final String PRICE_FACET_OVERFLOW = "overflow";
+
+    private static final String[] SUMMARY_FIELDS = {"title", "currentPrice", "endDate", "totalBids", "seller"};
+
     @Autowired
     private MongoTemplate mongoTemplate;
 
+    @Autowired
+    private KeysetPager keysetPager;
+
+    @Autowired
+    private CountCache countCache;
+
+    @Autowired
+    private DbRefBatchLoader dbRefBatchLoader;
+
+    @Override
+    public Page<AuctionItem> findAllWithTotal(Pageable pageable, boolean exactTotal) {
+        List<AuctionItem> auctions = dbRefBatchLoader.find(new Query().with(pageable), AuctionItem.class);
+        long total = exactTotal ? countCache.count(new Query(), AuctionItem.class)
+                : mongoTemplate.estimatedCount(AuctionItem.class);
+        return new CountedPage<>(auctions, pageable, total, exactTotal);
+    }
+
     @Override
     public Page<AuctionItem> filterAuctions(String searchTerm, String category, AuctionItem.AuctionStatus status,
             BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
+        return filterAuctions(searchTerm, SearchMode.REGEX, category, status, minPrice, maxPrice, pageable);
+    }
 
-        Query query = new Query();
+    @Override
+    public Page<AuctionItem> filterAuctions(String searchTerm, SearchMode searchMode, String category,
+            AuctionItem.AuctionStatus status, BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
+
+        boolean hasSearchTerm = searchTerm != null && !searchTerm.trim().isEmpty();
+        Query query;
+        List<Criteria> criteriaList = new ArrayList<>();
+
+        if (hasSearchTerm && searchMode == SearchMode.TEXT) {
+            // Text Search - whole words against the weighted text index, best matches first
+            query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(searchTerm.trim()))
+                    .sortByScore();
+        } else {
+            query = new Query();
+
+            // Search Term (Title or Description)
+            if (hasSearchTerm) {
+                criteriaList.add(buildRegexCriteria(searchTerm));
+            }
+        }
+
+        criteriaList.addAll(buildFilterCriteria(category, status, minPrice, maxPrice));
+
+        if (!criteriaList.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(criteriaList.toArray(new Criteria[0])));
+        }
+
+        // Count total before pagination: without criteria the collection size from metadata will do,
+        // otherwise the count is cached between pages
+        boolean unfiltered = query.getQueryObject().isEmpty();
+        long total = unfiltered ? mongoTemplate.estimatedCount(AuctionItem.class)
+                : countCache.count(query, AuctionItem.class);
+
+        // Apply Pagination (a text query keeps the score as its primary sort)
+        query.with(pageable);
+
+        List<AuctionItem> auctions = dbRefBatchLoader.find(query, AuctionItem.class);
+
+        return new CountedPage<>(auctions, pageable, total, !unfiltered);
+    }
+
+    @Override
+    public Page<AuctionItem> filterAuctionsNear(String searchTerm, String category, AuctionItem.AuctionStatus status,
+            BigDecimal minPrice, BigDecimal maxPrice, Point near, Double withinKm, Pageable pageable) {
+        List<Criteria> criteriaList = new ArrayList<>();
+        if (searchTerm != null && !searchTerm.trim().isEmpty()) {
+            criteriaList.add(buildRegexCriteria(searchTerm));
+        }
+        criteriaList.addAll(buildFilterCriteria(category, status, minPrice, maxPrice));
+
+        // Same matches as the $geoNear below, which cannot be counted on its own
+        List<Criteria> countCriteria = new ArrayList<>(criteriaList);
+        countCriteria.add(buildLocationCriteria(near, withinKm));
+        long total = countCache.count(new Query(allOf(countCriteria)), AuctionItem.class);
+
+        if (pageable.getSort().getOrderFor(DISTANCE) == null) {
+            Query query = new Query(allOf(countCriteria)).with(pageable);
+            return new CountedPage<>(dbRefBatchLoader.find(query, AuctionItem.class), pageable, total, true);
+        }
+
+        // $geoNear walks the 2dsphere index outward from the point, so only the requested page is read
+        NearQuery nearQuery = NearQuery.near(near, Metrics.KILOMETERS).spherical(true)
+                .query(new Query(allOf(criteriaList)));
+        if (withinKm != null) {
+            nearQuery.maxDistance(withinKm, Metrics.KILOMETERS);
+        }
+        List<AggregationOperation> pipeline = new ArrayList<>();
+        pipeline.add(Aggregation.geoNear(nearQuery, "distanceKm"));
+        if (pageable.isPaged()) {
+            pipeline.add(Aggregation.skip(pageable.getOffset()));
+            pipeline.add(Aggregation.limit(pageable.getPageSize()));
+        }
+        List<AuctionItem> auctions = mongoTemplate.aggregate(Aggregation.newAggregation(AuctionItem.class, pipeline),
+                AuctionItem.class).getMappedResults();
+        return new CountedPage<>(auctions, pageable, total, true);
+    }
+
+    @Override
+    public CursorPage<AuctionItem> findAllByCursor(Sort.Order order, String cursor, int size, boolean includeTotal) {
+        return keysetPager.find(new Query(), AuctionItem.class, order, cursor, size, includeTotal);
+    }
+
+    @Override
+    public CursorPage<AuctionItem> findActiveAuctionsByCursor(LocalDateTime currentTime, String cursor, int size,
+            boolean includeTotal) {
+        Query query = new Query(Criteria.where("status").is(AuctionItem.AuctionStatus.ACTIVE)
+                .and("startDate").lte(currentTime)
+                .and("endDate").gte(currentTime));
+        return keysetPager.find(query, AuctionItem.class, Sort.Order.asc("endDate"), cursor, size, includeTotal);
+    }
+
+    @Override
+    public CursorPage<AuctionItem> filterAuctionsByCursor(String searchTerm, String category,
+            AuctionItem.AuctionStatus status, BigDecimal minPrice, BigDecimal maxPrice, Point near, Double withinKm,
+            Sort.Order order, String cursor, int size, boolean includeTotal) {
         List<Criteria> criteriaList = new ArrayList<>();
 
         // Search Term (Title or Description)
         if (searchTerm != null && !searchTerm.trim().isEmpty()) {
-            String regex = ".*" + Pattern.quote(searchTerm.trim()) + ".*";
-            criteriaList.add(new Criteria().orOperator(
-                    Criteria.where("title").regex(regex, "i"),
-                    Criteria.where("description").regex(regex, "i")));
+            criteriaList.add(buildRegexCriteria(searchTerm));
         }
 
+        criteriaList.addAll(buildFilterCriteria(category, status, minPrice, maxPrice, near, withinKm));
+
+        Query query = new Query();
+        if (!criteriaList.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(criteriaList.toArray(new Criteria[0])));
+        }
+
+        return keysetPager.find(query, AuctionItem.class, order, cursor, size, includeTotal);
+    }
+
+    @Override
+    public FacetedPage<AuctionItem> filterAuctionsWithFacets(String searchTerm, SearchMode searchMode,
+            String category, AuctionItem.AuctionStatus status, BigDecimal minPrice, BigDecimal maxPrice, Point near,
+            Double withinKm, Pageable pageable) {
+
+        boolean hasSearchTerm = searchTerm != null && !searchTerm.trim().isEmpty();
+        boolean textSearch = hasSearchTerm && searchMode == SearchMode.TEXT;
+        List<AggregationOperation> pipeline = new ArrayList<>();
+
+        // The search term narrows every facet, so it is matched once up front ($text has to be the first stage)
+        if (textSearch) {
+            pipeline.add(Aggregation.match(TextCriteria.forDefaultLanguage().matching(searchTerm.trim())));
+        } else if (hasSearchTerm) {
+            pipeline.add(Aggregation.match(buildRegexCriteria(searchTerm)));
+        }
+
+        List<AggregationOperation> results = new ArrayList<>();
+        results.add(Aggregation.match(allOf(buildFilterCriteria(category, status, minPrice, maxPrice, near,
+                withinKm))));
+        Sort sort = pageable.getSort();
+        if (textSearch) {
+            results.add(context -> new Document("$addFields",
+                    new Document("score", new Document("$meta", "textScore"))));
+            sort = Sort.by(Sort.Direction.DESC, "score").and(sort);
+        }
+        if (sort.isSorted()) {
+            results.add(Aggregation.sort(sort));
+        }
+        results.add(Aggregation.skip(pageable.getOffset()));
+        results.add(Aggregation.limit(pageable.getPageSize()));
+
+        // Each facet drops its own filter so the client can see the counts for switching it
+        pipeline.add(Aggregation
+                .facet(results.toArray(new AggregationOperation[0])).as("results")
+                .and(Aggregation.match(allOf(buildFilterCriteria(category, status, minPrice, maxPrice, near,
+                                withinKm))),
+                        Aggregation.count().as("count")).as("total")
+                .and(Aggregation.match(allOf(buildFilterCriteria(null, status, minPrice, maxPrice, near, withinKm))),
+                        Aggregation.group("category").count().as("count"),
+                        Aggregation.sort(Sort.Direction.DESC, "count")).as("categories")
+                .and(Aggregation.match(allOf(buildFilterCriteria(category, null, minPrice, maxPrice, near,
+                                withinKm))),
+                        Aggregation.group("status").count().as("count"),
+                        Aggregation.sort(Sort.Direction.DESC, "count")).as("statuses")
+                .and(Aggregation.match(allOf(buildFilterCriteria(category, status, null, null, near, withinKm))),
+                        // Prices are stored as strings, bucket on their decimal value
+                        Aggregation.bucket(ConvertOperators.valueOf("currentPrice").convertToDecimal())
+                                .withBoundaries(PRICE_FACET_BOUNDARIES.stream().map(Decimal128::new).toArray())
+                                .withDefaultBucket(PRICE_FACET_OVERFLOW)
+                                .andOutputCount().as("count")).as("priceRanges"));
+
+        Document facets = mongoTemplate.aggregate(Aggregation.newAggregation(AuctionItem.class, pipeline),
+                Document.class).getUniqueMappedResult();
+
+        List<AuctionItem> auctions = dbRefBatchLoader.read(facets.getList("results", Document.class),
+                AuctionItem.class);
+        List<Document> total = facets.getList("total", Document.class);
+        long totalCount = total.isEmpty() ? 0 : total.get(0).get("count", Number.class).longValue();
+
+        return new FacetedPage<>(new CountedPage<>(auctions, pageable, totalCount, true), new AuctionFacets(
+                toCounts(facets.getList("categories", Document.class)),
+                toCounts(facets.getList("statuses", Document.class)),
+                toPriceRanges(facets.getList("priceRanges", Document.class))));
+    }
+
+    @Override
+    public Page<AuctionItem> findActivePage(LocalDateTime currentTime, Pageable pageable) {
+        return findPage(new Query(Criteria.where("status").is(AuctionItem.AuctionStatus.ACTIVE)
+                .and("startDate").lte(currentTime)
+                .and("endDate").gte(currentTime)), pageable);
+    }
+
+    @Override
+    public Page<AuctionItem> findPageBySeller(User seller, Pageable pageable) {
+        return findPage(new Query(Criteria.where("seller").is(seller)), pageable);
+    }
+
+    @Override
+    public Page<AuctionItem> findPageByCategory(String category, Pageable pageable) {
+        return findPage(new Query(Criteria.where("category").is(category)), pageable);
+    }
+
+    private Page<AuctionItem> findPage(Query query, Pageable pageable) {
+        long total = countCache.count(query, AuctionItem.class);
+        return new CountedPage<>(dbRefBatchLoader.find(Query.of(query).with(pageable), AuctionItem.class), pageable,
+                total, true);
+    }
+
+    @Override
+    public Page<AuctionSummary> findAllSummaries(Pageable pageable, boolean exactTotal) {
+        List<AuctionSummary> summaries = findSummaries(new Query().with(summarySort(pageable)));
+        long total = exactTotal ? countCache.count(new Query(), AuctionItem.class)
+                : mongoTemplate.estimatedCount(AuctionItem.class);
+        return new CountedPage<>(summaries, pageable, total, exactTotal);
+    }
+
+    @Override
+    public Page<AuctionSummary> findActiveSummaries(LocalDateTime currentTime, Pageable pageable) {
+        Query query = new Query(Criteria.where("status").is(AuctionItem.AuctionStatus.ACTIVE)
+                .and("startDate").lte(currentTime)
+                .and("endDate").gte(currentTime));
+        long total = countCache.count(query, AuctionItem.class);
+        return new CountedPage<>(findSummaries(Query.of(query).with(summarySort(pageable))), pageable, total, true);
+    }
+
+    @Override
+    public Page<AuctionSummary> findSummariesByCategory(String category, Pageable pageable) {
+        Query query = new Query(Criteria.where("category").is(category));
+        long total = countCache.count(query, AuctionItem.class);
+        return new CountedPage<>(findSummaries(Query.of(query).with(summarySort(pageable))), pageable, total, true);
+    }
+
+    @Override
+    public List<AuctionSummary> searchSummaries(String searchTerm) {
+        return findSummaries(new Query(buildRegexCriteria(searchTerm)));
+    }
+
+    @Override
+    public List<AuctionSummary> findSummariesByIds(List<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Object> objectIds = ids.stream().<Object>map(id -> ObjectId.isValid(id) ? new ObjectId(id) : id).toList();
+        Map<String, AuctionSummary> byId = new HashMap<>();
+        for (AuctionSummary summary : findSummaries(new Query(Criteria.where("_id").in(objectIds)))) {
+            byId.put(summary.getId(), summary);
+        }
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    public List<AuctionItem> findTopActiveByPrice(int limit) {
+        TypedAggregation<AuctionItem> aggregation = Aggregation.newAggregation(AuctionItem.class,
+                Aggregation.match(Criteria.where("status").is(AuctionItem.AuctionStatus.ACTIVE)),
+                Aggregation.addFields().addFieldWithValue("priceValue",
+                        ConvertOperators.valueOf("currentPrice").convertToDecimal()).build(),
+                Aggregation.sort(Sort.by(Sort.Direction.DESC, "priceValue", "_id")),
+                Aggregation.limit(limit));
+        return mongoTemplate.aggregate(aggregation, AuctionItem.class).getMappedResults();
+    }
+
+    @Override
+    public List<AuctionItem> findRecentActive(int limit) {
+        Query query = new Query(Criteria.where("status").is(AuctionItem.AuctionStatus.ACTIVE))
+                .with(Sort.by(Sort.Direction.DESC, "createdAt", "id"))
+                .limit(limit);
+        return mongoTemplate.find(query, AuctionItem.class);
+    }
+
+    @Override
+    public List<AuctionSummary> findTopActiveSummariesByPrice(int limit) {
+        TypedAggregation<AuctionItem> aggregation = Aggregation.newAggregation(AuctionItem.class,
+                Aggregation.match(Criteria.where("status").is(AuctionItem.AuctionStatus.ACTIVE)),
+                Aggregation.addFields().addFieldWithValue("priceValue",
+                        ConvertOperators.valueOf("currentPrice").convertToDecimal()).build(),
+                Aggregation.sort(Sort.by(Sort.Direction.DESC, "priceValue", "_id")),
+                Aggregation.limit(limit),
+                Aggregation.project(SUMMARY_FIELDS).and("imageUrls").slice(1).as("imageUrls"));
+        return toSummaries(mongoTemplate.aggregate(aggregation, Document.class).getMappedResults());
+    }
+
+    @Override
+    public List<AuctionSummary> findRecentActiveSummaries(int limit) {
+        return findSummaries(new Query(Criteria.where("status").is(AuctionItem.AuctionStatus.ACTIVE))
+                .with(Sort.by(Sort.Direction.DESC, "createdAt", "_id"))
+                .limit(limit));
+    }
+
+    @Override
+    public Optional<AuctionVersion> findVersion(String id) {
+        Query query = new Query(Criteria.where("_id").is(id));
+        query.fields().include("updatedAt", "totalBids");
+        return Optional.ofNullable(mongoTemplate.findOne(query, AuctionItem.class)).map(AuctionVersion::new);
+    }
+
+    @Override
+    public Optional<AuctionItem> touch(String id, LocalDateTime updatedAt) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(new Query(Criteria.where("_id").is(id)),
+                new Update().set("updatedAt", updatedAt), FindAndModifyOptions.options().returnNew(true),
+                AuctionItem.class));
+    }
+
+    @Override
+    public Optional<AuctionItem> raisePrice(String id, BigDecimal expectedPrice, BigDecimal newPrice,
+            User highestBidder, LocalDateTime updatedAt) {
+        // Prices are stored as strings, so the guard is equality with the price the bid was checked
+        // against rather than a numeric comparison
+        Query query = new Query(Criteria.where("_id").is(id)
+                .and("status").is(AuctionItem.AuctionStatus.ACTIVE)
+                .and("currentPrice").is(expectedPrice));
+        Update update = new Update()
+                .set("currentPrice", newPrice)
+                .set("highestBidder", highestBidder)
+                .inc("totalBids", 1)
+                .set("updatedAt", updatedAt);
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), AuctionItem.class));
+    }
+
+    // Reads raw documents so the seller and highestBidder references are never resolved, then fills in
+    // the seller usernames with a single $in query
+    private List<AuctionSummary> findSummaries(Query query) {
+        query.fields().include(SUMMARY_FIELDS).slice("imageUrls", 1);
+        return toSummaries(mongoTemplate.find(query, Document.class,
+                mongoTemplate.getCollectionName(AuctionItem.class)));
+    }
+
+    private List<AuctionSummary> toSummaries(List<Document> documents) {
+        Set<Object> sellerIds = new HashSet<>();
+        for (Document document : documents) {
+            if (document.get("seller") instanceof DBRef seller) {
+                sellerIds.add(seller.getId());
+            }
+        }
+        Map<Object, String> usernames = new HashMap<>();
+        if (!sellerIds.isEmpty()) {
+            Query sellers = new Query(Criteria.where("_id").in(sellerIds));
+            sellers.fields().include("username");
+            for (Document seller : mongoTemplate.find(sellers, Document.class,
+                    mongoTemplate.getCollectionName(User.class))) {
+                usernames.put(seller.get("_id"), seller.getString("username"));
+            }
+        }
+
+        List<AuctionSummary> summaries = new ArrayList<>(documents.size());
+        for (Document document : documents) {
+            String sellerUsername = document.get("seller") instanceof DBRef seller ? usernames.get(seller.getId()) : null;
+            summaries.add(toSummary(document, sellerUsername));
+        }
+        return summaries;
+    }
+
+    // Raw documents carry the stored field names, so a sort on id has to name _id
+    private static Pageable summarySort(Pageable pageable) {
+        Sort sort = Sort.by(pageable.getSort().stream()
+                .map(order -> order.getProperty().equals("id") ? order.withProperty("_id") : order)
+                .toList());
+        return pageable.isPaged() ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort)
+                : Pageable.unpaged(sort);
+    }
+
+    private static AuctionSummary toSummary(Document document, String sellerUsername) {
+        List<?> imageUrls = document.get("imageUrls", List.class);
+        Object endDate = document.get("endDate");
+        Number totalBids = document.get("totalBids", Number.class);
+        return new AuctionSummary(
+                document.get("_id").toString(),
+                document.getString("title"),
+                imageUrls != null && !imageUrls.isEmpty() ? (String) imageUrls.get(0) : null,
+                toBigDecimal(document.get("currentPrice")),
+                endDate instanceof Date date ? LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault()) : null,
+                totalBids != null ? totalBids.intValue() : 0,
+                sellerUsername);
+    }
+
+    // Prices are written as strings by the default BigDecimal conversion
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value instanceof Decimal128 decimal) {
+            return decimal.bigDecimalValue();
+        }
+        return value != null ? new BigDecimal(value.toString()) : null;
+    }
+
+    private static Criteria allOf(List<Criteria> criteriaList) {
+        return criteriaList.isEmpty() ? new Criteria() : new Criteria().andOperator(criteriaList.toArray(new Criteria[0]));
+    }
+
+    private static Map<String, Long> toCounts(List<Document> groups) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Document group : groups) {
+            if (group.get("_id") != null) {
+                counts.put(group.get("_id").toString(), group.get("count", Number.class).longValue());
+            }
+        }
+        return counts;
+    }
+
+    private static List<AuctionFacets.PriceRange> toPriceRanges(List<Document> buckets) {
+        // Keyed by lower bound; a TreeMap compares decimals by value regardless of scale
+        Map<BigDecimal, Long> counts = new TreeMap<>();
+        long overflow = 0;
+        for (Document bucket : buckets) {
+            long count = bucket.get("count", Number.class).longValue();
+            if (bucket.get("_id") instanceof Decimal128 lowerBound) {
+                counts.put(lowerBound.bigDecimalValue(), count);
+            } else {
+                overflow = count;
+            }
+        }
+
+        // Report every range, empty ones included, so the client can render a stable list
+        List<AuctionFacets.PriceRange> ranges = new ArrayList<>();
+        for (int i = 0; i < PRICE_FACET_BOUNDARIES.size() - 1; i++) {
+            BigDecimal min = PRICE_FACET_BOUNDARIES.get(i);
+            ranges.add(new AuctionFacets.PriceRange(min, PRICE_FACET_BOUNDARIES.get(i + 1),
+                    counts.getOrDefault(min, 0L)));
+        }
+        ranges.add(new AuctionFacets.PriceRange(PRICE_FACET_BOUNDARIES.get(PRICE_FACET_BOUNDARIES.size() - 1), null,
+                overflow));
+        return ranges;
+    }
+
+    // Title or description contains the term, case-insensitive
+    private Criteria buildRegexCriteria(String searchTerm) {
+        String regex = ".*" + Pattern.quote(searchTerm.trim()) + ".*";
+        return new Criteria().orOperator(
+                Criteria.where("title").regex(regex, "i"),
+                Criteria.where("description").regex(regex, "i"));
+    }
+
+    // Category, status and price predicates shared by every search mode
+    private List<Criteria> buildFilterCriteria(String category, AuctionItem.AuctionStatus status,
+            BigDecimal minPrice, BigDecimal maxPrice) {
+        return buildFilterCriteria(category, status, minPrice, maxPrice, null, null);
+    }
+
+    // The same predicates plus the location ones when near is given
+    private List<Criteria> buildFilterCriteria(String category, AuctionItem.AuctionStatus status,
+            BigDecimal minPrice, BigDecimal maxPrice, Point near, Double withinKm) {
+        List<Criteria> criteriaList = new ArrayList<>();
+
         // Category
         if (category != null && !category.trim().isEmpty()) {
             criteriaList.add(Criteria.where("category").is(category));
@@ -55,18 +541,18 @@ public class AuctionItemRepositoryImpl implements AuctionItemRepositoryCustom {
             criteriaList.add(Criteria.where("currentPrice").lte(maxPrice));
         }
 
-        if (!criteriaList.isEmpty()) {
-            query.addCriteria(new Criteria().andOperator(criteriaList.toArray(new Criteria[0])));
+        // Location
+        if (near != null) {
+            criteriaList.add(buildLocationCriteria(near, withinKm));
         }
 
-        // Count total before pagination
-        long total = mongoTemplate.count(query, AuctionItem.class);
-
-        // Apply Pagination
-        query.with(pageable);
-
-        List<AuctionItem> auctions = mongoTemplate.find(query, AuctionItem.class);
+        return criteriaList;
+    }
 
-        return new PageImpl<>(auctions, pageable, total);
+    // Auctions with a location, within withinKm of near ($geoWithin $centerSphere) when given
+    private Criteria buildLocationCriteria(Point near, Double withinKm) {
+        return withinKm != null
+                ? Criteria.where("location").withinSphere(new Circle(near, new Distance(withinKm, Metrics.KILOMETERS)))
+                : Criteria.where("location").exists(true);
     }
 }
@@ -15,7 +15,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BidRepository extends MongoRepository<Bid, String> {
+public interface BidRepository extends MongoRepository<Bid, String>, BidRepositoryCustom {
 
     // Find bids by auction item
     List<Bid> findByAuctionItem(AuctionItem auctionItem);
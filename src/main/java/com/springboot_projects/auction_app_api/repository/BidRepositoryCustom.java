@@ -0,0 +1,34 @@
+package com.springboot_projects.auction_app_api.repository;
+
+import com.springboot_projects.auction_app_api.dto.CursorPage;
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+import com.springboot_projects.auction_app_api.model.Bid;
+import com.springboot_projects.auction_app_api.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+public interface BidRepositoryCustom {
+    // Unfiltered listing; without exactTotal the total is the collection's estimated document count
+    Page<Bid> findAllWithTotal(Pageable pageable, boolean exactTotal);
+
+    // Keyset pagination: cursor is the nextCursor of the previous page, null or blank for the first page
+    CursorPage<Bid> findAllByCursor(Sort.Order order, String cursor, int size, boolean includeTotal);
+
+    // Newest bids first
+    CursorPage<Bid> findByAuctionItemByCursor(AuctionItem auctionItem, String cursor, int size,
+            boolean includeTotal);
+
+    // Listings below resolve bidders and auctions with one query per referenced collection for the
+    // whole page, see DbRefBatchLoader
+    Page<Bid> findPageByAuctionItem(AuctionItem auctionItem, Pageable pageable);
+
+    Page<Bid> findPageByBidder(User bidder, Pageable pageable);
+
+    // Newest bids first
+    List<Bid> findRecentByAuctionItem(AuctionItem auctionItem, int limit);
+
+    List<Bid> findRecentByBidder(User bidder, int limit);
+}
@@ -0,0 +1,84 @@
+package com.springboot_projects.auction_app_api.repository;
+
+import com.springboot_projects.auction_app_api.dto.CountedPage;
+import com.springboot_projects.auction_app_api.dto.CursorPage;
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+import com.springboot_projects.auction_app_api.model.Bid;
+import com.springboot_projects.auction_app_api.model.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public class BidRepositoryImpl implements BidRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private KeysetPager keysetPager;
+
+    @Autowired
+    private CountCache countCache;
+
+    @Autowired
+    private DbRefBatchLoader dbRefBatchLoader;
+
+    @Override
+    public Page<Bid> findAllWithTotal(Pageable pageable, boolean exactTotal) {
+        List<Bid> bids = dbRefBatchLoader.find(new Query().with(pageable), Bid.class);
+        long total = exactTotal ? countCache.count(new Query(), Bid.class) : mongoTemplate.estimatedCount(Bid.class);
+        return new CountedPage<>(bids, pageable, total, exactTotal);
+    }
+
+    @Override
+    public CursorPage<Bid> findAllByCursor(Sort.Order order, String cursor, int size, boolean includeTotal) {
+        return keysetPager.find(new Query(), Bid.class, order, cursor, size, includeTotal);
+    }
+
+    @Override
+    public CursorPage<Bid> findByAuctionItemByCursor(AuctionItem auctionItem, String cursor, int size,
+            boolean includeTotal) {
+        Query query = new Query(Criteria.where("auctionItem").is(auctionItem));
+        return keysetPager.find(query, Bid.class, Sort.Order.desc("timestamp"), cursor, size, includeTotal);
+    }
+
+    @Override
+    public Page<Bid> findPageByAuctionItem(AuctionItem auctionItem, Pageable pageable) {
+        return findPage(new Query(Criteria.where("auctionItem").is(auctionItem)), pageable);
+    }
+
+    @Override
+    public Page<Bid> findPageByBidder(User bidder, Pageable pageable) {
+        return findPage(new Query(Criteria.where("bidder").is(bidder)), pageable);
+    }
+
+    @Override
+    public List<Bid> findRecentByAuctionItem(AuctionItem auctionItem, int limit) {
+        return findRecent(new Query(Criteria.where("auctionItem").is(auctionItem)), limit);
+    }
+
+    @Override
+    public List<Bid> findRecentByBidder(User bidder, int limit) {
+        return findRecent(new Query(Criteria.where("bidder").is(bidder)), limit);
+    }
+
+    // Counts like the derived page queries: skipped when the page itself shows where the results end
+    private Page<Bid> findPage(Query query, Pageable pageable) {
+        List<Bid> bids = dbRefBatchLoader.find(Query.of(query).with(pageable), Bid.class);
+        return PageableExecutionUtils.getPage(bids, pageable, () -> mongoTemplate.count(query, Bid.class));
+    }
+
+    private List<Bid> findRecent(Query query, int limit) {
+        return dbRefBatchLoader.find(query.with(Sort.by(Sort.Direction.DESC, "timestamp")).limit(Math.max(limit, 1)),
+                Bid.class);
+    }
+}
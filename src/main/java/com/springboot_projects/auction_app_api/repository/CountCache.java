@@ -0,0 +1,153 @@
+package com.springboot_projects.auction_app_api.repository;
+
+import com.springboot_projects.auction_app_api.config.CountCacheConfig;
+import com.springboot_projects.auction_app_api.event.AuctionItemChangedEvent;
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+import com.springboot_projects.auction_app_api.model.Bid;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+// Caches match counts for filter queries, keyed by the query's criteria with field order normalized.
+// Entries expire after a short TTL and are dropped as soon as a local write could change them: auction
+// creates and deletes clear every auction count, updates only clear counts that filter on a changed field.
+@Component
+public class CountCache {
+
+    private record Entry(long count, long expiresAt, Class<?> type, Set<String> fields) {}
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    // Bumped on every invalidation; a count started before one is not stored
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CountCacheConfig config;
+
+    public long count(Query query, Class<?> type) {
+        if (!config.isEnabled()) {
+            return mongoTemplate.count(query, type);
+        }
+
+        String key = type.getName() + ':' + normalize(query.getQueryObject());
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt() > now) {
+            return entry.count();
+        }
+
+        long startGeneration = generation.get();
+        long count = mongoTemplate.count(query, type);
+        if (entries.size() >= config.getMaxEntries()) {
+            entries.values().removeIf(e -> e.expiresAt() <= now);
+        }
+        if (entries.size() < config.getMaxEntries() && generation.get() == startGeneration) {
+            Entry fresh = new Entry(count, now + config.getTtl(), type, referencedFields(query.getQueryObject()));
+            entries.put(key, fresh);
+            // An invalidation bumps the generation before it sweeps: one racing the put either sweeps
+            // this entry or has bumped the generation by now
+            if (generation.get() != startGeneration) {
+                entries.remove(key, fresh);
+            }
+        }
+        return count;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @EventListener
+    public void onAuctionItemChanged(AuctionItemChangedEvent event) {
+        // Writes made on other instances carry no field list; those counts are left to expire
+        if (event.isRemote()) {
+            return;
+        }
+        Set<String> changedFields = event.getChangedFields();
+        if (event.getChangeType() != AuctionItemChangedEvent.ChangeType.UPDATED || changedFields.isEmpty()) {
+            invalidate(AuctionItem.class, null);
+        } else {
+            // A bid moves the price but cannot change which auctions match a category or status filter
+            invalidate(AuctionItem.class, changedFields);
+        }
+    }
+
+    // Bids have no change event of their own, follow the repository writes instead
+    @EventListener
+    public void onAfterSave(AfterSaveEvent<?> event) {
+        if (event.getSource() instanceof Bid) {
+            invalidate(Bid.class, null);
+        }
+    }
+
+    @EventListener
+    public void onAfterDelete(AfterDeleteEvent<?> event) {
+        if (event.getType() == Bid.class) {
+            invalidate(Bid.class, null);
+        }
+    }
+
+    // Drops counts for the type; with changedFields, only those filtering on one of them
+    private void invalidate(Class<?> type, Collection<String> changedFields) {
+        generation.incrementAndGet();
+        entries.values().removeIf(e -> e.type() == type
+                && (changedFields == null || changedFields.stream().anyMatch(e.fields()::contains)));
+    }
+
+    // Field names the criteria reads, operators skipped; $text reads the text-indexed fields
+    private static Set<String> referencedFields(Document criteria) {
+        Set<String> fields = new HashSet<>();
+        collectFields(criteria, fields);
+        return fields;
+    }
+
+    private static void collectFields(Object value, Set<String> fields) {
+        if (value instanceof Map<?, ?> map) {
+            for (Map.Entry<?, ?> field : map.entrySet()) {
+                String name = field.getKey().toString();
+                if (name.equals("$text")) {
+                    fields.addAll(List.of("title", "description"));
+                } else if (!name.startsWith("$")) {
+                    fields.add(name);
+                }
+                collectFields(field.getValue(), fields);
+            }
+        } else if (value instanceof Collection<?> list) {
+            list.forEach(item -> collectFields(item, fields));
+        }
+    }
+
+    // Stable text form of the criteria: keys sorted at every level, values tagged with their type
+    static String normalize(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<String, String> sorted = new TreeMap<>();
+            map.forEach((k, v) -> sorted.put(k.toString(), normalize(v)));
+            return sorted.toString();
+        }
+        if (value instanceof Collection<?> list) {
+            return list.stream().map(CountCache::normalize).toList().toString();
+        }
+        if (value instanceof Pattern pattern) {
+            return "/" + pattern.pattern() + "/" + pattern.flags();
+        }
+        return value == null ? "null" : value.getClass().getSimpleName() + ':' + value;
+    }
+}
@@ -0,0 +1,150 @@
+package com.springboot_projects.auction_app_api.repository;
+
+import com.mongodb.DBRef;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Reads entities without letting the converter resolve their @DBRef properties one document at a time.
+// The references of a whole result are collected first and every referenced type is loaded with a
+// single $in query, level by level, so a page of bids costs four queries (bids, bidders, auctions,
+// sellers and highest bidders) whatever its size instead of four per bid.
+@Component
+public class DbRefBatchLoader {
+
+    // Bid -> AuctionItem -> User is two levels deep; stops a reference cycle from recursing forever
+    private static final int MAX_DEPTH = 3;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private volatile QueryMapper queryMapper;
+
+    // Same results as mongoTemplate.find(query, type), references resolved in bulk
+    public <T> List<T> find(Query query, Class<T> type) {
+        return read(findDocuments(query, type), type, 0);
+    }
+
+    // Entities in the order of the given ids; ids without a document are skipped
+    public <T> List<T> findAllById(Collection<?> ids, Class<T> type) {
+        // Documents come back keyed by their stored _id, an ObjectId where the requested id is its hex string
+        MongoConverter converter = mongoTemplate.getConverter();
+        List<Object> storedIds = ids.stream().map(id -> converter.convertId(id, ObjectId.class)).toList();
+        Map<Object, T> byId = load(storedIds, type, 0);
+        List<T> results = new ArrayList<>(storedIds.size());
+        for (Object id : storedIds) {
+            T entity = byId.get(id);
+            if (entity != null) {
+                results.add(entity);
+            }
+        }
+        return results;
+    }
+
+    // Entities from documents read elsewhere (e.g. an aggregation stage), references resolved in bulk
+    public <T> List<T> read(List<Document> documents, Class<T> type) {
+        return read(documents, type, 0);
+    }
+
+    // Raw documents for a typed query: field names, ids and entity values (e.g. a User standing for a
+    // DBRef) are mapped against the entity here because a Document result type has no mapping of its own
+    public List<Document> findDocuments(Query query, Class<?> type) {
+        MongoPersistentEntity<?> entity = entity(type);
+        QueryMapper mapper = queryMapper();
+        BasicQuery mapped = new BasicQuery(mapper.getMappedObject(query.getQueryObject(), entity),
+                mapper.getMappedFields(query.getFieldsObject(), entity));
+        mapped.setSortObject(mapper.getMappedSort(query.getSortObject(), entity));
+        mapped.skip(query.getSkip());
+        mapped.limit(query.getLimit());
+        query.getCollation().ifPresent(mapped::collation);
+        return mongoTemplate.find(mapped, Document.class, entity.getCollection());
+    }
+
+    private <T> Map<Object, T> load(Collection<?> ids, Class<T> type, int depth) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        List<Document> documents = findDocuments(new Query(Criteria.where("_id").in(new LinkedHashSet<>(ids))), type);
+        List<Object> documentIds = documents.stream().map(document -> document.get("_id")).toList();
+        List<T> entities = read(documents, type, depth);
+        Map<Object, T> byId = new HashMap<>();
+        for (int i = 0; i < entities.size(); i++) {
+            byId.put(documentIds.get(i), entities.get(i));
+        }
+        return byId;
+    }
+
+    private <T> List<T> read(List<Document> documents, Class<T> type, int depth) {
+        MongoPersistentEntity<?> entity = entity(type);
+        List<MongoPersistentProperty> references = new ArrayList<>();
+        for (MongoPersistentProperty property : entity) {
+            if (property.isDbReference() && !property.isCollectionLike() && !property.isMap()) {
+                references.add(property);
+            }
+        }
+
+        // Take the references out of the documents so the converter leaves them alone, remembering
+        // which ids each target type has to load
+        List<Map<MongoPersistentProperty, DBRef>> refs = new ArrayList<>(documents.size());
+        Map<Class<?>, Set<Object>> idsByType = new LinkedHashMap<>();
+        for (Document document : documents) {
+            Map<MongoPersistentProperty, DBRef> documentRefs = new HashMap<>();
+            for (MongoPersistentProperty property : references) {
+                if (document.remove(property.getFieldName()) instanceof DBRef ref) {
+                    documentRefs.put(property, ref);
+                    idsByType.computeIfAbsent(property.getActualType(), key -> new LinkedHashSet<>())
+                            .add(ref.getId());
+                }
+            }
+            refs.add(documentRefs);
+        }
+
+        Map<Class<?>, Map<Object, ?>> loaded = new HashMap<>();
+        if (depth < MAX_DEPTH) {
+            idsByType.forEach((target, ids) -> loaded.put(target, load(ids, target, depth + 1)));
+        }
+
+        MongoConverter converter = mongoTemplate.getConverter();
+        List<T> results = new ArrayList<>(documents.size());
+        for (int i = 0; i < documents.size(); i++) {
+            T result = converter.read(type, documents.get(i));
+            PersistentPropertyAccessor<T> accessor = entity.getPropertyAccessor(result);
+            refs.get(i).forEach((property, ref) -> accessor.setProperty(property,
+                    loaded.getOrDefault(property.getActualType(), Map.of()).get(ref.getId())));
+            results.add(accessor.getBean());
+        }
+        return results;
+    }
+
+    private MongoPersistentEntity<?> entity(Class<?> type) {
+        return mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(type);
+    }
+
+    private QueryMapper queryMapper() {
+        QueryMapper mapper = queryMapper;
+        if (mapper == null) {
+            mapper = new QueryMapper(mongoTemplate.getConverter());
+            queryMapper = mapper;
+        }
+        return mapper;
+    }
+}
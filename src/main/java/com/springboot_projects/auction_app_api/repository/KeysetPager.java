@@ -0,0 +1,123 @@
+package com.springboot_projects.auction_app_api.repository;
+
+import com.springboot_projects.auction_app_api.dto.CursorPage;
+import com.springboot_projects.auction_app_api.exception.InvalidCursorException;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+// Keyset (seek) pagination: each page starts after the sort value and id of the previous page's last
+// document, so the cost of a page does not depend on how deep it is. Cursors are opaque base64 of
+// the stored BSON values and remember the sort they were issued for. Documents without a sort value
+// are kept: Mongo orders them before every value, so they come first ascending and last descending.
+@Component
+public class KeysetPager {
+
+    private static final String ID = "id";
+    static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CountCache countCache;
+
+    public <T> CursorPage<T> find(Query query, Class<T> type, Sort.Order order, String cursor, int size,
+            boolean includeTotal) {
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(type);
+        String field = order.getProperty();
+        if (entity.getPersistentProperty(field) == null) {
+            throw new InvalidCursorException("Cursor pagination is not supported for sort field: " + field);
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidCursorException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        // Counting is a scan of every match, only done on request
+        Long total = includeTotal ? countCache.count(query, type) : null;
+
+        if (cursor != null && !cursor.isBlank()) {
+            query.addCriteria(seekCriteria(decode(cursor, order), order));
+        }
+        query.with(field.equals(ID) ? Sort.by(order.getDirection(), ID) : Sort.by(order.getDirection(), field, ID));
+        query.limit(size + 1);
+
+        List<T> results = mongoTemplate.find(query, type);
+        boolean hasNext = results.size() > size;
+        if (hasNext) {
+            results = results.subList(0, size);
+        }
+        String nextCursor = hasNext ? encode(entity, results.get(results.size() - 1), order) : null;
+        return new CursorPage<>(results, size, nextCursor, total);
+    }
+
+    // (field, id) strictly after the cursor position in sort order, a missing or null field counting
+    // as lower than any value
+    private static Criteria seekCriteria(Document position, Sort.Order order) {
+        String field = order.getProperty();
+        Object id = position.get("id");
+        boolean descending = order.isDescending();
+        Criteria afterId = descending ? Criteria.where(ID).lt(id) : Criteria.where(ID).gt(id);
+        if (field.equals(ID)) {
+            return afterId;
+        }
+        Object value = position.get("v");
+        Criteria sameValue = new Criteria().andOperator(Criteria.where(field).is(value), afterId);
+        if (value == null) {
+            // Ascending the valued documents follow the nulls, descending nothing does
+            return descending ? sameValue : new Criteria().orOperator(sameValue, Criteria.where(field).ne(null));
+        }
+        if (descending) {
+            return new Criteria().orOperator(Criteria.where(field).lt(value), sameValue,
+                    Criteria.where(field).is(null));
+        }
+        return new Criteria().orOperator(Criteria.where(field).gt(value), sameValue);
+    }
+
+    private <T> String encode(MongoPersistentEntity<?> entity, T last, Sort.Order order) {
+        MongoConverter converter = mongoTemplate.getConverter();
+        PersistentPropertyAccessor<T> accessor = entity.getPropertyAccessor(last);
+        MongoPersistentProperty sortProperty = entity.getRequiredPersistentProperty(order.getProperty());
+
+        Object id = accessor.getProperty(entity.getRequiredIdProperty());
+        if (id instanceof String stringId && ObjectId.isValid(stringId)) {
+            id = new ObjectId(stringId);
+        }
+
+        // Store the value as Mongo holds it (e.g. LocalDateTime as a date) so comparisons match the sort
+        Document position = new Document("f", order.getProperty())
+                .append("d", order.getDirection().name())
+                .append("v", converter.convertToMongoType(accessor.getProperty(sortProperty)))
+                .append("id", id);
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(position.toJson().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Document decode(String cursor, Sort.Order order) {
+        Document position;
+        try {
+            position = Document.parse(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            throw new InvalidCursorException("Malformed cursor", e);
+        }
+        if (!order.getProperty().equals(position.getString("f"))
+                || !order.getDirection().name().equals(position.getString("d"))) {
+            throw new InvalidCursorException("Cursor was issued for a different sort order");
+        }
+        return position;
+    }
+}
@@ -0,0 +1,14 @@
+package com.springboot_projects.auction_app_api.repository;
+
+import com.springboot_projects.auction_app_api.model.SavedSearch;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface SavedSearchRepository extends MongoRepository<SavedSearch, String> {
+    List<SavedSearch> findByUserIdOrderByCreatedAtDesc(String userId);
+
+    long countByUserId(String userId);
+
+    long deleteByIdAndUserId(String id, String userId);
+}
@@ -8,10 +8,10 @@ import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
-public interface WatchlistRepository extends MongoRepository<Watchlist, String> {
+public interface WatchlistRepository extends MongoRepository<Watchlist, String>, WatchlistRepositoryCustom {
     List<Watchlist> findByUser(User user);
 
     boolean existsByUserAndAuctionItem(User user, AuctionItem auctionItem);
 
-    void deleteByUserAndAuctionItem(User user, AuctionItem auctionItem);
+    long deleteByUserAndAuctionItem(User user, AuctionItem auctionItem);
 }
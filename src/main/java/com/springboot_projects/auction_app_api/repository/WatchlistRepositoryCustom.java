@@ -0,0 +1,12 @@
+package com.springboot_projects.auction_app_api.repository;
+
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+import com.springboot_projects.auction_app_api.model.User;
+
+import java.util.List;
+
+public interface WatchlistRepositoryCustom {
+    // The user's watched auctions, oldest entry first; the auctions and their users are loaded with one
+    // query per collection instead of resolving every entry's references
+    List<AuctionItem> findAuctionsByUser(User user);
+}
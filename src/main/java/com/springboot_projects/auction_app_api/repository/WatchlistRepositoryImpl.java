@@ -0,0 +1,36 @@
+package com.springboot_projects.auction_app_api.repository;
+
+import com.mongodb.DBRef;
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+import com.springboot_projects.auction_app_api.model.User;
+import com.springboot_projects.auction_app_api.model.Watchlist;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+public class WatchlistRepositoryImpl implements WatchlistRepositoryCustom {
+
+    @Autowired
+    private DbRefBatchLoader dbRefBatchLoader;
+
+    @Override
+    public List<AuctionItem> findAuctionsByUser(User user) {
+        // Only the auction reference is read, the user is the one asking
+        Query query = new Query(Criteria.where("user").is(user)).with(Sort.by("createdAt"));
+        query.fields().include("auctionItem");
+        List<Object> auctionIds = new ArrayList<>();
+        for (Document entry : dbRefBatchLoader.findDocuments(query, Watchlist.class)) {
+            if (entry.get("auctionItem") instanceof DBRef auctionItem) {
+                auctionIds.add(auctionItem.getId());
+            }
+        }
+        return dbRefBatchLoader.findAllById(auctionIds, AuctionItem.class);
+    }
+}
@@ -0,0 +1,159 @@
+package com.springboot_projects.auction_app_api.search;
+
+import com.springboot_projects.auction_app_api.event.AuctionItemChangedEvent;
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+// Active auctions ordered by current price and by creation time, so the home page top/recent lists
+// are read from memory instead of sorting the collection on every request. Follows
+// AuctionItemChangedEvent like the search index; until the startup load finishes callers query Mongo.
+@Component
+public class AuctionRankings implements LoadedView {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionRankings.class);
+
+    // Snapshot of the sort keys, the item itself may change after it was ranked
+    private record Entry(String id, BigDecimal price, LocalDateTime createdAt, LocalDateTime updatedAt,
+            AuctionItem item) {
+    }
+
+    // Ties broken by id, newest first, the same order as the Mongo fallback queries
+    private static final Comparator<Entry> BY_ID = Comparator.comparing(Entry::id, Comparator.reverseOrder());
+    private static final Comparator<Entry> BY_PRICE = Comparator
+            .comparing(Entry::price, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(BY_ID);
+    private static final Comparator<Entry> BY_RECENCY = Comparator
+            .comparing(Entry::createdAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(BY_ID);
+
+    @Autowired(required = false)
+    private MongoTemplate mongoTemplate;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final NavigableSet<Entry> byPrice = new ConcurrentSkipListSet<>(BY_PRICE);
+    private final NavigableSet<Entry> byRecency = new ConcurrentSkipListSet<>(BY_RECENCY);
+
+    private final LoadState loadState = new LoadState();
+
+    @Override
+    public String fallback() {
+        return "top and recent lists stay on Mongo queries";
+    }
+
+    // Load the active auctions. Live updates applied meanwhile are kept, the scan never replaces a
+    // newer copy of an auction or brings back one removed during the load.
+    @Override
+    public void rebuild() {
+        if (mongoTemplate == null) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        loadState.load(() -> {
+            clear();
+            Query query = new Query(Criteria.where("status").is(AuctionItem.AuctionStatus.ACTIVE));
+            try (Stream<AuctionItem> items = mongoTemplate.stream(query, AuctionItem.class)) {
+                items.forEach(item -> {
+                    if (!loadState.wasRemoved(item.getId())) {
+                        update(item);
+                    }
+                });
+            }
+        });
+        logger.info("Auction rankings built: {} active auctions in {} ms", size(),
+                System.currentTimeMillis() - start);
+    }
+
+    @EventListener
+    public void onAuctionItemChanged(AuctionItemChangedEvent event) {
+        if (event.getChangeType() == AuctionItemChangedEvent.ChangeType.DELETED) {
+            remove(event.getAuctionId());
+        } else if (event.getAuctionItem() != null) {
+            update(event.getAuctionItem());
+        }
+    }
+
+    // Rank, re-rank or drop an auction depending on its status. Writers are serialized; readers walk
+    // the skip lists without locking and may briefly miss an auction that is being moved.
+    public synchronized void update(AuctionItem item) {
+        if (item == null || item.getId() == null) {
+            return;
+        }
+        Entry existing = entries.get(item.getId());
+        if (existing != null && existing.updatedAt() != null && item.getUpdatedAt() != null
+                && item.getUpdatedAt().isBefore(existing.updatedAt())) {
+            return;
+        }
+        if (item.getStatus() != AuctionItem.AuctionStatus.ACTIVE) {
+            loadState.removed(item.getId());
+            unlink(item.getId());
+            return;
+        }
+        unlink(item.getId());
+        // Mongo keeps millisecond dates, truncate so equal timestamps tie-break by id the same way
+        LocalDateTime createdAt = item.getCreatedAt() != null
+                ? item.getCreatedAt().truncatedTo(ChronoUnit.MILLIS) : null;
+        Entry entry = new Entry(item.getId(), item.getCurrentPrice(), createdAt, item.getUpdatedAt(), item);
+        entries.put(entry.id(), entry);
+        byPrice.add(entry);
+        byRecency.add(entry);
+    }
+
+    public synchronized void remove(String auctionId) {
+        loadState.removed(auctionId);
+        unlink(auctionId);
+    }
+
+    // Highest current price first
+    public List<AuctionItem> topByPrice(int limit) {
+        return first(byPrice, limit);
+    }
+
+    // Most recently created first
+    public List<AuctionItem> mostRecent(int limit) {
+        return first(byRecency, limit);
+    }
+
+    public boolean isReady() {
+        return loadState.isReady();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private synchronized void clear() {
+        entries.clear();
+        byPrice.clear();
+        byRecency.clear();
+    }
+
+    private void unlink(String auctionId) {
+        Entry previous = entries.remove(auctionId);
+        if (previous != null) {
+            byPrice.remove(previous);
+            byRecency.remove(previous);
+        }
+    }
+
+    private static List<AuctionItem> first(NavigableSet<Entry> ranking, int limit) {
+        return ranking.stream().limit(Math.max(limit, 0)).map(Entry::item).toList();
+    }
+}
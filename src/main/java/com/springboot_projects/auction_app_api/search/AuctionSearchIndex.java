@@ -0,0 +1,486 @@
+package com.springboot_projects.auction_app_api.search;
+
+import com.springboot_projects.auction_app_api.event.AuctionItemChangedEvent;
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// In-process inverted index over auction titles, descriptions and categories. Built from Mongo at
+// startup and kept current from AuctionItemChangedEvent, so searches never scan the collection.
+// Documents get an internal number in insertion order; postings are append-only arrays sorted by
+// that number, updates tombstone the old number and deletions are reclaimed by compaction. Filter
+// and sort fields are kept in columns next to the postings so filtered queries need no lookups.
+@Component
+public class AuctionSearchIndex implements LoadedView {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionSearchIndex.class);
+
+    public enum Operator {
+        AND, OR
+    }
+
+    public record SearchResult(List<String> auctionIds, long total) {
+    }
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int MIN_TOMBSTONES_FOR_COMPACTION = 10_000;
+    private static final String RELEVANCE = "relevance";
+    private static final Set<String> SORTABLE_FIELDS = Set.of(RELEVANCE, "createdAt", "currentPrice", "endDate");
+    private static final Pattern OR_OPERATOR = Pattern.compile("\\bOR\\b|\\|");
+
+    @Autowired(required = false)
+    private MongoTemplate mongoTemplate;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Sorted so the last query term can be expanded as a prefix
+    private final TreeMap<String, Postings> postings = new TreeMap<>();
+    private final Map<String, Integer> docsByAuctionId = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+
+    // Columns indexed by internal document number
+    private String[] auctionIds = new String[1024];
+    private byte[] statuses = new byte[1024];
+    private String[] categories = new String[1024];
+    private double[] prices = new double[1024];
+    private long[] createdAts = new long[1024];
+    private long[] endDates = new long[1024];
+    private long[] updatedAts = new long[1024];
+    private int[] textHashes = new int[1024];
+
+    private int docCount;
+    private int deletedCount;
+
+    private final LoadState loadState = new LoadState();
+
+    @Override
+    public String fallback() {
+        return "searches fall back to regex queries";
+    }
+
+    // Reload every auction from Mongo. Searches use the regex fallback until this completes.
+    @Override
+    public void rebuild() {
+        if (mongoTemplate == null) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        loadState.load(() -> {
+            clear();
+
+            // Only the fields the index needs, DBRefs are never resolved
+            Query query = new Query();
+            query.fields().include("title", "description", "category", "status", "currentPrice",
+                    "createdAt", "endDate", "updatedAt");
+            try (Stream<AuctionItem> items = mongoTemplate.stream(query, AuctionItem.class)) {
+                items.forEach(item -> {
+                    if (!loadState.wasRemoved(item.getId())) {
+                        index(item);
+                    }
+                });
+            }
+        });
+        logger.info("Search index built: {} auctions, {} terms in {} ms", getDocumentCount(), getTermCount(),
+                System.currentTimeMillis() - start);
+    }
+
+    @EventListener
+    public void onAuctionItemChanged(AuctionItemChangedEvent event) {
+        if (event.getChangeType() == AuctionItemChangedEvent.ChangeType.DELETED) {
+            remove(event.getAuctionId());
+        } else if (event.getAuctionItem() != null) {
+            index(event.getAuctionItem());
+        }
+    }
+
+    // Add or replace an auction. Price and status changes only rewrite columns.
+    public void index(AuctionItem item) {
+        if (item == null || item.getId() == null) {
+            return;
+        }
+        int textHash = Objects.hash(item.getTitle(), item.getDescription(), item.getCategory());
+        long updatedAt = toMillis(item.getUpdatedAt());
+
+        lock.writeLock().lock();
+        try {
+            Integer existing = docsByAuctionId.get(item.getId());
+            if (existing != null) {
+                if (updatedAt < updatedAts[existing]) {
+                    // Older copy, e.g. the startup scan reading a document a live update already indexed
+                    return;
+                }
+                if (textHashes[existing] == textHash) {
+                    setColumns(existing, item, updatedAt);
+                    return;
+                }
+                markDeleted(existing);
+            }
+
+            int doc = docCount++;
+            ensureCapacity(docCount);
+            docsByAuctionId.put(item.getId(), doc);
+            auctionIds[doc] = item.getId();
+            textHashes[doc] = textHash;
+            setColumns(doc, item, updatedAt);
+
+            for (Map.Entry<String, Integer> entry : termWeights(item).entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new Postings())
+                        .add(doc, (short) Math.min(entry.getValue(), Short.MAX_VALUE));
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String auctionId) {
+        loadState.removed(auctionId);
+        lock.writeLock().lock();
+        try {
+            Integer doc = docsByAuctionId.remove(auctionId);
+            if (doc != null) {
+                markDeleted(doc);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return loadState.isReady();
+    }
+
+    // Relevance and the column-backed fields can be sorted in memory, anything else goes to Mongo
+    public boolean supportsSort(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!SORTABLE_FIELDS.contains(order.getProperty())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Terms are ANDed unless the query contains OR (or |). The last term also matches as a prefix so
+    // results keep up while the user is typing.
+    public SearchResult search(String queryText, String category, AuctionItem.AuctionStatus status,
+            BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
+        Operator operator = queryText != null && OR_OPERATOR.matcher(queryText).find() ? Operator.OR : Operator.AND;
+        return search(queryText, operator, category, status, minPrice, maxPrice, pageable);
+    }
+
+    public SearchResult search(String queryText, Operator operator, String category, AuctionItem.AuctionStatus status,
+            BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
+        lock.readLock().lock();
+        try {
+            List<List<Postings>> groups = parseQuery(queryText);
+            if (groups.isEmpty()) {
+                return new SearchResult(List.of(), 0);
+            }
+            if (operator == Operator.AND) {
+                // Rarest term first, later terms only touch documents that are still candidates
+                groups.sort(Comparator.comparingLong(AuctionSearchIndex::postingCount));
+            }
+
+            // Only documents in a posting list are touched: for AND those of the rarest term, which the
+            // later terms can only narrow down
+            long expected = 0;
+            for (int g = 0; g < groups.size() && (g == 0 || operator == Operator.OR); g++) {
+                for (Postings termPostings : groups.get(g)) {
+                    expected += termPostings.size;
+                }
+            }
+            DocAccumulator matches = new DocAccumulator((int) Math.min(expected, docCount));
+            double liveDocs = Math.max(1, docCount - deletedCount);
+            for (int g = 0; g < groups.size(); g++) {
+                for (Postings termPostings : groups.get(g)) {
+                    float idf = (float) Math.log(1 + liveDocs / termPostings.size);
+                    for (int i = 0; i < termPostings.size; i++) {
+                        int doc = termPostings.docs[i];
+                        if (operator == Operator.AND) {
+                            if (g > 0 && matches.count(doc) < g) {
+                                continue;
+                            }
+                            matches.put(doc, g + 1, termPostings.weights[i] * idf);
+                        } else {
+                            matches.put(doc, 1, termPostings.weights[i] * idf);
+                        }
+                    }
+                }
+            }
+
+            int required = operator == Operator.AND ? groups.size() : 1;
+            byte statusFilter = status != null ? (byte) status.ordinal() : -1;
+            double min = minPrice != null ? minPrice.doubleValue() : Double.NEGATIVE_INFINITY;
+            double max = maxPrice != null ? maxPrice.doubleValue() : Double.POSITIVE_INFINITY;
+
+            Comparator<Integer> order = comparator(pageable.getSort(), matches);
+            int limit = pageable.isPaged() ? (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize())
+                    : Integer.MAX_VALUE;
+            // Worst kept result on top so it can be evicted
+            PriorityQueue<Integer> top = new PriorityQueue<>(order.reversed());
+            long total = 0;
+            for (int i = 0; i < matches.size(); i++) {
+                int doc = matches.docAt(i);
+                if (matches.count(doc) < required || deleted.get(doc)
+                        || (statusFilter >= 0 && statuses[doc] != statusFilter)
+                        || (category != null && !category.isBlank() && !category.equals(categories[doc]))
+                        || prices[doc] < min || prices[doc] > max) {
+                    continue;
+                }
+                total++;
+                top.add(doc);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<Integer> ranked = new ArrayList<>(top);
+            ranked.sort(order);
+            int from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), ranked.size()) : 0;
+            List<String> ids = new ArrayList<>(ranked.size() - from);
+            for (int doc : ranked.subList(from, ranked.size())) {
+                ids.add(auctionIds[doc]);
+            }
+            return new SearchResult(ids, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getDocumentCount() {
+        lock.readLock().lock();
+        try {
+            return docCount - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getTermCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // One group per query term; a document matches a group if it contains any term in it
+    private List<List<Postings>> parseQuery(String queryText) {
+        List<List<Postings>> groups = new ArrayList<>();
+        List<String> tokens = TextAnalyzer.tokenize(queryText);
+        tokens.removeIf(token -> token.equals("or") || TextAnalyzer.isStopWord(token));
+        boolean lastIsPrefix = queryText != null && !queryText.isEmpty()
+                && Character.isLetterOrDigit(queryText.charAt(queryText.length() - 1));
+
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            Map<String, Postings> group = new LinkedHashMap<>();
+            String stem = TextAnalyzer.stem(token);
+            Postings exact = postings.get(stem);
+            if (exact != null) {
+                group.put(stem, exact);
+            }
+            if (lastIsPrefix && i == tokens.size() - 1) {
+                Iterator<Map.Entry<String, Postings>> expansions = postings
+                        .subMap(token, true, token + Character.MAX_VALUE, false).entrySet().iterator();
+                for (int n = 0; n < MAX_PREFIX_EXPANSIONS && expansions.hasNext(); n++) {
+                    Map.Entry<String, Postings> expansion = expansions.next();
+                    group.putIfAbsent(expansion.getKey(), expansion.getValue());
+                }
+            }
+            groups.add(new ArrayList<>(group.values()));
+        }
+        return groups;
+    }
+
+    private static long postingCount(List<Postings> group) {
+        long count = 0;
+        for (Postings termPostings : group) {
+            count += termPostings.size;
+        }
+        return count;
+    }
+
+    private Comparator<Integer> comparator(Sort sort, DocAccumulator matches) {
+        Comparator<Integer> relevance = (a, b) -> Float.compare(matches.score(b), matches.score(a));
+        Comparator<Integer> order = null;
+        for (Sort.Order sortOrder : sort) {
+            Comparator<Integer> field = switch (sortOrder.getProperty()) {
+                case "createdAt" -> Comparator.comparingLong(doc -> createdAts[doc]);
+                case "currentPrice" -> Comparator.comparingDouble(doc -> prices[doc]);
+                case "endDate" -> Comparator.comparingLong(doc -> endDates[doc]);
+                default -> relevance;
+            };
+            if (sortOrder.isDescending() && field != relevance) {
+                field = field.reversed();
+            }
+            order = order == null ? field : order.thenComparing(field);
+        }
+        order = order == null ? relevance : order.thenComparing(relevance);
+        // Stable tie-break so pages do not overlap
+        return order.thenComparing(Comparator.naturalOrder());
+    }
+
+    private static Map<String, Integer> termWeights(AuctionItem item) {
+        Map<String, Integer> weights = new HashMap<>();
+        addTerms(weights, item.getTitle(), TITLE_WEIGHT);
+        addTerms(weights, item.getCategory(), CATEGORY_WEIGHT);
+        addTerms(weights, item.getDescription(), DESCRIPTION_WEIGHT);
+        return weights;
+    }
+
+    private static void addTerms(Map<String, Integer> weights, String text, int weight) {
+        for (String term : TextAnalyzer.analyze(text)) {
+            weights.merge(term, weight, Integer::sum);
+        }
+    }
+
+    private void setColumns(int doc, AuctionItem item, long updatedAt) {
+        statuses[doc] = item.getStatus() != null ? (byte) item.getStatus().ordinal() : -1;
+        categories[doc] = item.getCategory();
+        prices[doc] = item.getCurrentPrice() != null ? item.getCurrentPrice().doubleValue() : 0;
+        createdAts[doc] = toMillis(item.getCreatedAt());
+        endDates[doc] = toMillis(item.getEndDate());
+        updatedAts[doc] = updatedAt;
+    }
+
+    private void markDeleted(int doc) {
+        if (!deleted.get(doc)) {
+            deleted.set(doc);
+            deletedCount++;
+            auctionIds[doc] = null;
+            categories[doc] = null;
+        }
+    }
+
+    private void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            docsByAuctionId.clear();
+            deleted.clear();
+            Arrays.fill(auctionIds, 0, docCount, null);
+            Arrays.fill(categories, 0, docCount, null);
+            docCount = 0;
+            deletedCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Renumber live documents once tombstones make up a quarter of the index; caller holds the write lock
+    private void compactIfNeeded() {
+        if (deletedCount < MIN_TOMBSTONES_FOR_COMPACTION || deletedCount * 4 < docCount) {
+            return;
+        }
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (deleted.get(doc)) {
+                remap[doc] = -1;
+                continue;
+            }
+            remap[doc] = next;
+            auctionIds[next] = auctionIds[doc];
+            statuses[next] = statuses[doc];
+            categories[next] = categories[doc];
+            prices[next] = prices[doc];
+            createdAts[next] = createdAts[doc];
+            endDates[next] = endDates[doc];
+            updatedAts[next] = updatedAts[doc];
+            textHashes[next] = textHashes[doc];
+            next++;
+        }
+        Arrays.fill(auctionIds, next, docCount, null);
+        Arrays.fill(categories, next, docCount, null);
+
+        postings.values().removeIf(termPostings -> termPostings.remap(remap) == 0);
+        docsByAuctionId.replaceAll((auctionId, doc) -> remap[doc]);
+        deleted.clear();
+        docCount = next;
+        deletedCount = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= auctionIds.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, auctionIds.length * 2);
+        auctionIds = Arrays.copyOf(auctionIds, newLength);
+        statuses = Arrays.copyOf(statuses, newLength);
+        categories = Arrays.copyOf(categories, newLength);
+        prices = Arrays.copyOf(prices, newLength);
+        createdAts = Arrays.copyOf(createdAts, newLength);
+        endDates = Arrays.copyOf(endDates, newLength);
+        updatedAts = Arrays.copyOf(updatedAts, newLength);
+        textHashes = Arrays.copyOf(textHashes, newLength);
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0;
+    }
+
+    // Document numbers in ascending order with the field-weighted term frequency of each
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private short[] weights = new short[4];
+        private int size;
+
+        private void add(int doc, short weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+        }
+
+        // Drops deleted documents and renumbers the rest, returns the new size
+        private int remap(int[] remap) {
+            int next = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[next] = doc;
+                    weights[next] = weights[i];
+                    next++;
+                }
+            }
+            size = next;
+            return size;
+        }
+    }
+}
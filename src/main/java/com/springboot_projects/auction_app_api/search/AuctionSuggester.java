@@ -0,0 +1,270 @@
+package com.springboot_projects.auction_app_api.search;
+
+import com.mongodb.DBRef;
+import com.springboot_projects.auction_app_api.event.AuctionItemChangedEvent;
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// Search-as-you-type completions for title words and categories of active auctions. Both live in
+// compressed tries whose nodes cache the best completions of their subtree, so a lookup is a walk
+// down the prefix and never visits the matching terms. A term's weight is the popularity of the
+// auctions using it (bids and watchers) and follows AuctionItemChangedEvent and watchlist changes.
+@Component
+public class AuctionSuggester implements LoadedView {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionSuggester.class);
+
+    public enum SuggestionType {
+        TERM, CATEGORY
+    }
+
+    public record Suggestion(String text, SuggestionType type, long weight) {
+    }
+
+    public static final int MAX_SUGGESTIONS = 10;
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int WATCHER_WEIGHT = 2;
+
+    // What one auction adds to the tries, kept so an update can take it back out
+    private record Contribution(Set<String> terms, String category, int totalBids, long weight,
+            LocalDateTime updatedAt) {
+    }
+
+    @Autowired(required = false)
+    private MongoTemplate mongoTemplate;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final CompletionTrie terms = new CompletionTrie(MAX_SUGGESTIONS);
+    private final CompletionTrie categories = new CompletionTrie(MAX_SUGGESTIONS);
+    private final Map<String, Contribution> contributions = new HashMap<>();
+    private Map<String, Integer> watchers = new HashMap<>();
+    private final LoadState loadState = new LoadState();
+
+    @Override
+    public String fallback() {
+        return "suggestions stay empty until auctions change";
+    }
+
+    // Reload active auctions and watcher counts from Mongo. Live updates applied meanwhile are kept,
+    // the scan never replaces a newer copy of an auction or brings back one deleted during the load.
+    @Override
+    public void rebuild() {
+        if (mongoTemplate == null) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+
+        loadState.load(() -> {
+            Map<String, Integer> watcherCounts = new HashMap<>();
+            for (Document group : mongoTemplate.aggregate(Aggregation.newAggregation(
+                    Aggregation.group("auctionItem").count().as("count")), "watchlist", Document.class)) {
+                String auctionId = referencedId(group.get("_id"));
+                if (auctionId != null) {
+                    watcherCounts.put(auctionId, group.get("count", Number.class).intValue());
+                }
+            }
+            clear(watcherCounts);
+
+            Query query = new Query(Criteria.where("status").is(AuctionItem.AuctionStatus.ACTIVE));
+            query.fields().include("title", "category", "status", "totalBids", "updatedAt");
+            try (Stream<AuctionItem> items = mongoTemplate.stream(query, AuctionItem.class)) {
+                items.forEach(item -> {
+                    if (!loadState.wasRemoved(item.getId())) {
+                        update(item);
+                    }
+                });
+            }
+        });
+        logger.info("Suggestion index built: {} auctions, {} terms in {} ms", getAuctionCount(), terms.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    @EventListener
+    public void onAuctionItemChanged(AuctionItemChangedEvent event) {
+        if (event.getChangeType() == AuctionItemChangedEvent.ChangeType.DELETED) {
+            remove(event.getAuctionId());
+        } else if (event.getAuctionItem() != null) {
+            update(event.getAuctionItem());
+        }
+    }
+
+    // Add, reweight or drop an auction; only active auctions are suggested
+    public void update(AuctionItem item) {
+        if (item == null || item.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Contribution existing = contributions.get(item.getId());
+            if (existing != null && existing.updatedAt() != null && item.getUpdatedAt() != null
+                    && item.getUpdatedAt().isBefore(existing.updatedAt())) {
+                return;
+            }
+            apply(item.getId(), item.getStatus() == AuctionItem.AuctionStatus.ACTIVE ? contribution(item) : null);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String auctionId) {
+        loadState.removed(auctionId);
+        lock.writeLock().lock();
+        try {
+            watchers.remove(auctionId);
+            apply(auctionId, null);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void onWatchersChanged(String auctionId, int delta) {
+        lock.writeLock().lock();
+        try {
+            watchers.compute(auctionId, (id, count) -> Math.max(0, (count == null ? 0 : count) + delta));
+            Contribution current = contributions.get(auctionId);
+            if (current != null) {
+                apply(auctionId, new Contribution(current.terms(), current.category(), current.totalBids(),
+                        weight(auctionId, current.totalBids()), current.updatedAt()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Completes the last word of the input, e.g. "vintage rol" -> "vintage rolex", and the input as a
+    // whole against category names. Best weighted first.
+    public List<Suggestion> suggest(String input, int limit) {
+        if (input == null || input.isBlank() || limit <= 0) {
+            return List.of();
+        }
+        int max = Math.min(limit, MAX_SUGGESTIONS);
+        String normalized = input.toLowerCase(Locale.ROOT).stripLeading();
+        List<String> tokens = TextAnalyzer.tokenize(normalized);
+        boolean completingWord = !tokens.isEmpty()
+                && Character.isLetterOrDigit(normalized.charAt(normalized.length() - 1));
+
+        List<Suggestion> suggestions = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            if (completingWord) {
+                String typed = tokens.get(tokens.size() - 1);
+                String leading = normalized.substring(0, normalized.lastIndexOf(typed));
+                // Words already typed are not offered again ("vintage vi" should not give "vintage vintage")
+                Set<String> typedWords = Set.copyOf(tokens.subList(0, tokens.size() - 1));
+                for (CompletionTrie.Completion completion : terms.complete(typed, max + typedWords.size())) {
+                    if (!typedWords.contains(completion.text())) {
+                        suggestions.add(new Suggestion(leading + completion.text(), SuggestionType.TERM,
+                                completion.weight()));
+                    }
+                }
+            }
+            for (CompletionTrie.Completion completion : categories.complete(normalized.strip(), max)) {
+                suggestions.add(new Suggestion(completion.text(), SuggestionType.CATEGORY, completion.weight()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        suggestions.sort(Comparator.comparingLong(Suggestion::weight).reversed());
+        return suggestions.size() > max ? suggestions.subList(0, max) : suggestions;
+    }
+
+    public int getAuctionCount() {
+        lock.readLock().lock();
+        try {
+            return contributions.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Contribution contribution(AuctionItem item) {
+        Set<String> itemTerms = new LinkedHashSet<>();
+        for (String token : TextAnalyzer.tokenize(item.getTitle())) {
+            if (token.length() >= MIN_TERM_LENGTH && !TextAnalyzer.isStopWord(token)) {
+                itemTerms.add(token);
+            }
+        }
+        String category = item.getCategory() != null && !item.getCategory().isBlank() ? item.getCategory().strip() : null;
+        return new Contribution(itemTerms, category, item.getTotalBids(), weight(item.getId(), item.getTotalBids()),
+                item.getUpdatedAt());
+    }
+
+    private long weight(String auctionId, int totalBids) {
+        return 1L + totalBids + (long) WATCHER_WEIGHT * watchers.getOrDefault(auctionId, 0);
+    }
+
+    // Swap the auction's previous contribution for the new one (null removes it). Terms kept by an
+    // update only move by the weight difference, so a bid touches each title term once.
+    private void apply(String auctionId, Contribution next) {
+        Contribution previous = next != null ? contributions.put(auctionId, next) : contributions.remove(auctionId);
+        Map<String, Long> termDeltas = new HashMap<>();
+        Map<String, Long> categoryDeltas = new HashMap<>();
+        if (previous != null) {
+            previous.terms().forEach(term -> termDeltas.merge(term, -previous.weight(), Long::sum));
+            if (previous.category() != null) {
+                categoryDeltas.merge(previous.category(), -previous.weight(), Long::sum);
+            }
+        }
+        if (next != null) {
+            next.terms().forEach(term -> termDeltas.merge(term, next.weight(), Long::sum));
+            if (next.category() != null) {
+                categoryDeltas.merge(next.category(), next.weight(), Long::sum);
+            }
+        }
+        termDeltas.forEach((term, delta) -> {
+            if (delta != 0) {
+                terms.add(term, term, delta);
+            }
+        });
+        categoryDeltas.forEach((category, delta) -> {
+            if (delta != 0) {
+                categories.add(category.toLowerCase(Locale.ROOT), category, delta);
+            }
+        });
+    }
+
+    private void clear(Map<String, Integer> watcherCounts) {
+        lock.writeLock().lock();
+        try {
+            terms.clear();
+            categories.clear();
+            contributions.clear();
+            watchers = watcherCounts;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Watchlist groups are keyed by the auction DBRef
+    private static String referencedId(Object reference) {
+        Object id = null;
+        if (reference instanceof DBRef dbRef) {
+            id = dbRef.getId();
+        } else if (reference instanceof Document document) {
+            id = document.get("$id");
+        }
+        return id != null ? id.toString() : null;
+    }
+}
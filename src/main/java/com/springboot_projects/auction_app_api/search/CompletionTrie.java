@@ -0,0 +1,216 @@
+package com.springboot_projects.auction_app_api.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Radix trie of weighted keys where every node keeps the top completions of its subtree. Lookups cost
+// the length of the prefix; a weight change rebuilds the top lists on the path from the key to the
+// root, each from the lists of the node's children. Not thread-safe, callers hold their own lock.
+class CompletionTrie {
+
+    record Completion(String text, long weight) {
+    }
+
+    private static final Comparator<Completion> BEST_FIRST = Comparator.comparingLong(Completion::weight).reversed()
+            .thenComparing(Completion::text);
+
+    private static final Completion[] NONE = new Completion[0];
+
+    private static final class Node {
+        String label;
+        Map<Character, Node> children = new HashMap<>();
+        String display; // Non-null when a key ends here
+        long weight;
+        Completion[] top = NONE;
+
+        Node(String label) {
+            this.label = label;
+        }
+    }
+
+    private final int topK;
+    private final Node root = new Node("");
+    private int size;
+
+    CompletionTrie(int topK) {
+        this.topK = topK;
+    }
+
+    // Adjust a key's weight by delta; keys reaching zero are removed. display is what completions return.
+    void add(String key, String display, long delta) {
+        if (key.isEmpty() || delta == 0) {
+            return;
+        }
+        List<Node> path = new ArrayList<>();
+        Node node = delta > 0 ? insert(key, path) : find(key, path);
+        if (node == null) {
+            return;
+        }
+        boolean displayChanged = node.display != null && !node.display.equals(display);
+        if (node.display == null) {
+            size++;
+        }
+        node.display = display;
+        node.weight += delta;
+        if (node.weight <= 0) {
+            node.display = null;
+            node.weight = 0;
+            size--;
+            prune(path);
+        }
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node current = path.get(i);
+            if (displayChanged || !updateTop(current, display, node.weight, delta > 0)) {
+                refreshTop(current);
+            }
+        }
+    }
+
+    List<Completion> complete(String prefix, int limit) {
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            Node child = node.children.get(prefix.charAt(i));
+            if (child == null) {
+                return List.of();
+            }
+            int common = commonPrefix(child.label, prefix, i);
+            if (common < child.label.length() && i + common < prefix.length()) {
+                return List.of();
+            }
+            i += common;
+            node = child;
+        }
+        Completion[] top = node.top;
+        return Arrays.asList(top).subList(0, Math.min(limit, top.length));
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        root.children.clear();
+        root.top = NONE;
+        size = 0;
+    }
+
+    private Node insert(String key, List<Node> path) {
+        Node node = root;
+        path.add(root);
+        int i = 0;
+        while (i < key.length()) {
+            char c = key.charAt(i);
+            Node child = node.children.get(c);
+            if (child == null) {
+                child = new Node(key.substring(i));
+                node.children.put(c, child);
+                path.add(child);
+                return child;
+            }
+            int common = commonPrefix(child.label, key, i);
+            if (common < child.label.length()) {
+                // Split the edge, the new middle node takes the shared part of the label
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.children.put(child.label.charAt(0), child);
+                middle.top = child.top;
+                node.children.put(c, middle);
+                child = middle;
+            }
+            path.add(child);
+            node = child;
+            i += common;
+        }
+        return node;
+    }
+
+    private Node find(String key, List<Node> path) {
+        Node node = root;
+        path.add(root);
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.children.get(key.charAt(i));
+            if (child == null || !key.startsWith(child.label, i)) {
+                return null;
+            }
+            path.add(child);
+            node = child;
+            i += child.label.length();
+        }
+        return node.display != null ? node : null;
+    }
+
+    // Drop a node left without a key or children, then merge a keyless parent into its only child
+    private void prune(List<Node> path) {
+        int last = path.size() - 1;
+        Node node = path.get(last);
+        if (last > 0 && node.display == null && node.children.isEmpty()) {
+            path.get(last - 1).children.remove(node.label.charAt(0));
+            path.remove(last);
+            last--;
+            node = path.get(last);
+        }
+        if (last > 0 && node.display == null && node.children.size() == 1) {
+            Node child = node.children.values().iterator().next();
+            child.label = node.label + child.label;
+            path.get(last - 1).children.put(child.label.charAt(0), child);
+            path.remove(last);
+        }
+    }
+
+    // Patch the node's top list for one key's new weight. Returns false when that is not enough: a key
+    // in a full list dropped, and a completion outside the list may now belong in it.
+    private boolean updateTop(Node node, String display, long weight, boolean increased) {
+        Completion[] top = node.top;
+        int index = -1;
+        for (int i = 0; i < top.length; i++) {
+            if (top[i].text().equals(display)) {
+                index = i;
+                break;
+            }
+        }
+        if (!increased && index >= 0 && top.length == topK) {
+            return false;
+        }
+        if (index < 0 && (weight <= 0 || !increased)) {
+            return true;
+        }
+
+        List<Completion> updated = new ArrayList<>(Arrays.asList(top));
+        if (index >= 0) {
+            updated.remove(index);
+        }
+        if (weight > 0) {
+            updated.add(new Completion(display, weight));
+        }
+        updated.sort(BEST_FIRST);
+        node.top = updated.subList(0, Math.min(topK, updated.size())).toArray(NONE);
+        return true;
+    }
+
+    private void refreshTop(Node node) {
+        List<Completion> candidates = new ArrayList<>();
+        if (node.display != null) {
+            candidates.add(new Completion(node.display, node.weight));
+        }
+        for (Node child : node.children.values()) {
+            candidates.addAll(Arrays.asList(child.top));
+        }
+        candidates.sort(BEST_FIRST);
+        node.top = candidates.subList(0, Math.min(topK, candidates.size())).toArray(NONE);
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+}
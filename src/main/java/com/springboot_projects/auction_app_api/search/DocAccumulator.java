@@ -0,0 +1,124 @@
+package com.springboot_projects.auction_app_api.search;
+
+import java.util.Arrays;
+
+// Per-query match counts and scores of the documents a query touches, keyed by internal document
+// number. Open addressing over the int keys, so a query costs what it reads from the postings rather
+// than an array as long as the index that has to be allocated, zeroed and scanned in full.
+final class DocAccumulator {
+
+    private static final int FREE = -1;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private int[] keys;
+    private int[] counts;
+    private float[] scores;
+    // Touched documents in the order they were first seen
+    private int[] docs;
+    private int size;
+    private int mask;
+
+    DocAccumulator(int expectedDocs) {
+        int capacity = 16;
+        while (capacity < MAX_CAPACITY && capacity < (long) expectedDocs * 2) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int docAt(int index) {
+        return docs[index];
+    }
+
+    // 0 for documents not touched
+    int count(int doc) {
+        int slot = find(doc);
+        return slot < 0 ? 0 : counts[slot];
+    }
+
+    float score(int doc) {
+        int slot = find(doc);
+        return slot < 0 ? 0 : scores[slot];
+    }
+
+    // Set the document's count and add to its score, touching it if needed
+    void put(int doc, int count, float score) {
+        int slot = insert(doc);
+        counts[slot] = count;
+        scores[slot] += score;
+    }
+
+    // Count one more hit for the document; returns the new count
+    int increment(int doc) {
+        return ++counts[insert(doc)];
+    }
+
+    private int find(int doc) {
+        for (int slot = hash(doc); ; slot = (slot + 1) & mask) {
+            int key = keys[slot];
+            if (key == doc) {
+                return slot;
+            }
+            if (key == FREE) {
+                return -1;
+            }
+        }
+    }
+
+    private int insert(int doc) {
+        int slot = hash(doc);
+        for (; keys[slot] != FREE; slot = (slot + 1) & mask) {
+            if (keys[slot] == doc) {
+                return slot;
+            }
+        }
+        if (size * 2 >= keys.length) {
+            grow();
+            return insert(doc);
+        }
+        keys[slot] = doc;
+        docs[size++] = doc;
+        return slot;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldCounts = counts;
+        float[] oldScores = scores;
+        int[] oldDocs = docs;
+        int oldSize = size;
+        allocate(keys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int slot = hash(oldKeys[i]);
+                while (keys[slot] != FREE) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+                scores[slot] = oldScores[i];
+            }
+        }
+        System.arraycopy(oldDocs, 0, docs, 0, oldSize);
+        size = oldSize;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        Arrays.fill(keys, FREE);
+        counts = new int[capacity];
+        scores = new float[capacity];
+        docs = new int[capacity / 2 + 1];
+        size = 0;
+        mask = capacity - 1;
+    }
+
+    private int hash(int doc) {
+        int h = doc * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,470 @@
+package com.springboot_projects.auction_app_api.search;
+
+import com.springboot_projects.auction_app_api.event.AuctionItemChangedEvent;
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// Typo-tolerant title search. Every title word is split into character trigrams ("rolex" ->
+// "$ro", "rol", "ole", "lex", "ex$") with a posting list per trigram, so candidates are the titles
+// sharing enough trigrams with the query and are found without scanning. Candidates are then
+// re-ranked by the edit distance of each query word to its closest title word. Kept current from
+// AuctionItemChangedEvent with the same numbering, tombstone and compaction scheme as AuctionSearchIndex.
+@Component
+public class FuzzyTitleIndex implements LoadedView {
+
+    private static final Logger logger = LoggerFactory.getLogger(FuzzyTitleIndex.class);
+
+    // candidates is how many titles were re-ranked, bounded by MAX_CANDIDATES whatever the index size
+    public record SearchResult(List<String> auctionIds, int candidates) {
+    }
+
+    public static final int MAX_RESULTS = 50;
+    static final int MAX_CANDIDATES = 500;
+    private static final int MAX_QUERY_WORDS = 8;
+    // Postings read per query; the most common trigrams are skipped once the budget is spent
+    private static final int POSTINGS_BUDGET = 1_000_000;
+    private static final int MIN_TOMBSTONES_FOR_COMPACTION = 10_000;
+    private static final char PAD = '$';
+
+    @Autowired(required = false)
+    private MongoTemplate mongoTemplate;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<String, Integer> docsByAuctionId = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+
+    // Columns indexed by internal document number
+    private String[] auctionIds = new String[1024];
+    private String[][] titleWords = new String[1024][];
+    private long[] updatedAts = new long[1024];
+
+    private int docCount;
+    private int deletedCount;
+
+    private final LoadState loadState = new LoadState();
+
+    private Timer queryTimer;
+
+    @Autowired
+    public void registerMetrics(MeterRegistry meterRegistry) {
+        queryTimer = Timer.builder("search.fuzzy.query")
+                .description("Typo-tolerant title search latency")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String fallback() {
+        return "fuzzy searches fall back to exact matching";
+    }
+
+    // Reload every title from Mongo. Live updates applied meanwhile are kept, the scan never replaces a
+    // newer copy of an auction or brings back one removed during the load.
+    @Override
+    public void rebuild() {
+        if (mongoTemplate == null) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        loadState.load(() -> {
+            clear();
+            Query query = new Query();
+            query.fields().include("title", "updatedAt");
+            try (Stream<AuctionItem> items = mongoTemplate.stream(query, AuctionItem.class)) {
+                items.forEach(item -> {
+                    if (!loadState.wasRemoved(item.getId())) {
+                        index(item);
+                    }
+                });
+            }
+        });
+        logger.info("Fuzzy title index built: {} titles, {} trigrams in {} ms", getDocumentCount(),
+                getTrigramCount(), System.currentTimeMillis() - start);
+    }
+
+    @EventListener
+    public void onAuctionItemChanged(AuctionItemChangedEvent event) {
+        if (event.getChangeType() == AuctionItemChangedEvent.ChangeType.DELETED) {
+            remove(event.getAuctionId());
+        } else if (event.getAuctionItem() != null) {
+            index(event.getAuctionItem());
+        }
+    }
+
+    // Add or replace an auction's title. Updates that keep the title only move the version.
+    public void index(AuctionItem item) {
+        if (item == null || item.getId() == null) {
+            return;
+        }
+        String[] words = TextAnalyzer.tokenize(item.getTitle()).toArray(String[]::new);
+        long updatedAt = toMillis(item.getUpdatedAt());
+
+        lock.writeLock().lock();
+        try {
+            Integer existing = docsByAuctionId.get(item.getId());
+            if (existing != null) {
+                if (updatedAt < updatedAts[existing]) {
+                    return;
+                }
+                if (Arrays.equals(titleWords[existing], words)) {
+                    updatedAts[existing] = updatedAt;
+                    return;
+                }
+                markDeleted(existing);
+            }
+
+            int doc = docCount++;
+            ensureCapacity(docCount);
+            docsByAuctionId.put(item.getId(), doc);
+            auctionIds[doc] = item.getId();
+            titleWords[doc] = words;
+            updatedAts[doc] = updatedAt;
+            for (String trigram : trigrams(Arrays.asList(words))) {
+                postings.computeIfAbsent(trigram, key -> new Postings()).add(doc);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String auctionId) {
+        loadState.removed(auctionId);
+        lock.writeLock().lock();
+        try {
+            Integer doc = docsByAuctionId.remove(auctionId);
+            if (doc != null) {
+                markDeleted(doc);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return loadState.isReady();
+    }
+
+    // Titles where every query word is within maxEdits of some title word, closest first
+    public SearchResult search(String queryText, int limit) {
+        long start = System.nanoTime();
+        List<String> words = queryWords(queryText);
+        if (words.isEmpty() || limit <= 0) {
+            return new SearchResult(List.of(), 0);
+        }
+
+        // q-gram lemma: a word within k edits keeps at least (trigrams - 3k) of its trigrams
+        int minShared = 0;
+        for (String word : words) {
+            minShared += Math.max(0, word.length() - 3 * maxEdits(word));
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>();
+            for (String trigram : trigrams(words)) {
+                Postings list = postings.get(trigram);
+                if (list != null) {
+                    lists.add(list);
+                }
+            }
+            // Rarest first, so a spent budget only drops the trigrams that say the least
+            lists.sort(Comparator.comparingInt(list -> list.size));
+
+            // Sparse: sized by the postings read, not the number of titles
+            long listed = 0;
+            for (Postings list : lists) {
+                listed += list.size;
+            }
+            DocAccumulator shared = new DocAccumulator((int) Math.min(Math.min(listed, POSTINGS_BUDGET), docCount));
+            int skipped = 0;
+            long read = 0;
+            for (Postings list : lists) {
+                if (read > 0 && read + list.size > POSTINGS_BUDGET) {
+                    skipped++;
+                    continue;
+                }
+                read += list.size;
+                for (int i = 0; i < list.size; i++) {
+                    shared.increment(list.docs[i]);
+                }
+            }
+
+            int[] candidates = bestCandidates(shared, Math.max(1, minShared - skipped));
+            List<Match> matches = new ArrayList<>();
+            for (int doc : candidates) {
+                int distance = distance(words, titleWords[doc]);
+                if (distance >= 0) {
+                    matches.add(new Match(doc, distance, shared.count(doc)));
+                }
+            }
+            matches.sort(Comparator.comparingInt(Match::distance)
+                    .thenComparing(Comparator.comparingInt(Match::shared).reversed())
+                    .thenComparing(match -> auctionIds[match.doc()]));
+
+            List<String> ids = new ArrayList<>(Math.min(limit, matches.size()));
+            for (Match match : matches.subList(0, Math.min(limit, matches.size()))) {
+                ids.add(auctionIds[match.doc()]);
+            }
+            return new SearchResult(ids, candidates.length);
+        } finally {
+            lock.readLock().unlock();
+            if (queryTimer != null) {
+                queryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    public int getDocumentCount() {
+        lock.readLock().lock();
+        try {
+            return docCount - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getTrigramCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private record Match(int doc, int distance, int shared) {
+    }
+
+    // Up to MAX_CANDIDATES live documents with the most shared trigrams, bucketed by the shared count
+    private int[] bestCandidates(DocAccumulator shared, int threshold) {
+        int maxShared = 0;
+        for (int i = 0; i < shared.size(); i++) {
+            maxShared = Math.max(maxShared, shared.count(shared.docAt(i)));
+        }
+        if (maxShared < threshold) {
+            return new int[0];
+        }
+        int[] perCount = new int[maxShared + 1];
+        for (int i = 0; i < shared.size(); i++) {
+            int doc = shared.docAt(i);
+            int count = shared.count(doc);
+            if (count >= threshold && !deleted.get(doc)) {
+                perCount[count]++;
+            }
+        }
+        // Lowest shared count that still fits in the candidate budget
+        int cutoff = maxShared;
+        int kept = perCount[maxShared];
+        while (cutoff > threshold && kept + perCount[cutoff - 1] <= MAX_CANDIDATES) {
+            cutoff--;
+            kept += perCount[cutoff];
+        }
+        int[] candidates = new int[Math.min(kept, MAX_CANDIDATES)];
+        int next = 0;
+        for (int i = 0; i < shared.size() && next < candidates.length; i++) {
+            int doc = shared.docAt(i);
+            if (shared.count(doc) >= cutoff && !deleted.get(doc)) {
+                candidates[next++] = doc;
+            }
+        }
+        return candidates;
+    }
+
+    // Sum of each query word's distance to its closest title word, -1 if a word has no close match
+    private static int distance(List<String> queryWords, String[] title) {
+        int total = 0;
+        for (String word : queryWords) {
+            int allowed = maxEdits(word);
+            int best = allowed + 1;
+            for (String candidate : title) {
+                best = Math.min(best, editDistance(word, candidate, Math.min(allowed, best)));
+                if (best == 0) {
+                    break;
+                }
+            }
+            if (best > allowed) {
+                return -1;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    // Levenshtein distance, or max + 1 as soon as it is known to exceed max
+    static int editDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+
+    // Short words must match exactly, longer ones tolerate one or two typos
+    static int maxEdits(String word) {
+        if (word.length() <= 2) {
+            return 0;
+        }
+        return word.length() <= 5 ? 1 : 2;
+    }
+
+    private static List<String> queryWords(String queryText) {
+        List<String> tokens = TextAnalyzer.tokenize(queryText);
+        List<String> words = new ArrayList<>(new LinkedHashSet<>(tokens));
+        words.removeIf(TextAnalyzer::isStopWord);
+        if (words.isEmpty()) {
+            // Nothing but stop words, search for them as typed
+            words = new ArrayList<>(new LinkedHashSet<>(tokens));
+        }
+        return words.size() > MAX_QUERY_WORDS ? words.subList(0, MAX_QUERY_WORDS) : words;
+    }
+
+    // Distinct trigrams of the words, each padded so short words and word edges get trigrams too
+    private static Set<String> trigrams(List<String> words) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (String word : words) {
+            String padded = PAD + word + PAD;
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    private void markDeleted(int doc) {
+        if (!deleted.get(doc)) {
+            deleted.set(doc);
+            deletedCount++;
+            auctionIds[doc] = null;
+            titleWords[doc] = null;
+        }
+    }
+
+    private void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            docsByAuctionId.clear();
+            deleted.clear();
+            Arrays.fill(auctionIds, 0, docCount, null);
+            Arrays.fill(titleWords, 0, docCount, null);
+            docCount = 0;
+            deletedCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Renumber live documents once tombstones make up a quarter of the index; caller holds the write lock
+    private void compactIfNeeded() {
+        if (deletedCount < MIN_TOMBSTONES_FOR_COMPACTION || deletedCount * 4 < docCount) {
+            return;
+        }
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (deleted.get(doc)) {
+                remap[doc] = -1;
+                continue;
+            }
+            remap[doc] = next;
+            auctionIds[next] = auctionIds[doc];
+            titleWords[next] = titleWords[doc];
+            updatedAts[next] = updatedAts[doc];
+            next++;
+        }
+        Arrays.fill(auctionIds, next, docCount, null);
+        Arrays.fill(titleWords, next, docCount, null);
+
+        postings.values().removeIf(list -> list.remap(remap) == 0);
+        docsByAuctionId.replaceAll((auctionId, doc) -> remap[doc]);
+        deleted.clear();
+        docCount = next;
+        deletedCount = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= auctionIds.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, auctionIds.length * 2);
+        auctionIds = Arrays.copyOf(auctionIds, newLength);
+        titleWords = Arrays.copyOf(titleWords, newLength);
+        updatedAts = Arrays.copyOf(updatedAts, newLength);
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0;
+    }
+
+    // Document numbers in ascending order
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int size;
+
+        private void add(int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+
+        // Drops deleted documents and renumbers the rest, returns the new size
+        private int remap(int[] remap) {
+            int next = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[next++] = doc;
+                }
+            }
+            size = next;
+            return size;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.springboot_projects.auction_app_api.search;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Whether a view has finished loading, and which ids were removed while a load was scanning so the
+// scan does not bring them back
+final class LoadState {
+
+    private volatile boolean ready;
+    private volatile boolean loading;
+    private final Set<String> removedDuringLoad = ConcurrentHashMap.newKeySet();
+
+    // Run a full load; callers use their fallback until it completes
+    void load(Runnable scan) {
+        ready = false;
+        reload(scan);
+    }
+
+    // Run a full load while the previous contents keep answering
+    void reload(Runnable scan) {
+        loading = true;
+        removedDuringLoad.clear();
+        try {
+            scan.run();
+            ready = true;
+        } finally {
+            loading = false;
+        }
+    }
+
+    void removed(String id) {
+        if (loading) {
+            removedDuringLoad.add(id);
+        }
+    }
+
+    boolean wasRemoved(String id) {
+        return removedDuringLoad.contains(id);
+    }
+
+    boolean isLoading() {
+        return loading;
+    }
+
+    boolean isReady() {
+        return ready;
+    }
+
+    void setReady(boolean ready) {
+        this.ready = ready;
+    }
+}
@@ -0,0 +1,17 @@
+package com.springboot_projects.auction_app_api.search;
+
+// An in-process view built from Mongo and kept current from change events afterwards. ViewLoader
+// loads every one of them at startup and again when changes made elsewhere may have been missed.
+interface LoadedView {
+
+    // Build the view from scratch
+    void rebuild();
+
+    // Views that keep their contents between runs may skip the full rebuild at startup
+    default void loadOnStartup() {
+        rebuild();
+    }
+
+    // What callers get while the view is not loaded, for the log when a load fails
+    String fallback();
+}
@@ -0,0 +1,481 @@
+package com.springboot_projects.auction_app_api.search;
+
+import com.springboot_projects.auction_app_api.config.LuceneConfig;
+import com.springboot_projects.auction_app_api.event.AuctionItemChangedEvent;
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.DoubleDocValuesField;
+import org.apache.lucene.document.DoublePoint;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.QueryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Full-text auction search on an embedded Lucene index kept on local disk (memory-mapped). Fed by
+// AuctionItemChangedEvent like AuctionSearchIndex; writes become searchable at the next periodic
+// refresh (near-real-time) and are committed to disk on a slower schedule. The index can be rebuilt
+// from Mongo at any time, searches keep using the previous view until the rebuild is complete.
+@Component
+public class LuceneAuctionIndex implements LoadedView {
+
+    private static final Logger logger = LoggerFactory.getLogger(LuceneAuctionIndex.class);
+
+    public record SearchResult(List<String> auctionIds, long total) {
+    }
+
+    public record IndexStats(boolean ready, int documents, int deletedDocuments, long sizeBytes, long queries,
+            double meanQueryMillis, double maxQueryMillis, long lastRebuildMillis) {
+    }
+
+    private static final String ID = "id";
+    private static final String TEXT = "text";
+    private static final String TITLE = "title";
+    private static final String CATEGORY = "category";
+    private static final String STATUS = "status";
+    private static final String PRICE = "currentPrice";
+    private static final String END_DATE = "endDate";
+    private static final String CREATED_AT = "createdAt";
+    private static final String RELEVANCE = "relevance";
+    private static final Set<String> SORTABLE_FIELDS = Set.of(RELEVANCE, PRICE, END_DATE, CREATED_AT);
+    private static final float TITLE_BOOST = 3f;
+
+    @Autowired
+    private LuceneConfig luceneConfig;
+
+    @Autowired(required = false)
+    private MongoTemplate mongoTemplate;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final QueryBuilder queryBuilder = new QueryBuilder(analyzer);
+
+    private volatile Directory directory;
+    private volatile IndexWriter writer;
+    private volatile SearcherManager searcherManager;
+
+    // Last indexed updatedAt per auction, so an older copy never overwrites a newer one
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+    private final Object rebuildLock = new Object();
+
+    private final LoadState loadState = new LoadState();
+    private volatile long lastRebuildMillis;
+
+    private Timer queryTimer;
+
+    @Autowired
+    public void registerMetrics(MeterRegistry meterRegistry) {
+        queryTimer = Timer.builder("search.lucene.query")
+                .description("Lucene auction search latency")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("search.lucene.documents", this, LuceneAuctionIndex::documentCount)
+                .register(meterRegistry);
+        Gauge.builder("search.lucene.index.size", this, LuceneAuctionIndex::sizeBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    // The index on disk survives restarts, so it is only rebuilt when configured to or found empty
+    @Override
+    public void loadOnStartup() {
+        if (!luceneConfig.isEnabled()) {
+            return;
+        }
+        try {
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lucene index unavailable", e);
+        }
+        if (luceneConfig.isRebuildOnStartup() || writer.getDocStats().numDocs == 0) {
+            rebuild();
+        } else {
+            loadState.setReady(true);
+        }
+    }
+
+    @Override
+    public String fallback() {
+        return "LUCENE searches fall back to regex queries";
+    }
+
+    public synchronized void open() throws IOException {
+        if (writer != null) {
+            return;
+        }
+        Path path = Paths.get(luceneConfig.getIndexDir());
+        Files.createDirectories(path);
+        Directory opened = new MMapDirectory(path);
+        try {
+            // Fails if another process (or application context) holds the index lock
+            IndexWriter openedWriter = new IndexWriter(opened, new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+            searcherManager = new SearcherManager(openedWriter, null);
+            directory = opened;
+            writer = openedWriter;
+        } catch (IOException e) {
+            opened.close();
+            throw e;
+        }
+        logger.info("Lucene index opened at {} with {} documents", path.toAbsolutePath(),
+                writer.getDocStats().numDocs);
+    }
+
+    // Re-index every auction from Mongo. The old documents stay searchable until the new set is complete.
+    @Override
+    public void rebuild() {
+        if (mongoTemplate == null || writer == null) {
+            return;
+        }
+        synchronized (rebuildLock) {
+            long start = System.currentTimeMillis();
+            loadState.reload(() -> {
+                try {
+                    reindexAll();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Lucene index rebuild failed", e);
+                }
+            });
+            lastRebuildMillis = System.currentTimeMillis() - start;
+            logger.info("Lucene index rebuilt: {} auctions in {} ms", writer.getDocStats().numDocs,
+                    lastRebuildMillis);
+        }
+    }
+
+    private void reindexAll() throws IOException {
+        synchronized (writeLock) {
+            writer.deleteAll();
+            versions.clear();
+        }
+        // Only the fields the index needs, DBRefs are never resolved
+        org.springframework.data.mongodb.core.query.Query query =
+                new org.springframework.data.mongodb.core.query.Query();
+        query.fields().include("title", "description", "category", "status", "currentPrice",
+                "createdAt", "endDate", "updatedAt");
+        try (Stream<AuctionItem> items = mongoTemplate.stream(query, AuctionItem.class)) {
+            items.forEach(item -> {
+                if (!loadState.wasRemoved(item.getId())) {
+                    index(item);
+                }
+            });
+        }
+        writer.commit();
+        searcherManager.maybeRefreshBlocking();
+    }
+
+    @EventListener
+    public void onAuctionItemChanged(AuctionItemChangedEvent event) {
+        if (writer == null) {
+            return;
+        }
+        if (event.getChangeType() == AuctionItemChangedEvent.ChangeType.DELETED) {
+            remove(event.getAuctionId());
+        } else if (event.getAuctionItem() != null) {
+            index(event.getAuctionItem());
+        }
+    }
+
+    // Add or replace an auction's document
+    public void index(AuctionItem item) {
+        if (item == null || item.getId() == null || writer == null) {
+            return;
+        }
+        long version = toMillis(item.getUpdatedAt());
+        synchronized (writeLock) {
+            Long existing = versions.get(item.getId());
+            if (existing != null && version < existing) {
+                return;
+            }
+            try {
+                writer.updateDocument(new Term(ID, item.getId()), toDocument(item));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not index auction " + item.getId(), e);
+            }
+            versions.put(item.getId(), version);
+        }
+    }
+
+    public void remove(String auctionId) {
+        if (writer == null) {
+            return;
+        }
+        loadState.removed(auctionId);
+        synchronized (writeLock) {
+            try {
+                writer.deleteDocuments(new Term(ID, auctionId));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not remove auction " + auctionId, e);
+            }
+            versions.remove(auctionId);
+        }
+    }
+
+    // Make recent writes searchable. Skipped during a rebuild so searches never see a half-built index.
+    @Scheduled(fixedDelayString = "${app.lucene.refresh-interval:1000}")
+    public void refresh() {
+        if (searcherManager == null || loadState.isLoading()) {
+            return;
+        }
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            logger.warn("Lucene refresh failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.lucene.commit-interval:60000}")
+    public void commit() {
+        if (writer == null || loadState.isLoading() || !writer.hasUncommittedChanges()) {
+            return;
+        }
+        try {
+            writer.commit();
+        } catch (IOException e) {
+            logger.warn("Lucene commit failed: {}", e.getMessage());
+        }
+    }
+
+    public boolean isReady() {
+        return loadState.isReady();
+    }
+
+    // Relevance, price, end date and creation date; anything else goes to Mongo
+    public boolean supportsSort(org.springframework.data.domain.Sort sort) {
+        for (org.springframework.data.domain.Sort.Order order : sort) {
+            if (!SORTABLE_FIELDS.contains(order.getProperty())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // All analyzed terms must match the title, description or category; title matches rank higher.
+    // Without a query text every auction passing the filters matches.
+    public SearchResult search(String queryText, String category, AuctionItem.AuctionStatus status,
+            BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        if (queryText != null && !queryText.isBlank()) {
+            Query match = queryBuilder.createBooleanQuery(TEXT, queryText, BooleanClause.Occur.MUST);
+            if (match == null) {
+                return new SearchResult(List.of(), 0);
+            }
+            builder.add(match, BooleanClause.Occur.MUST);
+            Query title = queryBuilder.createBooleanQuery(TITLE, queryText, BooleanClause.Occur.SHOULD);
+            if (title != null) {
+                builder.add(new BoostQuery(title, TITLE_BOOST), BooleanClause.Occur.SHOULD);
+            }
+        } else {
+            builder.add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST);
+        }
+        if (category != null && !category.isBlank()) {
+            builder.add(new TermQuery(new Term(CATEGORY, category)), BooleanClause.Occur.FILTER);
+        }
+        if (status != null) {
+            builder.add(new TermQuery(new Term(STATUS, status.name())), BooleanClause.Occur.FILTER);
+        }
+        if (minPrice != null || maxPrice != null) {
+            builder.add(DoublePoint.newRangeQuery(PRICE,
+                    minPrice != null ? minPrice.doubleValue() : Double.NEGATIVE_INFINITY,
+                    maxPrice != null ? maxPrice.doubleValue() : Double.POSITIVE_INFINITY), BooleanClause.Occur.FILTER);
+        }
+        Query query = builder.build();
+
+        long start = System.nanoTime();
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            int offset = pageable.isPaged() ? (int) pageable.getOffset() : 0;
+            int wanted = pageable.isPaged() ? offset + pageable.getPageSize() : Math.max(1, searcher.count(query));
+            TopFieldDocs top = searcher.search(query, Math.max(1, wanted), toSort(pageable.getSort()));
+            long total = top.totalHits.relation == TotalHits.Relation.EQUAL_TO ? top.totalHits.value
+                    : searcher.count(query);
+
+            StoredFields storedFields = searcher.storedFields();
+            List<String> ids = new ArrayList<>();
+            for (int i = offset; i < top.scoreDocs.length; i++) {
+                ids.add(storedFields.document(top.scoreDocs[i].doc, Set.of(ID)).get(ID));
+            }
+            return new SearchResult(ids, total);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lucene search failed", e);
+        } finally {
+            if (searcher != null) {
+                try {
+                    searcherManager.release(searcher);
+                } catch (IOException e) {
+                    logger.warn("Could not release Lucene searcher: {}", e.getMessage());
+                }
+            }
+            if (queryTimer != null) {
+                queryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    public IndexStats getStats() {
+        IndexWriter current = writer;
+        int documents = documentCount();
+        int deleted = current != null ? current.getDocStats().maxDoc - documents : 0;
+        long queries = queryTimer != null ? queryTimer.count() : 0;
+        double mean = queryTimer != null ? queryTimer.mean(TimeUnit.MILLISECONDS) : 0;
+        double max = queryTimer != null ? queryTimer.max(TimeUnit.MILLISECONDS) : 0;
+        return new IndexStats(loadState.isReady(), documents, deleted, sizeBytes(), queries, mean, max, lastRebuildMillis);
+    }
+
+    private int documentCount() {
+        IndexWriter current = writer;
+        return current != null ? current.getDocStats().numDocs : 0;
+    }
+
+    // Files can disappear while listing them when a merge finishes, those are skipped
+    private long sizeBytes() {
+        Directory current = directory;
+        if (current == null) {
+            return 0;
+        }
+        long size = 0;
+        try {
+            for (String file : current.listAll()) {
+                try {
+                    size += current.fileLength(file);
+                } catch (IOException e) {
+                    // Deleted by a concurrent merge
+                }
+            }
+        } catch (IOException e) {
+            return 0;
+        }
+        return size;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            searcherManager.close();
+            writer.close();
+            directory.close();
+        } catch (IOException e) {
+            logger.warn("Could not close Lucene index cleanly: {}", e.getMessage());
+        } finally {
+            writer = null;
+            searcherManager = null;
+            directory = null;
+            loadState.setReady(false);
+        }
+    }
+
+    private static Document toDocument(AuctionItem item) {
+        Document doc = new Document();
+        doc.add(new StringField(ID, item.getId(), Field.Store.YES));
+        doc.add(new SortedDocValuesField(ID, new BytesRef(item.getId())));
+        String text = Stream.of(item.getTitle(), item.getDescription(), item.getCategory())
+                .filter(value -> value != null && !value.isBlank())
+                .collect(Collectors.joining("\n"));
+        doc.add(new TextField(TEXT, text, Field.Store.NO));
+        if (item.getTitle() != null) {
+            doc.add(new TextField(TITLE, item.getTitle(), Field.Store.NO));
+        }
+        if (item.getCategory() != null) {
+            doc.add(new StringField(CATEGORY, item.getCategory(), Field.Store.NO));
+        }
+        if (item.getStatus() != null) {
+            doc.add(new StringField(STATUS, item.getStatus().name(), Field.Store.NO));
+        }
+        if (item.getCurrentPrice() != null) {
+            double price = item.getCurrentPrice().doubleValue();
+            doc.add(new DoublePoint(PRICE, price));
+            doc.add(new DoubleDocValuesField(PRICE, price));
+        }
+        if (item.getEndDate() != null) {
+            doc.add(new NumericDocValuesField(END_DATE, toMillis(item.getEndDate())));
+        }
+        if (item.getCreatedAt() != null) {
+            doc.add(new NumericDocValuesField(CREATED_AT, toMillis(item.getCreatedAt())));
+        }
+        return doc;
+    }
+
+    // Unsorted means relevance; the auction id breaks ties so pages are stable
+    private static Sort toSort(org.springframework.data.domain.Sort sort) {
+        List<SortField> fields = new ArrayList<>();
+        for (org.springframework.data.domain.Sort.Order order : sort) {
+            boolean descending = order.isDescending();
+            switch (order.getProperty()) {
+                case PRICE -> fields.add(missingLast(new SortField(PRICE, SortField.Type.DOUBLE, descending),
+                        descending ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY));
+                case END_DATE, CREATED_AT -> fields.add(missingLast(
+                        new SortField(order.getProperty(), SortField.Type.LONG, descending),
+                        descending ? Long.MIN_VALUE : Long.MAX_VALUE));
+                default -> fields.add(SortField.FIELD_SCORE);
+            }
+        }
+        if (fields.isEmpty()) {
+            fields.add(SortField.FIELD_SCORE);
+        }
+        fields.add(new SortField(ID, SortField.Type.STRING));
+        return new Sort(fields.toArray(new SortField[0]));
+    }
+
+    private static SortField missingLast(SortField field, Object missingValue) {
+        field.setMissingValue(missingValue);
+        return field;
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0;
+    }
+}
@@ -0,0 +1,261 @@
+package com.springboot_projects.auction_app_api.search;
+
+import com.springboot_projects.auction_app_api.cache.InvalidationBus;
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+import com.springboot_projects.auction_app_api.model.SavedSearch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// Reverse search: saved searches are indexed and an auction is run against them, instead of every
+// saved search being run against the auctions. A saved search is filed under one anchor, the query
+// term with the fewest other searches filed under it (or its category when it has no terms), so an
+// auction only looks at the searches anchored on its own terms and category and verifies those.
+// Query terms go through TextAnalyzer like the search index and must all occur in the auction.
+@Component
+public class SavedSearchPercolator implements LoadedView {
+
+    private static final Logger logger = LoggerFactory.getLogger(SavedSearchPercolator.class);
+
+    // Saved searches created or deleted, by id, on the InvalidationBus
+    public static final String CACHE_NAME = "savedSearches";
+
+    public record Match(String savedSearchId, String userId) {
+    }
+
+    private record Entry(String id, String userId, Set<String> terms, String category, BigDecimal minPrice,
+            BigDecimal maxPrice, String anchor) {
+    }
+
+    @Autowired(required = false)
+    private MongoTemplate mongoTemplate;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<String, Map<String, Entry>> byTerm = new HashMap<>();
+    // Searches without query terms, keyed by lowercased category
+    private final Map<String, Map<String, Entry>> byCategory = new HashMap<>();
+
+    private final LoadState loadState = new LoadState();
+
+    @Override
+    public String fallback() {
+        return "only searches saved from now on will match";
+    }
+
+    @Autowired
+    public void connect(InvalidationBus invalidationBus) {
+        invalidationBus.subscribe(CACHE_NAME, this::reload, () -> {
+        });
+    }
+
+    // A saved search created or deleted on another instance: read it again, gone means deleted
+    void reload(String savedSearchId) {
+        if (mongoTemplate == null) {
+            return;
+        }
+        SavedSearch search = mongoTemplate.findById(savedSearchId, SavedSearch.class);
+        if (search != null) {
+            add(search);
+        } else {
+            remove(savedSearchId);
+        }
+    }
+
+    // Reload every saved search; one deleted while the load runs is not brought back
+    @Override
+    public void rebuild() {
+        if (mongoTemplate == null) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        loadState.load(() -> {
+            clear();
+            try (Stream<SavedSearch> searches = mongoTemplate.stream(new Query(), SavedSearch.class)) {
+                searches.forEach(search -> {
+                    if (!loadState.wasRemoved(search.getId())) {
+                        add(search);
+                    }
+                });
+            }
+        });
+        logger.info("Saved search index built: {} searches, {} anchor terms in {} ms", size(), getAnchorCount(),
+                System.currentTimeMillis() - start);
+    }
+
+    // Add or replace a saved search; false when it has neither query terms nor a category to anchor on
+    public boolean add(SavedSearch search) {
+        if (search == null || search.getId() == null) {
+            return false;
+        }
+        Set<String> terms = terms(search.getQuery());
+        String category = normalizeCategory(search.getCategory());
+        if (terms.isEmpty() && category == null) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            unlink(search.getId());
+            String anchor = terms.isEmpty() ? category : leastUsed(terms);
+            Entry entry = new Entry(search.getId(), search.getUserId(), terms, category, search.getMinPrice(),
+                    search.getMaxPrice(), anchor);
+            entries.put(entry.id(), entry);
+            (terms.isEmpty() ? byCategory : byTerm).computeIfAbsent(anchor, key -> new HashMap<>())
+                    .put(entry.id(), entry);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String savedSearchId) {
+        loadState.removed(savedSearchId);
+        lock.writeLock().lock();
+        try {
+            unlink(savedSearchId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Saved searches the auction satisfies. Cost follows the searches anchored on the auction's terms
+    // and category, not the number of saved searches.
+    public List<Match> match(AuctionItem item) {
+        if (item == null) {
+            return List.of();
+        }
+        Set<String> auctionTerms = new HashSet<>(TextAnalyzer.analyze(item.getTitle()));
+        auctionTerms.addAll(TextAnalyzer.analyze(item.getDescription()));
+        auctionTerms.addAll(TextAnalyzer.analyze(item.getCategory()));
+        String category = normalizeCategory(item.getCategory());
+        BigDecimal price = item.getCurrentPrice() != null ? item.getCurrentPrice() : item.getStartingPrice();
+
+        List<Match> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (String term : auctionTerms) {
+                Map<String, Entry> anchored = byTerm.get(term);
+                if (anchored != null) {
+                    for (Entry entry : anchored.values()) {
+                        if (matches(entry, auctionTerms, category, price)) {
+                            matches.add(new Match(entry.id(), entry.userId()));
+                        }
+                    }
+                }
+            }
+            Map<String, Entry> anchored = category != null ? byCategory.get(category) : null;
+            if (anchored != null) {
+                for (Entry entry : anchored.values()) {
+                    if (matches(entry, auctionTerms, category, price)) {
+                        matches.add(new Match(entry.id(), entry.userId()));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matches;
+    }
+
+    public boolean isReady() {
+        return loadState.isReady();
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getAnchorCount() {
+        lock.readLock().lock();
+        try {
+            return byTerm.size() + byCategory.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Analyzed query terms, the same analysis the auction text gets
+    public static Set<String> terms(String query) {
+        return new LinkedHashSet<>(TextAnalyzer.analyze(query));
+    }
+
+    private static boolean matches(Entry entry, Set<String> auctionTerms, String category, BigDecimal price) {
+        if (entry.category() != null && !entry.category().equals(category)) {
+            return false;
+        }
+        if (entry.minPrice() != null && (price == null || price.compareTo(entry.minPrice()) < 0)) {
+            return false;
+        }
+        if (entry.maxPrice() != null && (price == null || price.compareTo(entry.maxPrice()) > 0)) {
+            return false;
+        }
+        return auctionTerms.containsAll(entry.terms());
+    }
+
+    // Popular query terms tend to be popular auction terms, so the term with the fewest searches filed
+    // under it keeps the lists an auction has to walk short; longer terms win ties
+    private String leastUsed(Set<String> terms) {
+        String best = null;
+        int bestSize = Integer.MAX_VALUE;
+        for (String term : terms) {
+            Map<String, Entry> anchored = byTerm.get(term);
+            int size = anchored != null ? anchored.size() : 0;
+            if (size < bestSize || (size == bestSize && term.length() > best.length())) {
+                best = term;
+                bestSize = size;
+            }
+        }
+        return best;
+    }
+
+    private void clear() {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            byTerm.clear();
+            byCategory.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void unlink(String savedSearchId) {
+        Entry previous = entries.remove(savedSearchId);
+        if (previous == null) {
+            return;
+        }
+        Map<String, Map<String, Entry>> index = previous.terms().isEmpty() ? byCategory : byTerm;
+        Map<String, Entry> anchored = index.get(previous.anchor());
+        if (anchored != null) {
+            anchored.remove(savedSearchId);
+            if (anchored.isEmpty()) {
+                index.remove(previous.anchor());
+            }
+        }
+    }
+
+    private static String normalizeCategory(String category) {
+        return category != null && !category.isBlank() ? category.strip().toLowerCase(Locale.ROOT) : null;
+    }
+}
@@ -0,0 +1,13 @@
+package com.springboot_projects.auction_app_api.search;
+
+// How a search term is matched, selectable per request
+public enum SearchMode {
+    // In-process inverted index, falls back to REGEX while the index is building
+    INDEX,
+    // Mongo $text index, whole words ranked by text score
+    TEXT,
+    // Case-insensitive substring match, slow but finds partial words
+    REGEX,
+    // Embedded Lucene index on local disk, falls back to REGEX while the index is building
+    LUCENE
+}
@@ -0,0 +1,54 @@
+package com.springboot_projects.auction_app_api.search;
+
+import com.springboot_projects.auction_app_api.config.SearchConfig;
+import com.springboot_projects.auction_app_api.event.InvalidationsMissedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Loads the in-process views once the application is ready, and again whenever changes made on other
+// instances may have been missed. Each load runs on its own thread so an unreachable database never
+// holds up startup; the views answer from their fallbacks until their load completes.
+@Component
+public class ViewLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(ViewLoader.class);
+
+    @Autowired
+    private SearchConfig searchConfig;
+
+    @Autowired(required = false)
+    private List<LoadedView> views = List.of();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!searchConfig.isLoadOnStartup()) {
+            logger.info("Loading of {} in-process views at startup is disabled", views.size());
+            return;
+        }
+        views.forEach(view -> start(view, view::loadOnStartup));
+    }
+
+    @EventListener(InvalidationsMissedEvent.class)
+    public void reloadAfterMissedChanges() {
+        views.forEach(view -> start(view, view::rebuild));
+    }
+
+    private void start(LoadedView view, Runnable load) {
+        String name = view.getClass().getSimpleName();
+        Thread thread = new Thread(() -> {
+            try {
+                load.run();
+            } catch (Exception e) {
+                logger.warn("{} load failed, {}: {}", name, view.fallback(), e.getMessage());
+            }
+        }, "view-load-" + name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+}
@@ -1,5 +1,8 @@
 package com.springboot_projects.auction_app_api.security;
 
+import com.springboot_projects.auction_app_api.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,12 +11,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
 
+// Parses and verifies the bearer token once per request. Tokens issued by AuthService.login carry
+// the user id and roles, the principal is built from those and TokenRevocationCache decides whether
+// they still hold, so no user is loaded. Other tokens, and every token until the revocations are
+// loaded, are checked against the user store.
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
@@ -23,6 +34,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService userDetailsService;
     
+    @Autowired
+    private TokenRevocationCache tokenRevocationCache;
+    
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
                                   HttpServletResponse response, 
@@ -30,26 +44,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         final String authorizationHeader = request.getHeader("Authorization");
         
-        String username = null;
-        String jwt = null;
-        
-        // Check if Authorization header exists and starts with "Bearer "
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7); // Remove "Bearer " prefix
-            try {
-                username = jwtUtil.extractUsername(jwt);
-            } catch (Exception e) {
-                logger.error("Error extracting username from JWT token", e);
-            }
-        }
-        
-        // If username is extracted and no authentication is set in SecurityContext
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            
-            // Validate token
-            if (jwtUtil.validateToken(jwt, userDetails)) {
+        // Check if Authorization header exists and starts with "Bearer " and nobody is authenticated yet
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = authenticate(authorizationHeader.substring(7)); // Remove "Bearer " prefix
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authToken = 
                     new UsernamePasswordAuthenticationToken(
                         userDetails, 
@@ -64,4 +63,62 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+    
+    // The user the token stands for, null when it is malformed, expired, revoked or the account is disabled
+    private UserDetails authenticate(String jwt) {
+        Claims claims;
+        try {
+            claims = jwtUtil.parseToken(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.debug("Rejected JWT token: " + e.getMessage());
+            return null;
+        }
+        
+        String userId = claims.get("userId", String.class);
+        if (userId != null && tokenRevocationCache.isReady()) {
+            if (tokenRevocationCache.isRevoked(userId, claims.getIssuedAt())) {
+                return null;
+            }
+            UserDetails fromClaims = fromClaims(claims, userId);
+            if (fromClaims != null) {
+                return fromClaims;
+            }
+        }
+        
+        try {
+            UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+            if (!userDetails.getUsername().equals(claims.getSubject()) || !userDetails.isEnabled()) {
+                return null;
+            }
+            if (userDetails instanceof CustomUserDetails customUserDetails
+                    && tokenRevocationCache.isRevoked(customUserDetails.getUserId(), claims.getIssuedAt())) {
+                return null;
+            }
+            return userDetails;
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+    }
+    
+    // Principal carrying what the token asserts; null when the roles claim is missing or unknown
+    private static UserDetails fromClaims(Claims claims, String userId) {
+        if (!(claims.get("roles") instanceof List<?> roleNames)) {
+            return null;
+        }
+        Set<User.Role> roles = EnumSet.noneOf(User.Role.class);
+        try {
+            for (Object roleName : roleNames) {
+                roles.add(User.Role.valueOf(String.valueOf(roleName)));
+            }
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        User user = new User();
+        user.setId(userId);
+        user.setUsername(claims.getSubject());
+        user.setEmail(claims.get("email", String.class));
+        user.setRoles(roles);
+        user.setActive(true);
+        return new CustomUserDetails(user);
+    }
+}
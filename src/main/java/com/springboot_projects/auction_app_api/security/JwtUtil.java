@@ -21,8 +21,26 @@ public class JwtUtil {
     @Value("${jwt.expiration:86400000}") // 24 hours in milliseconds
     private Long expiration;
     
+    // Derived once, the secret does not change while the application runs
+    private volatile SecretKey signingKey;
+    private volatile JwtParser parser;
+    
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        SecretKey key = signingKey;
+        if (key == null) {
+            key = Keys.hmacShaKeyFor(secret.getBytes());
+            signingKey = key;
+        }
+        return key;
+    }
+    
+    private JwtParser getParser() {
+        JwtParser jwtParser = parser;
+        if (jwtParser == null) {
+            jwtParser = Jwts.parser().verifyWith(getSigningKey()).build();
+            parser = jwtParser;
+        }
+        return jwtParser;
     }
     
     // Generate token for user
@@ -60,18 +78,15 @@ public class JwtUtil {
     
     // Extract specific claim from token
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseToken(token);
         return claimsResolver.apply(claims);
     }
     
-    // Extract all claims from token
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    // Verify the signature and expiry once and return all claims; throws JwtException otherwise
+    public Claims parseToken(String token) {
+        return getParser().parseSignedClaims(token).getPayload();
     }
+
     
     // Check if token is expired
     private Boolean isTokenExpired(String token) {
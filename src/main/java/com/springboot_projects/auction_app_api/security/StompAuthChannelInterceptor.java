@@ -0,0 +1,68 @@
+package com.springboot_projects.auction_app_api.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+// Authenticates a STOMP session once, at CONNECT. The resolved principal is stored by the STOMP
+// handler for the lifetime of the session and attached to every later frame, so message handling
+// never parses the token or loads the user again. Connections without a token stay anonymous and
+// can only watch public topics.
+@Component
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(StompAuthChannelInterceptor.class);
+
+    private static final String AUTHORIZATION_HEADER = "Authorization";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || !StompCommand.CONNECT.equals(accessor.getCommand())) {
+            return message;
+        }
+
+        String authorizationHeader = accessor.getFirstNativeHeader(AUTHORIZATION_HEADER);
+        if (authorizationHeader == null) {
+            return message;
+        }
+        if (!authorizationHeader.startsWith(BEARER_PREFIX)) {
+            throw new MessageDeliveryException("Invalid Authorization header");
+        }
+
+        accessor.setUser(authenticate(authorizationHeader.substring(BEARER_PREFIX.length())));
+        return message;
+    }
+
+    private UsernamePasswordAuthenticationToken authenticate(String jwt) {
+        try {
+            UserDetails userDetails = userDetailsService.loadUserByUsername(jwtUtil.extractUsername(jwt));
+            if (!jwtUtil.validateToken(jwt, userDetails) || !userDetails.isEnabled()) {
+                throw new MessageDeliveryException("Invalid or expired token");
+            }
+            return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        } catch (MessageDeliveryException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.warn("Rejected STOMP CONNECT: {}", e.getMessage());
+            throw new MessageDeliveryException("Invalid or expired token");
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.springboot_projects.auction_app_api.security;
+
+import com.springboot_projects.auction_app_api.cache.InvalidationBus;
+import com.springboot_projects.auction_app_api.event.UserAccessChangedEvent;
+import com.springboot_projects.auction_app_api.model.User;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Users whose tokens issued before a point in time are no longer accepted: roles changed, account
+// deactivated or deleted. Lets JwtAuthenticationFilter trust the roles in a token without loading
+// the user. An entry is only needed for the token lifetime, so the map stays small.
+// At startup the map is rebuilt from User.accessChangedAt and the tombstones of deleted users, both
+// limited to the token lifetime; until then the filter checks every token against the DB.
+// Revocations are shared with the other instances over the InvalidationBus.
+@Component
+public class TokenRevocationCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationCache.class);
+
+    static final String CACHE_NAME = "tokenRevocations";
+    // Deleted users by id, kept for one token lifetime
+    static final String DELETED_USERS_COLLECTION = "deleted_user_revocations";
+
+    @Autowired(required = false)
+    private MongoTemplate mongoTemplate;
+
+    @Value("${jwt.expiration:86400000}")
+    private long expiration;
+
+    // User id to the second of the revocation, the precision of the token's issued-at claim
+    private final Map<String, Long> revokedAt = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+    private volatile InvalidationBus invalidationBus;
+
+    @Autowired
+    public void connect(InvalidationBus invalidationBus) {
+        this.invalidationBus = invalidationBus;
+        invalidationBus.subscribe(CACHE_NAME, this::revoke, this::reloadAfterMissedRevocations);
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            load();
+        } catch (Exception e) {
+            logger.warn("Token revocation load failed, tokens are checked against the user store: {}",
+                    e.getMessage());
+        }
+    }
+
+    // Revoke the tokens of every user whose access changed or who was deleted within the token lifetime,
+    // and of deactivated users from before accessChangedAt was recorded
+    public void load() {
+        if (mongoTemplate == null) {
+            ready = true;
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(expiration * 1_000_000);
+        Query query = new Query(new Criteria().orOperator(
+                Criteria.where("accessChangedAt").gte(cutoff),
+                Criteria.where("active").is(false)));
+        query.fields().include("_id").include("accessChangedAt");
+        long now = nowSeconds();
+        int count = 0;
+        for (User user : mongoTemplate.find(query, User.class)) {
+            LocalDateTime changedAt = user.getAccessChangedAt();
+            long at = changedAt != null ? changedAt.atZone(ZoneId.systemDefault()).toEpochSecond() : now;
+            revokedAt.merge(user.getId(), at, Math::max);
+            count++;
+        }
+        Date deletedCutoff = Date.from(cutoff.atZone(ZoneId.systemDefault()).toInstant());
+        mongoTemplate.remove(new Query(Criteria.where("revokedAt").lt(deletedCutoff)), DELETED_USERS_COLLECTION);
+        for (Document deleted : mongoTemplate.find(new Query(), Document.class, DELETED_USERS_COLLECTION)) {
+            revokedAt.merge(deleted.getString("_id"), deleted.getDate("revokedAt").getTime() / 1000, Math::max);
+            count++;
+        }
+        ready = true;
+        logger.info("Token revocations loaded: {} users", count);
+    }
+
+    @EventListener
+    public void onUserAccessChanged(UserAccessChangedEvent event) {
+        revoke(event.getUserId());
+        if (event.isDeleted()) {
+            recordDeletion(event.getUserId());
+        }
+        InvalidationBus bus = invalidationBus;
+        if (bus != null) {
+            bus.publish(CACHE_NAME, event.getUserId());
+        }
+    }
+
+    public void revoke(String userId) {
+        if (userId == null) {
+            return;
+        }
+        long now = nowSeconds();
+        revokedAt.put(userId, now);
+        long oldest = now - expiration / 1000 - 1;
+        revokedAt.values().removeIf(at -> at < oldest);
+    }
+
+    // Revocations sent by other instances may have been missed, load them again from the users
+    private void reloadAfterMissedRevocations() {
+        try {
+            load();
+        } catch (Exception e) {
+            logger.warn("Token revocation reload failed: {}", e.getMessage());
+        }
+    }
+
+    // The other revocations are found again through the user's accessChangedAt
+    private void recordDeletion(String userId) {
+        if (mongoTemplate == null || userId == null) {
+            return;
+        }
+        try {
+            mongoTemplate.upsert(new Query(Criteria.where("_id").is(userId)),
+                    new Update().set("revokedAt", new Date()), DELETED_USERS_COLLECTION);
+        } catch (Exception e) {
+            logger.warn("Revocation of deleted user {} not stored, lost on restart: {}", userId, e.getMessage());
+        }
+    }
+
+    // A token issued in the same second as the revocation counts as revoked, so a user who logs in
+    // right after their roles change may have to log in once more
+    public boolean isRevoked(String userId, Date issuedAt) {
+        Long at = revokedAt.get(userId);
+        return at != null && (issuedAt == null || issuedAt.getTime() / 1000 <= at);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return revokedAt.size();
+    }
+
+    private static long nowSeconds() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
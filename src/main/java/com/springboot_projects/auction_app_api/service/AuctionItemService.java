@@ -1,26 +1,80 @@
 package com.springboot_projects.auction_app_api.service;
 
+import com.springboot_projects.auction_app_api.cache.AuctionItemCache;
+import com.springboot_projects.auction_app_api.cache.SingleFlight;
+import com.springboot_projects.auction_app_api.dto.AuctionSummary;
+import com.springboot_projects.auction_app_api.dto.AuctionVersion;
+import com.springboot_projects.auction_app_api.dto.CountedPage;
+import com.springboot_projects.auction_app_api.dto.CursorPage;
+import com.springboot_projects.auction_app_api.dto.FacetedPage;
+import com.springboot_projects.auction_app_api.event.AuctionItemChangedEvent;
+import com.springboot_projects.auction_app_api.exception.InvalidBidException;
+import com.springboot_projects.auction_app_api.exception.InvalidLocationException;
 import com.springboot_projects.auction_app_api.model.AuctionItem;
 import com.springboot_projects.auction_app_api.model.User;
 import com.springboot_projects.auction_app_api.repository.AuctionItemRepository;
+import com.springboot_projects.auction_app_api.search.AuctionRankings;
+import com.springboot_projects.auction_app_api.search.AuctionSearchIndex;
+import com.springboot_projects.auction_app_api.search.AuctionSuggester;
+import com.springboot_projects.auction_app_api.search.FuzzyTitleIndex;
+import com.springboot_projects.auction_app_api.search.LuceneAuctionIndex;
+import com.springboot_projects.auction_app_api.search.SearchMode;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.geo.Point;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class AuctionItemService {
 
+    // Each failed attempt means another bid raised the price in between
+    private static final int MAX_PRICE_UPDATE_ATTEMPTS = 5;
+
     @Autowired
     private AuctionItemRepository auctionItemRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private AuctionSearchIndex auctionSearchIndex;
+
+    @Autowired
+    private AuctionSuggester auctionSuggester;
+
+    @Autowired
+    private AuctionRankings auctionRankings;
+
+    @Autowired
+    private LuceneAuctionIndex luceneAuctionIndex;
+
+    @Autowired
+    private FuzzyTitleIndex fuzzyTitleIndex;
+
+    @Autowired
+    private AuctionItemCache auctionItemCache;
+
+    // Concurrent cache misses for one auction share a single Mongo read
+    private final SingleFlight<String, Optional<AuctionItem>> auctionLoads = new SingleFlight<>("auctionItem");
+
+    @Autowired
+    public void registerMetrics(MeterRegistry meterRegistry) {
+        auctionLoads.registerMetrics(meterRegistry);
+    }
+
     // Create new auction item
     public AuctionItem createAuctionItem(AuctionItem auctionItem) {
         validateAuctionItemForCreation(auctionItem);
@@ -28,12 +82,32 @@ public class AuctionItemService {
         auctionItem.setUpdatedAt(LocalDateTime.now());
         auctionItem.setCurrentPrice(auctionItem.getStartingPrice());
         auctionItem.setStatus(AuctionItem.AuctionStatus.DRAFT);
-        return auctionItemRepository.save(auctionItem);
+        AuctionItem savedItem = auctionItemRepository.save(auctionItem);
+        eventPublisher.publishEvent(AuctionItemChangedEvent.created(savedItem));
+        return savedItem;
     }
 
-    // Get auction item by ID
+    // Get auction item by ID, served from the read-through cache. The result is shared with other
+    // callers and must not be modified; the write methods below load their own copy.
     public Optional<AuctionItem> getAuctionItemById(String id) {
-        return auctionItemRepository.findById(id);
+        return auctionItemCache.get(id, key -> auctionLoads.execute(key, () -> auctionItemRepository.findById(key)));
+    }
+
+    // Version for conditional GETs, from the cached copy when there is one, otherwise by projection.
+    // Read it before the body: a write in between then yields a newer body under the older tag, which
+    // the next request corrects, never an older body under the newer tag.
+    public Optional<AuctionVersion> getAuctionVersion(String id) {
+        Optional<AuctionItem> cached = auctionItemCache.peek(id);
+        if (cached.isPresent()) {
+            return cached.map(AuctionVersion::new);
+        }
+        return auctionItemRepository.findVersion(id);
+    }
+
+    // Mark the auction changed without altering it, for bid writes its version has to reflect
+    public void touchAuction(String auctionId) {
+        auctionItemRepository.touch(auctionId, LocalDateTime.now())
+                .ifPresent(item -> eventPublisher.publishEvent(AuctionItemChangedEvent.updated(item, "updatedAt")));
     }
 
     // Update auction item
@@ -49,7 +123,7 @@ public class AuctionItemService {
 
             updateAuctionItemFields(item, updatedItem);
             item.setUpdatedAt(LocalDateTime.now());
-            return auctionItemRepository.save(item);
+            return saveAndPublish(item);
         }
         throw new RuntimeException("Auction item not found with id: " + id);
     } // ... (rest of methods)
@@ -70,6 +144,9 @@ public class AuctionItemService {
         if (updatedItem.getReservePrice() != null) {
             existingItem.setReservePrice(updatedItem.getReservePrice());
         }
+        if (updatedItem.getLocation() != null) {
+            existingItem.setLocation(updatedItem.getLocation());
+        }
 
         // Since we blocked updates if bids > 0, we can now allow date changes freely
         if (updatedItem.getStartDate() != null) {
@@ -93,7 +170,7 @@ public class AuctionItemService {
             if (auction.getStatus() == AuctionItem.AuctionStatus.DRAFT) {
                 auction.setStatus(AuctionItem.AuctionStatus.ACTIVE);
                 auction.setUpdatedAt(LocalDateTime.now());
-                return auctionItemRepository.save(auction);
+                return saveAndPublish(auction, "status", "updatedAt");
             }
             throw new IllegalStateException("Auction can only be started from DRAFT status");
         }
@@ -108,7 +185,7 @@ public class AuctionItemService {
             if (auction.getStatus() == AuctionItem.AuctionStatus.ACTIVE) {
                 auction.setStatus(AuctionItem.AuctionStatus.ENDED);
                 auction.setUpdatedAt(LocalDateTime.now());
-                return auctionItemRepository.save(auction);
+                return saveAndPublish(auction, "status", "updatedAt");
             }
             throw new IllegalStateException("Only active auctions can be ended");
         }
@@ -122,23 +199,34 @@ public class AuctionItemService {
             AuctionItem auction = auctionOpt.get();
             auction.setStatus(AuctionItem.AuctionStatus.CANCELLED);
             auction.setUpdatedAt(LocalDateTime.now());
-            return auctionItemRepository.save(auction);
+            return saveAndPublish(auction, "status", "updatedAt");
         }
         throw new RuntimeException("Auction not found with id: " + auctionId);
     }
 
-    // Update current price and highest bidder
+    // Update current price and highest bidder. The price is checked against the stored auction and raised
+    // only if nobody changed it in between, so a bid accepted against a stale cached copy on another
+    // instance can never lower the price.
     public AuctionItem updateCurrentPrice(String auctionId, BigDecimal newPrice, User highestBidder) {
-        Optional<AuctionItem> auctionOpt = auctionItemRepository.findById(auctionId);
-        if (auctionOpt.isPresent()) {
-            AuctionItem auction = auctionOpt.get();
-            auction.setCurrentPrice(newPrice);
-            auction.setHighestBidder(highestBidder);
-            auction.setTotalBids(auction.getTotalBids() + 1);
-            auction.setUpdatedAt(LocalDateTime.now());
-            return auctionItemRepository.save(auction);
+        for (int attempt = 0; attempt < MAX_PRICE_UPDATE_ATTEMPTS; attempt++) {
+            AuctionItem auction = auctionItemRepository.findById(auctionId)
+                    .orElseThrow(() -> new RuntimeException("Auction not found with id: " + auctionId));
+            if (auction.getStatus() != AuctionItem.AuctionStatus.ACTIVE) {
+                throw new IllegalStateException("Auction is not active");
+            }
+            if (newPrice.compareTo(auction.getCurrentPrice()) <= 0) {
+                throw new InvalidBidException(
+                        "Bid amount must be higher than current price: " + auction.getCurrentPrice());
+            }
+            Optional<AuctionItem> updated = auctionItemRepository.raisePrice(auctionId, auction.getCurrentPrice(),
+                    newPrice, highestBidder, LocalDateTime.now());
+            if (updated.isPresent()) {
+                eventPublisher.publishEvent(AuctionItemChangedEvent.updated(updated.get(),
+                        "currentPrice", "highestBidder", "totalBids", "updatedAt"));
+                return updated.get();
+            }
         }
-        throw new RuntimeException("Auction not found with id: " + auctionId);
+        throw new InvalidBidException("Auction price is changing too quickly, please bid again");
     }
 
     // Get active auctions
@@ -148,7 +236,12 @@ public class AuctionItemService {
 
     // Get active auctions with pagination
     public Page<AuctionItem> getActiveAuctions(Pageable pageable) {
-        return auctionItemRepository.findActiveAuctions(LocalDateTime.now(), pageable);
+        return auctionItemRepository.findActivePage(LocalDateTime.now(), pageable);
+    }
+
+    // Get active auctions by keyset cursor, ending soonest first
+    public CursorPage<AuctionItem> getActiveAuctions(String cursor, int size, boolean includeTotal) {
+        return auctionItemRepository.findActiveAuctionsByCursor(LocalDateTime.now(), cursor, size, includeTotal);
     }
 
     // Get auctions ending soon (within next hour)
@@ -165,34 +258,58 @@ public class AuctionItemService {
 
     // Get auctions by seller with pagination
     public Page<AuctionItem> getAuctionsBySeller(User seller, Pageable pageable) {
-        return auctionItemRepository.findBySeller(seller, pageable);
+        return auctionItemRepository.findPageBySeller(seller, pageable);
     }
 
     // Get auctions by category
     public Page<AuctionItem> getAuctionsByCategory(String category, Pageable pageable) {
-        return auctionItemRepository.findByCategory(category, pageable);
+        return auctionItemRepository.findPageByCategory(category, pageable);
     }
 
     // Search auctions by title or description
     public List<AuctionItem> searchAuctions(String searchTerm) {
+        if (auctionSearchIndex.isReady()) {
+            AuctionSearchIndex.SearchResult result = auctionSearchIndex.search(searchTerm, null, null, null, null,
+                    Pageable.unpaged());
+            return findAllInOrder(result.auctionIds());
+        }
+        // Index still building, fall back to the regex scan
         return auctionItemRepository.findByTitleOrDescriptionContainingIgnoreCase(searchTerm);
     }
 
+    // Typo-tolerant title search, closest matches first
+    public List<AuctionItem> fuzzySearchAuctions(String searchTerm) {
+        if (fuzzyTitleIndex.isReady()) {
+            return findAllInOrder(fuzzyTitleIndex.search(searchTerm, FuzzyTitleIndex.MAX_RESULTS).auctionIds());
+        }
+        // Trigram index still building, exact matches only
+        return searchAuctions(searchTerm);
+    }
+
+    // Search-as-you-type completions for title words and categories
+    public List<AuctionSuggester.Suggestion> suggestAuctions(String query, int limit) {
+        return auctionSuggester.suggest(query, limit);
+    }
+
     // Get auctions by price range
     public Page<AuctionItem> getAuctionsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
         return auctionItemRepository.findByCurrentPriceBetween(minPrice, maxPrice, pageable);
     }
 
-    // Get top auctions by current price
+    // Get active auctions by current price, from the in-memory rankings once they are loaded
     public List<AuctionItem> getTopAuctionsByPrice(int limit) {
-        Pageable pageable = PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "currentPrice"));
-        return auctionItemRepository.findTopByCurrentPriceDesc(pageable);
+        if (auctionRankings.isReady()) {
+            return auctionRankings.topByPrice(limit);
+        }
+        return auctionItemRepository.findTopActiveByPrice(limit);
     }
 
-    // Get recently created auctions
+    // Get recently created active auctions
     public List<AuctionItem> getRecentlyCreatedAuctions(int limit) {
-        Pageable pageable = PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "createdAt"));
-        return auctionItemRepository.findRecentlyCreated(pageable);
+        if (auctionRankings.isReady()) {
+            return auctionRankings.mostRecent(limit);
+        }
+        return auctionItemRepository.findRecentActive(limit);
     }
 
     // Get auctions by status
@@ -202,13 +319,13 @@ public class AuctionItemService {
 
     // Check if auction is active
     public boolean isAuctionActive(String auctionId) {
-        Optional<AuctionItem> auction = auctionItemRepository.findById(auctionId);
+        Optional<AuctionItem> auction = getAuctionItemById(auctionId);
         return auction.map(AuctionItem::isActive).orElse(false);
     }
 
     // Check if auction has ended
     public boolean hasAuctionEnded(String auctionId) {
-        Optional<AuctionItem> auction = auctionItemRepository.findById(auctionId);
+        Optional<AuctionItem> auction = getAuctionItemById(auctionId);
         return auction.map(AuctionItem::hasEnded).orElse(true);
     }
 
@@ -229,6 +346,7 @@ public class AuctionItemService {
             // Allow deletion only if there are no bids (as requested)
             if (auction.get().getTotalBids() == 0) {
                 auctionItemRepository.deleteById(auctionId);
+                eventPublisher.publishEvent(AuctionItemChangedEvent.deleted(auctionId));
             } else {
                 throw new IllegalStateException("Cannot delete auction with existing bids");
             }
@@ -242,9 +360,64 @@ public class AuctionItemService {
         return auctionItemRepository.findAll(pageable);
     }
 
+    // Get all auctions, counting the total exactly only when asked to
+    public Page<AuctionItem> getAllAuctions(Pageable pageable, boolean exactTotal) {
+        return auctionItemRepository.findAllWithTotal(pageable, exactTotal);
+    }
+
+    // Get all auctions by keyset cursor
+    public CursorPage<AuctionItem> getAllAuctions(Sort.Order order, String cursor, int size, boolean includeTotal) {
+        return auctionItemRepository.findAllByCursor(order, cursor, size, includeTotal);
+    }
+
+    // Listing cards for the browse endpoints (view=summary)
+    public Page<AuctionSummary> getAuctionSummaries(Pageable pageable, boolean exactTotal) {
+        return auctionItemRepository.findAllSummaries(pageable, exactTotal);
+    }
+
+    public Page<AuctionSummary> getActiveAuctionSummaries(Pageable pageable) {
+        return auctionItemRepository.findActiveSummaries(LocalDateTime.now(), pageable);
+    }
+
+    public Page<AuctionSummary> getAuctionSummariesByCategory(String category, Pageable pageable) {
+        return auctionItemRepository.findSummariesByCategory(category, pageable);
+    }
+
+    public List<AuctionSummary> searchAuctionSummaries(String searchTerm) {
+        if (auctionSearchIndex.isReady()) {
+            AuctionSearchIndex.SearchResult result = auctionSearchIndex.search(searchTerm, null, null, null, null,
+                    Pageable.unpaged());
+            return auctionItemRepository.findSummariesByIds(result.auctionIds());
+        }
+        return auctionItemRepository.searchSummaries(searchTerm);
+    }
+
+    public List<AuctionSummary> fuzzySearchAuctionSummaries(String searchTerm) {
+        if (fuzzyTitleIndex.isReady()) {
+            return auctionItemRepository.findSummariesByIds(
+                    fuzzyTitleIndex.search(searchTerm, FuzzyTitleIndex.MAX_RESULTS).auctionIds());
+        }
+        return searchAuctionSummaries(searchTerm);
+    }
+
+    // Until the rankings are loaded the cards are projected in Mongo, not mapped from whole auctions
+    public List<AuctionSummary> getTopAuctionSummariesByPrice(int limit) {
+        if (auctionRankings.isReady()) {
+            return auctionRankings.topByPrice(limit).stream().map(AuctionSummary::new).toList();
+        }
+        return auctionItemRepository.findTopActiveSummariesByPrice(limit);
+    }
+
+    public List<AuctionSummary> getRecentAuctionSummaries(int limit) {
+        if (auctionRankings.isReady()) {
+            return auctionRankings.mostRecent(limit).stream().map(AuctionSummary::new).toList();
+        }
+        return auctionItemRepository.findRecentActiveSummaries(limit);
+    }
+
     // Check if current user is the owner of the auction (for security)
     public boolean isAuctionOwner(String currentUsername, String auctionId) {
-        Optional<AuctionItem> auction = auctionItemRepository.findById(auctionId);
+        Optional<AuctionItem> auction = getAuctionItemById(auctionId);
         if (auction.isPresent()) {
             return auction.get().getSeller().getUsername().equals(currentUsername);
         }
@@ -252,6 +425,12 @@ public class AuctionItemService {
     }
 
     // Private helper methods
+    private AuctionItem saveAndPublish(AuctionItem auctionItem, String... changedFields) {
+        AuctionItem savedItem = auctionItemRepository.save(auctionItem);
+        eventPublisher.publishEvent(AuctionItemChangedEvent.updated(savedItem, changedFields));
+        return savedItem;
+    }
+
     private void validateAuctionItemForCreation(AuctionItem auctionItem) {
         if (auctionItem.getTitle() == null || auctionItem.getTitle().trim().isEmpty()) {
             throw new IllegalArgumentException("Title cannot be empty");
@@ -276,6 +455,114 @@ public class AuctionItemService {
     // Filter auctions
     public Page<AuctionItem> filterAuctions(String searchTerm, String category, AuctionItem.AuctionStatus status,
             BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
-        return auctionItemRepository.filterAuctions(searchTerm, category, status, minPrice, maxPrice, pageable);
+        return filterAuctions(searchTerm, SearchMode.INDEX, category, status, minPrice, maxPrice, pageable);
+    }
+
+    // Filter auctions with an explicit search mode
+    public Page<AuctionItem> filterAuctions(String searchTerm, SearchMode searchMode, String category,
+            AuctionItem.AuctionStatus status, BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
+        if (searchMode == SearchMode.INDEX && searchTerm != null && !searchTerm.trim().isEmpty()
+                && auctionSearchIndex.isReady() && auctionSearchIndex.supportsSort(pageable.getSort())) {
+            AuctionSearchIndex.SearchResult result = auctionSearchIndex.search(searchTerm, category, status,
+                    minPrice, maxPrice, pageable);
+            return new CountedPage<>(findAllInOrder(result.auctionIds()), pageable, result.total(), true);
+        }
+        if (searchMode == SearchMode.LUCENE && luceneAuctionIndex.isReady()
+                && luceneAuctionIndex.supportsSort(pageable.getSort())) {
+            LuceneAuctionIndex.SearchResult result = luceneAuctionIndex.search(searchTerm, category, status,
+                    minPrice, maxPrice, pageable);
+            return new CountedPage<>(findAllInOrder(result.auctionIds()), pageable, result.total(), true);
+        }
+        return auctionItemRepository.filterAuctions(searchTerm, searchMode, category, status, minPrice, maxPrice,
+                pageable);
+    }
+
+    // Filter auctions around a point given as "latitude,longitude". The in-memory indexes hold no
+    // locations, so searches near a point always go to Mongo and match the term as a substring.
+    public Page<AuctionItem> filterAuctions(String searchTerm, SearchMode searchMode, String category,
+            AuctionItem.AuctionStatus status, BigDecimal minPrice, BigDecimal maxPrice, String near, Double withinKm,
+            Pageable pageable) {
+        if ((near == null || near.isBlank())
+                && pageable.getSort().getOrderFor(AuctionItemRepository.DISTANCE) != null) {
+            throw new InvalidLocationException("withinKm and sortBy=distance need a near location");
+        }
+        Point location = resolveLocation(near, withinKm);
+        if (location == null) {
+            return filterAuctions(searchTerm, searchMode, category, status, minPrice, maxPrice, pageable);
+        }
+        return auctionItemRepository.filterAuctionsNear(searchTerm, category, status, minPrice, maxPrice,
+                location, withinKm, pageable);
+    }
+
+    // The parsed near location, null when none is given
+    private static Point resolveLocation(String near, Double withinKm) {
+        if (near == null || near.isBlank()) {
+            if (withinKm != null) {
+                throw new InvalidLocationException("withinKm needs a near location");
+            }
+            return null;
+        }
+        if (withinKm != null && withinKm <= 0) {
+            throw new InvalidLocationException("withinKm must be greater than 0");
+        }
+        return parseLocation(near);
+    }
+
+    // "latitude,longitude" to a point, which takes longitude as x
+    static Point parseLocation(String location) {
+        String[] parts = location.split(",");
+        if (parts.length != 2) {
+            throw new InvalidLocationException("Location must be \"latitude,longitude\": " + location);
+        }
+        try {
+            double latitude = Double.parseDouble(parts[0].trim());
+            double longitude = Double.parseDouble(parts[1].trim());
+            if (!Double.isFinite(latitude) || !Double.isFinite(longitude) || Math.abs(latitude) > 90
+                    || Math.abs(longitude) > 180) {
+                throw new InvalidLocationException("Location is out of range: " + location);
+            }
+            return new Point(longitude, latitude);
+        } catch (NumberFormatException e) {
+            throw new InvalidLocationException("Location must be \"latitude,longitude\": " + location);
+        }
+    }
+
+    // Filter auctions and count the category, status and price-range facets in the same query. near
+    // narrows results and counts alike; distance ordering needs the $geoNear of the plain filter.
+    public FacetedPage<AuctionItem> filterAuctionsWithFacets(String searchTerm, SearchMode searchMode,
+            String category, AuctionItem.AuctionStatus status, BigDecimal minPrice, BigDecimal maxPrice,
+            String near, Double withinKm, Pageable pageable) {
+        if (pageable.getSort().getOrderFor(AuctionItemRepository.DISTANCE) != null) {
+            throw new InvalidLocationException("sortBy=distance is not supported with facets");
+        }
+        return auctionItemRepository.filterAuctionsWithFacets(searchTerm, searchMode, category, status, minPrice,
+                maxPrice, resolveLocation(near, withinKm), withinKm, pageable);
+    }
+
+    // Filter auctions by keyset cursor (substring search only)
+    public CursorPage<AuctionItem> filterAuctions(String searchTerm, String category,
+            AuctionItem.AuctionStatus status, BigDecimal minPrice, BigDecimal maxPrice, String near, Double withinKm,
+            Sort.Order order, String cursor, int size, boolean includeTotal) {
+        if (AuctionItemRepository.DISTANCE.equals(order.getProperty())) {
+            throw new InvalidLocationException("sortBy=distance is not supported with a cursor");
+        }
+        return auctionItemRepository.filterAuctionsByCursor(searchTerm, category, status, minPrice, maxPrice,
+                resolveLocation(near, withinKm), withinKm, order, cursor, size, includeTotal);
+    }
+
+    // Load auctions by id keeping the ranked order of the ids
+    private List<AuctionItem> findAllInOrder(List<String> ids) {
+        Map<String, AuctionItem> byId = new HashMap<>();
+        for (AuctionItem item : auctionItemRepository.findAllById(ids)) {
+            byId.put(item.getId(), item);
+        }
+        List<AuctionItem> ordered = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            AuctionItem item = byId.get(id);
+            if (item != null) {
+                ordered.add(item);
+            }
+        }
+        return ordered;
     }
 }
\ No newline at end of file
@@ -0,0 +1,381 @@
+package com.springboot_projects.auction_app_api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot_projects.auction_app_api.config.StreamConfig;
+import com.springboot_projects.auction_app_api.dto.AuctionItemDto;
+import com.springboot_projects.auction_app_api.dto.BidNotification;
+import com.springboot_projects.auction_app_api.dto.BidReplayResponse;
+import com.springboot_projects.auction_app_api.websocket.BidStreamBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Server-Sent Events fan-out for /api/auctions/{id}/stream. Fed from the same broadcast point as the
+// STOMP topics. Idle connections hold no thread: each client has a small event queue that is only
+// drained on the shared fan-out pool when there is something to write.
+@Service
+public class AuctionStreamService implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionStreamService.class);
+
+    private static final String BID_EVENT = "bid";
+    private static final String STATUS_EVENT = "status";
+    private static final String SNAPSHOT_EVENT = "snapshot";
+
+    private final StreamConfig streamConfig;
+    private final BidStreamBuffer bidStreamBuffer;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolTaskExecutor fanoutExecutor;
+
+    // auctionId -> connected clients
+    private final Map<String, Set<StreamClient>> clients = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    private final Counter droppedClients;
+
+    public AuctionStreamService(StreamConfig streamConfig, BidStreamBuffer bidStreamBuffer,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.streamConfig = streamConfig;
+        this.bidStreamBuffer = bidStreamBuffer;
+        this.objectMapper = objectMapper;
+
+        this.fanoutExecutor = new ThreadPoolTaskExecutor();
+        this.fanoutExecutor.setCorePoolSize(streamConfig.getFanoutPoolSize());
+        this.fanoutExecutor.setMaxPoolSize(streamConfig.getFanoutPoolSize());
+        this.fanoutExecutor.setThreadNamePrefix("sse-fanout-");
+        this.fanoutExecutor.initialize();
+
+        this.droppedClients = Counter.builder("sse.clients.dropped")
+                .description("Stream clients disconnected for falling too far behind or blocking a send")
+                .register(meterRegistry);
+        Gauge.builder("sse.connections", connectionCount, AtomicInteger::get)
+                .description("Open auction event streams")
+                .register(meterRegistry);
+    }
+
+    // Open a stream. With a Last-Event-ID the missed bids are replayed, otherwise (or when the gap is
+    // no longer buffered) the client gets a snapshot of the auction first.
+    public SseEmitter subscribe(String auctionId, String lastEventId, Supplier<AuctionItemDto> snapshotLoader) {
+        SseEmitter emitter = createEmitter();
+        StreamClient client = new StreamClient(auctionId, emitter);
+
+        emitter.onCompletion(() -> unregister(client));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> unregister(client));
+
+        // Register before reading the replay buffer so no bid falls between the two; live events are
+        // held until the initial events are in place
+        clients.computeIfAbsent(auctionId, id -> ConcurrentHashMap.newKeySet()).add(client);
+        connectionCount.incrementAndGet();
+
+        List<StreamEvent> initial = new ArrayList<>();
+        Long since = parseSequence(lastEventId);
+        BidReplayResponse replay = since != null ? bidStreamBuffer.since(auctionId, since) : null;
+        if (replay != null && replay.isComplete()) {
+            for (BidNotification notification : replay.getNotifications()) {
+                StreamEvent event = toEvent(BID_EVENT, notification.getSequence(), notification);
+                if (event != null) {
+                    initial.add(event);
+                }
+            }
+        } else {
+            // Read the sequence before loading so the snapshot is at least as new as its event id
+            long sequence = bidStreamBuffer.getLatestSequence(auctionId);
+            StreamEvent event = toEvent(SNAPSHOT_EVENT, -1, snapshotLoader.get());
+            if (event != null) {
+                initial.add(sequence >= 0 ? event.withId(sequence) : event);
+            }
+        }
+
+        client.start(initial);
+        logger.debug("Opened event stream for auction {} ({} open streams)", auctionId, connectionCount.get());
+        return emitter;
+    }
+
+    public void publishBid(String auctionId, BidNotification notification) {
+        publish(auctionId, BID_EVENT, notification.getSequence(), notification);
+    }
+
+    public void publishStatus(String auctionId, BidNotification notification) {
+        publish(auctionId, STATUS_EVENT, -1, notification);
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    public int getConnectionCount(String auctionId) {
+        Set<StreamClient> auctionClients = clients.get(auctionId);
+        return auctionClients != null ? auctionClients.size() : 0;
+    }
+
+    // Comment frames keep idle connections open through proxies and detect clients that went away.
+    // A client whose write has been blocked past the send-time limit is dropped so it stops holding
+    // a fan-out thread's queue; the write itself is bounded by the container's socket timeout.
+    @Scheduled(fixedRateString = "${app.stream.heartbeat-interval:15000}")
+    public void sendHeartbeats() {
+        StreamEvent heartbeat = StreamEvent.comment("heartbeat");
+        long now = System.currentTimeMillis();
+        for (Set<StreamClient> auctionClients : clients.values()) {
+            for (StreamClient client : auctionClients) {
+                if (client.isSendBlocked(now)) {
+                    logger.warn("Closing event stream for auction {}: a send has been blocked for more than {} ms",
+                            client.auctionId, streamConfig.getSendTimeLimit());
+                    droppedClients.increment();
+                    client.close();
+                } else {
+                    client.offer(heartbeat);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        for (Set<StreamClient> auctionClients : clients.values()) {
+            for (StreamClient client : auctionClients) {
+                client.close();
+            }
+        }
+        fanoutExecutor.shutdown();
+    }
+
+    private void publish(String auctionId, String name, long sequence, Object payload) {
+        Set<StreamClient> auctionClients = clients.get(auctionId);
+        if (auctionClients == null || auctionClients.isEmpty()) {
+            return;
+        }
+
+        // Serialize once per event, not once per client
+        StreamEvent event = toEvent(name, sequence, payload);
+        if (event == null) {
+            return;
+        }
+        for (StreamClient client : auctionClients) {
+            client.offer(event);
+        }
+    }
+
+    SseEmitter createEmitter() {
+        return new SseEmitter(streamConfig.getEmitterTimeout());
+    }
+
+    private StreamEvent toEvent(String name, long sequence, Object payload) {
+        try {
+            return new StreamEvent(name, sequence, sequence >= 0 ? String.valueOf(sequence) : null,
+                    objectMapper.writeValueAsString(payload), null);
+        } catch (JsonProcessingException e) {
+            logger.error("Error serializing {} event: {}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    private void unregister(StreamClient client) {
+        if (client.markClosed()) {
+            clients.computeIfPresent(client.auctionId, (id, auctionClients) -> {
+                auctionClients.remove(client);
+                return auctionClients.isEmpty() ? null : auctionClients;
+            });
+            connectionCount.decrementAndGet();
+        }
+    }
+
+    private static Long parseSequence(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private record StreamEvent(String name, long sequence, String id, String data, String comment) {
+
+        static StreamEvent comment(String comment) {
+            return new StreamEvent(null, -1, null, null, comment);
+        }
+
+        StreamEvent withId(long id) {
+            return new StreamEvent(name, sequence, String.valueOf(id), data, comment);
+        }
+
+        SseEmitter.SseEventBuilder toBuilder() {
+            SseEmitter.SseEventBuilder builder = SseEmitter.event();
+            if (comment != null) {
+                return builder.comment(comment);
+            }
+            if (id != null) {
+                builder.id(id);
+            }
+            return builder.name(name).data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    // One connected client. Events are queued without blocking the publisher and written in order
+    // by at most one fan-out thread at a time.
+    private final class StreamClient {
+        private final String auctionId;
+        private final SseEmitter emitter;
+
+        private final Deque<StreamEvent> queue = new ArrayDeque<>();
+        private long lastSequence = -1;
+        private boolean ready;
+        private boolean draining;
+        private boolean closed;
+        private volatile long sendStartTime;
+
+        private StreamClient(String auctionId, SseEmitter emitter) {
+            this.auctionId = auctionId;
+            this.emitter = emitter;
+        }
+
+        private void start(List<StreamEvent> initial) {
+            boolean startDrain;
+            synchronized (queue) {
+                long initialSequence = -1;
+                for (StreamEvent event : initial) {
+                    initialSequence = Math.max(initialSequence, event.sequence());
+                }
+                // Live bids that arrived while the replay was read are already part of it
+                final long replayed = initialSequence;
+                queue.removeIf(event -> event.sequence() >= 0 && event.sequence() <= replayed);
+                for (int i = initial.size() - 1; i >= 0; i--) {
+                    queue.addFirst(initial.get(i));
+                }
+                lastSequence = Math.max(lastSequence, initialSequence);
+                ready = true;
+                startDrain = !closed && !queue.isEmpty() && !draining;
+                draining = draining || startDrain;
+            }
+            if (startDrain) {
+                fanoutExecutor.execute(this::drain);
+            }
+        }
+
+        private void offer(StreamEvent event) {
+            boolean startDrain = false;
+            boolean overflow = false;
+            synchronized (queue) {
+                if (closed || (event.sequence() >= 0 && event.sequence() <= lastSequence && ready)) {
+                    return;
+                }
+                if (queue.size() >= streamConfig.getMaxPendingEvents()) {
+                    overflow = true;
+                } else {
+                    queue.add(event);
+                    if (event.sequence() >= 0) {
+                        lastSequence = Math.max(lastSequence, event.sequence());
+                    }
+                    if (ready && !draining) {
+                        draining = true;
+                        startDrain = true;
+                    }
+                }
+            }
+
+            if (overflow) {
+                // The client reconnects with its Last-Event-ID and catches up from the replay buffer
+                logger.warn("Closing event stream for auction {}: more than {} undelivered events",
+                        auctionId, streamConfig.getMaxPendingEvents());
+                droppedClients.increment();
+                close();
+            } else if (startDrain) {
+                fanoutExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                StreamEvent event;
+                synchronized (queue) {
+                    event = queue.poll();
+                    if (event == null || closed) {
+                        draining = false;
+                        return;
+                    }
+                    // Set under the lock so close() either sees the send or the drain sees closed
+                    sendStartTime = System.currentTimeMillis();
+                }
+
+                try {
+                    emitter.send(event.toBuilder());
+                } catch (Exception e) {
+                    // Client went away; the container reports completion and the client is unregistered
+                    logger.debug("Failed to write to event stream for auction {}: {}", auctionId, e.getMessage());
+                    sendStartTime = 0;
+                    synchronized (queue) {
+                        draining = false;
+                    }
+                    unregister(this);
+                    return;
+                }
+                sendStartTime = 0;
+                if (isClosed()) {
+                    // Dropped while the send was blocked
+                    complete();
+                }
+            }
+        }
+
+        private boolean isSendBlocked(long now) {
+            long started = sendStartTime;
+            return started > 0 && now - started > streamConfig.getSendTimeLimit();
+        }
+
+        // Completing waits for a send in progress, so a client closed during one is completed by its
+        // drain thread once the send returns
+        private void close() {
+            unregister(this);
+            if (sendStartTime == 0) {
+                complete();
+            }
+        }
+
+        private void complete() {
+            try {
+                emitter.complete();
+            } catch (Exception e) {
+                logger.debug("Error completing event stream for auction {}: {}", auctionId, e.getMessage());
+            }
+        }
+
+        private boolean isClosed() {
+            synchronized (queue) {
+                return closed;
+            }
+        }
+
+        // Returns true only for the first caller
+        private boolean markClosed() {
+            synchronized (queue) {
+                if (closed) {
+                    return false;
+                }
+                closed = true;
+                queue.clear();
+                return true;
+            }
+        }
+    }
+}
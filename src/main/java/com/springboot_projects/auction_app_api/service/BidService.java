@@ -1,13 +1,15 @@
 package com.springboot_projects.auction_app_api.service;
 
+import com.springboot_projects.auction_app_api.cache.SingleFlight;
+import com.springboot_projects.auction_app_api.dto.CursorPage;
 import com.springboot_projects.auction_app_api.dto.PriceTrendDto;
 import com.springboot_projects.auction_app_api.model.AuctionItem;
 import com.springboot_projects.auction_app_api.model.Bid;
 import com.springboot_projects.auction_app_api.model.User;
 import com.springboot_projects.auction_app_api.repository.BidRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -15,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -37,6 +40,16 @@ public class BidService {
     @Autowired
     private UserService userService;
 
+    // Identical concurrent reads of a hot auction's bids share one query
+    private final SingleFlight<String, List<Bid>> recentBidLoads = new SingleFlight<>("recentBids");
+    private final SingleFlight<String, List<PriceTrendDto>> priceTrendLoads = new SingleFlight<>("priceTrends");
+
+    @Autowired
+    public void registerMetrics(MeterRegistry meterRegistry) {
+        recentBidLoads.registerMetrics(meterRegistry);
+        priceTrendLoads.registerMetrics(meterRegistry);
+    }
+
     // Place a new bid
     // Place a new bid
     @Transactional
@@ -66,11 +79,26 @@ public class BidService {
         // Save the bid
         Bid savedBid = bidRepository.save(newBid);
 
-        // Update auction item with new highest bid
-        auctionItemService.updateCurrentPrice(auctionId, bidAmount, bidder);
+        // Update status of previous bids before the auction, whose version covers them
+        List<Bid> recentBids = bidRepository.findByAuctionItemOrderByTimestampDesc(auction);
+        List<StatusChange> outbid = markPreviousBidsOutbid(recentBids, bidAmount);
+
+        // Update auction item with new highest bid. The auction above may be a stale cached copy, the
+        // update checks the stored price; when another bid got there first this one is withdrawn and
+        // the bids it outbid get their status back.
+        try {
+            auctionItemService.updateCurrentPrice(auctionId, bidAmount, bidder);
+        } catch (RuntimeException e) {
+            bidRepository.delete(savedBid);
+            for (StatusChange change : outbid) {
+                change.bid().setStatus(change.previous());
+                bidRepository.save(change.bid());
+            }
+            throw e;
+        }
 
-        // Update status of previous bids
-        updatePreviousBidsStatus(auction, bidAmount);
+        // Tell the previous winner
+        notifyPreviousWinner(recentBids, auction, bidAmount);
 
         // Notify subscribers about the new bid
         webSocketNotificationService.notifyNewBid(auctionId, savedBid);
@@ -93,17 +121,23 @@ public class BidService {
 
     // Get bids for auction item with pagination
     public Page<Bid> getBidsForAuction(AuctionItem auctionItem, Pageable pageable) {
-        return bidRepository.findByAuctionItem(auctionItem, pageable);
+        return bidRepository.findPageByAuctionItem(auctionItem, pageable);
+    }
+
+    // Get bids for auction item by keyset cursor, newest first
+    public CursorPage<Bid> getBidsForAuction(AuctionItem auctionItem, String cursor, int size, boolean includeTotal) {
+        return bidRepository.findByAuctionItemByCursor(auctionItem, cursor, size, includeTotal);
     }
 
     // Get recent bids for auction item
     public List<Bid> getRecentBidsForAuction(String auctionId, int limit) {
-        Optional<AuctionItem> auctionOpt = auctionItemService.getAuctionItemById(auctionId);
-        if (auctionOpt.isPresent()) {
-            Pageable pageable = PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "timestamp"));
-            return bidRepository.findByAuctionItem(auctionOpt.get(), pageable).getContent();
-        }
-        throw new RuntimeException("Auction not found with id: " + auctionId);
+        return recentBidLoads.execute(auctionId + ':' + limit, () -> {
+            Optional<AuctionItem> auctionOpt = auctionItemService.getAuctionItemById(auctionId);
+            if (auctionOpt.isPresent()) {
+                return bidRepository.findRecentByAuctionItem(auctionOpt.get(), limit);
+            }
+            throw new RuntimeException("Auction not found with id: " + auctionId);
+        });
     }
 
     // Get highest bid for auction
@@ -123,15 +157,14 @@ public class BidService {
 
     // Get bids by bidder with pagination
     public Page<Bid> getBidsByBidder(User bidder, Pageable pageable) {
-        return bidRepository.findByBidder(bidder, pageable);
+        return bidRepository.findPageByBidder(bidder, pageable);
     }
 
     // Get user's recent bids
     public List<Bid> getRecentBidsByBidder(String bidderId, int limit) {
         User bidder = new User();
         bidder.setId(bidderId);
-        Pageable pageable = PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "timestamp"));
-        return bidRepository.findRecentBidsByBidder(bidder, pageable);
+        return bidRepository.findRecentByBidder(bidder, limit);
     }
 
     // Get bids by bidder for specific auction
@@ -173,7 +206,12 @@ public class BidService {
             }
 
             bid.setStatus(Bid.BidStatus.CANCELLED);
-            return bidRepository.save(bid);
+            Bid savedBid = bidRepository.save(bid);
+            // The bid lists are versioned by their auction
+            if (bid.getAuctionItem() != null) {
+                auctionItemService.touchAuction(bid.getAuctionItem().getId());
+            }
+            return savedBid;
         }
         throw new RuntimeException("Bid not found with id: " + bidId);
     }
@@ -234,8 +272,22 @@ public class BidService {
         return bidRepository.findAll(pageable);
     }
 
+    // Get all bids, counting the total exactly only when asked to
+    public Page<Bid> getAllBids(Pageable pageable, boolean exactTotal) {
+        return bidRepository.findAllWithTotal(pageable, exactTotal);
+    }
+
+    // Get all bids by keyset cursor
+    public CursorPage<Bid> getAllBids(Sort.Order order, String cursor, int size, boolean includeTotal) {
+        return bidRepository.findAllByCursor(order, cursor, size, includeTotal);
+    }
+
     // Get price trends for auction
     public List<PriceTrendDto> getPriceTrendsForAuction(String auctionId) {
+        return priceTrendLoads.execute(auctionId, () -> loadPriceTrends(auctionId));
+    }
+
+    private List<PriceTrendDto> loadPriceTrends(String auctionId) {
         Optional<AuctionItem> auctionOpt = auctionItemService.getAuctionItemById(auctionId);
         if (auctionOpt.isPresent()) {
             List<Bid> bids = bidRepository.findByAuctionItemOrderByTimestampDesc(auctionOpt.get());
@@ -284,14 +336,18 @@ public class BidService {
         }
     }
 
-    private void updatePreviousBidsStatus(AuctionItem auction, BigDecimal newHighestBid) {
+    // A bid status changed by placeBid, kept so the change can be undone when the price update fails
+    private record StatusChange(Bid bid, Bid.BidStatus previous) {
+    }
+
+    private List<StatusChange> markPreviousBidsOutbid(List<Bid> recentBids, BigDecimal newHighestBid) {
         // We need to find the previous "Winning" bid, which is now outbid.
         // We know that the NEW bid (just placed) is the latest one.
         // So we get the top 2 bids by timestamp (latest first).
         // Index 0: New Bid (WINNING)
         // Index 1: Previous Bid (Should be marked OUTBID)
 
-        List<Bid> recentBids = bidRepository.findByAuctionItemOrderByTimestampDesc(auction);
+        List<StatusChange> changes = new ArrayList<>();
 
         // Update all non-winning bids to OUTBID just to be safe and consistent
         for (Bid bid : recentBids) {
@@ -304,11 +360,15 @@ public class BidService {
             // If it was ACTIVE or WINNING before, and is lower, it's outbid
             if ((bid.getStatus() == Bid.BidStatus.ACTIVE || bid.getStatus() == Bid.BidStatus.WINNING)
                     && bid.getAmount().compareTo(newHighestBid) < 0) {
+                changes.add(new StatusChange(bid, bid.getStatus()));
                 bid.setStatus(Bid.BidStatus.OUTBID);
                 bidRepository.save(bid);
             }
         }
+        return changes;
+    }
 
+    private void notifyPreviousWinner(List<Bid> recentBids, AuctionItem auction, BigDecimal newHighestBid) {
         // Send delayed notification SPECIFICALLY to the second highest bidder (previous
         // winner)
         if (recentBids.size() >= 2) {
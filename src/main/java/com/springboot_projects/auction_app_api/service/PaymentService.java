@@ -2,6 +2,7 @@ package com.springboot_projects.auction_app_api.service;
 
 import com.springboot_projects.auction_app_api.dto.PaymentRequest;
 import com.springboot_projects.auction_app_api.dto.PaymentResponse;
+import com.springboot_projects.auction_app_api.event.AuctionItemChangedEvent;
 import com.springboot_projects.auction_app_api.exception.AuctionNotFoundException;
 import com.springboot_projects.auction_app_api.exception.UnauthorizedException;
 import com.springboot_projects.auction_app_api.model.AuctionItem;
@@ -11,6 +12,7 @@ import com.springboot_projects.auction_app_api.model.User;
 import com.springboot_projects.auction_app_api.repository.AuctionItemRepository;
 import com.springboot_projects.auction_app_api.repository.PaymentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,6 +27,9 @@ public class PaymentService {
     @Autowired
     private AuctionItemRepository auctionItemRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Autowired
     private UserService userService;
 
@@ -122,7 +127,8 @@ public class PaymentService {
 
         // 7. Update Auction Status
         auction.setPaid(true);
-        auctionItemRepository.save(auction);
+        AuctionItem paidAuction = auctionItemRepository.save(auction);
+        eventPublisher.publishEvent(AuctionItemChangedEvent.updated(paidAuction, "paid"));
 
         return new PaymentResponse(
                 payment.getId(),
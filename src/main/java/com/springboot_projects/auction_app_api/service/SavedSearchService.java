@@ -0,0 +1,111 @@
+package com.springboot_projects.auction_app_api.service;
+
+import com.springboot_projects.auction_app_api.cache.InvalidationBus;
+import com.springboot_projects.auction_app_api.event.AuctionItemChangedEvent;
+import com.springboot_projects.auction_app_api.exception.InvalidSavedSearchException;
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+import com.springboot_projects.auction_app_api.model.Notification;
+import com.springboot_projects.auction_app_api.model.SavedSearch;
+import com.springboot_projects.auction_app_api.repository.SavedSearchRepository;
+import com.springboot_projects.auction_app_api.search.SavedSearchPercolator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class SavedSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SavedSearchService.class);
+
+    static final int MAX_SAVED_SEARCHES_PER_USER = 50;
+
+    @Autowired
+    private SavedSearchRepository savedSearchRepository;
+
+    @Autowired
+    private SavedSearchPercolator savedSearchPercolator;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    public SavedSearch createSavedSearch(String userId, SavedSearch savedSearch) {
+        boolean hasCategory = savedSearch.getCategory() != null && !savedSearch.getCategory().isBlank();
+        if (!hasCategory && SavedSearchPercolator.terms(savedSearch.getQuery()).isEmpty()) {
+            throw new InvalidSavedSearchException("The query has no searchable words and no category is set");
+        }
+        if (savedSearchRepository.countByUserId(userId) >= MAX_SAVED_SEARCHES_PER_USER) {
+            throw new InvalidSavedSearchException(
+                    "A user can keep at most " + MAX_SAVED_SEARCHES_PER_USER + " saved searches");
+        }
+        savedSearch.setUserId(userId);
+        savedSearch.setCreatedAt(LocalDateTime.now());
+        SavedSearch saved = savedSearchRepository.save(savedSearch);
+        savedSearchPercolator.add(saved);
+        invalidationBus.publish(SavedSearchPercolator.CACHE_NAME, saved.getId());
+        return saved;
+    }
+
+    public List<SavedSearch> getSavedSearches(String userId) {
+        return savedSearchRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    }
+
+    // False when the user has no saved search with that id
+    public boolean deleteSavedSearch(String userId, String savedSearchId) {
+        if (savedSearchRepository.deleteByIdAndUserId(savedSearchId, userId) == 0) {
+            return false;
+        }
+        savedSearchPercolator.remove(savedSearchId);
+        invalidationBus.publish(SavedSearchPercolator.CACHE_NAME, savedSearchId);
+        return true;
+    }
+
+    // An auction is announced once, when it goes live: created as ACTIVE or moved there by startAuction.
+    // Writes made on other instances were announced there.
+    @Async
+    @EventListener
+    public void onAuctionItemChanged(AuctionItemChangedEvent event) {
+        AuctionItem item = event.getAuctionItem();
+        if (event.isRemote() || item == null || item.getStatus() != AuctionItem.AuctionStatus.ACTIVE) {
+            return;
+        }
+        if (event.getChangeType() == AuctionItemChangedEvent.ChangeType.CREATED
+                || event.getChangedFields().contains("status")) {
+            notifyMatches(item);
+        }
+    }
+
+    // One notification per interested user, however many of their searches match; sellers are not
+    // alerted about their own auctions
+    public int notifyMatches(AuctionItem item) {
+        String sellerId = item.getSeller() != null ? item.getSeller().getId() : null;
+        Set<String> notified = new HashSet<>();
+        for (SavedSearchPercolator.Match match : savedSearchPercolator.match(item)) {
+            if (match.userId() == null || match.userId().equals(sellerId) || !notified.add(match.userId())) {
+                continue;
+            }
+            try {
+                notificationService.createNotification(match.userId(),
+                        "New auction matching your saved search: " + item.getTitle(),
+                        Notification.NotificationType.SAVED_SEARCH_MATCH, item.getId());
+            } catch (Exception e) {
+                logger.warn("Could not notify user {} about auction {}: {}", match.userId(), item.getId(),
+                        e.getMessage());
+            }
+        }
+        if (!notified.isEmpty()) {
+            logger.info("Auction {} matched saved searches of {} users", item.getId(), notified.size());
+        }
+        return notified.size();
+    }
+}
@@ -1,10 +1,12 @@
 package com.springboot_projects.auction_app_api.service;
 
+import com.springboot_projects.auction_app_api.event.UserAccessChangedEvent;
 import com.springboot_projects.auction_app_api.exception.UnauthorizedException;
 import com.springboot_projects.auction_app_api.exception.UserNotFoundException;
 import com.springboot_projects.auction_app_api.model.User;
 import com.springboot_projects.auction_app_api.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -26,6 +28,9 @@ public class UserService {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // Create new user
     public User createUser(User user) {
         validateUserForCreation(user);
@@ -65,9 +70,17 @@ public class UserService {
         Optional<User> existingUser = userRepository.findById(id);
         if (existingUser.isPresent()) {
             User user = existingUser.get();
+            boolean rolesChanged = updatedUser.getRoles() != null && !updatedUser.getRoles().equals(user.getRoles());
             updateUserFields(user, updatedUser);
             user.setUpdatedAt(LocalDateTime.now());
-            return userRepository.save(user);
+            if (rolesChanged) {
+                user.setAccessChangedAt(user.getUpdatedAt());
+            }
+            User savedUser = userRepository.save(user);
+            if (rolesChanged) {
+                eventPublisher.publishEvent(new UserAccessChangedEvent(savedUser.getId()));
+            }
+            return savedUser;
         }
         throw new UserNotFoundException("User not found with id: " + id);
     }
@@ -112,7 +125,7 @@ public class UserService {
             User user = userOpt.get();
             user.getRoles().add(role);
             user.setUpdatedAt(LocalDateTime.now());
-            return userRepository.save(user);
+            return saveAndPublishAccessChange(user);
         }
         throw new UserNotFoundException("User not found with id: " + userId);
     }
@@ -124,7 +137,7 @@ public class UserService {
             User user = userOpt.get();
             user.getRoles().remove(role);
             user.setUpdatedAt(LocalDateTime.now());
-            return userRepository.save(user);
+            return saveAndPublishAccessChange(user);
         }
         throw new UserNotFoundException("User not found with id: " + userId);
     }
@@ -136,7 +149,7 @@ public class UserService {
             User user = userOpt.get();
             user.setActive(!user.isActive());
             user.setUpdatedAt(LocalDateTime.now());
-            return userRepository.save(user);
+            return saveAndPublishAccessChange(user);
         }
         throw new UserNotFoundException("User not found with id: " + userId);
     }
@@ -175,6 +188,7 @@ public class UserService {
     public void deleteUser(String userId) {
         if (userRepository.existsById(userId)) {
             userRepository.deleteById(userId);
+            eventPublisher.publishEvent(UserAccessChangedEvent.deleted(userId));
         } else {
             throw new UserNotFoundException("User not found with id: " + userId);
         }
@@ -186,6 +200,14 @@ public class UserService {
     }
 
     // Private helper methods
+    // Stamped on the user so revocations can be loaded again after a restart
+    private User saveAndPublishAccessChange(User user) {
+        user.setAccessChangedAt(LocalDateTime.now());
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(savedUser.getId()));
+        return savedUser;
+    }
+
     private void validateUserForCreation(User user) {
         if (user.getUsername() == null || user.getUsername().trim().isEmpty()) {
             throw new IllegalArgumentException("Username cannot be empty");
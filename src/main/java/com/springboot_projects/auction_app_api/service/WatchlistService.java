@@ -4,12 +4,12 @@ import com.springboot_projects.auction_app_api.model.AuctionItem;
 import com.springboot_projects.auction_app_api.model.User;
 import com.springboot_projects.auction_app_api.model.Watchlist;
 import com.springboot_projects.auction_app_api.repository.WatchlistRepository;
+import com.springboot_projects.auction_app_api.search.AuctionSuggester;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class WatchlistService {
@@ -17,17 +17,23 @@ public class WatchlistService {
     @Autowired
     private WatchlistRepository watchlistRepository;
 
+    @Autowired
+    private AuctionSuggester auctionSuggester;
+
     @Transactional
     public void addToWatchlist(User user, AuctionItem auctionItem) {
         if (!watchlistRepository.existsByUserAndAuctionItem(user, auctionItem)) {
             Watchlist watchlist = new Watchlist(user, auctionItem);
             watchlistRepository.save(watchlist);
+            auctionSuggester.onWatchersChanged(auctionItem.getId(), 1);
         }
     }
 
     @Transactional
     public void removeFromWatchlist(User user, AuctionItem auctionItem) {
-        watchlistRepository.deleteByUserAndAuctionItem(user, auctionItem);
+        if (watchlistRepository.deleteByUserAndAuctionItem(user, auctionItem) > 0) {
+            auctionSuggester.onWatchersChanged(auctionItem.getId(), -1);
+        }
     }
 
     public boolean isWatched(User user, AuctionItem auctionItem) {
@@ -35,8 +41,6 @@ public class WatchlistService {
     }
 
     public List<AuctionItem> getUserWatchlist(User user) {
-        return watchlistRepository.findByUser(user).stream()
-                .map(Watchlist::getAuctionItem)
-                .collect(Collectors.toList());
+        return watchlistRepository.findAuctionsByUser(user);
     }
 }
@@ -1,8 +1,11 @@
 package com.springboot_projects.auction_app_api.service;
 
 import com.springboot_projects.auction_app_api.dto.BidNotification;
+import com.springboot_projects.auction_app_api.dto.BidTick;
 import com.springboot_projects.auction_app_api.model.AuctionItem;
 import com.springboot_projects.auction_app_api.model.Bid;
+import com.springboot_projects.auction_app_api.websocket.BidStreamBuffer;
+import com.springboot_projects.auction_app_api.websocket.WebSocketSessionRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,10 +13,6 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArraySet;
 
 @Service
 public class WebSocketNotificationService {
@@ -26,11 +25,14 @@ public class WebSocketNotificationService {
     @Autowired
     private AuctionItemService auctionItemService;
 
-    // Track auction watchers: auctionId -> Set of session IDs
-    private final Map<String, Set<String>> auctionWatchers = new ConcurrentHashMap<>();
+    @Autowired
+    private WebSocketSessionRegistry sessionRegistry;
 
-    // Track user sessions: sessionId -> username
-    private final Map<String, String> sessionUsers = new ConcurrentHashMap<>();
+    @Autowired
+    private BidStreamBuffer bidStreamBuffer;
+
+    @Autowired
+    private AuctionStreamService auctionStreamService;
 
     public void notifyNewBid(String auctionId, Bid bid) {
         try {
@@ -50,13 +52,23 @@ public class WebSocketNotificationService {
             notification.setType(BidNotification.NotificationType.NEW_BID);
             notification.setMessage("New bid placed: $" + bid.getAmount());
 
-            // Send to all auction watchers
-            messagingTemplate.convertAndSend("/topic/auction/" + auctionId + "/bids", notification);
+            // Sequence the notification, keep it for gap-fill replay and send it before the auction's next
+            // bid is sequenced, so watchers never see sequence N+1 ahead of N
+            bidStreamBuffer.append(auctionId, notification, sequenced -> {
+                // Send to all auction watchers
+                messagingTemplate.convertAndSend("/topic/auction/" + auctionId + "/bids", sequenced);
+
+                // Compact encoding for clients that subscribed to ticks instead of full notifications
+                messagingTemplate.convertAndSend("/topic/auction/" + auctionId + "/ticks", new BidTick(sequenced));
+
+                // Same event for Server-Sent Events subscribers
+                auctionStreamService.publishBid(auctionId, sequenced);
+            });
 
             // Notify previous highest bidder that they've been outbid
             if (auction.getHighestBidder() != null &&
                     !auction.getHighestBidder().getId().equals(bid.getBidder().getId())) {
-                notifyBidOutbid(auction.getHighestBidder().getId(), auctionId, bid.getAmount());
+                notifyBidOutbid(auction.getHighestBidder().getUsername(), auctionId, bid.getAmount());
             }
 
             logger.info("Sent new bid notification for auction {} to {} watchers",
@@ -67,7 +79,8 @@ public class WebSocketNotificationService {
         }
     }
 
-    public void notifyBidConfirmation(String bidderId, Bid bid) {
+    // User destinations are resolved by principal name, which is the username
+    public void notifyBidConfirmation(String username, Bid bid) {
         BidNotification notification = new BidNotification();
         notification.setAuctionId(bid.getAuctionItem().getId());
         notification.setBidId(bid.getId());
@@ -75,25 +88,25 @@ public class WebSocketNotificationService {
         notification.setType(BidNotification.NotificationType.NEW_BID);
         notification.setMessage("Your bid of $" + bid.getAmount() + " has been placed successfully!");
 
-        messagingTemplate.convertAndSendToUser(bidderId, "/queue/bid-confirmation", notification);
+        messagingTemplate.convertAndSendToUser(username, "/queue/bid-confirmation", notification);
     }
 
-    public void notifyBidOutbid(String bidderId, String auctionId, BigDecimal newBidAmount) {
+    public void notifyBidOutbid(String username, String auctionId, BigDecimal newBidAmount) {
         BidNotification notification = new BidNotification();
         notification.setAuctionId(auctionId);
         notification.setBidAmount(newBidAmount);
         notification.setType(BidNotification.NotificationType.BID_OUTBID);
         notification.setMessage("You have been outbid! New highest bid: $" + newBidAmount);
 
-        messagingTemplate.convertAndSendToUser(bidderId, "/queue/bid-outbid", notification);
+        messagingTemplate.convertAndSendToUser(username, "/queue/bid-outbid", notification);
     }
 
-    public void notifyBidError(String bidderId, String auctionId, String errorMessage) {
+    public void notifyBidError(String username, String auctionId, String errorMessage) {
         BidNotification notification = new BidNotification();
         notification.setAuctionId(auctionId);
         notification.setMessage("Bid failed: " + errorMessage);
 
-        messagingTemplate.convertAndSendToUser(bidderId, "/queue/bid-error", notification);
+        messagingTemplate.convertAndSendToUser(username, "/queue/bid-error", notification);
     }
 
     public void notifyAuctionEndingSoon(String auctionId, int minutesRemaining) {
@@ -107,6 +120,7 @@ public class WebSocketNotificationService {
             notification.setMessage("Auction ending in " + minutesRemaining + " minutes!");
 
             messagingTemplate.convertAndSend("/topic/auction/" + auctionId + "/status", notification);
+            auctionStreamService.publishStatus(auctionId, notification);
 
         } catch (Exception e) {
             logger.error("Error sending auction ending notification for auction {}: {}", auctionId, e.getMessage());
@@ -122,6 +136,10 @@ public class WebSocketNotificationService {
 
             // Send to all watchers
             messagingTemplate.convertAndSend("/topic/auction/" + auctionId + "/status", notification);
+            auctionStreamService.publishStatus(auctionId, notification);
+
+            // No more bids can arrive, release the replay buffer
+            bidStreamBuffer.evict(auctionId);
 
             // Send winner notification
             if (winnerId != null) {
@@ -139,22 +157,13 @@ public class WebSocketNotificationService {
     }
 
     public void addAuctionWatcher(String auctionId, String sessionId, String username) {
-        auctionWatchers.computeIfAbsent(auctionId, k -> new CopyOnWriteArraySet<>()).add(sessionId);
-        sessionUsers.put(sessionId, username);
+        sessionRegistry.addWatcher(auctionId, sessionId, username);
 
         logger.info("Added watcher {} (session: {}) to auction {}", username, sessionId, auctionId);
     }
 
     public void removeAuctionWatcher(String auctionId, String sessionId) {
-        Set<String> watchers = auctionWatchers.get(auctionId);
-        if (watchers != null) {
-            watchers.remove(sessionId);
-            if (watchers.isEmpty()) {
-                auctionWatchers.remove(auctionId);
-            }
-        }
-
-        String username = sessionUsers.remove(sessionId);
+        String username = sessionRegistry.removeWatcher(auctionId, sessionId);
         logger.info("Removed watcher {} (session: {}) from auction {}", username, sessionId, auctionId);
     }
 
@@ -177,12 +186,10 @@ public class WebSocketNotificationService {
     }
 
     public int getWatcherCount(String auctionId) {
-        Set<String> watchers = auctionWatchers.get(auctionId);
-        return watchers != null ? watchers.size() : 0;
+        return sessionRegistry.getWatcherCount(auctionId);
     }
 
     public void removeSessionFromAllAuctions(String sessionId) {
-        auctionWatchers.values().forEach(watchers -> watchers.remove(sessionId));
-        sessionUsers.remove(sessionId);
+        sessionRegistry.removeSession(sessionId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,135 @@
+package com.springboot_projects.auction_app_api.websocket;
+
+import com.springboot_projects.auction_app_api.config.WebSocketTransportConfig;
+import com.springboot_projects.auction_app_api.dto.BidNotification;
+import com.springboot_projects.auction_app_api.dto.BidReplayResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+@Component
+public class BidStreamBuffer {
+
+    private final int bufferSize;
+    private final int maxAuctions;
+
+    // Access-ordered so the least recently active auction is evicted first
+    private final Map<String, AuctionStream> streams;
+
+    @Autowired
+    public BidStreamBuffer(WebSocketTransportConfig transportConfig) {
+        this(transportConfig.getReplayBufferSize(), transportConfig.getReplayMaxAuctions());
+    }
+
+    BidStreamBuffer(int bufferSize, int maxAuctions) {
+        this.bufferSize = bufferSize;
+        this.maxAuctions = maxAuctions;
+        this.streams = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, AuctionStream> eldest) {
+                return size() > BidStreamBuffer.this.maxAuctions;
+            }
+        };
+    }
+
+    // Assign the next sequence number for the auction and retain the notification for replay
+    public BidNotification append(String auctionId, BidNotification notification) {
+        return append(auctionId, notification, sequenced -> { });
+    }
+
+    // As above, publishing the notification before the next one for the auction can be sequenced,
+    // so subscribers receive the auction's notifications in sequence order
+    public BidNotification append(String auctionId, BidNotification notification,
+            Consumer<BidNotification> publish) {
+        AuctionStream stream;
+        synchronized (streams) {
+            stream = streams.get(auctionId);
+            if (stream == null) {
+                // Seed from the persisted bid count so sequences keep increasing after a restart or eviction
+                stream = new AuctionStream(bufferSize, Math.max(0, notification.getTotalBids() - 1));
+                streams.put(auctionId, stream);
+            }
+        }
+        stream.append(notification, publish);
+        return notification;
+    }
+
+    // Notifications with a sequence greater than sinceSequence, oldest first
+    public BidReplayResponse since(String auctionId, long sinceSequence) {
+        AuctionStream stream;
+        synchronized (streams) {
+            stream = streams.get(auctionId);
+        }
+        if (stream == null) {
+            // Nothing retained (never hot, evicted or restarted) - the client has to refetch
+            return new BidReplayResponse(auctionId, -1, false, Collections.emptyList());
+        }
+        return stream.since(auctionId, sinceSequence);
+    }
+
+    public long getLatestSequence(String auctionId) {
+        AuctionStream stream;
+        synchronized (streams) {
+            stream = streams.get(auctionId);
+        }
+        return stream != null ? stream.getLatestSequence() : -1;
+    }
+
+    public void evict(String auctionId) {
+        synchronized (streams) {
+            streams.remove(auctionId);
+        }
+    }
+
+    public int getTrackedAuctionCount() {
+        synchronized (streams) {
+            return streams.size();
+        }
+    }
+
+    // Fixed-size ring of the most recent notifications for one auction
+    private static final class AuctionStream {
+        private final BidNotification[] ring;
+        private long latestSequence;
+        private int size;
+
+        private AuctionStream(int capacity, long initialSequence) {
+            this.ring = new BidNotification[capacity];
+            this.latestSequence = initialSequence;
+        }
+
+        private synchronized void append(BidNotification notification, Consumer<BidNotification> publish) {
+            latestSequence++;
+            notification.setSequence(latestSequence);
+            ring[(int) (latestSequence % ring.length)] = notification;
+            size = Math.min(size + 1, ring.length);
+            publish.accept(notification);
+        }
+
+        private synchronized long getLatestSequence() {
+            return latestSequence;
+        }
+
+        private synchronized BidReplayResponse since(String auctionId, long sinceSequence) {
+            if (sinceSequence >= latestSequence) {
+                // Client is up to date, or holds a sequence from before a restart
+                return new BidReplayResponse(auctionId, latestSequence, sinceSequence == latestSequence,
+                        Collections.emptyList());
+            }
+
+            long oldestRetained = latestSequence - size + 1;
+            long from = Math.max(sinceSequence + 1, oldestRetained);
+            List<BidNotification> missed = new ArrayList<>((int) (latestSequence - from + 1));
+            for (long seq = from; seq <= latestSequence; seq++) {
+                missed.add(ring[(int) (seq % ring.length)]);
+            }
+            return new BidReplayResponse(auctionId, latestSequence, sinceSequence + 1 >= oldestRetained, missed);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.springboot_projects.auction_app_api.websocket;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+// Non-blocking outbound queue for one WebSocket session. Frames are written by a shared drain
+// executor so broker threads never block on a slow socket. Once the queue is deeper than the
+// slow-consumer threshold, a queued bid tick is overwritten by the newer tick for the same
+// destination. Exceeding the buffer or send-time limit closes the session.
+public class ConflatingSessionDecorator extends WebSocketSessionDecorator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConflatingSessionDecorator.class);
+
+    private static final String DESTINATION_HEADER = "\ndestination:";
+    private static final int MAX_HEADER_SCAN = 512;
+
+    public interface Listener {
+        void onEnqueued(int queueDepth);
+
+        void onConflated();
+
+        void onTerminated(String reason);
+    }
+
+    private final Executor drainExecutor;
+    private final int sendTimeLimit;
+    private final int bufferSizeLimit;
+    private final int slowQueueDepth;
+    private final Listener listener;
+
+    private final Deque<PendingFrame> queue = new ArrayDeque<>();
+    private final Map<String, PendingFrame> pendingTicks = new HashMap<>();
+    private int bufferedBytes;
+    private boolean draining;
+
+    private volatile long sendStartTime;
+    private volatile boolean closing;
+
+    public ConflatingSessionDecorator(WebSocketSession session, Executor drainExecutor, int sendTimeLimit,
+            int bufferSizeLimit, int slowQueueDepth, Listener listener) {
+        super(session);
+        this.drainExecutor = drainExecutor;
+        this.sendTimeLimit = sendTimeLimit;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.slowQueueDepth = slowQueueDepth;
+        this.listener = listener;
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        if (closing) {
+            return;
+        }
+
+        String tickDestination = extractTickDestination(message);
+        String limitExceeded = null;
+        boolean startDrain = false;
+
+        synchronized (queue) {
+            PendingFrame queuedTick = tickDestination != null && queue.size() >= slowQueueDepth
+                    ? pendingTicks.get(tickDestination)
+                    : null;
+
+            if (queuedTick != null) {
+                // Slow session: overwrite the intermediate tick, only the latest price matters
+                bufferedBytes += message.getPayloadLength() - queuedTick.message.getPayloadLength();
+                queuedTick.message = message;
+                listener.onConflated();
+            } else {
+                PendingFrame frame = new PendingFrame(message, tickDestination);
+                queue.add(frame);
+                bufferedBytes += message.getPayloadLength();
+                if (tickDestination != null) {
+                    pendingTicks.put(tickDestination, frame);
+                }
+            }
+            listener.onEnqueued(queue.size());
+
+            long sendStarted = sendStartTime;
+            if (sendStarted > 0 && System.currentTimeMillis() - sendStarted > sendTimeLimit) {
+                limitExceeded = "Send time exceeded " + sendTimeLimit + " ms";
+            } else if (bufferedBytes > bufferSizeLimit) {
+                limitExceeded = "Buffered " + bufferedBytes + " bytes, limit is " + bufferSizeLimit;
+            } else if (!draining) {
+                draining = true;
+                startDrain = true;
+            }
+        }
+
+        if (limitExceeded != null) {
+            terminate(limitExceeded);
+        } else if (startDrain) {
+            drainExecutor.execute(this::drain);
+        }
+    }
+
+    @Override
+    public void close(CloseStatus status) throws IOException {
+        closing = true;
+        super.close(status);
+    }
+
+    public int getQueueDepth() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    public int getBufferedBytes() {
+        synchronized (queue) {
+            return bufferedBytes;
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            PendingFrame frame;
+            synchronized (queue) {
+                frame = queue.poll();
+                if (frame == null || closing) {
+                    draining = false;
+                    return;
+                }
+                bufferedBytes -= frame.message.getPayloadLength();
+                if (frame.tickDestination != null) {
+                    pendingTicks.remove(frame.tickDestination, frame);
+                }
+            }
+
+            try {
+                sendStartTime = System.currentTimeMillis();
+                getDelegate().sendMessage(frame.message);
+            } catch (Exception e) {
+                logger.debug("Failed to send to session {}: {}", getId(), e.getMessage());
+                synchronized (queue) {
+                    draining = false;
+                }
+                terminate("Send failed: " + e.getMessage());
+                return;
+            } finally {
+                sendStartTime = 0;
+            }
+        }
+    }
+
+    private void terminate(String reason) {
+        synchronized (queue) {
+            if (closing) {
+                return;
+            }
+            closing = true;
+            queue.clear();
+            pendingTicks.clear();
+            bufferedBytes = 0;
+        }
+
+        logger.warn("Closing slow WebSocket session {}: {}", getId(), reason);
+        listener.onTerminated(reason);
+        try {
+            getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (Exception e) {
+            logger.debug("Error closing session {}: {}", getId(), e.getMessage());
+        }
+    }
+
+    // Returns the STOMP destination if the frame is a conflatable bid tick, otherwise null
+    static String extractTickDestination(WebSocketMessage<?> message) {
+        String head;
+        if (message instanceof TextMessage textMessage) {
+            String payload = textMessage.getPayload();
+            head = payload.length() > MAX_HEADER_SCAN ? payload.substring(0, MAX_HEADER_SCAN) : payload;
+        } else if (message instanceof BinaryMessage binaryMessage) {
+            ByteBuffer buffer = binaryMessage.getPayload().duplicate();
+            byte[] bytes = new byte[Math.min(buffer.remaining(), MAX_HEADER_SCAN)];
+            buffer.get(bytes);
+            head = new String(bytes, StandardCharsets.UTF_8);
+        } else {
+            return null;
+        }
+
+        if (!head.startsWith("MESSAGE\n")) {
+            return null;
+        }
+        int start = head.indexOf(DESTINATION_HEADER);
+        if (start < 0) {
+            return null;
+        }
+        start += DESTINATION_HEADER.length();
+        int end = head.indexOf('\n', start);
+        if (end < 0) {
+            return null;
+        }
+        String destination = head.substring(start, end);
+        return isBidTickDestination(destination) ? destination : null;
+    }
+
+    static boolean isBidTickDestination(String destination) {
+        return destination.startsWith("/topic/auction/")
+                && (destination.endsWith("/bids") || destination.endsWith("/ticks"));
+    }
+
+    private static final class PendingFrame {
+        private WebSocketMessage<?> message;
+        private final String tickDestination;
+
+        private PendingFrame(WebSocketMessage<?> message, String tickDestination) {
+            this.message = message;
+            this.tickDestination = tickDestination;
+        }
+    }
+}
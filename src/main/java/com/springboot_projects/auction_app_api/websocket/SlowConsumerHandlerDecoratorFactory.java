@@ -0,0 +1,140 @@
+package com.springboot_projects.auction_app_api.websocket;
+
+import com.springboot_projects.auction_app_api.config.WebSocketTransportConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class SlowConsumerHandlerDecoratorFactory implements WebSocketHandlerDecoratorFactory, DisposableBean {
+
+    private final WebSocketTransportConfig transportConfig;
+    private final ThreadPoolTaskExecutor drainExecutor;
+
+    // Live sessions: sessionId -> outbound queue
+    private final Map<String, ConflatingSessionDecorator> sessions = new ConcurrentHashMap<>();
+
+    private final DistributionSummary queueDepth;
+    private final Counter conflatedTicks;
+    private final Counter terminatedSessions;
+
+    public SlowConsumerHandlerDecoratorFactory(WebSocketTransportConfig transportConfig, MeterRegistry meterRegistry) {
+        this.transportConfig = transportConfig;
+
+        this.drainExecutor = new ThreadPoolTaskExecutor();
+        this.drainExecutor.setCorePoolSize(transportConfig.getDrainPoolSize());
+        this.drainExecutor.setMaxPoolSize(transportConfig.getDrainPoolSize());
+        this.drainExecutor.setThreadNamePrefix("ws-drain-");
+        this.drainExecutor.initialize();
+
+        this.queueDepth = DistributionSummary.builder("websocket.outbound.queue.depth")
+                .description("Outbound frames queued per session at enqueue time")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.conflatedTicks = Counter.builder("websocket.outbound.ticks.conflated")
+                .description("Intermediate bid ticks replaced by a newer tick for a slow session")
+                .register(meterRegistry);
+        this.terminatedSessions = Counter.builder("websocket.outbound.sessions.terminated")
+                .description("Sessions closed for exceeding send time or buffer limits")
+                .register(meterRegistry);
+        Gauge.builder("websocket.outbound.queue.max", this, SlowConsumerHandlerDecoratorFactory::getMaxQueueDepth)
+                .description("Deepest outbound queue across live sessions")
+                .register(meterRegistry);
+        Gauge.builder("websocket.outbound.buffered.bytes", this, SlowConsumerHandlerDecoratorFactory::getBufferedBytes)
+                .description("Bytes queued for delivery across live sessions")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                ConflatingSessionDecorator decorated = new ConflatingSessionDecorator(session, drainExecutor,
+                        transportConfig.getSendTimeLimit(), transportConfig.getSendBufferSizeLimit(),
+                        transportConfig.getSlowConsumerQueueDepth(), new MetricsListener());
+                sessions.put(session.getId(), decorated);
+                super.afterConnectionEstablished(decorated);
+            }
+
+            @Override
+            public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
+                super.handleMessage(resolve(session), message);
+            }
+
+            @Override
+            public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
+                super.handleTransportError(resolve(session), exception);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                WebSocketSession decorated = sessions.remove(session.getId());
+                super.afterConnectionClosed(decorated != null ? decorated : session, closeStatus);
+            }
+
+            private WebSocketSession resolve(WebSocketSession session) {
+                WebSocketSession decorated = sessions.get(session.getId());
+                return decorated != null ? decorated : session;
+            }
+        };
+    }
+
+    public int getQueueDepth(String sessionId) {
+        ConflatingSessionDecorator session = sessions.get(sessionId);
+        return session != null ? session.getQueueDepth() : 0;
+    }
+
+    public double getMaxQueueDepth() {
+        int max = 0;
+        for (ConflatingSessionDecorator session : sessions.values()) {
+            max = Math.max(max, session.getQueueDepth());
+        }
+        return max;
+    }
+
+    public double getBufferedBytes() {
+        long total = 0;
+        for (ConflatingSessionDecorator session : sessions.values()) {
+            total += session.getBufferedBytes();
+        }
+        return total;
+    }
+
+    @Override
+    public void destroy() {
+        drainExecutor.shutdown();
+    }
+
+    private class MetricsListener implements ConflatingSessionDecorator.Listener {
+
+        @Override
+        public void onEnqueued(int depth) {
+            queueDepth.record(depth);
+        }
+
+        @Override
+        public void onConflated() {
+            conflatedTicks.increment();
+        }
+
+        @Override
+        public void onTerminated(String reason) {
+            terminatedSessions.increment();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.springboot_projects.auction_app_api.websocket;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class WebSocketSessionRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebSocketSessionRegistry.class);
+
+    // Forward index: auctionId -> session IDs watching it
+    private final Map<String, Set<String>> auctionWatchers = new ConcurrentHashMap<>();
+
+    // Reverse index: sessionId -> username and the auctions it watches
+    private final Map<String, SessionEntry> sessions = new ConcurrentHashMap<>();
+
+    public void addWatcher(String auctionId, String sessionId, String username) {
+        SessionEntry entry = sessions.computeIfAbsent(sessionId, id -> new SessionEntry(username));
+        entry.auctions.add(auctionId);
+
+        // compute() keeps the add atomic with a concurrent removal of the last watcher
+        auctionWatchers.compute(auctionId, (id, watchers) -> {
+            Set<String> result = watchers != null ? watchers : ConcurrentHashMap.newKeySet();
+            result.add(sessionId);
+            return result;
+        });
+    }
+
+    public String removeWatcher(String auctionId, String sessionId) {
+        detach(auctionId, sessionId);
+
+        SessionEntry entry = sessions.get(sessionId);
+        if (entry == null) {
+            return null;
+        }
+        entry.auctions.remove(auctionId);
+        return entry.username;
+    }
+
+    // Drop a session from every auction it watches - O(k) in the number of watched auctions
+    public void removeSession(String sessionId) {
+        SessionEntry entry = sessions.remove(sessionId);
+        if (entry == null) {
+            return;
+        }
+        for (String auctionId : entry.auctions) {
+            detach(auctionId, sessionId);
+        }
+        logger.debug("Cleaned up session {} ({}) from {} auctions", sessionId, entry.username, entry.auctions.size());
+    }
+
+    public int getWatcherCount(String auctionId) {
+        Set<String> watchers = auctionWatchers.get(auctionId);
+        return watchers != null ? watchers.size() : 0;
+    }
+
+    public Set<String> getWatchedAuctions(String sessionId) {
+        SessionEntry entry = sessions.get(sessionId);
+        return entry != null ? Collections.unmodifiableSet(entry.auctions) : Collections.emptySet();
+    }
+
+    public String getUsername(String sessionId) {
+        SessionEntry entry = sessions.get(sessionId);
+        return entry != null ? entry.username : null;
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        removeSession(event.getSessionId());
+    }
+
+    private void detach(String auctionId, String sessionId) {
+        auctionWatchers.computeIfPresent(auctionId, (id, watchers) -> {
+            watchers.remove(sessionId);
+            return watchers.isEmpty() ? null : watchers;
+        });
+    }
+
+    private static final class SessionEntry {
+        private final String username;
+        private final Set<String> auctions = ConcurrentHashMap.newKeySet();
+
+        private SessionEntry(String username) {
+            this.username = username;
+        }
+    }
+}
@@ -3,7 +3,9 @@ package com.springboot_projects.auction_app_api;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// No database in this context: the in-process views would wait out the driver's server selection timeout.
+// The Lucene index directory is relative and would be created in the working directory.
+@SpringBootTest(properties = {"app.search.load-on-startup=false", "app.lucene.enabled=false"})
 class AuctionAppApiApplicationTests {
 
 	@Test
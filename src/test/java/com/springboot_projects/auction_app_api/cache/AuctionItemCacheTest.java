@@ -0,0 +1,183 @@
+package com.springboot_projects.auction_app_api.cache;
+
+import com.springboot_projects.auction_app_api.config.AuctionCacheConfig;
+import com.springboot_projects.auction_app_api.event.AuctionItemChangedEvent;
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuctionItemCacheTest {
+
+    private final LocalDateTime now = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    private final Map<String, AuctionItem> database = new HashMap<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private AuctionCacheConfig config;
+    private AuctionItemCache cache;
+
+    @BeforeEach
+    void setUp() {
+        config = new AuctionCacheConfig();
+        cache = new AuctionItemCache(config, Runnable::run);
+        database.put("1", auction("1", "100", now));
+    }
+
+    @Test
+    void get_ShouldLoadOnceAndServeRepeatsFromMemory() {
+        // When
+        for (int i = 0; i < 5; i++) {
+            assertEquals("1", get("1").orElseThrow().getId());
+        }
+
+        // Then
+        assertEquals(1, loads.get());
+        assertEquals(4, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    void get_MissingAuction_ShouldNotBeCached() {
+        assertTrue(get("2").isEmpty());
+
+        database.put("2", auction("2", "50", now));
+
+        assertTrue(get("2").isPresent());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void events_ShouldReplaceAndDropCachedItems() {
+        // Given
+        get("1");
+
+        // When: a bid is accepted
+        cache.onAuctionItemChanged(AuctionItemChangedEvent.updated(auction("1", "150", now.plusMinutes(1)),
+                "currentPrice", "highestBidder", "totalBids", "updatedAt"));
+
+        // Then
+        assertEquals(new BigDecimal("150"), get("1").orElseThrow().getCurrentPrice());
+        assertEquals(1, loads.get());
+
+        // When
+        database.remove("1");
+        cache.onAuctionItemChanged(AuctionItemChangedEvent.deleted("1"));
+
+        // Then
+        assertTrue(get("1").isEmpty());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void get_WhenWriteLandsDuringLoad_ShouldNotCacheTheOldCopy() {
+        // When: the bid is accepted after the load read the auction
+        Optional<AuctionItem> loaded = cache.get("1", key -> {
+            Optional<AuctionItem> read = Optional.of(database.get(key));
+            cache.onAuctionItemChanged(AuctionItemChangedEvent.updated(auction("1", "150", now.plusMinutes(1)),
+                    "currentPrice", "updatedAt"));
+            return read;
+        });
+
+        // Then
+        assertEquals(new BigDecimal("100"), loaded.orElseThrow().getCurrentPrice());
+        assertEquals(new BigDecimal("150"), get("1").orElseThrow().getCurrentPrice());
+
+        // When: the auction is deleted during a load
+        cache.invalidate("1");
+        cache.get("1", key -> {
+            Optional<AuctionItem> read = Optional.of(database.get(key));
+            cache.onAuctionItemChanged(AuctionItemChangedEvent.deleted("1"));
+            return read;
+        });
+
+        // Then
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_WithStaleCopy_ShouldKeepNewerItem() {
+        // Given
+        cache.put(auction("1", "200", now.plusMinutes(2)));
+
+        // When
+        cache.put(auction("1", "150", now.plusMinutes(1)));
+
+        // Then
+        assertEquals(new BigDecimal("200"), get("1").orElseThrow().getCurrentPrice());
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void cache_ShouldStayWithinMaximumSize() {
+        // Given
+        config.setMaximumSize(100);
+        cache = new AuctionItemCache(config, Runnable::run);
+
+        // When
+        for (int i = 0; i < 1_000; i++) {
+            cache.put(auction(String.valueOf(i), "10", now));
+        }
+        get("1");
+
+        // Then
+        assertTrue(cache.size() <= 100, "size " + cache.size());
+    }
+
+    @Test
+    void get_WhenDisabled_ShouldAlwaysLoad() {
+        // Given
+        config.setEnabled(false);
+        cache = new AuctionItemCache(config, Runnable::run);
+
+        // When
+        get("1");
+        get("1");
+        cache.put(auction("1", "150", now.plusMinutes(1)));
+
+        // Then
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void registerMetrics_ShouldExposeHitRatio() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.registerMetrics(registry);
+
+        // When
+        get("1");
+        get("1");
+        get("1");
+        get("1");
+
+        // Then
+        assertEquals(0.75, registry.get("cache.hit.ratio").tag("cache", "auctionItems").gauge().value());
+        assertEquals(3, registry.get("cache.gets").tag("result", "hit").functionCounter().count());
+    }
+
+    private Optional<AuctionItem> get(String id) {
+        return cache.get(id, key -> {
+            loads.incrementAndGet();
+            return Optional.ofNullable(database.get(key));
+        });
+    }
+
+    private static AuctionItem auction(String id, String price, LocalDateTime updatedAt) {
+        AuctionItem item = new AuctionItem();
+        item.setId(id);
+        item.setCurrentPrice(new BigDecimal(price));
+        item.setUpdatedAt(updatedAt);
+        return item;
+    }
+}
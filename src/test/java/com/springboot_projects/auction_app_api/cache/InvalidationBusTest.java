@@ -0,0 +1,206 @@
+package com.springboot_projects.auction_app_api.cache;
+
+import com.mongodb.client.MongoCollection;
+import com.springboot_projects.auction_app_api.config.AuctionCacheConfig;
+import com.springboot_projects.auction_app_api.config.CacheBusConfig;
+import com.springboot_projects.auction_app_api.event.AuctionItemChangedEvent;
+import com.springboot_projects.auction_app_api.event.UserAccessChangedEvent;
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+import com.springboot_projects.auction_app_api.repository.AuctionItemRepository;
+import com.springboot_projects.auction_app_api.security.TokenRevocationCache;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InvalidationBusTest {
+
+    private static final String COLLECTION = "cache_invalidations";
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoCollection<Document> collection;
+
+    @Mock
+    private AuctionItemRepository auctionItemRepository;
+
+    private final CacheBusConfig config = new CacheBusConfig();
+    private final LocalDateTime now = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    // Two instances sharing one database
+    private InvalidationBus nodeA;
+    private InvalidationBus nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = new InvalidationBus(mongoTemplate, config);
+        nodeB = new InvalidationBus(mongoTemplate, config);
+    }
+
+    @Test
+    void publish_ShouldCreateTheCappedCollectionOnceAndInsertTheEviction() {
+        // Given
+        when(mongoTemplate.collectionExists(COLLECTION)).thenReturn(false);
+        when(mongoTemplate.getCollection(COLLECTION)).thenReturn(collection);
+
+        // When
+        nodeA.publish("auctionItems", "1");
+        nodeA.publish("auctionItems", "2");
+
+        // Then
+        ArgumentCaptor<CollectionOptions> options = ArgumentCaptor.forClass(CollectionOptions.class);
+        verify(mongoTemplate, times(1)).createCollection(eq(COLLECTION), options.capture());
+        assertEquals(Optional.of(true), options.getValue().getCapped());
+        assertEquals(Optional.of(config.getMaxDocuments()), options.getValue().getMaxDocuments());
+        List<Document> messages = inserted(2);
+        assertEquals("auctionItems", messages.get(0).getString("cache"));
+        assertEquals("2", messages.get(1).getString("key"));
+        assertEquals(nodeA.getNodeId(), messages.get(0).getString("node"));
+        assertNotNull(messages.get(0).getDate("ts"));
+        assertEquals(2, nodeA.getPublishedCount());
+    }
+
+    @Test
+    void publish_WhenMongoIsDown_ShouldNotFailTheWrite() {
+        // Given
+        when(mongoTemplate.collectionExists(COLLECTION)).thenThrow(new DataAccessResourceFailureException("down"));
+
+        // When / Then
+        assertDoesNotThrow(() -> nodeA.publish("auctionItems", "1"));
+        assertEquals(0, nodeA.getPublishedCount());
+    }
+
+    @Test
+    void auctionWrite_ShouldEvictTheAuctionOnTheOtherInstanceOnly() {
+        // Given: both instances hold the auction at 100
+        when(mongoTemplate.collectionExists(COLLECTION)).thenReturn(true);
+        when(mongoTemplate.getCollection(COLLECTION)).thenReturn(collection);
+        AuctionItemCache cacheA = connectedCache(nodeA);
+        AuctionItemCache cacheB = connectedCache(nodeB);
+        cacheA.put(auction("100", now));
+        cacheB.put(auction("100", now));
+
+        // When: a bid is accepted on A and the message reaches both tails
+        cacheA.onAuctionItemChanged(AuctionItemChangedEvent.updated(auction("150", now.plusMinutes(1)),
+                "currentPrice", "updatedAt"));
+        Document message = inserted(1).get(0);
+        nodeA.dispatch(message);
+        nodeB.dispatch(message);
+
+        // Then: A keeps what it wrote, B reloads the auction on its next read
+        assertEquals(new BigDecimal("150"), cacheA.peek("1").orElseThrow().getCurrentPrice());
+        assertTrue(cacheB.peek("1").isEmpty());
+        assertEquals(0, nodeA.getReceivedCount());
+        assertEquals(1, nodeB.getReceivedCount());
+        // Evictions received are not sent on again
+        verify(collection, times(1)).insertOne(any(Document.class));
+    }
+
+    @Test
+    void revocation_ShouldReachTheOtherInstance() {
+        // Given
+        when(mongoTemplate.collectionExists(COLLECTION)).thenReturn(true);
+        when(mongoTemplate.getCollection(COLLECTION)).thenReturn(collection);
+        TokenRevocationCache revocationsA = new TokenRevocationCache();
+        TokenRevocationCache revocationsB = new TokenRevocationCache();
+        revocationsA.connect(nodeA);
+        revocationsB.connect(nodeB);
+        Date issuedAt = new Date(System.currentTimeMillis() - 60_000);
+
+        // When: the user's roles change on A
+        revocationsA.onUserAccessChanged(new UserAccessChangedEvent("user-1"));
+        nodeB.dispatch(inserted(1).get(0));
+
+        // Then
+        assertTrue(revocationsA.isRevoked("user-1", issuedAt));
+        assertTrue(revocationsB.isRevoked("user-1", issuedAt));
+        assertFalse(revocationsB.isRevoked("user-2", issuedAt));
+    }
+
+    @Test
+    void auctionWrite_ShouldReachTheViewsOfTheOtherInstanceAsARemoteChange() {
+        // Given: B's views follow its local events
+        when(mongoTemplate.collectionExists(COLLECTION)).thenReturn(true);
+        when(mongoTemplate.getCollection(COLLECTION)).thenReturn(collection);
+        AuctionItemCache cacheA = connectedCache(nodeA);
+        AuctionItemCache cacheB = connectedCache(nodeB);
+        List<Object> eventsB = new ArrayList<>();
+        AuctionChangeRelay relayB = new AuctionChangeRelay();
+        ReflectionTestUtils.setField(relayB, "auctionItemRepository", auctionItemRepository);
+        ReflectionTestUtils.setField(relayB, "eventPublisher", (ApplicationEventPublisher) eventsB::add);
+        relayB.connect(nodeB);
+        AuctionItem stored = auction("150", now.plusMinutes(1));
+        when(auctionItemRepository.findById("1")).thenReturn(Optional.of(stored));
+
+        // When
+        cacheA.onAuctionItemChanged(AuctionItemChangedEvent.updated(stored, "currentPrice", "updatedAt"));
+        nodeB.dispatch(inserted(1).get(0));
+
+        // Then: B re-read the auction and announced it locally, without sending it on again
+        AuctionItemChangedEvent remote = (AuctionItemChangedEvent) eventsB.get(0);
+        assertTrue(remote.isRemote());
+        assertSame(stored, remote.getAuctionItem());
+        cacheB.onAuctionItemChanged(remote);
+        verify(collection, times(1)).insertOne(any(Document.class));
+    }
+
+    @Test
+    void dispatch_ShouldIgnoreMarkersAndOtherCaches() {
+        // Given
+        AuctionItemCache cache = connectedCache(nodeB);
+        cache.put(auction("100", now));
+
+        // When
+        nodeB.dispatch(new Document("cache", null).append("key", null).append("node", nodeA.getNodeId())
+                .append("ts", new Date()));
+        nodeB.dispatch(new Document("cache", "tokenRevocations").append("key", "1")
+                .append("node", nodeA.getNodeId()).append("ts", new Date()));
+
+        // Then
+        assertTrue(cache.peek("1").isPresent());
+        assertEquals(1, nodeB.getReceivedCount());
+    }
+
+    private AuctionItemCache connectedCache(InvalidationBus bus) {
+        AuctionItemCache cache = new AuctionItemCache(new AuctionCacheConfig(), Runnable::run);
+        cache.connect(bus);
+        return cache;
+    }
+
+    private List<Document> inserted(int count) {
+        ArgumentCaptor<Document> captor = ArgumentCaptor.forClass(Document.class);
+        verify(collection, times(count)).insertOne(captor.capture());
+        return captor.getAllValues();
+    }
+
+    private static AuctionItem auction(String price, LocalDateTime updatedAt) {
+        AuctionItem item = new AuctionItem();
+        item.setId("1");
+        item.setCurrentPrice(new BigDecimal(price));
+        item.setUpdatedAt(updatedAt);
+        return item;
+    }
+}
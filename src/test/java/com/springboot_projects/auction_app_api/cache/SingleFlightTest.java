@@ -0,0 +1,134 @@
+package com.springboot_projects.auction_app_api.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> flight = new SingleFlight<>("test");
+
+    @Test
+    void execute_ConcurrentCallsForOneKey_ShouldShareOneLoad() throws Exception {
+        // Given
+        int callers = 16;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        try {
+            // When: one caller starts the load, the rest arrive while it is running
+            List<Future<String>> results = new ArrayList<>();
+            results.add(executor.submit(() -> flight.execute("auction1", () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return "loaded";
+            })));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < callers; i++) {
+                results.add(executor.submit(() -> flight.execute("auction1", () -> {
+                    loads.incrementAndGet();
+                    return "duplicate";
+                })));
+            }
+            while (flight.getCoalescedCount() < callers - 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            // Then
+            for (Future<String> result : results) {
+                assertEquals("loaded", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+            assertEquals(1, flight.getLoadCount());
+            assertEquals(callers - 1, flight.getCoalescedCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_ShouldShareTheLoadersException() throws Exception {
+        // Given
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<String> first = executor.submit(() -> flight.execute("auction1", () -> {
+                loading.countDown();
+                await(release);
+                throw new IllegalStateException("Auction not found");
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            Future<String> second = executor.submit(() -> flight.execute("auction1", () -> "unused"));
+            while (flight.getCoalescedCount() < 1) {
+                Thread.onSpinWait();
+            }
+
+            // When
+            release.countDown();
+
+            // Then
+            Exception firstError = assertThrows(Exception.class, () -> first.get(5, TimeUnit.SECONDS));
+            Exception secondError = assertThrows(Exception.class, () -> second.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, firstError.getCause());
+            assertInstanceOf(IllegalStateException.class, secondError.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_ShouldNotKeepResultsOrMergeDifferentKeys() {
+        // When
+        assertEquals("a1", flight.execute("a", () -> "a1"));
+        assertEquals("a2", flight.execute("a", () -> "a2"));
+        assertEquals("b1", flight.execute("b", () -> "b1"));
+        assertThrows(IllegalStateException.class, () -> flight.execute("a", () -> {
+            throw new IllegalStateException();
+        }));
+
+        // Then: a failed load does not leave the key stuck
+        assertEquals("a3", flight.execute("a", () -> "a3"));
+        assertEquals(5, flight.getLoadCount());
+        assertEquals(0, flight.getCoalescedCount());
+    }
+
+    @Test
+    void registerMetrics_ShouldCountLoadsAndCoalescedCalls() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        flight.registerMetrics(registry);
+
+        // When
+        flight.execute("a", () -> "a1");
+
+        // Then
+        assertEquals(1, registry.get("singleflight.loads").tag("name", "test").functionCounter().count());
+        assertEquals(0, registry.get("singleflight.coalesced").tag("name", "test").functionCounter().count());
+        assertEquals(0, registry.get("singleflight.in_flight").tag("name", "test").gauge().value());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
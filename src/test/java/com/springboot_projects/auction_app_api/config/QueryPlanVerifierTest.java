@@ -0,0 +1,112 @@
+package com.springboot_projects.auction_app_api.config;
+
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+// Pure behavior checks: the mapping metadata is built once for the class, and only the plan check
+// creates Mongo mocks
+class QueryPlanVerifierTest {
+
+    private static MongoMappingContext mappingContext;
+    private static MappingMongoConverter converter;
+
+    @BeforeAll
+    static void setUp() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void verify_ShouldFlagNestedCollectionScansAndInMemorySorts() {
+        // Given
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        FindIterable<Document> findIterable = mock(FindIterable.class);
+        QueryPlanVerifier verifier = new QueryPlanVerifier();
+        ReflectionTestUtils.setField(verifier, "mongoTemplate", mongoTemplate);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        verifier.registerMetrics(meterRegistry);
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        when(mongoTemplate.getCollection(anyString())).thenReturn(collection);
+        when(collection.find(any(Bson.class))).thenReturn(findIterable);
+        when(findIterable.sort(any(Bson.class))).thenReturn(findIterable);
+        when(findIterable.limit(anyInt())).thenReturn(findIterable);
+        Document indexed = plan(new Document("stage", "FETCH")
+                .append("inputStage", new Document("stage", "IXSCAN")));
+        Document scanned = plan(new Document("queryPlan", new Document("stage", "SORT")
+                .append("inputStage", new Document("stage", "COLLSCAN"))));
+        when(findIterable.explain()).thenReturn(scanned).thenReturn(indexed);
+
+        // When
+        List<QueryPlanVerifier.PlanCheck> checks = verifier.verify();
+
+        // Then
+        assertEquals(QueryPlanVerifier.queryShapes().size(), checks.size());
+        QueryPlanVerifier.PlanCheck first = checks.get(0);
+        assertTrue(first.collectionScan());
+        assertTrue(first.inMemorySort());
+        assertEquals(Set.of("FETCH", "IXSCAN"), checks.get(1).stages());
+        assertTrue(checks.get(1).ok());
+        assertEquals(1.0, meterRegistry.get("mongo.query.plans.flagged").gauge().value());
+    }
+
+    // Offline counterpart of the startup check: each shape filters or sorts on a field that leads one
+    // of the indexes declared on its entity
+    @Test
+    void queryShapes_ShouldEachHaveADeclaredIndex() {
+        QueryMapper queryMapper = new QueryMapper(converter);
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        List<String> uncovered = new ArrayList<>();
+
+        for (QueryPlanVerifier.QueryShape shape : QueryPlanVerifier.queryShapes()) {
+            MongoPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(shape.entityClass());
+            Document filter = queryMapper.getMappedObject(shape.query().getQueryObject(), entity);
+            Set<String> fields = filter.isEmpty()
+                    ? Set.of(queryMapper.getMappedSort(shape.query().getSortObject(), entity).keySet().iterator().next())
+                    : filter.keySet();
+            boolean covered = false;
+            for (IndexDefinition index : resolver.resolveIndexFor(shape.entityClass())) {
+                covered |= fields.contains(index.getIndexKeys().keySet().iterator().next());
+            }
+            if (!covered) {
+                uncovered.add(shape.name());
+            }
+        }
+
+        assertEquals(List.of(), uncovered);
+    }
+
+    private static Document plan(Document winningPlan) {
+        return new Document("queryPlanner", new Document("winningPlan", winningPlan));
+    }
+}
@@ -0,0 +1,132 @@
+package com.springboot_projects.auction_app_api.controller;
+
+import com.springboot_projects.auction_app_api.dto.AuctionVersion;
+import com.springboot_projects.auction_app_api.dto.PriceTrendDto;
+import com.springboot_projects.auction_app_api.model.Bid;
+import com.springboot_projects.auction_app_api.model.User;
+import com.springboot_projects.auction_app_api.service.AuctionItemService;
+import com.springboot_projects.auction_app_api.service.BidService;
+import com.springboot_projects.auction_app_api.service.UserService;
+import com.springboot_projects.auction_app_api.websocket.BidStreamBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class BidControllerTest {
+
+    @Mock
+    private BidService bidService;
+
+    @Mock
+    private AuctionItemService auctionItemService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private BidStreamBuffer bidStreamBuffer;
+
+    @InjectMocks
+    private BidController bidController;
+
+    private MockMvc mockMvc;
+
+    private final AuctionVersion version = new AuctionVersion(LocalDateTime.of(2025, 6, 1, 12, 0), 3);
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(bidController).build();
+    }
+
+    @Test
+    void recentBids_ShouldCarryETagOfAuctionVersion() throws Exception {
+        // Given
+        when(auctionItemService.getAuctionVersion("auction1")).thenReturn(Optional.of(version));
+        when(bidService.getRecentBidsForAuction("auction1", 5)).thenReturn(List.of(bid()));
+
+        // When / Then
+        mockMvc.perform(get("/api/bids/auction/auction1/recent"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, version.toETag("recent5")))
+                .andExpect(jsonPath("$.data[0].amount").value(120));
+    }
+
+    @Test
+    void recentBids_WithMatchingETag_ShouldReturnNotModifiedWithoutLoadingBids() throws Exception {
+        // Given
+        when(auctionItemService.getAuctionVersion("auction1")).thenReturn(Optional.of(version));
+
+        // When / Then
+        mockMvc.perform(get("/api/bids/auction/auction1/recent")
+                        .header(HttpHeaders.IF_NONE_MATCH, version.toETag("recent5")))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, version.toETag("recent5")))
+                .andExpect(content().string(""));
+        verifyNoInteractions(bidService);
+    }
+
+    @Test
+    void recentBids_WithETagOfOtherVersionOrLimit_ShouldReturnBody() throws Exception {
+        // Given
+        AuctionVersion newer = new AuctionVersion(version.getUpdatedAt().plusSeconds(1), 4);
+        when(auctionItemService.getAuctionVersion("auction1")).thenReturn(Optional.of(newer));
+        when(bidService.getRecentBidsForAuction(eq("auction1"), anyInt())).thenReturn(List.of(bid()));
+
+        // When / Then
+        mockMvc.perform(get("/api/bids/auction/auction1/recent")
+                        .header(HttpHeaders.IF_NONE_MATCH, version.toETag("recent5")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/bids/auction/auction1/recent").param("limit", "10")
+                        .header(HttpHeaders.IF_NONE_MATCH, newer.toETag("recent5")))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, newer.toETag("recent10")));
+        assertNotEquals(newer.toETag("recent5"), newer.toETag("trends"));
+    }
+
+    @Test
+    void priceTrends_WithMatchingETag_ShouldReturnNotModified() throws Exception {
+        // Given
+        when(auctionItemService.getAuctionVersion("auction1")).thenReturn(Optional.of(version));
+        when(bidService.getPriceTrendsForAuction("auction1")).thenReturn(
+                List.of(new PriceTrendDto(new BigDecimal("120"), LocalDateTime.of(2025, 6, 1, 11, 0), "Jane Doe")));
+
+        // When
+        String etag = mockMvc.perform(get("/api/bids/auction/auction1/trends"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Then
+        mockMvc.perform(get("/api/bids/auction/auction1/trends").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        verify(bidService, times(1)).getPriceTrendsForAuction("auction1");
+    }
+
+    private static Bid bid() {
+        User bidder = new User();
+        bidder.setId("user1");
+        bidder.setUsername("bidder1");
+        Bid bid = new Bid();
+        bid.setId("bid1");
+        bid.setAmount(new BigDecimal("120"));
+        bid.setBidder(bidder);
+        bid.setStatus(Bid.BidStatus.WINNING);
+        return bid;
+    }
+}
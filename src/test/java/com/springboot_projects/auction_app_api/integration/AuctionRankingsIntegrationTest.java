@@ -0,0 +1,103 @@
+package com.springboot_projects.auction_app_api.integration;
+
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+import com.springboot_projects.auction_app_api.model.User;
+import com.springboot_projects.auction_app_api.repository.AuctionItemRepository;
+import com.springboot_projects.auction_app_api.repository.UserRepository;
+import com.springboot_projects.auction_app_api.search.AuctionRankings;
+import com.springboot_projects.auction_app_api.service.AuctionItemService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The in-memory rankings must list the same auctions in the same order as the Mongo queries they replace
+class AuctionRankingsIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private AuctionItemService auctionItemService;
+
+    @Autowired
+    private AuctionItemRepository auctionItemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuctionRankings auctionRankings;
+
+    private User seller;
+    private User bidder;
+
+    @BeforeEach
+    void setUpTestData() {
+        auctionItemRepository.deleteAll();
+        userRepository.deleteAll();
+        seller = userRepository.save(new User("rankseller", "rankseller@example.com", "hash", "Rank", "Seller"));
+        bidder = userRepository.save(new User("rankbidder", "rankbidder@example.com", "hash", "Rank", "Bidder"));
+        auctionRankings.rebuild();
+    }
+
+    @Test
+    void rankings_AfterBidsAndLifecycleChanges_ShouldMatchMongoQueries() {
+        // Given
+        Random random = new Random(11);
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            AuctionItem item = new AuctionItem("Ranked item " + i, "Description " + i,
+                    new BigDecimal(1 + random.nextInt(50) + ".00"), LocalDateTime.now().minusHours(1),
+                    LocalDateTime.now().plusDays(1), seller);
+            String id = auctionItemService.createAuctionItem(item).getId();
+            ids.add(id);
+            if (i % 6 != 0) {
+                auctionItemService.startAuction(id);
+            }
+        }
+
+        // When
+        for (int step = 0; step < 200; step++) {
+            String id = ids.get(random.nextInt(ids.size()));
+            AuctionItem current = auctionItemRepository.findById(id).orElse(null);
+            if (current == null || current.getStatus() != AuctionItem.AuctionStatus.ACTIVE) {
+                continue;
+            }
+            int action = random.nextInt(20);
+            if (action == 0) {
+                auctionItemService.endAuction(id);
+            } else if (action == 1) {
+                auctionItemService.cancelAuction(id);
+            } else if (action == 2 && current.getTotalBids() == 0) {
+                auctionItemService.deleteAuctionItem(id);
+            } else {
+                // Prices cross digit counts so string ordering would disagree with numeric ordering
+                BigDecimal raise = new BigDecimal(random.nextInt(900) + "." + random.nextInt(10) + "0");
+                auctionItemService.updateCurrentPrice(id, current.getCurrentPrice().add(raise), bidder);
+            }
+        }
+
+        // Then
+        assertConsistentWithMongo();
+
+        // And a fresh load from Mongo gives the same rankings
+        auctionRankings.rebuild();
+        assertConsistentWithMongo();
+    }
+
+    private void assertConsistentWithMongo() {
+        assertTrue(auctionRankings.isReady());
+        assertEquals(ids(auctionItemRepository.findTopActiveByPrice(25)), ids(auctionRankings.topByPrice(25)));
+        assertEquals(ids(auctionItemRepository.findRecentActive(25)), ids(auctionRankings.mostRecent(25)));
+        assertEquals(auctionItemRepository.countActiveAuctions(), auctionRankings.size());
+    }
+
+    private static List<String> ids(List<AuctionItem> items) {
+        return items.stream().map(AuctionItem::getId).toList();
+    }
+}
@@ -37,6 +37,8 @@ public abstract class BaseIntegrationTest {
     static void setProperties(DynamicPropertyRegistry registry) {
         registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
         registry.add("spring.data.mongodb.database", () -> "test_auction_db");
+        // The index directory is relative to the working directory; LuceneAuctionIndexTest covers the index
+        registry.add("app.lucene.enabled", () -> "false");
     }
 
     @BeforeEach
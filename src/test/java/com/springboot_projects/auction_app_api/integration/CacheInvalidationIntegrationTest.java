@@ -0,0 +1,174 @@
+package com.springboot_projects.auction_app_api.integration;
+
+import com.springboot_projects.auction_app_api.cache.AuctionItemCache;
+import com.springboot_projects.auction_app_api.cache.InvalidationBus;
+import com.springboot_projects.auction_app_api.config.AuctionCacheConfig;
+import com.springboot_projects.auction_app_api.config.CacheBusConfig;
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+import com.springboot_projects.auction_app_api.model.User;
+import com.springboot_projects.auction_app_api.repository.AuctionItemRepository;
+import com.springboot_projects.auction_app_api.repository.UserRepository;
+import com.springboot_projects.auction_app_api.security.TokenRevocationCache;
+import com.springboot_projects.auction_app_api.service.AuctionItemService;
+import com.springboot_projects.auction_app_api.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Staleness window across instances: the application context is instance A, a second bus and cache on
+// the same database stand in for instance B. Each write on A is timed from its return until B no longer
+// holds the old copy.
+class CacheInvalidationIntegrationTest extends BaseIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationIntegrationTest.class);
+
+    @Autowired
+    private AuctionItemService auctionItemService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AuctionItemRepository auctionItemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CacheBusConfig cacheBusConfig;
+
+    @Autowired
+    private InvalidationBus busA;
+
+    private InvalidationBus busB;
+    private AuctionItemCache cacheB;
+    private User seller;
+    private User bidder;
+
+    @BeforeEach
+    void startSecondInstance() {
+        auctionItemRepository.deleteAll();
+        userRepository.deleteAll();
+        seller = userRepository.save(new User("busseller", "busseller@example.com", "hash", "Bus", "Seller"));
+        bidder = userRepository.save(new User("busbidder", "busbidder@example.com", "hash", "Bus", "Bidder"));
+
+        busB = new InvalidationBus(mongoTemplate, cacheBusConfig);
+        cacheB = new AuctionItemCache(new AuctionCacheConfig());
+        cacheB.connect(busB);
+        busB.start();
+        assertTrue(awaitMillis(() -> busA.isConnected() && busB.isConnected(), 10_000) >= 0);
+    }
+
+    @AfterEach
+    void stopSecondInstance() {
+        busB.stop();
+    }
+
+    @Test
+    void priceChangeOnOneInstance_ShouldEvictTheAuctionOnTheOther() {
+        // Given
+        String id = createActiveAuction();
+        // Without the bus B would serve the old price until the entry expires
+        AuctionItemCache unconnected = new AuctionItemCache(new AuctionCacheConfig());
+        unconnected.get(id, auctionItemRepository::findById);
+
+        // When / Then: each write on A is evicted on B within the timeout
+        int writes = 5;
+        writeAndAwaitEviction(id, writes);
+        assertTrue(busB.getReceivedCount() >= writes);
+        assertEquals(0, new BigDecimal("10.00").compareTo(unconnected.peek(id).orElseThrow().getCurrentPrice()));
+    }
+
+    // Run with -Pbenchmark
+    @Tag("benchmark")
+    @Test
+    void benchmark_StalenessOnTheOtherInstanceShouldStayWithinMilliseconds() {
+        // Given
+        String id = createActiveAuction();
+
+        // When
+        int writes = 200;
+        long[] windows = writeAndAwaitEviction(id, writes);
+
+        // Then
+        Arrays.sort(windows);
+        long p50 = windows[writes / 2];
+        long p99 = windows[writes * 99 / 100];
+        long max = windows[writes - 1];
+        logger.info("Staleness on the other instance over {} writes: p50 {} ms, p99 {} ms, max {} ms "
+                + "(without the bus: until the {} ms expiry)", writes, p50, p99, max,
+                new AuctionCacheConfig().getTtl());
+        assertTrue(p99 < 500, "p99 " + p99 + " ms");
+    }
+
+    @Test
+    void deactivationOnOneInstance_ShouldRevokeTokensOnTheOther() {
+        // Given
+        TokenRevocationCache revocationsB = new TokenRevocationCache();
+        revocationsB.connect(busB);
+        Date issuedAt = new Date(System.currentTimeMillis() - 60_000);
+
+        // When
+        userService.toggleUserStatus(bidder.getId());
+
+        // Then
+        long window = awaitMillis(() -> revocationsB.isRevoked(bidder.getId(), issuedAt), 5_000);
+        logger.info("Token revocation reached the other instance after {} ms", window);
+        assertTrue(window >= 0);
+    }
+
+    private String createActiveAuction() {
+        String id = auctionItemService.createAuctionItem(new AuctionItem("Bus item", "Description",
+                new BigDecimal("10.00"), LocalDateTime.now().minusHours(1), LocalDateTime.now().plusDays(1),
+                seller)).getId();
+        auctionItemService.startAuction(id);
+        return id;
+    }
+
+    // B reads the auction, A accepts a bid, B is polled until the old copy is gone; returns each wait
+    private long[] writeAndAwaitEviction(String id, int writes) {
+        long[] windows = new long[writes];
+        BigDecimal price = new BigDecimal("10.00");
+        for (int i = 0; i < writes; i++) {
+            assertTrue(cacheB.get(id, auctionItemRepository::findById).isPresent());
+            price = price.add(BigDecimal.ONE);
+            auctionItemService.updateCurrentPrice(id, price, bidder);
+            windows[i] = awaitMillis(() -> cacheB.peek(id).isEmpty(), 5_000);
+            assertTrue(windows[i] >= 0, "write " + i + " still cached on B after 5 s");
+            assertEquals(0, price.compareTo(cacheB.get(id, auctionItemRepository::findById)
+                    .orElseThrow().getCurrentPrice()));
+        }
+        return windows;
+    }
+
+    // Milliseconds until the condition held, -1 when it did not within the timeout
+    private static long awaitMillis(BooleanSupplier condition, long timeoutMillis) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                return -1;
+            }
+            LockSupport.parkNanos(50_000);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,457 @@
+package com.springboot_projects.auction_app_api.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mongodb.DBRef;
+import com.mongodb.MongoClientSettings;
+import com.springboot_projects.auction_app_api.dto.AuctionFacets;
+import com.springboot_projects.auction_app_api.dto.AuctionItemDto;
+import com.springboot_projects.auction_app_api.dto.AuctionSummary;
+import com.springboot_projects.auction_app_api.dto.CountedPage;
+import com.springboot_projects.auction_app_api.dto.FacetedPage;
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+import com.springboot_projects.auction_app_api.model.User;
+import com.springboot_projects.auction_app_api.search.SearchMode;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuctionItemRepositoryImplTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionItemRepositoryImplTest.class);
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private KeysetPager keysetPager;
+
+    @Mock
+    private CountCache countCache;
+
+    @Mock
+    private DbRefBatchLoader dbRefBatchLoader;
+
+    @InjectMocks
+    private AuctionItemRepositoryImpl repository;
+
+    @Test
+    void filterAuctions_TextMode_ShouldUseTextIndexAndSortByScoreFirst() {
+        // Given
+        when(countCache.count(any(Query.class), eq(AuctionItem.class))).thenReturn(1L);
+        when(dbRefBatchLoader.find(any(Query.class), eq(AuctionItem.class))).thenReturn(List.of(new AuctionItem()));
+
+        // When
+        Page<AuctionItem> page = repository.filterAuctions("vintage watch", SearchMode.TEXT, "Jewelry",
+                AuctionItem.AuctionStatus.ACTIVE, new BigDecimal("10"), null,
+                PageRequest.of(0, 10, Sort.by("createdAt").descending()));
+
+        // Then
+        Query query = capturedFindQuery();
+        Document filter = query.getQueryObject();
+        assertEquals("vintage watch", ((Document) filter.get("$text")).get("$search"));
+        assertTrue(filter.containsKey("$and"));
+        assertEquals(List.of("score", "createdAt"), List.copyOf(query.getSortObject().keySet()));
+        assertEquals(1, page.getTotalElements());
+        assertTrue(((CountedPage<AuctionItem>) page).isTotalExact());
+    }
+
+    @Test
+    void filterAuctions_WithoutCriteria_ShouldUseEstimatedCount() {
+        // Given
+        when(mongoTemplate.estimatedCount(AuctionItem.class)).thenReturn(5000L);
+        when(dbRefBatchLoader.find(any(Query.class), eq(AuctionItem.class))).thenReturn(List.of(new AuctionItem()));
+
+        // When
+        Page<AuctionItem> page = repository.filterAuctions(" ", SearchMode.REGEX, null, null, null, null,
+                PageRequest.of(0, 1));
+
+        // Then
+        assertEquals(5000, page.getTotalElements());
+        assertFalse(((CountedPage<AuctionItem>) page).isTotalExact());
+        verifyNoInteractions(countCache);
+    }
+
+    @Test
+    void filterAuctions_RegexMode_ShouldKeepSubstringMatch() {
+        // When
+        repository.filterAuctions("watc", SearchMode.REGEX, null, null, null, null, PageRequest.of(0, 10));
+
+        // Then
+        Document filter = capturedFindQuery().getQueryObject();
+        assertFalse(filter.containsKey("$text"));
+        assertTrue(filter.toJson().contains("Qwatc"));
+    }
+
+    @Test
+    void filterAuctionsNear_WithinRadius_ShouldFilterWithGeoWithinAndKeepSort() {
+        // Given
+        when(countCache.count(any(Query.class), eq(AuctionItem.class))).thenReturn(3L);
+        Point berlin = new Point(13.405, 52.52);
+
+        // When
+        Page<AuctionItem> page = repository.filterAuctionsNear(null, "Furniture", AuctionItem.AuctionStatus.ACTIVE,
+                null, null, berlin, 10.0, PageRequest.of(0, 10, Sort.by("currentPrice")));
+
+        // Then
+        Query query = capturedFindQuery();
+        MappingMongoConverter converter = converter();
+        Document filter = new QueryMapper(converter).getMappedObject(query.getQueryObject(),
+                converter.getMappingContext().getPersistentEntity(AuctionItem.class));
+        Document centerSphere = (Document) ((Document) ((List<?>) filter.get("$and")).stream()
+                .map(Document.class::cast).filter(criteria -> criteria.containsKey("location"))
+                .findFirst().orElseThrow().get("location")).get("$geoWithin");
+        List<?> sphere = (List<?>) centerSphere.get("$centerSphere");
+        assertEquals(List.of(13.405, 52.52), sphere.get(0));
+        // 10 km in radians of the earth's radius
+        assertEquals(10 / 6378.137, (Double) sphere.get(1), 1e-6);
+        assertEquals(List.of("currentPrice"), List.copyOf(query.getSortObject().keySet()));
+        assertEquals(3, page.getTotalElements());
+        verify(mongoTemplate, never()).aggregate(any(TypedAggregation.class), eq(AuctionItem.class));
+    }
+
+    @Test
+    void filterAuctionsNear_SortedByDistance_ShouldPageAGeoNearPipeline() {
+        // Given
+        when(countCache.count(any(Query.class), eq(AuctionItem.class))).thenReturn(21L);
+        AuctionItem nearest = new AuctionItem();
+        nearest.setDistanceKm(1.5);
+        when(mongoTemplate.aggregate(any(TypedAggregation.class), eq(AuctionItem.class)))
+                .thenReturn(new AggregationResults<>(List.of(nearest), new Document()));
+
+        // When
+        Page<AuctionItem> page = repository.filterAuctionsNear("sofa", null, null, null, new BigDecimal("200"),
+                new Point(13.405, 52.52), 25.0, PageRequest.of(2, 10, Sort.by(AuctionItemRepository.DISTANCE)));
+
+        // Then
+        ArgumentCaptor<TypedAggregation> captor = ArgumentCaptor.forClass(TypedAggregation.class);
+        verify(mongoTemplate).aggregate(captor.capture(), eq(AuctionItem.class));
+        List<Document> pipeline = captor.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+        Document geoNear = (Document) pipeline.get(0).get("$geoNear");
+        assertEquals("distanceKm", geoNear.get("distanceField"));
+        assertEquals(true, geoNear.get("spherical"));
+        assertEquals(25 / 6378.137, ((Number) geoNear.get("maxDistance")).doubleValue(), 1e-6);
+        assertTrue(geoNear.get("query").toString().contains("sofa"));
+        assertEquals(new Document("$skip", 20L), pipeline.get(1));
+        assertEquals(new Document("$limit", 10L), pipeline.get(2));
+        assertEquals(1.5, page.getContent().get(0).getDistanceKm());
+        assertEquals(21, page.getTotalElements());
+        verify(dbRefBatchLoader, never()).find(any(Query.class), eq(AuctionItem.class));
+    }
+
+    @Test
+    void filterAuctionsWithFacets_ShouldReturnPageAndFacetsFromOneAggregation() {
+        // Given
+        MappingMongoConverter converter = converter();
+        when(dbRefBatchLoader.read(anyList(), eq(AuctionItem.class))).thenAnswer(invocation ->
+                invocation.<List<Document>>getArgument(0).stream()
+                        .map(document -> converter.read(AuctionItem.class, document)).toList());
+        Document facets = new Document("results", List.of(new Document("_id", "a1").append("title", "Gold Watch")))
+                .append("total", List.of(new Document("count", 7)))
+                .append("categories", List.of(new Document("_id", "Jewelry").append("count", 5),
+                        new Document("_id", "Sports").append("count", 2)))
+                .append("statuses", List.of(new Document("_id", "ACTIVE").append("count", 7)))
+                .append("priceRanges", List.of(
+                        new Document("_id", new Decimal128(new BigDecimal("100"))).append("count", 4),
+                        new Document("_id", "overflow").append("count", 1)));
+        when(mongoTemplate.aggregate(any(TypedAggregation.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(facets), new Document()));
+
+        // When
+        FacetedPage<AuctionItem> page = repository.filterAuctionsWithFacets("watch", SearchMode.INDEX, "Jewelry",
+                null, null, null, null, null, PageRequest.of(0, 1, Sort.by("createdAt").descending()));
+
+        // Then
+        ArgumentCaptor<TypedAggregation> captor = ArgumentCaptor.forClass(TypedAggregation.class);
+        verify(mongoTemplate).aggregate(captor.capture(), eq(Document.class));
+        List<Document> pipeline = captor.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+        assertEquals(2, pipeline.size());
+        assertTrue(pipeline.get(0).toJson().contains("Qwatch"));
+        Document facet = (Document) pipeline.get(1).get("$facet");
+        assertEquals(Set.of("results", "total", "categories", "statuses", "priceRanges"), facet.keySet());
+        // The category facet must not be narrowed by the selected category
+        assertFalse(facet.get("categories").toString().contains("Jewelry"));
+        assertTrue(facet.get("statuses").toString().contains("Jewelry"));
+        verify(mongoTemplate, never()).count(any(Query.class), eq(AuctionItem.class));
+        // References of the page are resolved in bulk, not per document by the converter
+        verify(mongoTemplate, never()).getConverter();
+
+        assertEquals("Gold Watch", page.getResults().getContent().get(0).getTitle());
+        assertEquals(7, page.getResults().getTotalElements());
+        assertEquals(Map.of("Jewelry", 5L, "Sports", 2L), page.getFacets().getCategories());
+        List<AuctionFacets.PriceRange> ranges = page.getFacets().getPriceRanges();
+        assertEquals(4, ranges.get(3).getCount());
+        assertEquals(0, ranges.get(0).getCount());
+        assertNull(ranges.get(ranges.size() - 1).getMax());
+        assertEquals(1, ranges.get(ranges.size() - 1).getCount());
+    }
+
+    @Test
+    void filterAuctionsWithFacets_NearAPoint_ShouldNarrowResultsAndEveryFacet() {
+        // Given
+        Document facets = new Document("results", List.of()).append("total", List.of())
+                .append("categories", List.of()).append("statuses", List.of()).append("priceRanges", List.of());
+        when(mongoTemplate.aggregate(any(TypedAggregation.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(facets), new Document()));
+
+        // When
+        repository.filterAuctionsWithFacets(null, SearchMode.INDEX, "Furniture", null, null, null,
+                new Point(13.405, 52.52), 10.0, PageRequest.of(0, 10));
+
+        // Then
+        ArgumentCaptor<TypedAggregation> captor = ArgumentCaptor.forClass(TypedAggregation.class);
+        verify(mongoTemplate).aggregate(captor.capture(), eq(Document.class));
+        Document facet = (Document) captor.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT).get(0).get("$facet");
+        for (String name : List.of("results", "total", "categories", "statuses", "priceRanges")) {
+            assertTrue(facet.get(name).toString().contains("$geoWithin"), name);
+        }
+    }
+
+    @Test
+    void filterAuctionsByCursor_NearAPoint_ShouldFilterByLocation() {
+        // When
+        repository.filterAuctionsByCursor(null, null, null, null, null, new Point(13.405, 52.52), null,
+                Sort.Order.desc("createdAt"), null, 10, false);
+
+        // Then
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(keysetPager).find(captor.capture(), eq(AuctionItem.class), eq(Sort.Order.desc("createdAt")), isNull(),
+                eq(10), eq(false));
+        assertEquals(new Document("location", new Document("$exists", true)),
+                ((List<?>) captor.getValue().getQueryObject().get("$and")).get(0));
+    }
+
+    @Test
+    void findSummaries_ShouldProjectCardFieldsAndLookUpSellersOnce() {
+        // Given
+        ObjectId sellerId = new ObjectId();
+        when(mongoTemplate.getCollectionName(AuctionItem.class)).thenReturn("auction_items");
+        when(mongoTemplate.getCollectionName(User.class)).thenReturn("users");
+        when(mongoTemplate.estimatedCount(AuctionItem.class)).thenReturn(2L);
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("auction_items"))).thenReturn(List.of(
+                summaryDocument(new ObjectId(), "Gold Watch", sellerId),
+                summaryDocument(new ObjectId(), "Silver Watch", sellerId)));
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("users")))
+                .thenReturn(List.of(new Document("_id", sellerId).append("username", "seller1")));
+
+        // When
+        List<AuctionSummary> summaries = repository.findAllSummaries(
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "createdAt")), false).getContent();
+
+        // Then
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(captor.capture(), eq(Document.class), eq("auction_items"));
+        Document fields = captor.getValue().getFieldsObject();
+        assertEquals(Set.of("title", "currentPrice", "endDate", "totalBids", "seller", "imageUrls"), fields.keySet());
+        assertEquals(new Document("$slice", 1), fields.get("imageUrls"));
+        assertEquals(2, captor.getValue().getLimit());
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(Document.class), eq("users"));
+        verify(mongoTemplate, never()).find(any(Query.class), eq(AuctionItem.class));
+
+        assertEquals(2, summaries.size());
+        AuctionSummary first = summaries.get(0);
+        assertEquals("Gold Watch", first.getTitle());
+        assertEquals("seller1", first.getSellerUsername());
+        assertEquals(new BigDecimal("125.50"), first.getCurrentPrice());
+        assertEquals("https://img.example.com/0.jpg", first.getThumbnailUrl());
+        assertNotNull(first.getEndDate());
+    }
+
+    @Test
+    void findSummariesByIds_ShouldKeepRequestedOrder() {
+        // Given
+        ObjectId first = new ObjectId();
+        ObjectId second = new ObjectId();
+        when(mongoTemplate.getCollectionName(AuctionItem.class)).thenReturn("auction_items");
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("auction_items"))).thenReturn(List.of(
+                summaryDocument(first, "First", null), summaryDocument(second, "Second", null)));
+
+        // When
+        List<AuctionSummary> summaries = repository.findSummariesByIds(
+                List.of(second.toHexString(), "missing", first.toHexString()));
+
+        // Then
+        assertEquals(List.of("Second", "First"), summaries.stream().map(AuctionSummary::getTitle).toList());
+        verify(mongoTemplate, never()).find(any(Query.class), eq(Document.class), eq("users"));
+    }
+
+    @Test
+    void findTopActiveSummariesByPrice_ShouldProjectCardFieldsAfterSortingByPrice() {
+        // Given
+        ObjectId sellerId = new ObjectId();
+        when(mongoTemplate.getCollectionName(User.class)).thenReturn("users");
+        AggregationResults<Document> results = new AggregationResults<>(
+                List.of(summaryDocument(new ObjectId(), "Gold Watch", sellerId)), new Document());
+        when(mongoTemplate.aggregate(any(TypedAggregation.class), eq(Document.class))).thenReturn(results);
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("users")))
+                .thenReturn(List.of(new Document("_id", sellerId).append("username", "seller1")));
+
+        // When
+        List<AuctionSummary> summaries = repository.findTopActiveSummariesByPrice(5);
+
+        // Then
+        ArgumentCaptor<TypedAggregation<?>> captor = ArgumentCaptor.forClass(TypedAggregation.class);
+        verify(mongoTemplate).aggregate(captor.capture(), eq(Document.class));
+        List<Document> pipeline = captor.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+        assertEquals(new Document("priceValue", -1).append("_id", -1), pipeline.get(2).get("$sort"));
+        assertEquals(5, pipeline.get(3).get("$limit", Number.class).intValue());
+        Document project = pipeline.get(4).get("$project", Document.class);
+        assertEquals(Set.of("title", "currentPrice", "endDate", "totalBids", "seller", "imageUrls"),
+                project.keySet());
+        verify(mongoTemplate, never()).aggregate(any(TypedAggregation.class), eq(AuctionItem.class));
+        assertEquals("seller1", summaries.get(0).getSellerUsername());
+        assertEquals("https://img.example.com/0.jpg", summaries.get(0).getThumbnailUrl());
+    }
+
+    // What one listing card costs before (full document plus the two resolved user references, rendered
+    // as AuctionItemDto) and after (projected document plus the batched username, as AuctionSummary)
+    @Test
+    void summaryProjection_ShouldTransferAndRenderFarFewerBytes() throws Exception {
+        // Given
+        MappingMongoConverter converter = converter();
+        User seller = user("seller1");
+        User bidder = user("bidder1");
+        AuctionItem item = new AuctionItem("Vintage Gold Watch", "Swiss automatic movement. ".repeat(80),
+                new BigDecimal("100.00"), LocalDateTime.now(), LocalDateTime.now().plusDays(7), seller);
+        item.setId(new ObjectId().toHexString());
+        item.setCategory("Jewelry");
+        item.setImageUrls(List.of("https://img.example.com/0.jpg", "https://img.example.com/1.jpg",
+                "https://img.example.com/2.jpg", "https://img.example.com/3.jpg", "https://img.example.com/4.jpg"));
+        item.setCurrentPrice(new BigDecimal("125.50"));
+        item.setReservePrice(new BigDecimal("150.00"));
+        item.setHighestBidder(bidder);
+        item.setTotalBids(12);
+
+        Document auctionDocument = new Document();
+        converter.write(item, auctionDocument);
+        Document sellerDocument = new Document();
+        converter.write(seller, sellerDocument);
+        Document bidderDocument = new Document();
+        converter.write(bidder, bidderDocument);
+        long fullBytes = bsonSize(auctionDocument) + bsonSize(sellerDocument) + bsonSize(bidderDocument);
+
+        Document projected = summaryDocument(new ObjectId(item.getId()), item.getTitle(), new ObjectId());
+        long summaryBytes = bsonSize(projected) + bsonSize(new Document("_id", new ObjectId()).append("username", "seller1"));
+
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        int fullJson = objectMapper.writeValueAsBytes(new AuctionItemDto(item)).length;
+        int summaryJson = objectMapper.writeValueAsBytes(new AuctionSummary(item.getId(), item.getTitle(),
+                item.getImageUrls().get(0), item.getCurrentPrice(), item.getEndDate(), item.getTotalBids(),
+                seller.getUsername())).length;
+
+        // Then
+        logger.info("Per listing card: Mongo {} -> {} bytes, response {} -> {} bytes", fullBytes, summaryBytes,
+                fullJson, summaryJson);
+        assertTrue(summaryBytes * 5 < fullBytes);
+        assertTrue(summaryJson * 5 < fullJson);
+    }
+
+    private static Document summaryDocument(ObjectId id, String title, ObjectId sellerId) {
+        Document document = new Document("_id", id)
+                .append("title", title)
+                .append("imageUrls", List.of("https://img.example.com/0.jpg"))
+                .append("currentPrice", "125.50")
+                .append("endDate", new Date())
+                .append("totalBids", 12);
+        if (sellerId != null) {
+            document.append("seller", new DBRef("users", sellerId));
+        }
+        return document;
+    }
+
+    private static User user(String username) {
+        User user = new User(username, username + "@example.com",
+                "$2a$10$7EqJtq98hPqEX7fNZaFWoO5Yb1kQ0n1Uu4ZsQqkJbY8lJ9F3Xz1iK", "First", "Last");
+        user.setId(new ObjectId().toHexString());
+        user.setPhoneNumber("+1-555-0100");
+        return user;
+    }
+
+    private static long bsonSize(Document document) {
+        return new RawBsonDocument(document, MongoClientSettings.getDefaultCodecRegistry().get(Document.class))
+                .getByteBuffer().remaining();
+    }
+
+    @Test
+    void raisePrice_ShouldOnlyMatchTheActiveAuctionAtThePriceTheBidWasCheckedAgainst() {
+        // Given
+        User bidder = new User();
+        bidder.setId(new ObjectId().toHexString());
+
+        // When: another bid already moved the price, nothing matches
+        Optional<AuctionItem> result = repository.raisePrice("a1", new BigDecimal("100.00"),
+                new BigDecimal("90.00"), bidder, LocalDateTime.now());
+
+        // Then
+        assertTrue(result.isEmpty());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<UpdateDefinition> update = ArgumentCaptor.forClass(UpdateDefinition.class);
+        verify(mongoTemplate).findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class),
+                eq(AuctionItem.class));
+        MappingMongoConverter converter = converter();
+        Document filter = new QueryMapper(converter).getMappedObject(query.getValue().getQueryObject(),
+                converter.getMappingContext().getPersistentEntity(AuctionItem.class));
+        // Stored as a string, compared as the same string
+        assertEquals("100.00", filter.get("currentPrice"));
+        assertEquals("ACTIVE", filter.get("status"));
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertEquals(new BigDecimal("90.00"), set.get("currentPrice"));
+        assertEquals(new Document("totalBids", 1), update.getValue().getUpdateObject().get("$inc"));
+    }
+
+    private static MappingMongoConverter converter() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    private Query capturedFindQuery() {
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(dbRefBatchLoader).find(captor.capture(), eq(AuctionItem.class));
+        return captor.getValue();
+    }
+}
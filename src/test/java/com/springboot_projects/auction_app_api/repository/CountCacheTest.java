@@ -0,0 +1,103 @@
+package com.springboot_projects.auction_app_api.repository;
+
+import com.springboot_projects.auction_app_api.config.CountCacheConfig;
+import com.springboot_projects.auction_app_api.event.AuctionItemChangedEvent;
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+import com.springboot_projects.auction_app_api.model.Bid;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CountCacheTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Spy
+    private CountCacheConfig config = new CountCacheConfig();
+
+    @InjectMocks
+    private CountCache countCache;
+
+    @Test
+    void count_ShouldReuseCountForSameCriteriaInAnyFieldOrder() {
+        // Given
+        when(mongoTemplate.count(any(Query.class), eq(AuctionItem.class))).thenReturn(12L);
+
+        // When
+        long first = countCache.count(new Query(Criteria.where("category").is("Art")
+                .and("status").is(AuctionItem.AuctionStatus.ACTIVE)), AuctionItem.class);
+        long second = countCache.count(new Query(Criteria.where("status").is(AuctionItem.AuctionStatus.ACTIVE)
+                .and("category").is("Art")), AuctionItem.class);
+
+        // Then
+        assertEquals(12, first);
+        assertEquals(12, second);
+        verify(mongoTemplate, times(1)).count(any(Query.class), eq(AuctionItem.class));
+    }
+
+    @Test
+    void count_AfterTtl_ShouldCountAgain() {
+        // Given
+        config.setTtl(0);
+        Query query = new Query(Criteria.where("category").is("Art"));
+
+        // When
+        countCache.count(query, AuctionItem.class);
+        countCache.count(query, AuctionItem.class);
+
+        // Then
+        verify(mongoTemplate, times(2)).count(any(Query.class), eq(AuctionItem.class));
+    }
+
+    @Test
+    void onAuctionItemChanged_BidUpdate_ShouldOnlyDropCountsFilteringOnChangedFields() {
+        // Given
+        countCache.count(new Query(Criteria.where("category").is("Art")), AuctionItem.class);
+        countCache.count(new Query(Criteria.where("currentPrice").gte(new BigDecimal("10"))), AuctionItem.class);
+        countCache.count(new Query(), AuctionItem.class);
+
+        // When
+        AuctionItem item = new AuctionItem();
+        item.setId("a1");
+        countCache.onAuctionItemChanged(AuctionItemChangedEvent.updated(item, "currentPrice", "totalBids"));
+
+        // Then
+        assertEquals(2, countCache.size());
+
+        // When
+        countCache.onAuctionItemChanged(AuctionItemChangedEvent.created(item));
+
+        // Then
+        assertEquals(0, countCache.size());
+    }
+
+    @Test
+    void onAfterSave_Bid_ShouldDropBidCountsOnly() {
+        // Given
+        countCache.count(new Query(), Bid.class);
+        countCache.count(new Query(), AuctionItem.class);
+
+        // When
+        countCache.onAfterSave(new AfterSaveEvent<>(new Bid(), new Document(), "bids"));
+
+        // Then
+        assertEquals(1, countCache.size());
+    }
+}
@@ -0,0 +1,254 @@
+package com.springboot_projects.auction_app_api.repository;
+
+import com.mongodb.DBRef;
+import com.springboot_projects.auction_app_api.dto.BidDto;
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+import com.springboot_projects.auction_app_api.model.Bid;
+import com.springboot_projects.auction_app_api.model.User;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.DbRefProxyHandler;
+import org.springframework.data.mongodb.core.convert.DbRefResolver;
+import org.springframework.data.mongodb.core.convert.DbRefResolverCallback;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.ReferenceLookupDelegate;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DbRefBatchLoaderTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(DbRefBatchLoaderTest.class);
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private DbRefBatchLoader loader;
+
+    // Stored documents by collection and _id
+    private final Map<String, Map<Object, Document>> store = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        // NoOpDbRefResolver refuses to resolve anything, so the loader has to do all the resolving itself
+        when(mongoTemplate.getConverter()).thenReturn(converter(NoOpDbRefResolver.INSTANCE));
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), anyString())).thenAnswer(invocation -> {
+            Query query = invocation.getArgument(0);
+            Map<Object, Document> collection = store.getOrDefault(invocation.getArgument(2, String.class), Map.of());
+            Object idFilter = query.getQueryObject().get("_id");
+            List<Document> results = new ArrayList<>();
+            if (idFilter instanceof Document in) {
+                for (Object id : (List<?>) in.get("$in")) {
+                    if (collection.containsKey(id)) {
+                        results.add(new Document(collection.get(id)));
+                    }
+                }
+            } else {
+                collection.values().stream().limit(query.getLimit() > 0 ? query.getLimit() : Long.MAX_VALUE)
+                        .forEach(document -> results.add(new Document(document)));
+            }
+            return results;
+        });
+    }
+
+    @Test
+    void find_ShouldResolveEveryReferenceWithOneQueryPerCollectionAndLevel() {
+        // Given
+        seed(20);
+
+        // When
+        List<Bid> bids = loader.find(new Query().limit(20), Bid.class);
+
+        // Then: bids, then bidders and auctions, then the auctions' sellers and highest bidders
+        assertEquals(20, bids.size());
+        for (Bid bid : bids) {
+            assertNotNull(bid.getBidder().getUsername());
+            assertNotNull(bid.getAuctionItem().getTitle());
+            assertNotNull(bid.getAuctionItem().getSeller().getUsername());
+            assertNotNull(bid.getAuctionItem().getHighestBidder().getUsername());
+            BidDto dto = new BidDto(bid);
+            assertEquals(bid.getAuctionItem().getTitle(), dto.getAuctionItemTitle());
+        }
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(Document.class), eq("bids"));
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(Document.class), eq("auction_items"));
+        verify(mongoTemplate, times(2)).find(any(Query.class), eq(Document.class), eq("users"));
+    }
+
+    @Test
+    void find_QueryCountShouldNotGrowWithPageSize() {
+        // Given
+        seed(200);
+        DbRefCountingResolver eager = new DbRefCountingResolver();
+        MappingMongoConverter eagerConverter = converter(eager);
+
+        for (int pageSize : new int[] {10, 50, 200}) {
+            clearInvocations(mongoTemplate);
+            eager.fetches = 0;
+
+            // When
+            List<Bid> bids = loader.find(new Query().limit(pageSize), Bid.class);
+            for (Document document : store.get("bids").values().stream().limit(pageSize).toList()) {
+                eagerConverter.read(Bid.class, new Document(document));
+            }
+
+            // Then: the converter fetches bidder, auction, seller and highest bidder for every bid
+            int batchedQueries = mockingDetails(mongoTemplate).getInvocations().stream()
+                    .filter(invocation -> invocation.getMethod().getName().equals("find")).toList().size();
+            logger.info("Page of {} bids: {} queries batched, {} resolving references per document", pageSize,
+                    batchedQueries, 1 + eager.fetches);
+            assertEquals(pageSize, bids.size());
+            assertEquals(4, batchedQueries);
+            assertEquals(4 * pageSize, eager.fetches);
+        }
+    }
+
+    @Test
+    void findDocuments_ShouldMapEntityValuesIdsAndSortAgainstTheEntity() {
+        // Given
+        User bidder = new User();
+        bidder.setId(new ObjectId().toHexString());
+        Query query = new Query(Criteria.where("bidder").is(bidder)).with(PageRequest.of(2, 10, Sort.by("id")));
+
+        // When
+        loader.findDocuments(query, Bid.class);
+
+        // Then
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(captor.capture(), eq(Document.class), eq("bids"));
+        Query mapped = captor.getValue();
+        assertEquals(new DBRef("users", new ObjectId(bidder.getId())), mapped.getQueryObject().get("bidder"));
+        assertEquals(new Document("_id", 1), mapped.getSortObject());
+        assertEquals(20, mapped.getSkip());
+        assertEquals(10, mapped.getLimit());
+    }
+
+    @Test
+    void findAllById_ShouldKeepRequestedOrderAndSkipMissing() {
+        // Given
+        seed(3);
+        List<Object> ids = new ArrayList<>(store.get("auction_items").keySet());
+        ids.add(1, new ObjectId());
+
+        // When
+        List<AuctionItem> auctions = loader.findAllById(List.of(ids.get(2), ids.get(1), ids.get(0)),
+                AuctionItem.class);
+
+        // Then
+        assertEquals(List.of(ids.get(2).toString(), ids.get(0).toString()),
+                auctions.stream().map(AuctionItem::getId).toList());
+        assertNotNull(auctions.get(0).getSeller());
+    }
+
+    @Test
+    void findAllById_WithStringIds_ShouldFindTheStoredObjectIds() {
+        // Given
+        seed(3);
+        List<String> ids = store.get("auction_items").keySet().stream().map(Object::toString).toList();
+
+        // When
+        List<AuctionItem> auctions = loader.findAllById(List.of(ids.get(1), "missing", ids.get(0)),
+                AuctionItem.class);
+
+        // Then
+        assertEquals(List.of(ids.get(1), ids.get(0)), auctions.stream().map(AuctionItem::getId).toList());
+    }
+
+    // Bids spread over a handful of auctions and bidders, like a page of real listings
+    private void seed(int bids) {
+        List<DBRef> users = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ObjectId id = new ObjectId();
+            put("users", new Document("_id", id).append("username", "user" + i).append("email", "user" + i + "@x.io"));
+            users.add(new DBRef("users", id));
+        }
+        List<DBRef> auctions = new ArrayList<>();
+        for (int i = 0; i < Math.max(3, bids / 4); i++) {
+            ObjectId id = new ObjectId();
+            put("auction_items", new Document("_id", id).append("title", "Auction " + i)
+                    .append("currentPrice", "10" + i).append("status", "ACTIVE")
+                    .append("seller", users.get(i % users.size()))
+                    .append("highestBidder", users.get((i + 1) % users.size())));
+            auctions.add(new DBRef("auction_items", id));
+        }
+        for (int i = 0; i < bids; i++) {
+            ObjectId id = new ObjectId();
+            put("bids", new Document("_id", id).append("amount", new BigDecimal(20 + i).toString())
+                    .append("bidder", users.get(i % users.size()))
+                    .append("auctionItem", auctions.get(i % auctions.size()))
+                    .append("status", "ACTIVE"));
+        }
+    }
+
+    private void put(String collection, Document document) {
+        store.computeIfAbsent(collection, key -> new LinkedHashMap<>()).put(document.get("_id"), document);
+    }
+
+    private static MappingMongoConverter converter(DbRefResolver resolver) {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(resolver, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    // What the default resolver does for eager references: one findOne per reference read
+    private class DbRefCountingResolver implements DbRefResolver {
+
+        int fetches;
+
+        @Override
+        public Object resolveDbRef(MongoPersistentProperty property, DBRef dbref, DbRefResolverCallback callback,
+                DbRefProxyHandler proxyHandler) {
+            return callback.resolve(property);
+        }
+
+        @Override
+        public Document fetch(DBRef dbRef) {
+            fetches++;
+            return new Document(store.get(dbRef.getCollectionName()).get(dbRef.getId()));
+        }
+
+        @Override
+        public List<Document> bulkFetch(List<DBRef> dbRefs) {
+            return dbRefs.stream().map(this::fetch).toList();
+        }
+
+        @Override
+        public Object resolveReference(MongoPersistentProperty property, Object source,
+                ReferenceLookupDelegate referenceLookupDelegate, MongoEntityReader entityReader) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
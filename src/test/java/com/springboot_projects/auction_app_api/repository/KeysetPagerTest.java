@@ -0,0 +1,189 @@
+package com.springboot_projects.auction_app_api.repository;
+
+import com.springboot_projects.auction_app_api.dto.CursorPage;
+import com.springboot_projects.auction_app_api.exception.InvalidCursorException;
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class KeysetPagerTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private CountCache countCache;
+
+    @InjectMocks
+    private KeysetPager keysetPager;
+
+    private final LocalDateTime now = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+    }
+
+    @Test
+    void find_FirstPage_ShouldFetchOneExtraAndReturnCursorWithoutCounting() {
+        // Given
+        String lastId = new ObjectId().toHexString();
+        when(mongoTemplate.find(any(Query.class), eq(AuctionItem.class))).thenReturn(List.of(
+                auction(new ObjectId().toHexString(), now),
+                auction(lastId, now.minusMinutes(1)),
+                auction(new ObjectId().toHexString(), now.minusMinutes(2))));
+
+        // When
+        CursorPage<AuctionItem> page = keysetPager.find(new Query(), AuctionItem.class, Sort.Order.desc("createdAt"),
+                null, 2, false);
+
+        // Then
+        Query query = capturedFindQuery();
+        assertEquals(3, query.getLimit());
+        assertEquals(List.of("createdAt", "id"), List.copyOf(query.getSortObject().keySet()));
+        assertEquals(2, page.getContent().size());
+        assertTrue(page.isHasNext());
+        assertNull(page.getTotal());
+        verifyNoInteractions(countCache);
+    }
+
+    @Test
+    void find_WithCursor_ShouldSeekPastLastSortValueAndId() {
+        // Given
+        String lastId = new ObjectId().toHexString();
+        when(mongoTemplate.find(any(Query.class), eq(AuctionItem.class)))
+                .thenReturn(List.of(auction(new ObjectId().toHexString(), now), auction(lastId, now), auction("x", now)))
+                .thenReturn(List.of());
+        String cursor = keysetPager.find(new Query(), AuctionItem.class, Sort.Order.desc("createdAt"), null, 2, false)
+                .getNextCursor();
+
+        // When
+        CursorPage<AuctionItem> next = keysetPager.find(new Query(), AuctionItem.class, Sort.Order.desc("createdAt"),
+                cursor, 2, false);
+
+        // Then
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).find(captor.capture(), eq(AuctionItem.class));
+        List<?> or = (List<?>) captor.getValue().getQueryObject().get("$or");
+        Document after = (Document) ((Document) or.get(0)).get("createdAt");
+        assertInstanceOf(Date.class, after.get("$lt"));
+        assertTrue(((Document) or.get(1)).toJson().contains(lastId));
+        assertFalse(next.isHasNext());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    void find_WithIncludeTotal_ShouldCountBaseQuery() {
+        // Given
+        when(countCache.count(any(Query.class), eq(AuctionItem.class))).thenReturn(42L);
+        when(mongoTemplate.find(any(Query.class), eq(AuctionItem.class))).thenReturn(List.of());
+
+        // When
+        CursorPage<AuctionItem> page = keysetPager.find(new Query(), AuctionItem.class, Sort.Order.asc("endDate"),
+                "", 10, true);
+
+        // Then
+        assertEquals(42L, page.getTotal());
+        assertFalse(page.isHasNext());
+    }
+
+    @Test
+    void find_WithMalformedOrMismatchedCursor_ShouldThrowInvalidCursorException() {
+        // Given
+        when(mongoTemplate.find(any(Query.class), eq(AuctionItem.class)))
+                .thenReturn(List.of(auction(new ObjectId().toHexString(), now), auction("x", now)));
+        String cursor = keysetPager.find(new Query(), AuctionItem.class, Sort.Order.desc("createdAt"), null, 1, false)
+                .getNextCursor();
+
+        // Then
+        assertThrows(InvalidCursorException.class, () -> keysetPager.find(new Query(), AuctionItem.class,
+                Sort.Order.desc("createdAt"), "not-a-cursor!", 1, false));
+        assertThrows(InvalidCursorException.class, () -> keysetPager.find(new Query(), AuctionItem.class,
+                Sort.Order.asc("createdAt"), cursor, 1, false));
+        assertThrows(InvalidCursorException.class, () -> keysetPager.find(new Query(), AuctionItem.class,
+                Sort.Order.desc("noSuchField"), null, 1, false));
+    }
+
+    @Test
+    void find_WithSizeOutOfRange_ShouldThrowInvalidCursorException() {
+        assertThrows(InvalidCursorException.class, () -> keysetPager.find(new Query(), AuctionItem.class,
+                Sort.Order.desc("createdAt"), null, 0, false));
+        assertThrows(InvalidCursorException.class, () -> keysetPager.find(new Query(), AuctionItem.class,
+                Sort.Order.desc("createdAt"), null, -5, false));
+        assertThrows(InvalidCursorException.class, () -> keysetPager.find(new Query(), AuctionItem.class,
+                Sort.Order.desc("createdAt"), null, KeysetPager.MAX_PAGE_SIZE + 1, false));
+        verify(mongoTemplate, never()).find(any(Query.class), eq(AuctionItem.class));
+    }
+
+    @Test
+    void find_WithDocumentsMissingTheSortField_ShouldNotSkipThem() {
+        // Given: descending, the page ends on a dated auction and the undated ones sort last
+        String lastId = new ObjectId().toHexString();
+        String undatedId = new ObjectId().toHexString();
+        when(mongoTemplate.find(any(Query.class), eq(AuctionItem.class)))
+                .thenReturn(List.of(auction(lastId, now), auction(undatedId, null)))
+                .thenReturn(List.of(auction(undatedId, null), auction("x", null)))
+                .thenReturn(List.of());
+        String datedCursor = keysetPager.find(new Query(), AuctionItem.class, Sort.Order.desc("createdAt"), null, 1,
+                false).getNextCursor();
+
+        // When
+        String undatedCursor = keysetPager.find(new Query(), AuctionItem.class, Sort.Order.desc("createdAt"),
+                datedCursor, 1, false).getNextCursor();
+        keysetPager.find(new Query(), AuctionItem.class, Sort.Order.desc("createdAt"), undatedCursor, 1, false);
+
+        // Then: after a value the nulls are still ahead, after a null only the remaining nulls are
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(3)).find(captor.capture(), eq(AuctionItem.class));
+        List<?> afterValue = (List<?>) captor.getAllValues().get(1).getQueryObject().get("$or");
+        assertEquals(3, afterValue.size());
+        assertEquals(new Document("createdAt", null), afterValue.get(2));
+        Document afterNull = captor.getAllValues().get(2).getQueryObject();
+        List<?> and = (List<?>) afterNull.get("$and");
+        assertEquals(new Document("createdAt", null), and.get(0));
+        assertTrue(and.get(1).toString().contains(undatedId));
+    }
+
+    private Query capturedFindQuery() {
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(captor.capture(), eq(AuctionItem.class));
+        return captor.getValue();
+    }
+
+    private static AuctionItem auction(String id, LocalDateTime createdAt) {
+        AuctionItem item = new AuctionItem();
+        item.setId(id);
+        item.setCreatedAt(createdAt);
+        return item;
+    }
+}
@@ -0,0 +1,138 @@
+package com.springboot_projects.auction_app_api.search;
+
+import com.springboot_projects.auction_app_api.event.AuctionItemChangedEvent;
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuctionRankingsTest {
+
+    private final LocalDateTime now = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    private AuctionRankings rankings;
+
+    @BeforeEach
+    void setUp() {
+        rankings = new AuctionRankings();
+        rankings.update(auction("a1", "100.00", now.minusDays(3)));
+        rankings.update(auction("a2", "99.50", now.minusDays(1)));
+        rankings.update(auction("a3", "250.00", now.minusDays(2)));
+    }
+
+    @Test
+    void topByPrice_ShouldOrderNumericallyNotByStoredString() {
+        assertEquals(List.of("a3", "a1", "a2"), ids(rankings.topByPrice(10)));
+        assertEquals(List.of("a3"), ids(rankings.topByPrice(1)));
+    }
+
+    @Test
+    void mostRecent_ShouldOrderByCreatedAt() {
+        assertEquals(List.of("a2", "a3", "a1"), ids(rankings.mostRecent(10)));
+    }
+
+    @Test
+    void update_WhenBidAccepted_ShouldReRank() {
+        // When
+        AuctionItem outbid = auction("a2", "300.00", now.minusDays(1));
+        outbid.setUpdatedAt(now.plusMinutes(1));
+        rankings.onAuctionItemChanged(AuctionItemChangedEvent.updated(outbid, "currentPrice"));
+
+        // Then
+        assertEquals(List.of("a2", "a3", "a1"), ids(rankings.topByPrice(10)));
+        assertEquals(3, rankings.size());
+    }
+
+    @Test
+    void update_WhenAuctionEndsOrIsDeleted_ShouldDropIt() {
+        // When
+        AuctionItem ended = auction("a3", "250.00", now.minusDays(2));
+        ended.setStatus(AuctionItem.AuctionStatus.ENDED);
+        ended.setUpdatedAt(now.plusMinutes(1));
+        rankings.onAuctionItemChanged(AuctionItemChangedEvent.updated(ended, "status"));
+        rankings.onAuctionItemChanged(AuctionItemChangedEvent.deleted("a1"));
+
+        // Then
+        assertEquals(List.of("a2"), ids(rankings.topByPrice(10)));
+        assertEquals(List.of("a2"), ids(rankings.mostRecent(10)));
+    }
+
+    @Test
+    void update_WithOlderCopy_ShouldKeepNewerRanking() {
+        // Given
+        AuctionItem newer = auction("a1", "500.00", now.minusDays(3));
+        newer.setUpdatedAt(now.plusMinutes(2));
+        rankings.update(newer);
+
+        // When
+        AuctionItem older = auction("a1", "100.00", now.minusDays(3));
+        older.setUpdatedAt(now.plusMinutes(1));
+        rankings.update(older);
+
+        // Then
+        assertEquals("a1", rankings.topByPrice(1).get(0).getId());
+    }
+
+    // Random bids, lifecycle changes and deletes checked against sorting the surviving auctions directly,
+    // the way the Mongo fallback queries order them
+    @Test
+    void randomUpdates_ShouldMatchFullSort() {
+        Random random = new Random(7);
+        AuctionRankings ranked = new AuctionRankings();
+        Map<String, AuctionItem> active = new HashMap<>();
+        for (int step = 0; step < 5_000; step++) {
+            String id = String.format("%024x", random.nextInt(300));
+            int action = random.nextInt(10);
+            if (action == 0) {
+                ranked.remove(id);
+                active.remove(id);
+            } else {
+                AuctionItem item = auction(id, random.nextInt(100_000) / 100 + ".00",
+                        now.minusMinutes(random.nextInt(50)));
+                item.setUpdatedAt(now.plusSeconds(step));
+                if (action == 1) {
+                    item.setStatus(AuctionItem.AuctionStatus.ENDED);
+                    active.remove(id);
+                } else {
+                    active.put(id, item);
+                }
+                ranked.update(item);
+            }
+        }
+
+        List<AuctionItem> expectedByPrice = new ArrayList<>(active.values());
+        expectedByPrice.sort(Comparator.comparing(AuctionItem::getCurrentPrice).reversed()
+                .thenComparing(AuctionItem::getId, Comparator.reverseOrder()));
+        List<AuctionItem> expectedByRecency = new ArrayList<>(active.values());
+        expectedByRecency.sort(Comparator.comparing(AuctionItem::getCreatedAt).reversed()
+                .thenComparing(AuctionItem::getId, Comparator.reverseOrder()));
+
+        assertEquals(ids(expectedByPrice.subList(0, 20)), ids(ranked.topByPrice(20)));
+        assertEquals(ids(expectedByRecency.subList(0, 20)), ids(ranked.mostRecent(20)));
+        assertEquals(active.size(), ranked.size());
+    }
+
+    private static List<String> ids(List<AuctionItem> items) {
+        return items.stream().map(AuctionItem::getId).toList();
+    }
+
+    private AuctionItem auction(String id, String price, LocalDateTime createdAt) {
+        AuctionItem item = new AuctionItem();
+        item.setId(id);
+        item.setCurrentPrice(new BigDecimal(price));
+        item.setCreatedAt(createdAt);
+        item.setUpdatedAt(now);
+        item.setStatus(AuctionItem.AuctionStatus.ACTIVE);
+        return item;
+    }
+}
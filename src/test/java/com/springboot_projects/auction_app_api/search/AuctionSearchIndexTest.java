@@ -0,0 +1,205 @@
+package com.springboot_projects.auction_app_api.search;
+
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuctionSearchIndexTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionSearchIndexTest.class);
+
+    private AuctionSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new AuctionSearchIndex();
+        index.index(auction("1", "Vintage Rolex Watches", "Two gold watches from 1970", "Jewelry", 500));
+        index.index(auction("2", "Leather Watch Strap", "Fits most vintage watches", "Accessories", 40));
+        index.index(auction("3", "Gold Necklace", "Antique necklace in a velvet box", "Jewelry", 300));
+        index.index(auction("4", "Running Shoes", "Barely used, size 42", "Sports", 60));
+    }
+
+    @Test
+    void search_ShouldMatchStemmedTermsAndRankTitleAboveDescription() {
+        // When
+        List<String> ids = search("watch");
+
+        // Then
+        assertEquals(List.of("1", "2"), ids);
+        assertEquals(List.of("4"), search("run"));
+    }
+
+    @Test
+    void search_ShouldCombineTermsWithAndByDefaultAndOrOnRequest() {
+        assertEquals(List.of("1"), search("gold watches"));
+        assertEquals(3, index.search("watch OR necklace", null, null, null, null, PageRequest.of(0, 10)).total());
+    }
+
+    @Test
+    void search_ShouldExpandLastTermAsPrefix() {
+        assertEquals(List.of("1", "2"), search("vint"));
+        assertTrue(search("vint ").isEmpty());
+    }
+
+    @Test
+    void search_ShouldApplyCategoryStatusAndPriceFilters() {
+        // When
+        AuctionSearchIndex.SearchResult jewelry = index.search("gold", "Jewelry", AuctionItem.AuctionStatus.ACTIVE,
+                new BigDecimal("100"), new BigDecimal("400"), PageRequest.of(0, 10));
+
+        // Then
+        assertEquals(List.of("3"), jewelry.auctionIds());
+        assertEquals(1, jewelry.total());
+    }
+
+    @Test
+    void search_ShouldPageAndSortByColumnField() {
+        // When
+        Pageable firstPage = PageRequest.of(0, 1, Sort.by("currentPrice").descending());
+        Pageable secondPage = PageRequest.of(1, 1, Sort.by("currentPrice").descending());
+
+        // Then
+        AuctionSearchIndex.SearchResult first = index.search("watch", null, null, null, null, firstPage);
+        AuctionSearchIndex.SearchResult second = index.search("watch", null, null, null, null, secondPage);
+        assertEquals(List.of("1"), first.auctionIds());
+        assertEquals(List.of("2"), second.auctionIds());
+        assertEquals(2, second.total());
+        assertFalse(index.supportsSort(Sort.by("title")));
+    }
+
+    @Test
+    void index_WhenTextChanges_ShouldReplaceOldTerms() {
+        // When
+        AuctionItem updated = auction("2", "Leather Belt", "Brown leather", "Accessories", 40);
+        updated.setUpdatedAt(LocalDateTime.now().plusSeconds(1));
+        index.index(updated);
+
+        // Then
+        assertEquals(List.of("1"), search("watch"));
+        assertEquals(List.of("2"), search("belt"));
+        assertEquals(4, index.getDocumentCount());
+    }
+
+    @Test
+    void index_WhenOnlyPriceChanges_ShouldUpdateFilterColumns() {
+        // When
+        AuctionItem repriced = auction("4", "Running Shoes", "Barely used, size 42", "Sports", 900);
+        repriced.setUpdatedAt(LocalDateTime.now().plusSeconds(1));
+        index.index(repriced);
+
+        // Then
+        assertEquals(List.of("4"), index.search("shoes", null, null, new BigDecimal("800"), null,
+                PageRequest.of(0, 10)).auctionIds());
+    }
+
+    @Test
+    void index_WithStaleCopy_ShouldKeepNewerVersion() {
+        // Given
+        AuctionItem stale = auction("3", "Silver Ring", "Old copy", "Jewelry", 300);
+        stale.setUpdatedAt(LocalDateTime.now().minusDays(1));
+
+        // When
+        index.index(stale);
+
+        // Then
+        assertEquals(List.of("3"), search("necklace"));
+        assertTrue(search("ring").isEmpty());
+    }
+
+    @Test
+    void remove_ShouldDropAuctionFromResults() {
+        // When
+        index.remove("1");
+
+        // Then
+        assertEquals(List.of("2"), search("watch"));
+        assertEquals(3, index.getDocumentCount());
+    }
+
+    // Latency of the index against the unanchored case-insensitive regex the repository used. The regex
+    // side runs in memory, so it is a lower bound for the Mongo COLLSCAN. Run with -Pbenchmark, add
+    // -Dsearch.benchmark.size=1000000 for the full-size comparison.
+    @Tag("benchmark")
+    @Test
+    void benchmark_IndexShouldBeFasterThanRegexScan() {
+        int size = Integer.getInteger("search.benchmark.size", 100_000);
+        String[] vocabulary = GeneratedText.vocabulary(5_000);
+        Random random = new Random(42);
+
+        AuctionSearchIndex large = new AuctionSearchIndex();
+        List<AuctionItem> items = new ArrayList<>(size);
+        long buildStart = System.nanoTime();
+        for (int i = 0; i < size; i++) {
+            AuctionItem item = auction(String.valueOf(i), GeneratedText.words(vocabulary, random, 4),
+                    GeneratedText.words(vocabulary, random, 30), "Category" + random.nextInt(20),
+                    random.nextInt(1000) + 1);
+            items.add(item);
+            large.index(item);
+        }
+        long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+
+        String[] queries = new String[50];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = vocabulary[random.nextInt(vocabulary.length)] + " " + vocabulary[random.nextInt(vocabulary.length)];
+        }
+
+        // Warm up
+        for (String query : queries) {
+            large.search(query, null, AuctionItem.AuctionStatus.ACTIVE, null, null, PageRequest.of(0, 20));
+        }
+
+        long indexStart = System.nanoTime();
+        for (String query : queries) {
+            large.search(query, null, AuctionItem.AuctionStatus.ACTIVE, null, null, PageRequest.of(0, 20));
+        }
+        long indexMicros = (System.nanoTime() - indexStart) / 1_000 / queries.length;
+
+        long regexStart = System.nanoTime();
+        int regexQueries = 5;
+        for (int q = 0; q < regexQueries; q++) {
+            Pattern pattern = Pattern.compile(".*" + Pattern.quote(queries[q]) + ".*", Pattern.CASE_INSENSITIVE);
+            long matches = 0;
+            for (AuctionItem item : items) {
+                if (pattern.matcher(item.getTitle()).matches() || pattern.matcher(item.getDescription()).matches()) {
+                    matches++;
+                }
+            }
+            assertTrue(matches >= 0);
+        }
+        long regexMicros = (System.nanoTime() - regexStart) / 1_000 / regexQueries;
+
+        logger.info("{} auctions indexed in {} ms, {} terms; avg query: index {} us, regex scan {} us",
+                size, buildMillis, large.getTermCount(), indexMicros, regexMicros);
+        assertTrue(indexMicros < regexMicros);
+    }
+
+    private List<String> search(String query) {
+        return index.search(query, null, null, null, null, PageRequest.of(0, 10)).auctionIds();
+    }
+
+    private static AuctionItem auction(String id, String title, String description, String category, int price) {
+        AuctionItem item = new AuctionItem();
+        item.setId(id);
+        item.setTitle(title);
+        item.setDescription(description);
+        item.setCategory(category);
+        item.setCurrentPrice(BigDecimal.valueOf(price));
+        item.setStatus(AuctionItem.AuctionStatus.ACTIVE);
+        return item;
+    }
+}
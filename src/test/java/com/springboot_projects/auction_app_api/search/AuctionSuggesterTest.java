@@ -0,0 +1,220 @@
+package com.springboot_projects.auction_app_api.search;
+
+import com.springboot_projects.auction_app_api.event.AuctionItemChangedEvent;
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuctionSuggesterTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionSuggesterTest.class);
+
+    private AuctionSuggester suggester;
+
+    @BeforeEach
+    void setUp() {
+        suggester = new AuctionSuggester();
+        suggester.update(auction("1", "Vintage Rolex Watch", "Jewelry", 12));
+        suggester.update(auction("2", "Rolling Pin", "Kitchen", 1));
+        suggester.update(auction("3", "Roland Synthesizer", "Music", 4));
+        suggester.update(auction("4", "Vintage Vinyl Records", "Music", 0));
+    }
+
+    @Test
+    void suggest_ShouldCompleteLastWordByPopularity() {
+        // When
+        List<String> completions = texts(suggester.suggest("ro", 10));
+
+        // Then
+        assertEquals(List.of("rolex", "roland", "rolling"), completions);
+        assertEquals(List.of("vintage rolex"), texts(suggester.suggest("vintage rolex", 10)));
+        assertEquals(List.of("rolex"), texts(suggester.suggest("ro", 1)));
+    }
+
+    @Test
+    void suggest_ShouldMatchCategoriesWithCombinedWeight() {
+        // When
+        List<AuctionSuggester.Suggestion> suggestions = suggester.suggest("mu", 10);
+
+        // Then
+        assertEquals(1, suggestions.size());
+        assertEquals("Music", suggestions.get(0).text());
+        assertEquals(AuctionSuggester.SuggestionType.CATEGORY, suggestions.get(0).type());
+        assertEquals(6, suggestions.get(0).weight());
+    }
+
+    @Test
+    void suggest_AfterTrailingSpace_ShouldNotCompleteFinishedWord() {
+        assertTrue(texts(suggester.suggest("vintage ", 10)).isEmpty());
+        assertTrue(suggester.suggest("xyz", 10).isEmpty());
+    }
+
+    @Test
+    void update_WhenBidsArrive_ShouldReorderCompletions() {
+        // When
+        AuctionItem popular = auction("2", "Rolling Pin", "Kitchen", 40);
+        popular.setUpdatedAt(LocalDateTime.now().plusSeconds(1));
+        suggester.onAuctionItemChanged(AuctionItemChangedEvent.updated(popular, "totalBids"));
+
+        // Then
+        assertEquals(List.of("rolling", "rolex", "roland"), texts(suggester.suggest("ro", 10)));
+    }
+
+    @Test
+    void update_WhenAuctionEndsOrTitleChanges_ShouldDropOldTerms() {
+        // When
+        AuctionItem ended = auction("1", "Vintage Rolex Watch", "Jewelry", 12);
+        ended.setStatus(AuctionItem.AuctionStatus.ENDED);
+        ended.setUpdatedAt(LocalDateTime.now().plusSeconds(1));
+        suggester.update(ended);
+        AuctionItem renamed = auction("3", "Korg Synthesizer", "Music", 4);
+        renamed.setUpdatedAt(LocalDateTime.now().plusSeconds(1));
+        suggester.update(renamed);
+
+        // Then
+        assertEquals(List.of("rolling"), texts(suggester.suggest("ro", 10)));
+        assertEquals(List.of("vintage vinyl"), texts(suggester.suggest("vintage vi", 10)));
+        assertEquals(List.of("korg"), texts(suggester.suggest("k", 10)));
+        assertEquals(3, suggester.getAuctionCount());
+    }
+
+    @Test
+    void onWatchersChanged_ShouldRaiseWeight() {
+        // When
+        suggester.onWatchersChanged("3", 10);
+
+        // Then
+        assertEquals(List.of("roland", "rolex", "rolling"), texts(suggester.suggest("ro", 10)));
+
+        // When
+        suggester.onWatchersChanged("3", -10);
+
+        // Then
+        assertEquals("rolex", texts(suggester.suggest("ro", 10)).get(0));
+    }
+
+    @Test
+    void onWatchersChanged_WhenUnwatchingAnUnseenAuction_ShouldNotGoNegative() {
+        // Given an unwatch for a watch this instance never saw
+        suggester.onWatchersChanged("3", -1);
+
+        // When
+        suggester.onWatchersChanged("3", 1);
+
+        // Then "roland" weighs 1 + 4 bids + 2 for the watcher
+        assertEquals(7, suggester.suggest("rola", 10).get(0).weight());
+    }
+
+    @Test
+    void remove_ShouldDropAuctionTerms() {
+        // When
+        suggester.onAuctionItemChanged(AuctionItemChangedEvent.deleted("2"));
+
+        // Then
+        assertEquals(List.of("rolex", "roland"), texts(suggester.suggest("ro", 10)));
+        assertTrue(suggester.suggest("kit", 10).isEmpty());
+    }
+
+    @Test
+    void rebuild_ShouldDropAuctionsAndWatchersGoneFromMongo() {
+        // Given
+        suggester.onWatchersChanged("2", 20);
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        ReflectionTestUtils.setField(suggester, "mongoTemplate", mongoTemplate);
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("watchlist"), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(), new Document()));
+        when(mongoTemplate.stream(any(Query.class), eq(AuctionItem.class))).thenReturn(Stream.of(
+                auction("1", "Vintage Rolex Watch", "Jewelry", 12),
+                auction("2", "Rolling Pin", "Kitchen", 1)));
+
+        // When
+        suggester.rebuild();
+
+        // Then
+        assertEquals(2, suggester.getAuctionCount());
+        assertEquals(List.of("rolex", "rolling"), texts(suggester.suggest("ro", 10)));
+        assertTrue(suggester.suggest("vinyl", 10).isEmpty());
+        assertTrue(suggester.suggest("music", 10).isEmpty());
+    }
+
+    // Completions are read from the per-node top lists, so latency depends on the prefix length and
+    // not on the number of terms. Run with -Pbenchmark, add -Dsuggest.benchmark.size=1000000 for the
+    // full-size check.
+    @Tag("benchmark")
+    @Test
+    void benchmark_SuggestShouldStaySubMillisecond() {
+        int size = Integer.getInteger("suggest.benchmark.size", 100_000);
+        Random random = new Random(42);
+        AuctionSuggester large = new AuctionSuggester();
+        long buildStart = System.nanoTime();
+        for (int i = 0; i < size; i++) {
+            large.update(auction(String.valueOf(i), word(random) + " " + word(random) + " " + word(random),
+                    "Category" + random.nextInt(50), random.nextInt(100)));
+        }
+        long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+
+        String[] prefixes = new String[2_000];
+        for (int i = 0; i < prefixes.length; i++) {
+            prefixes[i] = word(random).substring(0, 1 + random.nextInt(3));
+        }
+        for (String prefix : prefixes) {
+            large.suggest(prefix, 10);
+        }
+
+        long start = System.nanoTime();
+        for (String prefix : prefixes) {
+            assertFalse(large.suggest(prefix, 10).isEmpty());
+        }
+        long micros = (System.nanoTime() - start) / 1_000 / prefixes.length;
+
+        logger.info("{} auctions indexed for suggestions in {} ms; avg suggest {} us", size, buildMillis, micros);
+        assertTrue(micros < 1_000);
+    }
+
+    private static List<String> texts(List<AuctionSuggester.Suggestion> suggestions) {
+        return suggestions.stream()
+                .filter(s -> s.type() == AuctionSuggester.SuggestionType.TERM)
+                .map(AuctionSuggester.Suggestion::text)
+                .toList();
+    }
+
+    private static String word(Random random) {
+        StringBuilder word = new StringBuilder();
+        int length = 4 + random.nextInt(5);
+        for (int c = 0; c < length; c++) {
+            word.append((char) ('a' + random.nextInt(26)));
+        }
+        return word.toString();
+    }
+
+    private static AuctionItem auction(String id, String title, String category, int totalBids) {
+        AuctionItem item = new AuctionItem();
+        item.setId(id);
+        item.setTitle(title);
+        item.setCategory(category);
+        item.setTotalBids(totalBids);
+        item.setStatus(AuctionItem.AuctionStatus.ACTIVE);
+        item.setUpdatedAt(LocalDateTime.now());
+        return item;
+    }
+}
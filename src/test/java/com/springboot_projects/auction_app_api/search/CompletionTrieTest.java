@@ -0,0 +1,62 @@
+package com.springboot_projects.auction_app_api.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompletionTrieTest {
+
+    @Test
+    void complete_AfterRandomUpdates_ShouldMatchBruteForceTopK() {
+        // Given
+        Random random = new Random(7);
+        CompletionTrie trie = new CompletionTrie(5);
+        Map<String, Long> weights = new HashMap<>();
+
+        // When: inserts, reweights and removals over a small alphabet so edges split and merge often
+        for (int i = 0; i < 20_000; i++) {
+            String key = randomKey(random);
+            long delta = random.nextInt(10) < 7 ? 1 + random.nextInt(5) : -(1 + random.nextInt(5));
+            long current = weights.getOrDefault(key, 0L);
+            if (delta < 0 && current == 0) {
+                continue;
+            }
+            long updated = Math.max(0, current + delta);
+            trie.add(key, key, delta);
+            if (updated == 0) {
+                weights.remove(key);
+            } else {
+                weights.put(key, updated);
+            }
+        }
+
+        // Then
+        assertEquals(weights.size(), trie.size());
+        for (int i = 0; i < 500; i++) {
+            String prefix = randomKey(random).substring(0, 1 + random.nextInt(2));
+            List<CompletionTrie.Completion> expected = weights.entrySet().stream()
+                    .filter(e -> e.getKey().startsWith(prefix))
+                    .map(e -> new CompletionTrie.Completion(e.getKey(), e.getValue()))
+                    .sorted(Comparator.comparingLong(CompletionTrie.Completion::weight).reversed()
+                            .thenComparing(CompletionTrie.Completion::text))
+                    .limit(5)
+                    .toList();
+            assertEquals(expected, trie.complete(prefix, 5), "prefix " + prefix);
+        }
+    }
+
+    private static String randomKey(Random random) {
+        StringBuilder key = new StringBuilder();
+        int length = 2 + random.nextInt(4);
+        for (int i = 0; i < length; i++) {
+            key.append((char) ('a' + random.nextInt(3)));
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,43 @@
+package com.springboot_projects.auction_app_api.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DocAccumulatorTest {
+
+    @Test
+    void put_ShouldKeepCountsAndScoresOfTouchedDocumentsThroughGrowth() {
+        // Given: sized for far fewer documents than are touched
+        DocAccumulator matches = new DocAccumulator(2);
+
+        // When
+        for (int doc = 0; doc < 10_000; doc += 7) {
+            matches.put(doc, 1, 1.5f);
+            matches.put(doc, 2, 0.5f);
+        }
+
+        // Then
+        assertEquals(1429, matches.size());
+        assertEquals(7 * 100, matches.docAt(100));
+        assertEquals(2, matches.count(700));
+        assertEquals(2.0f, matches.score(700));
+        assertEquals(0, matches.count(701));
+        assertEquals(0, matches.score(701));
+    }
+
+    @Test
+    void increment_ShouldCountHitsPerDocument() {
+        // Given
+        DocAccumulator matches = new DocAccumulator(0);
+
+        // When
+        matches.increment(Integer.MAX_VALUE);
+        matches.increment(3);
+
+        // Then
+        assertEquals(2, matches.increment(3));
+        assertEquals(1, matches.count(Integer.MAX_VALUE));
+        assertEquals(3, matches.docAt(1));
+    }
+}
@@ -0,0 +1,184 @@
+package com.springboot_projects.auction_app_api.search;
+
+import com.springboot_projects.auction_app_api.event.AuctionItemChangedEvent;
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FuzzyTitleIndexTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(FuzzyTitleIndexTest.class);
+
+    private final LocalDateTime now = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    private FuzzyTitleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new FuzzyTitleIndex();
+        index.index(auction("1", "Vintage Rolex Submariner"));
+        index.index(auction("2", "Rolex Datejust Watch"));
+        index.index(auction("3", "Omega Speedmaster"));
+        index.index(auction("4", "Gibson Les Paul Guitar"));
+    }
+
+    @Test
+    void search_ShouldFindMisspelledBrandNames() {
+        assertEquals(List.of("1", "2"), search("rolx"));
+        assertEquals(List.of("3"), search("omeba speedmastr"));
+        assertEquals(List.of("4"), search("gibsn guitar"));
+    }
+
+    @Test
+    void search_ShouldRankCloserMatchesFirst() {
+        // Given
+        index.index(auction("5", "Rolax Replica"));
+
+        // Then: "rolax" is exact for 5 and one edit away from the Rolex titles
+        assertEquals("5", search("rolax").get(0));
+        assertEquals(List.of("2"), search("rolex datejust"));
+    }
+
+    @Test
+    void search_ShouldRejectWordsBeyondTheEditBudget() {
+        assertTrue(search("rlx").isEmpty());
+        assertTrue(search("rolex speedmaster").isEmpty());
+        assertTrue(search("").isEmpty());
+    }
+
+    @Test
+    void editDistance_ShouldStopAtTheBound() {
+        assertEquals(1, FuzzyTitleIndex.editDistance("rolx", "rolex", 2));
+        assertEquals(2, FuzzyTitleIndex.editDistance("omgea", "omega", 2));
+        assertEquals(3, FuzzyTitleIndex.editDistance("watch", "guitar", 2));
+        assertEquals(0, FuzzyTitleIndex.maxEdits("le"));
+        assertEquals(2, FuzzyTitleIndex.maxEdits("speedmaster"));
+    }
+
+    @Test
+    void events_ShouldReplaceAndDropTitles() {
+        // When
+        AuctionItem renamed = auction("3", "Seiko Diver");
+        renamed.setUpdatedAt(now.plusMinutes(1));
+        index.onAuctionItemChanged(AuctionItemChangedEvent.updated(renamed, "title"));
+        index.onAuctionItemChanged(AuctionItemChangedEvent.deleted("1"));
+
+        // Then
+        assertTrue(search("omega").isEmpty());
+        assertEquals(List.of("3"), search("seico"));
+        assertEquals(List.of("2"), search("rolex"));
+        assertEquals(3, index.getDocumentCount());
+    }
+
+    @Test
+    void index_WithStaleCopy_ShouldKeepNewerTitle() {
+        // Given
+        AuctionItem newer = auction("4", "Fender Stratocaster");
+        newer.setUpdatedAt(now.plusMinutes(2));
+        index.index(newer);
+
+        // When
+        index.index(auction("4", "Gibson Les Paul Guitar"));
+
+        // Then
+        assertEquals(List.of("4"), search("stratocster"));
+        assertTrue(search("gibson").isEmpty());
+    }
+
+    // Candidates come from the trigram postings and stay bounded however many titles there are; the
+    // brute-force side computes the edit distance against every title. Run with -Pbenchmark, add
+    // -Dsearch.benchmark.size=1000000 for the full-size comparison.
+    @Tag("benchmark")
+    @Test
+    void benchmark_TrigramCandidatesShouldBeatFullScan() {
+        int size = Integer.getInteger("search.benchmark.size", 100_000);
+        String[] vocabulary = GeneratedText.vocabulary(5_000);
+        Random random = new Random(42);
+
+        FuzzyTitleIndex large = new FuzzyTitleIndex();
+        List<String> titles = new ArrayList<>(size);
+        long buildStart = System.nanoTime();
+        for (int i = 0; i < size; i++) {
+            String title = GeneratedText.words(vocabulary, random, 4);
+            titles.add(title);
+            large.index(auction(String.valueOf(i), title));
+        }
+        long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+
+        // Two title words of a random listing, each with one typo
+        String[] queries = new String[50];
+        for (int i = 0; i < queries.length; i++) {
+            String[] title = titles.get(random.nextInt(size)).split(" ");
+            queries[i] = typo(title[0], random) + " " + typo(title[1], random);
+        }
+
+        // Warm up
+        for (String query : queries) {
+            large.search(query, FuzzyTitleIndex.MAX_RESULTS);
+        }
+
+        long indexStart = System.nanoTime();
+        for (String query : queries) {
+            FuzzyTitleIndex.SearchResult result = large.search(query, FuzzyTitleIndex.MAX_RESULTS);
+            assertFalse(result.auctionIds().isEmpty(), query);
+            assertTrue(result.candidates() <= FuzzyTitleIndex.MAX_CANDIDATES);
+        }
+        long indexMicros = (System.nanoTime() - indexStart) / 1_000 / queries.length;
+
+        long scanStart = System.nanoTime();
+        int scanQueries = 5;
+        for (int q = 0; q < scanQueries; q++) {
+            String[] queryWords = queries[q].split(" ");
+            long matches = 0;
+            for (String title : titles) {
+                boolean all = true;
+                for (String queryWord : queryWords) {
+                    boolean found = false;
+                    for (String word : title.split(" ")) {
+                        found |= FuzzyTitleIndex.editDistance(queryWord, word, 2) <= 2;
+                    }
+                    all &= found;
+                }
+                matches += all ? 1 : 0;
+            }
+            assertTrue(matches > 0);
+        }
+        long scanMicros = (System.nanoTime() - scanStart) / 1_000 / scanQueries;
+
+        logger.info("{} titles indexed in {} ms, {} trigrams; avg fuzzy query: index {} us, full scan {} us",
+                size, buildMillis, large.getTrigramCount(), indexMicros, scanMicros);
+        assertTrue(indexMicros < scanMicros);
+    }
+
+    private List<String> search(String query) {
+        return index.search(query, 10).auctionIds();
+    }
+
+    private AuctionItem auction(String id, String title) {
+        AuctionItem item = new AuctionItem();
+        item.setId(id);
+        item.setTitle(title);
+        item.setUpdatedAt(now);
+        return item;
+    }
+
+    // Drop, double or replace one inner letter
+    private static String typo(String word, Random random) {
+        int at = 1 + random.nextInt(word.length() - 2);
+        return switch (random.nextInt(3)) {
+            case 0 -> word.substring(0, at) + word.substring(at + 1);
+            case 1 -> word.substring(0, at) + word.charAt(at) + word.substring(at);
+            default -> word.substring(0, at) + (char) ('a' + random.nextInt(26)) + word.substring(at + 1);
+        };
+    }
+}
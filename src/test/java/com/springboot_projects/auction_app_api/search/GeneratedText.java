@@ -0,0 +1,38 @@
+package com.springboot_projects.auction_app_api.search;
+
+import java.util.Random;
+
+// Random listing text for the index benchmarks and the checks against brute force
+final class GeneratedText {
+
+    private GeneratedText() {
+    }
+
+    // Words of 4 to 9 letters, the same for a given size on every run
+    static String[] vocabulary(int size) {
+        String[] words = new String[size];
+        Random random = new Random(7);
+        for (int i = 0; i < size; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 4 + random.nextInt(6);
+            for (int c = 0; c < length; c++) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            words[i] = word.toString();
+        }
+        return words;
+    }
+
+    static String words(String[] vocabulary, Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            // Skewed towards common words like real listings
+            int rank = (int) Math.min(vocabulary.length - 1, Math.abs(random.nextGaussian()) * vocabulary.length / 4);
+            text.append(vocabulary[rank]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,186 @@
+package com.springboot_projects.auction_app_api.search;
+
+import com.springboot_projects.auction_app_api.config.LuceneConfig;
+import com.springboot_projects.auction_app_api.event.AuctionItemChangedEvent;
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LuceneAuctionIndexTest {
+
+    @TempDir
+    Path indexDir;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Spy
+    private LuceneConfig luceneConfig = new LuceneConfig();
+
+    @InjectMocks
+    private LuceneAuctionIndex index;
+
+    private final LocalDateTime now = LocalDateTime.of(2025, 6, 1, 12, 0);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        luceneConfig.setIndexDir(indexDir.toString());
+        index.registerMetrics(meterRegistry);
+        index.open();
+        index.index(auction("a1", "Vintage Rolex Watch", "Swiss automatic", "Jewelry", "1200.00", 3));
+        index.index(auction("a2", "Gold Pocket Watch", "Antique vintage piece", "Jewelry", "95.50", 1));
+        index.index(auction("a3", "Vintage Guitar", "Fender 1965", "Music", "800.00", 2));
+        index.refresh();
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.close();
+    }
+
+    @Test
+    void search_ShouldMatchAllTermsAndRankTitleMatchesFirst() {
+        // When
+        LuceneAuctionIndex.SearchResult vintage = index.search("vintage", null, null, null, null, PageRequest.of(0, 10));
+        LuceneAuctionIndex.SearchResult vintageWatch = index.search("vintage watch", null, null, null, null,
+                PageRequest.of(0, 10));
+
+        // Then
+        assertEquals(3, vintage.total());
+        assertEquals("a2", vintage.auctionIds().get(2));
+        assertEquals(List.of("a1", "a2"), vintageWatch.auctionIds());
+    }
+
+    @Test
+    void search_ShouldApplyFiltersAndNumericPriceRange() {
+        // When
+        LuceneAuctionIndex.SearchResult jewelry = index.search(null, "Jewelry", AuctionItem.AuctionStatus.ACTIVE,
+                new BigDecimal("100"), null, PageRequest.of(0, 10));
+        LuceneAuctionIndex.SearchResult cheap = index.search("", null, null, null, new BigDecimal("800"),
+                PageRequest.of(0, 10, Sort.by("currentPrice").descending()));
+
+        // Then
+        assertEquals(List.of("a1"), jewelry.auctionIds());
+        assertEquals(List.of("a3", "a2"), cheap.auctionIds());
+    }
+
+    @Test
+    void search_ShouldSortByEndDateAndPage() {
+        // When
+        Pageable secondPage = PageRequest.of(1, 2, Sort.by("endDate").ascending());
+        LuceneAuctionIndex.SearchResult page = index.search(null, null, null, null, null, secondPage);
+
+        // Then
+        assertEquals(List.of("a1"), page.auctionIds());
+        assertEquals(3, page.total());
+        assertTrue(index.supportsSort(Sort.by("endDate", "currentPrice")));
+        assertFalse(index.supportsSort(Sort.by("title")));
+    }
+
+    @Test
+    void events_ShouldBecomeSearchableAfterRefresh() {
+        // When
+        AuctionItem renamed = auction("a3", "Vintage Drum Kit", "Ludwig", "Music", "900.00", 2);
+        renamed.setUpdatedAt(now.plusMinutes(1));
+        index.onAuctionItemChanged(AuctionItemChangedEvent.updated(renamed, "title"));
+        index.onAuctionItemChanged(AuctionItemChangedEvent.deleted("a1"));
+
+        // Then: not visible until the next refresh
+        assertEquals(1, index.search("guitar", null, null, null, null, PageRequest.of(0, 10)).total());
+        index.refresh();
+        assertEquals(0, index.search("guitar", null, null, null, null, PageRequest.of(0, 10)).total());
+        assertEquals(List.of("a3"), index.search("drum", null, null, null, null, PageRequest.of(0, 10)).auctionIds());
+        assertEquals(List.of("a3", "a2"), index.search("vintage", null, null, null, null, PageRequest.of(0, 10))
+                .auctionIds());
+    }
+
+    @Test
+    void index_WithOlderCopy_ShouldKeepNewerDocument() {
+        // Given
+        AuctionItem newer = auction("a2", "Silver Pocket Watch", "Antique", "Jewelry", "95.50", 1);
+        newer.setUpdatedAt(now.plusMinutes(2));
+        index.index(newer);
+
+        // When
+        index.index(auction("a2", "Gold Pocket Watch", "Antique", "Jewelry", "95.50", 1));
+        index.refresh();
+
+        // Then
+        assertEquals(List.of("a2"), index.search("silver", null, null, null, null, PageRequest.of(0, 10))
+                .auctionIds());
+        assertEquals(0, index.search("gold", null, null, null, null, PageRequest.of(0, 10)).total());
+    }
+
+    @Test
+    void rebuild_ShouldReplaceIndexWithMongoContents() {
+        // Given
+        when(mongoTemplate.stream(any(Query.class), eq(AuctionItem.class))).thenReturn(Stream.of(
+                auction("m1", "Signed Baseball", "1998 season", "Sports", "150.00", 4)));
+
+        // When
+        index.rebuild();
+
+        // Then
+        assertTrue(index.isReady());
+        assertEquals(0, index.search("vintage", null, null, null, null, PageRequest.of(0, 10)).total());
+        assertEquals(List.of("m1"), index.search("baseball", null, null, null, null, PageRequest.of(0, 10))
+                .auctionIds());
+    }
+
+    @Test
+    void getStats_ShouldReportDocumentsSizeAndLatency() {
+        // Given
+        index.search("vintage", null, null, null, null, PageRequest.of(0, 10));
+
+        // When
+        LuceneAuctionIndex.IndexStats stats = index.getStats();
+
+        // Then
+        assertEquals(3, stats.documents());
+        assertTrue(stats.sizeBytes() > 0);
+        assertEquals(1, stats.queries());
+        assertEquals(3.0, meterRegistry.get("search.lucene.documents").gauge().value());
+        assertEquals(1, meterRegistry.get("search.lucene.query").timer().count());
+    }
+
+    private AuctionItem auction(String id, String title, String description, String category, String price,
+            int endInDays) {
+        AuctionItem item = new AuctionItem();
+        item.setId(id);
+        item.setTitle(title);
+        item.setDescription(description);
+        item.setCategory(category);
+        item.setCurrentPrice(new BigDecimal(price));
+        item.setStatus(AuctionItem.AuctionStatus.ACTIVE);
+        item.setCreatedAt(now.minusDays(1));
+        item.setEndDate(now.plusDays(endInDays));
+        item.setUpdatedAt(now);
+        return item;
+    }
+}
@@ -0,0 +1,191 @@
+package com.springboot_projects.auction_app_api.search;
+
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+import com.springboot_projects.auction_app_api.model.SavedSearch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SavedSearchPercolatorTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SavedSearchPercolatorTest.class);
+
+    private static final String[] CATEGORIES = {"Jewelry", "Music", "Art", "Sports", "Books"};
+
+    private SavedSearchPercolator percolator;
+
+    @BeforeEach
+    void setUp() {
+        percolator = new SavedSearchPercolator();
+        percolator.add(search("s1", "u1", "vintage rolex", null, null, null));
+        percolator.add(search("s2", "u2", "rolex", "Jewelry", null, new BigDecimal("1000")));
+        percolator.add(search("s3", "u3", null, "Jewelry", new BigDecimal("100"), null));
+        percolator.add(search("s4", "u4", "guitar", null, null, null));
+    }
+
+    @Test
+    void match_ShouldRequireEveryTermAndStemLikeTheSearchIndex() {
+        // When
+        Set<String> matched = ids(percolator.match(auction("Vintage Rolex Watches", "Jewelry", "500")));
+
+        // Then
+        assertEquals(Set.of("s1", "s2", "s3"), matched);
+        assertEquals(Set.of("s2", "s3"), ids(percolator.match(auction("Rolex Datejust", "Jewelry", "500"))));
+        assertEquals(Set.of("s4"), ids(percolator.match(auction("Fender guitars", "Music", "500"))));
+    }
+
+    @Test
+    void match_ShouldApplyCategoryAndPriceBounds() {
+        assertEquals(Set.of("s1"), ids(percolator.match(auction("Vintage Rolex", "Watches", "5000"))));
+        assertEquals(Set.of("s1", "s3"), ids(percolator.match(auction("Vintage Rolex", "jewelry", "5000"))));
+        assertEquals(Set.of("s1", "s2"), ids(percolator.match(auction("Vintage Rolex", "Jewelry", "50"))));
+    }
+
+    @Test
+    void add_WithoutTermsOrCategory_ShouldBeRejected() {
+        assertFalse(percolator.add(search("s5", "u5", "the and", null, BigDecimal.ONE, null)));
+        assertEquals(4, percolator.size());
+    }
+
+    @Test
+    void removeAndReplace_ShouldUnlinkTheOldAnchor() {
+        // When
+        percolator.remove("s4");
+        percolator.add(search("s1", "u1", "omega", null, null, null));
+
+        // Then
+        assertTrue(percolator.match(auction("Fender guitar", "Music", "500")).isEmpty());
+        assertEquals(Set.of("s2", "s3"), ids(percolator.match(auction("Vintage Rolex", "Jewelry", "500"))));
+        assertEquals(Set.of("s1"), ids(percolator.match(auction("Omega Seamaster", "Watches", "500"))));
+        assertEquals(3, percolator.size());
+    }
+
+    // The percolator only verifies the searches anchored on the auction's terms; it must find the same
+    // matches as evaluating every saved search
+    @Test
+    void match_ShouldAgreeWithFullScan() {
+        Random random = new Random(42);
+        String[] vocabulary = GeneratedText.vocabulary(200);
+        SavedSearch[] searches = randomSearches(2_000, vocabulary, random);
+        SavedSearchPercolator small = new SavedSearchPercolator();
+        for (SavedSearch search : searches) {
+            small.add(search);
+        }
+
+        for (AuctionItem auction : randomAuctions(50, vocabulary, random)) {
+            assertEquals(fullScan(searches, auction), ids(small.match(auction)));
+        }
+    }
+
+    // Run with -Pbenchmark, add -Dpercolator.benchmark.size=1000000 for the full-size comparison.
+    @Tag("benchmark")
+    @Test
+    void benchmark_AnchoredMatchingShouldBeatFullScan() {
+        int size = Integer.getInteger("percolator.benchmark.size", 100_000);
+        Random random = new Random(42);
+        String[] vocabulary = GeneratedText.vocabulary(5_000);
+
+        long buildStart = System.nanoTime();
+        SavedSearch[] searches = randomSearches(size, vocabulary, random);
+        SavedSearchPercolator large = new SavedSearchPercolator();
+        for (SavedSearch search : searches) {
+            large.add(search);
+        }
+        long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+
+        AuctionItem[] auctions = randomAuctions(50, vocabulary, random);
+        // Warm up
+        for (AuctionItem auction : auctions) {
+            large.match(auction);
+        }
+        long matchStart = System.nanoTime();
+        long matched = 0;
+        for (AuctionItem auction : auctions) {
+            matched += large.match(auction).size();
+        }
+        long matchMicros = (System.nanoTime() - matchStart) / 1_000 / auctions.length;
+
+        long scanStart = System.nanoTime();
+        int scanned = 5;
+        for (int a = 0; a < scanned; a++) {
+            fullScan(searches, auctions[a]);
+        }
+        long scanMicros = (System.nanoTime() - scanStart) / 1_000 / scanned;
+
+        logger.info("{} saved searches indexed in {} ms under {} anchors; avg auction: {} matches, "
+                + "percolator {} us, full scan {} us", size, buildMillis, large.getAnchorCount(),
+                matched / auctions.length, matchMicros, scanMicros);
+        assertTrue(matchMicros < scanMicros);
+    }
+
+    private static SavedSearch[] randomSearches(int size, String[] vocabulary, Random random) {
+        SavedSearch[] searches = new SavedSearch[size];
+        for (int i = 0; i < size; i++) {
+            String query = random.nextInt(10) == 0 ? null
+                    : GeneratedText.words(vocabulary, random, 1 + random.nextInt(2));
+            String category = query == null || random.nextBoolean() ? CATEGORIES[random.nextInt(CATEGORIES.length)]
+                    : null;
+            BigDecimal max = random.nextBoolean() ? BigDecimal.valueOf(50 + random.nextInt(950)) : null;
+            searches[i] = search("s" + i, "u" + random.nextInt(Math.max(1, size / 2)), query, category, null, max);
+        }
+        return searches;
+    }
+
+    private static AuctionItem[] randomAuctions(int count, String[] vocabulary, Random random) {
+        AuctionItem[] auctions = new AuctionItem[count];
+        for (int i = 0; i < count; i++) {
+            auctions[i] = auction(GeneratedText.words(vocabulary, random, 4),
+                    CATEGORIES[random.nextInt(CATEGORIES.length)], String.valueOf(1 + random.nextInt(1000)));
+            auctions[i].setDescription(GeneratedText.words(vocabulary, random, 20));
+        }
+        return auctions;
+    }
+
+    // Every saved search evaluated against the auction
+    private static Set<String> fullScan(SavedSearch[] searches, AuctionItem auction) {
+        Set<String> auctionTerms = new HashSet<>(TextAnalyzer.analyze(auction.getTitle()));
+        auctionTerms.addAll(TextAnalyzer.analyze(auction.getDescription()));
+        auctionTerms.addAll(TextAnalyzer.analyze(auction.getCategory()));
+        Set<String> expected = new HashSet<>();
+        for (SavedSearch search : searches) {
+            if ((search.getCategory() == null || search.getCategory().equalsIgnoreCase(auction.getCategory()))
+                    && (search.getMaxPrice() == null || auction.getCurrentPrice().compareTo(search.getMaxPrice()) <= 0)
+                    && auctionTerms.containsAll(TextAnalyzer.analyze(search.getQuery()))) {
+                expected.add(search.getId());
+            }
+        }
+        return expected;
+    }
+
+    private static Set<String> ids(List<SavedSearchPercolator.Match> matches) {
+        return matches.stream().map(SavedSearchPercolator.Match::savedSearchId).collect(Collectors.toSet());
+    }
+
+    private static SavedSearch search(String id, String userId, String query, String category, BigDecimal min,
+            BigDecimal max) {
+        SavedSearch search = new SavedSearch(userId, null, query, category, min, max);
+        search.setId(id);
+        return search;
+    }
+
+    private static AuctionItem auction(String title, String category, String price) {
+        AuctionItem item = new AuctionItem();
+        item.setId("a1");
+        item.setTitle(title);
+        item.setCategory(category);
+        item.setCurrentPrice(new BigDecimal(price));
+        item.setStatus(AuctionItem.AuctionStatus.ACTIVE);
+        return item;
+    }
+}
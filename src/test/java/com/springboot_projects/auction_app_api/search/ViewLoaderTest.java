@@ -0,0 +1,96 @@
+package com.springboot_projects.auction_app_api.search;
+
+import com.springboot_projects.auction_app_api.config.SearchConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ViewLoaderTest {
+
+    private final SearchConfig config = new SearchConfig();
+    private final ViewLoader loader = new ViewLoader();
+    private final CountDownLatch loaded = new CountDownLatch(2);
+    private final AtomicInteger startupLoads = new AtomicInteger();
+    private final AtomicInteger rebuilds = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(loader, "searchConfig", config);
+        ReflectionTestUtils.setField(loader, "views", List.of(new FailingView(), new CountingView()));
+    }
+
+    @Test
+    void loadOnStartup_ShouldLoadEveryViewEvenWhenOneFails() throws Exception {
+        // When
+        loader.loadOnStartup();
+
+        // Then
+        assertTrue(loaded.await(5, TimeUnit.SECONDS));
+        assertEquals(1, startupLoads.get());
+        assertEquals(0, rebuilds.get());
+    }
+
+    @Test
+    void loadOnStartup_WhenDisabled_ShouldLeaveTheViewsUnloaded() {
+        // Given
+        config.setLoadOnStartup(false);
+
+        // When
+        loader.loadOnStartup();
+
+        // Then
+        assertEquals(2, loaded.getCount());
+    }
+
+    @Test
+    void reloadAfterMissedChanges_ShouldRebuildEveryView() throws Exception {
+        // When
+        loader.reloadAfterMissedChanges();
+
+        // Then
+        assertTrue(loaded.await(5, TimeUnit.SECONDS));
+        assertEquals(0, startupLoads.get());
+        assertEquals(1, rebuilds.get());
+    }
+
+    private class FailingView implements LoadedView {
+
+        @Override
+        public void rebuild() {
+            loaded.countDown();
+            throw new IllegalStateException("database unavailable");
+        }
+
+        @Override
+        public String fallback() {
+            return "nothing";
+        }
+    }
+
+    private class CountingView implements LoadedView {
+
+        @Override
+        public void rebuild() {
+            rebuilds.incrementAndGet();
+            loaded.countDown();
+        }
+
+        @Override
+        public void loadOnStartup() {
+            startupLoads.incrementAndGet();
+            loaded.countDown();
+        }
+
+        @Override
+        public String fallback() {
+            return "nothing";
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.springboot_projects.auction_app_api.security;
+
+import com.springboot_projects.auction_app_api.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilterTest.class);
+
+    private static final String SECRET = "test-secret-key-that-is-long-enough-for-hmac-sha-256";
+
+    @Spy
+    private JwtUtil jwtUtil = new JwtUtil();
+
+    @Spy
+    private TokenRevocationCache tokenRevocationCache = new TokenRevocationCache();
+
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
+    @InjectMocks
+    private JwtAuthenticationFilter filter;
+
+    private CustomUserDetails userDetails;
+    private String loginToken;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3600000L);
+        ReflectionTestUtils.setField(tokenRevocationCache, "expiration", 3600000L);
+        tokenRevocationCache.load();
+
+        User user = new User();
+        user.setId("user123");
+        user.setUsername("bidder1");
+        user.setEmail("bidder1@example.com");
+        user.setRoles(new HashSet<>(Set.of(User.Role.BIDDER, User.Role.SELLER)));
+        user.setActive(true);
+        userDetails = new CustomUserDetails(user);
+        // The claims AuthService.login adds
+        loginToken = jwtUtil.generateToken(userDetails, Map.of("userId", "user123", "email", "bidder1@example.com",
+                "roles", List.of("BIDDER", "SELLER")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void loginToken_ShouldAuthenticateFromClaimsWithoutLoadingUser() throws Exception {
+        // When
+        Authentication authentication = filter(loginToken);
+
+        // Then
+        assertNotNull(authentication);
+        CustomUserDetails principal = (CustomUserDetails) authentication.getPrincipal();
+        assertEquals("bidder1", principal.getUsername());
+        assertEquals("user123", principal.getUserId());
+        assertTrue(authentication.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_SELLER")));
+        verifyNoInteractions(userDetailsService);
+        verify(jwtUtil, times(1)).parseToken(loginToken);
+    }
+
+    @Test
+    void revokedUser_ShouldOnlyAcceptTokensIssuedAfterRevocation() throws Exception {
+        // Given
+        tokenRevocationCache.revoke("user123");
+
+        // Then
+        assertNull(filter(loginToken));
+        String reissued = Jwts.builder()
+                .claims(Map.of("userId", "user123", "roles", List.of("BIDDER")))
+                .subject("bidder1")
+                .issuedAt(new Date(System.currentTimeMillis() + 2000))
+                .expiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .compact();
+        assertNotNull(filter(reissued));
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void tokenWithoutLoginClaims_ShouldFallBackToUserLookup() throws Exception {
+        // Given
+        String plainToken = jwtUtil.generateToken(userDetails);
+        when(userDetailsService.loadUserByUsername("bidder1")).thenReturn(userDetails);
+
+        // When
+        Authentication authentication = filter(plainToken);
+
+        // Then
+        assertSame(userDetails, authentication.getPrincipal());
+
+        // When: the account is deactivated
+        userDetails.getUser().setActive(false);
+
+        // Then
+        assertNull(filter(plainToken));
+    }
+
+    @Test
+    void beforeRevocationsAreLoaded_ShouldCheckUserStore() throws Exception {
+        // Given
+        TokenRevocationCache notLoaded = new TokenRevocationCache();
+        ReflectionTestUtils.setField(filter, "tokenRevocationCache", notLoaded);
+        when(userDetailsService.loadUserByUsername("bidder1")).thenReturn(userDetails);
+
+        // When
+        Authentication authentication = filter(loginToken);
+
+        // Then
+        assertSame(userDetails, authentication.getPrincipal());
+        verify(userDetailsService).loadUserByUsername("bidder1");
+    }
+
+    @Test
+    void invalidToken_ShouldStayAnonymous() throws Exception {
+        assertNull(filter("not-a-jwt"));
+        assertNull(filter(loginToken.substring(0, loginToken.length() - 2) + "xx"));
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Tag("benchmark")
+    @Test
+    void perRequestOverhead_ClaimsPathShouldBeatUserLookupAndRepeatedParsing() throws Exception {
+        // Given: real collaborators, the spies above would add their own interception cost
+        UserDetailsService userStore = username -> userDetails;
+        JwtAuthenticationFilter unmocked = new JwtAuthenticationFilter();
+        JwtUtil realJwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(realJwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(unmocked, "jwtUtil", realJwtUtil);
+        TokenRevocationCache revocations = new TokenRevocationCache();
+        revocations.load();
+        ReflectionTestUtils.setField(unmocked, "tokenRevocationCache", revocations);
+        int requests = 20_000;
+
+        // Warm up both paths
+        previousFilter(userStore, requests);
+        currentFilter(unmocked, requests);
+
+        // When
+        long before = previousFilter(userStore, requests);
+        long after = currentFilter(unmocked, requests);
+
+        // Then
+        logger.info("JWT filter overhead per request: {} ns with user lookup and three parses, {} ns from claims",
+                before / requests, after / requests);
+        assertTrue(after < before);
+    }
+
+    // Previous behavior: a fresh HMAC key and parser for each of three parses, plus a user lookup that
+    // is in memory here rather than up to two Mongo queries
+    private long previousFilter(UserDetailsService userStore, int requests) {
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            MockHttpServletRequest request = request(loginToken);
+            String username = parse(loginToken).getSubject();
+            UserDetails loaded = userStore.loadUserByUsername(username);
+            boolean valid = parse(loginToken).getSubject().equals(loaded.getUsername())
+                    && parse(loginToken).getExpiration().after(new Date());
+            assertTrue(valid);
+            UsernamePasswordAuthenticationToken authToken =
+                    new UsernamePasswordAuthenticationToken(loaded, null, loaded.getAuthorities());
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+            SecurityContextHolder.clearContext();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long currentFilter(JwtAuthenticationFilter jwtFilter, int requests) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            assertNotNull(filter(jwtFilter, loginToken));
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static Claims parse(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    private Authentication filter(String token) throws Exception {
+        return filter(filter, token);
+    }
+
+    private static Authentication filter(JwtAuthenticationFilter jwtFilter, String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        jwtFilter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/auctions/auction1");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
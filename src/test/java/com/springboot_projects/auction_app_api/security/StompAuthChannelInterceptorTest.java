@@ -0,0 +1,190 @@
+package com.springboot_projects.auction_app_api.security;
+
+import com.springboot_projects.auction_app_api.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Principal;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StompAuthChannelInterceptorTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(StompAuthChannelInterceptorTest.class);
+
+    @Spy
+    private JwtUtil jwtUtil = new JwtUtil();
+
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
+    @Mock
+    private MessageChannel channel;
+
+    @InjectMocks
+    private StompAuthChannelInterceptor interceptor;
+
+    private CustomUserDetails userDetails;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtUtil, "secret", "test-secret-key-that-is-long-enough-for-hmac-sha-256");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3600000L);
+
+        User user = new User();
+        user.setId("user123");
+        user.setUsername("bidder1");
+        user.setRoles(Set.of(User.Role.BIDDER));
+        user.setActive(true);
+        userDetails = new CustomUserDetails(user);
+        token = jwtUtil.generateToken(userDetails);
+    }
+
+    @Test
+    void connect_WithValidToken_ShouldAttachPrincipal() {
+        // Given
+        when(userDetailsService.loadUserByUsername("bidder1")).thenReturn(userDetails);
+        Message<?> connect = connectFrame("Bearer " + token);
+
+        // When
+        interceptor.preSend(connect, channel);
+
+        // Then
+        Principal principal = StompHeaderAccessor.wrap(connect).getUser();
+        assertNotNull(principal);
+        assertEquals("bidder1", principal.getName());
+        assertSame(userDetails, ((Authentication) principal).getPrincipal());
+    }
+
+    @Test
+    void connect_WithInvalidToken_ShouldBeRejected() {
+        // Given
+        Message<?> connect = connectFrame("Bearer not-a-jwt");
+
+        // When / Then
+        assertThrows(MessageDeliveryException.class, () -> interceptor.preSend(connect, channel));
+    }
+
+    @Test
+    void connect_ForDeactivatedUser_ShouldBeRejected() {
+        // Given
+        userDetails.getUser().setActive(false);
+        when(userDetailsService.loadUserByUsername("bidder1")).thenReturn(userDetails);
+
+        // When / Then
+        assertThrows(MessageDeliveryException.class,
+                () -> interceptor.preSend(connectFrame("Bearer " + token), channel));
+    }
+
+    @Test
+    void connect_WithoutToken_ShouldStayAnonymous() {
+        // Given
+        Message<?> connect = connectFrame(null);
+
+        // When
+        interceptor.preSend(connect, channel);
+
+        // Then
+        assertNull(StompHeaderAccessor.wrap(connect).getUser());
+    }
+
+    @Test
+    void send_ShouldNotParseTokenOrLoadUser() {
+        // Given
+        Message<?> send = sendFrame(authenticatedPrincipal());
+
+        // When
+        interceptor.preSend(send, channel);
+
+        // Then
+        verify(jwtUtil, never()).extractUsername(anyString());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Tag("benchmark")
+    @Test
+    void perMessageAuthOverhead_CachedPrincipalShouldBeCheaperThanTokenValidation() {
+        // Given
+        lenient().when(userDetailsService.loadUserByUsername("bidder1")).thenReturn(userDetails);
+        Message<?> send = sendFrame(authenticatedPrincipal());
+        int messages = 2_000;
+
+        // Warm up both paths
+        validatePerMessage(messages);
+        resolveCachedPrincipal(send, messages);
+
+        // When
+        long before = validatePerMessage(messages);
+        long after = resolveCachedPrincipal(send, messages);
+
+        // Then
+        logger.info("Per-message auth overhead: {} ns validating the token, {} ns with the CONNECT principal",
+                before / messages, after / messages);
+        assertTrue(after < before);
+    }
+
+    // Previous behavior: every frame carried the token and was authenticated on its own
+    private long validatePerMessage(int messages) {
+        long start = System.nanoTime();
+        for (int i = 0; i < messages; i++) {
+            UserDetails loaded = userDetailsService.loadUserByUsername(jwtUtil.extractUsername(token));
+            assertTrue(jwtUtil.validateToken(token, loaded));
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long resolveCachedPrincipal(Message<?> send, int messages) {
+        long start = System.nanoTime();
+        for (int i = 0; i < messages; i++) {
+            Message<?> intercepted = interceptor.preSend(send, channel);
+            Authentication authentication = (Authentication) StompHeaderAccessor.wrap(intercepted).getUser();
+            assertSame(userDetails, authentication.getPrincipal());
+        }
+        return System.nanoTime() - start;
+    }
+
+    private Authentication authenticatedPrincipal() {
+        return new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities());
+    }
+
+    private static Message<?> connectFrame(String authorization) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        if (authorization != null) {
+            accessor.setNativeHeader("Authorization", authorization);
+        }
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<?> sendFrame(Principal user) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SEND);
+        accessor.setDestination("/app/auction/auction1/bid");
+        accessor.setUser(user);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,82 @@
+package com.springboot_projects.auction_app_api.security;
+
+import com.springboot_projects.auction_app_api.event.UserAccessChangedEvent;
+import com.springboot_projects.auction_app_api.model.User;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationCacheTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private TokenRevocationCache cache;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "expiration", 3600000L);
+    }
+
+    @Test
+    void load_ShouldRevokeUsersWhoseAccessChangedOrWhoWereDeletedBeforeTheRestart() {
+        // Given: an admin demoted ten minutes ago and a user deleted five minutes ago
+        LocalDateTime demotedAt = LocalDateTime.now().minusMinutes(10);
+        User demoted = new User();
+        demoted.setId("demoted");
+        demoted.setAccessChangedAt(demotedAt);
+        when(mongoTemplate.find(any(Query.class), eq(User.class))).thenReturn(List.of(demoted));
+        Date deletedAt = new Date(System.currentTimeMillis() - 5 * 60_000);
+        when(mongoTemplate.find(any(Query.class), eq(Document.class),
+                eq(TokenRevocationCache.DELETED_USERS_COLLECTION)))
+                .thenReturn(List.of(new Document("_id", "deleted").append("revokedAt", deletedAt)));
+
+        // When
+        cache.load();
+
+        // Then: tokens from before the change are refused, those issued after it still work
+        Date beforeDemotion = Date.from(demotedAt.minusMinutes(1).atZone(ZoneId.systemDefault()).toInstant());
+        Date afterDemotion = Date.from(demotedAt.plusMinutes(1).atZone(ZoneId.systemDefault()).toInstant());
+        assertTrue(cache.isReady());
+        assertTrue(cache.isRevoked("demoted", beforeDemotion));
+        assertFalse(cache.isRevoked("demoted", afterDemotion));
+        assertTrue(cache.isRevoked("deleted", new Date(deletedAt.getTime() - 60_000)));
+        assertFalse(cache.isRevoked("other", beforeDemotion));
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(User.class));
+        assertTrue(query.getValue().getQueryObject().toString().contains("accessChangedAt"));
+    }
+
+    @Test
+    void deletion_ShouldBeStoredSoItSurvivesARestart() {
+        // When
+        cache.onUserAccessChanged(UserAccessChangedEvent.deleted("user-1"));
+        cache.onUserAccessChanged(new UserAccessChangedEvent("user-2"));
+
+        // Then
+        assertTrue(cache.isRevoked("user-1", new Date(System.currentTimeMillis() - 60_000)));
+        verify(mongoTemplate, times(1)).upsert(any(Query.class), any(Update.class),
+                eq(TokenRevocationCache.DELETED_USERS_COLLECTION));
+    }
+}
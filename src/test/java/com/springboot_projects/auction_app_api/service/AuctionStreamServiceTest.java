@@ -0,0 +1,220 @@
+package com.springboot_projects.auction_app_api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.springboot_projects.auction_app_api.config.StreamConfig;
+import com.springboot_projects.auction_app_api.config.WebSocketTransportConfig;
+import com.springboot_projects.auction_app_api.controller.AuctionItemController;
+import com.springboot_projects.auction_app_api.dto.AuctionItemDto;
+import com.springboot_projects.auction_app_api.dto.BidNotification;
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+import com.springboot_projects.auction_app_api.websocket.BidStreamBuffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@ExtendWith(MockitoExtension.class)
+class AuctionStreamServiceTest {
+
+    @Mock
+    private AuctionItemService auctionItemService;
+
+    private BidStreamBuffer bidStreamBuffer;
+    private AuctionStreamService auctionStreamService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        bidStreamBuffer = new BidStreamBuffer(new WebSocketTransportConfig());
+        auctionStreamService = new AuctionStreamService(new StreamConfig(), bidStreamBuffer, objectMapper,
+                new SimpleMeterRegistry());
+
+        AuctionItemController controller = new AuctionItemController();
+        ReflectionTestUtils.setField(controller, "auctionItemService", auctionItemService);
+        ReflectionTestUtils.setField(controller, "auctionStreamService", auctionStreamService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+        AuctionItem auction = new AuctionItem();
+        auction.setId("auction1");
+        auction.setTitle("Vintage Watch");
+        auction.setTotalBids(1);
+        lenient().when(auctionItemService.getAuctionItemById("auction1")).thenReturn(Optional.of(auction));
+    }
+
+    @AfterEach
+    void tearDown() {
+        auctionStreamService.destroy();
+    }
+
+    @Test
+    void stream_WithoutLastEventId_ShouldSendSnapshotThenLiveBids() throws Exception {
+        // Given
+        MockHttpServletResponse response = openStream(null);
+
+        // When
+        publish(notification(2));
+
+        // Then
+        String body = awaitContent(response, "event:bid");
+        assertTrue(body.indexOf("event:snapshot") < body.indexOf("event:bid"));
+        assertTrue(body.contains("\"title\":\"Vintage Watch\""));
+        assertTrue(body.contains("id:2"));
+        assertEquals(1, auctionStreamService.getConnectionCount("auction1"));
+    }
+
+    @Test
+    void stream_WithLastEventId_ShouldReplayOnlyMissedBids() throws Exception {
+        // Given
+        publish(notification(1));
+        publish(notification(2));
+        publish(notification(3));
+
+        // When
+        MockHttpServletResponse response = openStream("1");
+
+        // Then
+        String body = awaitContent(response, "id:3");
+        assertFalse(body.contains("event:snapshot"));
+        assertFalse(body.contains("id:1\n"));
+        assertTrue(body.indexOf("id:2") < body.indexOf("id:3"));
+    }
+
+    @Test
+    void publishStatus_ShouldReachOpenStreams() throws Exception {
+        // Given
+        MockHttpServletResponse response = openStream(null);
+        BidNotification status = new BidNotification();
+        status.setAuctionId("auction1");
+        status.setType(BidNotification.NotificationType.AUCTION_ENDED);
+
+        // When
+        auctionStreamService.publishStatus("auction1", status);
+
+        // Then
+        String body = awaitContent(response, "event:status");
+        assertTrue(body.contains("AUCTION_ENDED"));
+    }
+
+    @Test
+    void stream_ForUnknownAuction_ShouldNotRegisterClient() {
+        // Given
+        when(auctionItemService.getAuctionItemById("missing")).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThrows(Exception.class, () -> mockMvc.perform(get("/api/auctions/missing/stream")));
+        assertEquals(0, auctionStreamService.getConnectionCount());
+    }
+
+    @Test
+    void sendHeartbeats_WhenASendNeverReturns_ShouldDropTheClient() throws Exception {
+        // Given an emitter whose first write blocks until released
+        StreamConfig config = new StreamConfig();
+        config.setSendTimeLimit(50);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CountDownLatch sendStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(1);
+        AuctionStreamService service = new AuctionStreamService(config, bidStreamBuffer, new ObjectMapper(),
+                registry) {
+            @Override
+            SseEmitter createEmitter() {
+                return new SseEmitter() {
+                    @Override
+                    public void send(SseEventBuilder builder) throws IOException {
+                        sendStarted.countDown();
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+
+                    @Override
+                    public synchronized void complete() {
+                        completed.countDown();
+                    }
+                };
+            }
+        };
+        try {
+            service.subscribe("auction1", null, AuctionItemDto::new);
+            assertTrue(sendStarted.await(5, TimeUnit.SECONDS));
+            Thread.sleep(100);
+
+            // When
+            service.sendHeartbeats();
+
+            // Then
+            assertEquals(0, service.getConnectionCount());
+            assertEquals(1, registry.get("sse.clients.dropped").counter().count());
+
+            // And the emitter is completed once the blocked write returns
+            release.countDown();
+            assertTrue(completed.await(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            service.destroy();
+        }
+    }
+
+    private MockHttpServletResponse openStream(String lastEventId) throws Exception {
+        var requestBuilder = get("/api/auctions/auction1/stream");
+        if (lastEventId != null) {
+            requestBuilder.header("Last-Event-ID", lastEventId);
+        }
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return result.getResponse();
+    }
+
+    private void publish(BidNotification notification) {
+        bidStreamBuffer.append("auction1", notification);
+        auctionStreamService.publishBid("auction1", notification);
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String body = response.getContentAsString();
+        while (!body.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            body = response.getContentAsString();
+        }
+        assertTrue(body.contains(expected), "Expected '" + expected + "' in stream: " + body);
+        return body;
+    }
+
+    private static BidNotification notification(int totalBids) {
+        BidNotification notification = new BidNotification();
+        notification.setAuctionId("auction1");
+        notification.setBidAmount(BigDecimal.valueOf(100 + totalBids));
+        notification.setTotalBids(totalBids);
+        notification.setType(BidNotification.NotificationType.NEW_BID);
+        return notification;
+    }
+}
@@ -0,0 +1,100 @@
+package com.springboot_projects.auction_app_api.service;
+
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+import com.springboot_projects.auction_app_api.model.Bid;
+import com.springboot_projects.auction_app_api.model.User;
+import com.springboot_projects.auction_app_api.repository.BidRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BidServiceTest {
+
+    @Mock
+    private BidRepository bidRepository;
+
+    @Mock
+    private AuctionItemService auctionItemService;
+
+    @Mock
+    private WebSocketNotificationService webSocketNotificationService;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private UserService userService;
+
+    @InjectMocks
+    private BidService bidService;
+
+    private AuctionItem auction;
+    private User bidder;
+    private Bid previousWinner;
+
+    @BeforeEach
+    void setUp() {
+        User seller = user("seller1");
+        bidder = user("bidder2");
+        auction = new AuctionItem("Gold Watch", "Description", new BigDecimal("100.00"),
+                LocalDateTime.now().minusHours(1), LocalDateTime.now().plusDays(1), seller);
+        auction.setId("auction1");
+        auction.setStatus(AuctionItem.AuctionStatus.ACTIVE);
+        previousWinner = new Bid(new BigDecimal("100.00"), user("bidder1"), auction);
+        previousWinner.setId("bid1");
+        previousWinner.setStatus(Bid.BidStatus.WINNING);
+
+        when(auctionItemService.getAuctionItemById("auction1")).thenReturn(Optional.of(auction));
+        when(userService.getUserById("bidder2")).thenReturn(Optional.of(bidder));
+        when(bidRepository.save(any(Bid.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(bidRepository.findByAuctionItemOrderByTimestampDesc(auction)).thenReturn(List.of(previousWinner));
+    }
+
+    @Test
+    void placeBid_ShouldOutbidThePreviousWinner() {
+        // When
+        Bid placed = bidService.placeBid("auction1", "bidder2", new BigDecimal("110.00"));
+
+        // Then
+        assertEquals(Bid.BidStatus.WINNING, placed.getStatus());
+        assertEquals(Bid.BidStatus.OUTBID, previousWinner.getStatus());
+        verify(auctionItemService).updateCurrentPrice("auction1", new BigDecimal("110.00"), bidder);
+    }
+
+    @Test
+    void placeBid_WhenThePriceUpdateFails_ShouldKeepThePreviousWinnerWinning() {
+        // Given: the cached auction is active, the stored one is not
+        doThrow(new IllegalStateException("Auction is not active")).when(auctionItemService)
+                .updateCurrentPrice(eq("auction1"), any(BigDecimal.class), eq(bidder));
+
+        // When
+        assertThrows(IllegalStateException.class,
+                () -> bidService.placeBid("auction1", "bidder2", new BigDecimal("110.00")));
+
+        // Then: the new bid is withdrawn and the outbid status undone
+        assertEquals(Bid.BidStatus.WINNING, previousWinner.getStatus());
+        verify(bidRepository).delete(argThat(bid -> bid.getAmount().compareTo(new BigDecimal("110.00")) == 0));
+        verify(bidRepository, times(2)).save(previousWinner);
+        verifyNoInteractions(webSocketNotificationService, emailService);
+    }
+
+    private static User user(String id) {
+        User user = new User(id, id + "@example.com", "hash", "First", "Last");
+        user.setId(id);
+        return user;
+    }
+}
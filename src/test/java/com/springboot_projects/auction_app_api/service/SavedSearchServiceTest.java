@@ -0,0 +1,124 @@
+package com.springboot_projects.auction_app_api.service;
+
+import com.springboot_projects.auction_app_api.cache.InvalidationBus;
+import com.springboot_projects.auction_app_api.event.AuctionItemChangedEvent;
+import com.springboot_projects.auction_app_api.exception.InvalidSavedSearchException;
+import com.springboot_projects.auction_app_api.model.AuctionItem;
+import com.springboot_projects.auction_app_api.model.Notification;
+import com.springboot_projects.auction_app_api.model.SavedSearch;
+import com.springboot_projects.auction_app_api.model.User;
+import com.springboot_projects.auction_app_api.repository.SavedSearchRepository;
+import com.springboot_projects.auction_app_api.search.SavedSearchPercolator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SavedSearchServiceTest {
+
+    @Mock
+    private SavedSearchRepository savedSearchRepository;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private InvalidationBus invalidationBus;
+
+    @Spy
+    private SavedSearchPercolator savedSearchPercolator = new SavedSearchPercolator();
+
+    @InjectMocks
+    private SavedSearchService savedSearchService;
+
+    @Test
+    void createSavedSearch_ShouldSaveAndIndex() {
+        // Given
+        when(savedSearchRepository.save(any(SavedSearch.class))).thenAnswer(invocation -> {
+            SavedSearch saved = invocation.getArgument(0);
+            saved.setId("s1");
+            return saved;
+        });
+
+        // When
+        SavedSearch saved = savedSearchService.createSavedSearch("u1",
+                new SavedSearch(null, "Rolex", "rolex", null, null, new BigDecimal("5000")));
+
+        // Then
+        assertEquals("u1", saved.getUserId());
+        assertEquals(1, savedSearchPercolator.size());
+        verify(invalidationBus).publish(SavedSearchPercolator.CACHE_NAME, "s1");
+    }
+
+    @Test
+    void createSavedSearch_WithOnlyStopWordsOrOverTheLimit_ShouldBeRejected() {
+        assertThrows(InvalidSavedSearchException.class, () -> savedSearchService.createSavedSearch("u1",
+                new SavedSearch(null, null, "the", null, null, null)));
+
+        when(savedSearchRepository.countByUserId("u1")).thenReturn((long) SavedSearchService.MAX_SAVED_SEARCHES_PER_USER);
+        assertThrows(InvalidSavedSearchException.class, () -> savedSearchService.createSavedSearch("u1",
+                new SavedSearch(null, null, "rolex", null, null, null)));
+        verify(savedSearchRepository, never()).save(any());
+    }
+
+    @Test
+    void onAuctionItemChanged_WhenAuctionStarts_ShouldNotifyEachUserOnceButNotTheSeller() {
+        // Given
+        savedSearchPercolator.add(saved("s1", "u1", "rolex", null));
+        savedSearchPercolator.add(saved("s2", "u1", null, "Jewelry"));
+        savedSearchPercolator.add(saved("s3", "u2", "vintage rolex", null));
+        savedSearchPercolator.add(saved("s4", "seller", "rolex", null));
+        AuctionItem auction = new AuctionItem();
+        auction.setId("a1");
+        auction.setTitle("Vintage Rolex");
+        auction.setCategory("Jewelry");
+        auction.setCurrentPrice(new BigDecimal("900"));
+        User seller = new User();
+        seller.setId("seller");
+        auction.setSeller(seller);
+
+        // When: created as a draft, then started
+        savedSearchService.onAuctionItemChanged(AuctionItemChangedEvent.created(auction));
+        auction.setStatus(AuctionItem.AuctionStatus.ACTIVE);
+        savedSearchService.onAuctionItemChanged(AuctionItemChangedEvent.updated(auction, "currentPrice"));
+        savedSearchService.onAuctionItemChanged(AuctionItemChangedEvent.updated(auction, "status", "updatedAt"));
+
+        // Then
+        verify(notificationService).createNotification(eq("u1"), anyString(),
+                eq(Notification.NotificationType.SAVED_SEARCH_MATCH), eq("a1"));
+        verify(notificationService).createNotification(eq("u2"), anyString(),
+                eq(Notification.NotificationType.SAVED_SEARCH_MATCH), eq("a1"));
+        verifyNoMoreInteractions(notificationService);
+    }
+
+    @Test
+    void deleteSavedSearch_ShouldOnlyUnindexOwnSearches() {
+        // Given
+        savedSearchPercolator.add(saved("s1", "u1", "rolex", null));
+        when(savedSearchRepository.deleteByIdAndUserId("s1", "u2")).thenReturn(0L);
+        when(savedSearchRepository.deleteByIdAndUserId("s1", "u1")).thenReturn(1L);
+
+        // Then
+        assertFalse(savedSearchService.deleteSavedSearch("u2", "s1"));
+        assertEquals(1, savedSearchPercolator.size());
+        assertTrue(savedSearchService.deleteSavedSearch("u1", "s1"));
+        assertEquals(0, savedSearchPercolator.size());
+    }
+
+    private static SavedSearch saved(String id, String userId, String query, String category) {
+        SavedSearch search = new SavedSearch(userId, null, query, category, null, null);
+        search.setId(id);
+        return search;
+    }
+}
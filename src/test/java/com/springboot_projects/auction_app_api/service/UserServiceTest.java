@@ -1,5 +1,6 @@
 package com.springboot_projects.auction_app_api.service;
 
+import com.springboot_projects.auction_app_api.event.UserAccessChangedEvent;
 import com.springboot_projects.auction_app_api.exception.UnauthorizedException;
 import com.springboot_projects.auction_app_api.exception.UserNotFoundException;
 import com.springboot_projects.auction_app_api.model.User;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -34,6 +36,9 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserService userService;
 
@@ -254,7 +259,9 @@ class UserServiceTest {
         // Then
         assertNotNull(result);
         assertFalse(testUser.isActive());
+        assertNotNull(testUser.getAccessChangedAt());
         verify(userRepository).save(testUser);
+        verify(eventPublisher).publishEvent(any(UserAccessChangedEvent.class));
     }
 
     @Test
@@ -319,6 +326,8 @@ class UserServiceTest {
 
         // Then
         verify(userRepository).deleteById("user123");
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof UserAccessChangedEvent changed
+                && changed.isDeleted() && "user123".equals(changed.getUserId())));
     }
 
     @Test
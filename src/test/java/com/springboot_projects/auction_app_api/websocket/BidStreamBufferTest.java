@@ -0,0 +1,131 @@
+package com.springboot_projects.auction_app_api.websocket;
+
+import com.springboot_projects.auction_app_api.dto.BidNotification;
+import com.springboot_projects.auction_app_api.dto.BidReplayResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BidStreamBufferTest {
+
+    private BidStreamBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new BidStreamBuffer(4, 2);
+    }
+
+    @Test
+    void append_ShouldAssignMonotonicSequenceSeededFromTotalBids() {
+        // When
+        BidNotification first = buffer.append("auction1", notification(10));
+        BidNotification second = buffer.append("auction1", notification(11));
+
+        // Then
+        assertEquals(10, first.getSequence());
+        assertEquals(11, second.getSequence());
+        assertEquals(11, buffer.getLatestSequence("auction1"));
+    }
+
+    @Test
+    void append_WithPublisher_ShouldPublishInSequenceOrderUnderConcurrentBids() throws Exception {
+        // Given
+        List<Long> published = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<?>> bids = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            bids.add(executor.submit(() -> buffer.append("auction1", notification(1),
+                    sequenced -> published.add(sequenced.getSequence()))));
+        }
+        for (Future<?> bid : bids) {
+            bid.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(LongStream.rangeClosed(1, 2_000).boxed().toList(), published);
+    }
+
+    @Test
+    void since_WithinBuffer_ShouldReturnOnlyMissedFrames() {
+        // Given
+        for (int i = 1; i <= 3; i++) {
+            buffer.append("auction1", notification(i));
+        }
+
+        // When
+        BidReplayResponse replay = buffer.since("auction1", 1);
+
+        // Then
+        assertTrue(replay.isComplete());
+        assertEquals(3, replay.getLatestSequence());
+        assertEquals(List.of(2L, 3L), sequences(replay));
+    }
+
+    @Test
+    void since_WhenUpToDate_ShouldReturnEmptyCompleteReplay() {
+        // Given
+        buffer.append("auction1", notification(1));
+
+        // When
+        BidReplayResponse replay = buffer.since("auction1", 1);
+
+        // Then
+        assertTrue(replay.isComplete());
+        assertTrue(replay.getNotifications().isEmpty());
+    }
+
+    @Test
+    void since_BeyondBuffer_ShouldReturnRetainedFramesAsIncomplete() {
+        // Given - capacity is 4, so sequences 1-2 are overwritten
+        for (int i = 1; i <= 6; i++) {
+            buffer.append("auction1", notification(i));
+        }
+
+        // When
+        BidReplayResponse replay = buffer.since("auction1", 0);
+
+        // Then
+        assertFalse(replay.isComplete());
+        assertEquals(List.of(3L, 4L, 5L, 6L), sequences(replay));
+    }
+
+    @Test
+    void since_ForEvictedAuction_ShouldRequestRefetch() {
+        // Given - only two auctions are retained
+        buffer.append("auction1", notification(1));
+        buffer.append("auction2", notification(1));
+        buffer.append("auction3", notification(1));
+
+        // When
+        BidReplayResponse replay = buffer.since("auction1", 0);
+
+        // Then
+        assertFalse(replay.isComplete());
+        assertEquals(2, buffer.getTrackedAuctionCount());
+    }
+
+    private static BidNotification notification(int totalBids) {
+        BidNotification notification = new BidNotification();
+        notification.setBidAmount(BigDecimal.valueOf(100 + totalBids));
+        notification.setTotalBids(totalBids);
+        notification.setType(BidNotification.NotificationType.NEW_BID);
+        return notification;
+    }
+
+    private static List<Long> sequences(BidReplayResponse replay) {
+        return replay.getNotifications().stream().map(BidNotification::getSequence).toList();
+    }
+}
@@ -0,0 +1,129 @@
+package com.springboot_projects.auction_app_api.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.springboot_projects.auction_app_api.dto.BidNotification;
+import com.springboot_projects.auction_app_api.dto.BidTick;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Fan-out benchmark: serialize each bid once, then STOMP-encode it per subscriber as the simple broker does.
+// Deflated size uses one deflater per subscriber with context takeover, like permessage-deflate.
+// Run with -Pbenchmark.
+@Tag("benchmark")
+class BidTickEncodingBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BidTickEncodingBenchmarkTest.class);
+
+    private static final int BIDS = 2_000;
+    private static final int SUBSCRIBERS = 50;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final StompEncoder stompEncoder = new StompEncoder();
+
+    @Test
+    void compactTicks_ShouldUseFewerBytesPerBidThanFullNotifications() throws Exception {
+        List<BidNotification> notifications = sampleNotifications();
+
+        // Warm up both paths before measuring
+        fanOut(notifications, "/bids", n -> n);
+        fanOut(notifications, "/ticks", BidTick::new);
+
+        Result verbose = fanOut(notifications, "/bids", n -> n);
+        Result compact = fanOut(notifications, "/ticks", BidTick::new);
+
+        logger.info("Full notification: {} bytes/bid, {} deflated bytes/bid, {} ns/bid for {} subscribers",
+                verbose.bytesPerBid(), verbose.deflatedBytesPerBid(), verbose.nanosPerBid(), SUBSCRIBERS);
+        logger.info("Compact tick:      {} bytes/bid, {} deflated bytes/bid, {} ns/bid for {} subscribers",
+                compact.bytesPerBid(), compact.deflatedBytesPerBid(), compact.nanosPerBid(), SUBSCRIBERS);
+
+        assertTrue(compact.bytesPerBid() < verbose.bytesPerBid());
+        assertTrue(compact.deflatedBytesPerBid() < verbose.deflatedBytesPerBid());
+    }
+
+    private Result fanOut(List<BidNotification> notifications, String suffix,
+            Function<BidNotification, Object> encoding) throws Exception {
+        long rawBytes = 0;
+        long deflatedBytes = 0;
+        long cpuNanos = 0;
+
+        // Deflated size is sampled on one subscriber; every subscriber sees the same frames
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        byte[] deflateBuffer = new byte[8192];
+
+        for (BidNotification notification : notifications) {
+            long start = System.nanoTime();
+            byte[] payload = objectMapper.writeValueAsBytes(encoding.apply(notification));
+            byte[] sampleFrame = null;
+            for (int i = 0; i < SUBSCRIBERS; i++) {
+                StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+                accessor.setDestination("/topic/auction/" + notification.getAuctionId() + suffix);
+                accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+                accessor.setSubscriptionId("sub-" + i);
+                accessor.setMessageId("m-" + notification.getSequence() + "-" + i);
+                byte[] frame = stompEncoder.encode(
+                        MessageBuilder.createMessage(payload, accessor.getMessageHeaders()));
+                rawBytes += frame.length;
+                if (i == 0) {
+                    sampleFrame = frame;
+                }
+            }
+            cpuNanos += System.nanoTime() - start;
+
+            deflater.setInput(sampleFrame);
+            int length;
+            do {
+                length = deflater.deflate(deflateBuffer, 0, deflateBuffer.length, Deflater.SYNC_FLUSH);
+                deflatedBytes += length;
+            } while (length == deflateBuffer.length);
+        }
+        deflater.end();
+
+        int count = notifications.size();
+        return new Result(rawBytes / ((long) count * SUBSCRIBERS), deflatedBytes / count,
+                cpuNanos / count);
+    }
+
+    private static List<BidNotification> sampleNotifications() {
+        List<BidNotification> notifications = new ArrayList<>(BIDS);
+        LocalDateTime start = LocalDateTime.now();
+        for (int i = 1; i <= BIDS; i++) {
+            BigDecimal amount = BigDecimal.valueOf(100 + i).setScale(2);
+            BidNotification notification = new BidNotification();
+            notification.setAuctionId("65f1c2a9e4b0a1b2c3d4e5f6");
+            notification.setSequence(i);
+            notification.setBidId("65f1c2a9e4b0a1b2c3d4" + String.format("%04x", i));
+            notification.setBidderUsername("bidder" + (i % 37));
+            notification.setBidAmount(amount);
+            notification.setPreviousHighestBid(amount.subtract(BigDecimal.ONE));
+            notification.setBidTime(start.plusSeconds(i));
+            notification.setTotalBids(i);
+            notification.setType(BidNotification.NotificationType.NEW_BID);
+            notification.setMessage("New bid placed: $" + amount);
+            notifications.add(notification);
+        }
+        return notifications;
+    }
+
+    private record Result(long bytesPerBid, long deflatedBytesPerBid, long nanosPerBid) {
+    }
+}
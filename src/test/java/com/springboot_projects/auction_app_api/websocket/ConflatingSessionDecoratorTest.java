@@ -0,0 +1,121 @@
+package com.springboot_projects.auction_app_api.websocket;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ConflatingSessionDecoratorTest {
+
+    private WebSocketSession session;
+    private List<Runnable> drainTasks;
+    private List<String> events;
+
+    @BeforeEach
+    void setUp() {
+        session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("session1");
+        drainTasks = new ArrayList<>();
+        events = new ArrayList<>();
+    }
+
+    @Test
+    void sendMessage_ShouldNotWriteOnCallerThread() throws Exception {
+        // Given
+        ConflatingSessionDecorator decorator = newDecorator(1024 * 1024, 4);
+
+        // When
+        decorator.sendMessage(bidFrame("auction1", "101"));
+
+        // Then
+        verify(session, never()).sendMessage(any());
+        assertEquals(1, drainTasks.size());
+
+        drainTasks.get(0).run();
+        verify(session).sendMessage(any());
+        assertEquals(0, decorator.getQueueDepth());
+    }
+
+    @Test
+    void sendMessage_WhenSlow_ShouldKeepOnlyLatestBidTick() throws Exception {
+        // Given - queue already at the slow threshold
+        ConflatingSessionDecorator decorator = newDecorator(1024 * 1024, 2);
+        decorator.sendMessage(bidFrame("auction1", "101"));
+        decorator.sendMessage(new TextMessage("MESSAGE\ndestination:/user/queue/bid-confirmation\n\n{}"));
+
+        // When
+        decorator.sendMessage(bidFrame("auction1", "102"));
+        decorator.sendMessage(bidFrame("auction1", "103"));
+
+        // Then
+        assertEquals(2, decorator.getQueueDepth());
+        assertEquals(List.of("enqueued:1", "enqueued:2", "conflated", "enqueued:2", "conflated", "enqueued:2"),
+                events);
+
+        drainTasks.get(0).run();
+        ArgumentCaptor<WebSocketMessage<?>> sent = ArgumentCaptor.forClass(WebSocketMessage.class);
+        verify(session, times(2)).sendMessage(sent.capture());
+        assertTrue(((String) sent.getAllValues().get(0).getPayload()).contains("\"bidAmount\":103"));
+    }
+
+    @Test
+    void sendMessage_WhenBufferLimitExceeded_ShouldCloseSession() throws Exception {
+        // Given
+        ConflatingSessionDecorator decorator = newDecorator(100, 1000);
+
+        // When
+        decorator.sendMessage(new TextMessage("MESSAGE\ndestination:/topic/other\n\n" + "x".repeat(200)));
+
+        // Then
+        verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertTrue(events.contains("terminated"));
+        assertEquals(0, decorator.getQueueDepth());
+
+        decorator.sendMessage(bidFrame("auction1", "101"));
+        assertEquals(0, decorator.getQueueDepth());
+    }
+
+    @Test
+    void extractTickDestination_ShouldOnlyMatchBidTopics() {
+        assertEquals("/topic/auction/abc/bids",
+                ConflatingSessionDecorator.extractTickDestination(bidFrame("abc", "1")));
+        assertNull(ConflatingSessionDecorator.extractTickDestination(
+                new TextMessage("MESSAGE\ndestination:/topic/auction/abc/status\n\n{}")));
+        assertNull(ConflatingSessionDecorator.extractTickDestination(new TextMessage("\n")));
+    }
+
+    private ConflatingSessionDecorator newDecorator(int bufferSizeLimit, int slowQueueDepth) {
+        return new ConflatingSessionDecorator(session, drainTasks::add, 10_000, bufferSizeLimit, slowQueueDepth,
+                new ConflatingSessionDecorator.Listener() {
+                    @Override
+                    public void onEnqueued(int queueDepth) {
+                        events.add("enqueued:" + queueDepth);
+                    }
+
+                    @Override
+                    public void onConflated() {
+                        events.add("conflated");
+                    }
+
+                    @Override
+                    public void onTerminated(String reason) {
+                        events.add("terminated");
+                    }
+                });
+    }
+
+    private static TextMessage bidFrame(String auctionId, String amount) {
+        return new TextMessage("MESSAGE\ndestination:/topic/auction/" + auctionId + "/bids\n"
+                + "content-type:application/json\n\n{\"bidAmount\":" + amount + "}\u0000");
+    }
+}
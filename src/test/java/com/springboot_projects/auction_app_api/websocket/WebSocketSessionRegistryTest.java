@@ -0,0 +1,96 @@
+package com.springboot_projects.auction_app_api.websocket;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebSocketSessionRegistryTest {
+
+    private WebSocketSessionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new WebSocketSessionRegistry();
+    }
+
+    @Test
+    void addWatcher_ShouldTrackBothDirections() {
+        // When
+        registry.addWatcher("auction1", "session1", "alice");
+        registry.addWatcher("auction2", "session1", "alice");
+        registry.addWatcher("auction1", "session2", "bob");
+
+        // Then
+        assertEquals(2, registry.getWatcherCount("auction1"));
+        assertEquals(1, registry.getWatcherCount("auction2"));
+        assertEquals(Set.of("auction1", "auction2"), registry.getWatchedAuctions("session1"));
+        assertEquals("alice", registry.getUsername("session1"));
+        assertEquals(2, registry.getSessionCount());
+    }
+
+    @Test
+    void removeWatcher_ShouldDropEmptyAuctionAndKeepSession() {
+        // Given
+        registry.addWatcher("auction1", "session1", "alice");
+        registry.addWatcher("auction2", "session1", "alice");
+
+        // When
+        String username = registry.removeWatcher("auction1", "session1");
+
+        // Then
+        assertEquals("alice", username);
+        assertEquals(0, registry.getWatcherCount("auction1"));
+        assertEquals(Set.of("auction2"), registry.getWatchedAuctions("session1"));
+    }
+
+    @Test
+    void removeSession_ShouldCleanUpEveryWatchedAuction() {
+        // Given
+        registry.addWatcher("auction1", "session1", "alice");
+        registry.addWatcher("auction2", "session1", "alice");
+        registry.addWatcher("auction1", "session2", "bob");
+
+        // When
+        registry.removeSession("session1");
+
+        // Then
+        assertEquals(1, registry.getWatcherCount("auction1"));
+        assertEquals(0, registry.getWatcherCount("auction2"));
+        assertTrue(registry.getWatchedAuctions("session1").isEmpty());
+        assertNull(registry.getUsername("session1"));
+        assertEquals(1, registry.getSessionCount());
+    }
+
+    @Test
+    void onSessionDisconnect_ShouldRemoveSession() {
+        // Given
+        registry.addWatcher("auction1", "session1", "alice");
+        Message<byte[]> message = MessageBuilder.withPayload(new byte[0]).build();
+
+        // When
+        registry.onSessionDisconnect(new SessionDisconnectEvent(this, message, "session1", CloseStatus.NORMAL));
+
+        // Then
+        assertEquals(0, registry.getWatcherCount("auction1"));
+        assertEquals(0, registry.getSessionCount());
+    }
+
+    @Test
+    void removeSession_WithUnknownSession_ShouldBeNoOp() {
+        // Given
+        registry.addWatcher("auction1", "session1", "alice");
+
+        // When
+        registry.removeSession("unknown");
+
+        // Then
+        assertEquals(1, registry.getWatcherCount("auction1"));
+    }
+}